@@ -0,0 +1,35 @@
+package com.bsit.codegeneration.bench;
+
+import com.bsit.codegeneration.model.DatabaseConfig;
+import com.bsit.codegeneration.model.NamingStrategyConfig;
+import com.bsit.codegeneration.model.TargetConfig;
+
+import java.util.List;
+
+/**
+ * Generator settings shared by the suites, matching the defaults in generator.yml.
+ */
+public final class BenchmarkSettings {
+
+    private BenchmarkSettings() { }
+
+    public static DatabaseConfig databaseConfig() {
+        NamingStrategyConfig naming = new NamingStrategyConfig();
+        naming.setConvertToCamelCase(true);
+        naming.setStripPrefixes(List.of("tbl_"));
+        naming.setUppercaseAcronyms(List.of("ID", "URL"));
+
+        DatabaseConfig db = new DatabaseConfig();
+        db.setDialect("POSTGRES");
+        db.setSchema(SyntheticTable.SCHEMA);
+        db.setNamingStrategy(naming);
+        return db;
+    }
+
+    public static TargetConfig targetConfig(String outputDirectory) {
+        TargetConfig target = new TargetConfig();
+        target.setBasePackage("com.bsit.codegeneration.bench.generated");
+        target.setOutputDirectory(outputDirectory);
+        return target;
+    }
+}
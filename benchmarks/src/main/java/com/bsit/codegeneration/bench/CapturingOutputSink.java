@@ -0,0 +1,23 @@
+package com.bsit.codegeneration.bench;
+
+import com.bsit.codegeneration.spi.OutputSink;
+
+import java.nio.file.Path;
+
+/**
+ * Keeps the last generated source in memory, so benchmarks measure generation without disk I/O.
+ */
+public class CapturingOutputSink implements OutputSink {
+
+    private String lastSource;
+
+    @Override
+    public Path write(String packageName, String className, String source) {
+        lastSource = source;
+        return Path.of(packageName.replace('.', '/'), className + ".java");
+    }
+
+    public String getLastSource() {
+        return lastSource;
+    }
+}
@@ -0,0 +1,71 @@
+package com.bsit.codegeneration.bench;
+
+import com.bsit.codegeneration.model.DatabaseConfig;
+import com.bsit.codegeneration.model.TargetConfig;
+import com.bsit.codegeneration.parser.JdbcDaoGenerator;
+import com.bsit.codegeneration.parser.JdbiDaoGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DAO generation for one table, from column rows to source text, without disk I/O.
+ * Widths: narrow (8), typical (40) and wide (500) tables.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DaoGenerationBenchmark {
+
+    @Param({"8", "40", "500"})
+    public int width;
+
+    private SyntheticTable table;
+    private DatabaseMetaData metaData;
+    private DatabaseConfig dbConfig;
+    private TargetConfig target;
+    private CapturingOutputSink sink;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        table = SyntheticTable.of(width);
+        metaData = table.metaData();
+        dbConfig = BenchmarkSettings.databaseConfig();
+        target = BenchmarkSettings.targetConfig("target/bench-out");
+        sink = new CapturingOutputSink();
+    }
+
+    @Benchmark
+    public String jdbcDao() throws Exception {
+        try (ResultSet columns = table.openColumns()) {
+            JdbcDaoGenerator.generateDao(table.getTableName(), columns, dbConfig, target,
+                    table.getRelationships(), sink);
+        }
+        return sink.getLastSource();
+    }
+
+    @Benchmark
+    public String jdbiDao() throws Exception {
+        try (ResultSet columns = table.openColumns()) {
+            JdbiDaoGenerator.generateDao(table.getTableName(), columns, metaData, dbConfig, target,
+                    table.getRelationships(), sink);
+        }
+        return sink.getLastSource();
+    }
+}
@@ -0,0 +1,75 @@
+package com.bsit.codegeneration.bench;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checked-in reference numbers for {@link PerformanceGate}: the reduced scaling scenario, the
+ * tolerance for timing and allocation metrics, and the results recorded on the reference machine.
+ */
+public class PerformanceBaseline {
+
+    private double tolerance = 0.15;
+    private List<Integer> sizes = new ArrayList<>();
+    private List<String> backends = new ArrayList<>();
+    private List<Integer> workers = new ArrayList<>();
+    private Map<String, String> schemaOptions = new LinkedHashMap<>();
+    private List<ScalingResult> results = new ArrayList<>();
+
+    public ScalingResult find(ScalingResult actual) {
+        return results.stream()
+                .filter(r -> r.key().equals(actual.key()) && r.getTables() == actual.getTables())
+                .findFirst()
+                .orElse(null);
+    }
+
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    public void setTolerance(double tolerance) {
+        this.tolerance = tolerance;
+    }
+
+    public List<Integer> getSizes() {
+        return sizes;
+    }
+
+    public void setSizes(List<Integer> sizes) {
+        this.sizes = sizes;
+    }
+
+    public List<String> getBackends() {
+        return backends;
+    }
+
+    public void setBackends(List<String> backends) {
+        this.backends = backends;
+    }
+
+    public List<Integer> getWorkers() {
+        return workers;
+    }
+
+    public void setWorkers(List<Integer> workers) {
+        this.workers = workers;
+    }
+
+    public Map<String, String> getSchemaOptions() {
+        return schemaOptions;
+    }
+
+    public void setSchemaOptions(Map<String, String> schemaOptions) {
+        this.schemaOptions = schemaOptions;
+    }
+
+    public List<ScalingResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<ScalingResult> results) {
+        this.results = results;
+    }
+}
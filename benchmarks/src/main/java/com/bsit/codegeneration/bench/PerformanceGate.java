@@ -0,0 +1,161 @@
+package com.bsit.codegeneration.bench;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Regression guard over the reduced scaling scenario in {@code perf-baseline.json}. Catalog call
+ * counts are deterministic for a seeded schema and must match exactly; throughput and allocation
+ * per table may move by the tolerance. On a timing or allocation regression the phases that moved
+ * are printed. Exits with status 1 on any failure.
+ *
+ * <pre>
+ * mvn -Pperf-gate test                          # compare against the checked-in baseline
+ * mvn -Pperf-gate test -Dperf.tolerance=0.25    # looser bound on a noisy machine
+ * mvn -Pperf-gate test -Dperf.record=true       # re-record the baseline on the reference machine
+ * </pre>
+ */
+public final class PerformanceGate {
+
+    private static final Logger log = LoggerFactory.getLogger(PerformanceGate.class);
+    private static final ObjectMapper JSON = new ObjectMapper()
+            .enable(SerializationFeature.INDENT_OUTPUT)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private PerformanceGate() { }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = ScalingBenchmark.parseArgs(args);
+        Path baselineFile = Paths.get(options.getOrDefault("baseline", "perf-baseline.json"));
+        Path out = Paths.get(options.getOrDefault("out", "target/perf-gate"));
+        boolean record = Boolean.parseBoolean(options.getOrDefault("record", "false"));
+        if (!Files.exists(baselineFile)) {
+            throw new IllegalStateException("Baseline not found: " + baselineFile.toAbsolutePath());
+        }
+        PerformanceBaseline baseline = JSON.readValue(baselineFile.toFile(), PerformanceBaseline.class);
+        String toleranceOption = options.getOrDefault("tolerance", "");
+        double tolerance = toleranceOption.isBlank() ? baseline.getTolerance() : Double.parseDouble(toleranceOption);
+
+        // Warm-up pass so the first measured size is not paying for class loading and JIT
+        ScalingBenchmark.runAll(baseline.getSchemaOptions(), List.of(baseline.getSizes().get(0)),
+                baseline.getBackends(), List.of(1));
+        List<ScalingResult> results = ScalingBenchmark.runAll(baseline.getSchemaOptions(), baseline.getSizes(),
+                baseline.getBackends(), baseline.getWorkers());
+        ScalingReport.write(out, results);
+
+        if (record) {
+            // A failed run has no counts or timings worth comparing against, so nothing is recorded
+            List<ScalingResult> failed = results.stream().filter(r -> r.getError() != null).toList();
+            if (!failed.isEmpty()) {
+                failed.forEach(r -> log.error("{} tables {}: run failed: {}", r.getTables(), r.key(), r.getError()));
+                log.error("Baseline not recorded: {} of {} runs failed", failed.size(), results.size());
+                System.exit(1);
+            }
+            baseline.setResults(results);
+            JSON.writeValue(baselineFile.toFile(), baseline);
+            log.info("Recorded {} results to {}", results.size(), baselineFile.toAbsolutePath());
+            return;
+        }
+
+        List<String> failures = new ArrayList<>();
+        for (ScalingResult actual : results) {
+            failures.addAll(compare(baseline.find(actual), actual, tolerance));
+        }
+        if (failures.isEmpty()) {
+            log.info("Performance gate passed: {} runs within {}% of baseline, catalog calls exact",
+                    results.size(), Math.round(tolerance * 100));
+            return;
+        }
+        failures.forEach(log::error);
+        log.error("Performance gate failed: {} regression(s) against {}", failures.size(), baselineFile);
+        System.exit(1);
+    }
+
+    static List<String> compare(ScalingResult expected, ScalingResult actual, double tolerance) {
+        String run = actual.getTables() + " tables " + actual.key();
+        List<String> failures = new ArrayList<>();
+        if (actual.getError() != null) {
+            failures.add(run + ": run failed: " + actual.getError());
+            return failures;
+        }
+        if (expected == null || expected.getCallCounts() == null) {
+            failures.add(run + ": no baseline recorded (run with -Dperf.record=true)");
+            return failures;
+        }
+
+        // Deterministic for a seeded schema: any difference is a behaviour change
+        TreeSet<String> methods = new TreeSet<>(expected.getCallCounts().keySet());
+        methods.addAll(actual.getCallCounts().keySet());
+        for (String method : methods) {
+            long want = expected.getCallCounts().getOrDefault(method, 0L);
+            long got = actual.getCallCounts().getOrDefault(method, 0L);
+            if (want != got) {
+                failures.add(String.format("%s: %s calls %d, baseline %d", run, method, got, want));
+            }
+        }
+
+        boolean slower = actual.getTablesPerSecond() < expected.getTablesPerSecond() * (1 - tolerance);
+        boolean heavier = actual.getAllocatedBytesPerTable() > expected.getAllocatedBytesPerTable() * (1 + tolerance);
+        if (slower) {
+            failures.add(String.format("%s: %.1f tables/s, baseline %.1f (%+.0f%%)", run,
+                    actual.getTablesPerSecond(), expected.getTablesPerSecond(),
+                    change(expected.getTablesPerSecond(), actual.getTablesPerSecond())));
+        }
+        if (heavier) {
+            failures.add(String.format("%s: %.0f bytes allocated/table, baseline %.0f (%+.0f%%)", run,
+                    actual.getAllocatedBytesPerTable(), expected.getAllocatedBytesPerTable(),
+                    change(expected.getAllocatedBytesPerTable(), actual.getAllocatedBytesPerTable())));
+        }
+        if (slower || heavier) {
+            failures.addAll(movedPhases(run, expected, actual, tolerance));
+        }
+        return failures;
+    }
+
+    // Phases whose per-table wall time or allocation moved past the tolerance, largest move first
+    private static List<String> movedPhases(String run, ScalingResult expected, ScalingResult actual,
+                                            double tolerance) {
+        record Move(String message, double percent) { }
+        List<Move> moves = new ArrayList<>();
+        Map<String, ScalingResult.PhaseCost> before = expected.getPhases() == null ? Map.of() : expected.getPhases();
+        Map<String, ScalingResult.PhaseCost> after = actual.getPhases() == null ? Map.of() : actual.getPhases();
+        TreeSet<String> phases = new TreeSet<>(before.keySet());
+        phases.addAll(after.keySet());
+        for (String phase : phases) {
+            ScalingResult.PhaseCost was = before.getOrDefault(phase, new ScalingResult.PhaseCost());
+            ScalingResult.PhaseCost now = after.getOrDefault(phase, new ScalingResult.PhaseCost());
+            double wall = change(was.getWallMillisPerTable(), now.getWallMillisPerTable());
+            if (Math.abs(wall) > tolerance * 100) {
+                moves.add(new Move(String.format("%s:   phase %s wall %.3f -> %.3f ms/table (%+.0f%%)", run, phase,
+                        was.getWallMillisPerTable(), now.getWallMillisPerTable(), wall), Math.abs(wall)));
+            }
+            double bytes = change(was.getAllocatedBytesPerTable(), now.getAllocatedBytesPerTable());
+            if (Math.abs(bytes) > tolerance * 100) {
+                moves.add(new Move(String.format("%s:   phase %s allocation %.0f -> %.0f bytes/table (%+.0f%%)", run,
+                        phase, was.getAllocatedBytesPerTable(), now.getAllocatedBytesPerTable(), bytes),
+                        Math.abs(bytes)));
+            }
+        }
+        moves.sort(Comparator.comparingDouble(Move::percent).reversed());
+        return moves.stream().map(Move::message).toList();
+    }
+
+    private static double change(double before, double after) {
+        if (before == 0) {
+            return after == 0 ? 0 : 100;
+        }
+        return (after - before) / before * 100;
+    }
+}
@@ -0,0 +1,182 @@
+package com.bsit.codegeneration.bench;
+
+import ch.qos.logback.classic.Level;
+import com.bsit.codegeneration.fixture.SyntheticDatabase;
+import com.bsit.codegeneration.fixture.SyntheticDriver;
+import com.bsit.codegeneration.metadata.DbReader;
+import com.bsit.codegeneration.model.GeneratorSettings;
+import com.bsit.codegeneration.run.GenerationManifest;
+import com.bsit.codegeneration.run.PlanCalibration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Measures the per-table and per-column render cost and output size of every artifact kind on
+ * this machine and writes a {@link PlanCalibration} for {@code App plan <file>}. Each backend runs
+ * a narrow and a wide synthetic schema; the two points give the linear per-column model.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.bsit.codegeneration.bench.PlanCalibrator \
+ *     out=plan-calibration.json tables=200 narrow=4 wide=40 roundTripMillis=1.5
+ * </pre>
+ */
+public final class PlanCalibrator {
+
+    private static final Logger log = LoggerFactory.getLogger(PlanCalibrator.class);
+
+    private PlanCalibrator() { }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = ScalingBenchmark.parseArgs(args);
+        Path out = Paths.get(options.getOrDefault("out", "plan-calibration.json"));
+        int tables = Integer.parseInt(options.getOrDefault("tables", "200"));
+        int narrow = Integer.parseInt(options.getOrDefault("narrow", "4"));
+        int wide = Integer.parseInt(options.getOrDefault("wide", "40"));
+        List<String> backends = Arrays.asList(options.getOrDefault("backends", "javaparser,freemarker").split(","));
+
+        PlanCalibration defaults = PlanCalibration.loadDefault();
+        PlanCalibration calibration = new PlanCalibration();
+        calibration.setCatalogRoundTripMillis(Double.parseDouble(options.getOrDefault("roundTripMillis",
+                String.valueOf(defaults.getCatalogRoundTripMillis()))));
+        // The machine goes into the source, since the timings only hold for hardware like it
+        Runtime runtime = Runtime.getRuntime();
+        calibration.setSource("PlanCalibrator " + LocalDate.now() + ", " + tables + " tables, "
+                + narrow + " and " + wide + " columns, backends " + String.join("/", backends) + ", round trip "
+                + calibration.getCatalogRoundTripMillis() + " ms; "
+                + System.getProperty("os.name") + " " + System.getProperty("os.arch") + ", "
+                + runtime.availableProcessors() + " CPU, " + runtime.maxMemory() / (1024 * 1024) + " MB heap, Java "
+                + System.getProperty("java.version"));
+
+        // Warm-up so the narrow point does not carry class loading and JIT
+        measure(tables, narrow, backends.get(0));
+
+        Map<String, Fit> fits = new TreeMap<>();
+        double writeMillis = 0;
+        long files = 0;
+        for (String backend : backends) {
+            Measurement small = measure(tables, narrow, backend);
+            Measurement large = measure(tables, wide, backend);
+            writeMillis += small.writeMillis() + large.writeMillis();
+            files += small.files() + large.files();
+            for (Map.Entry<String, double[]> kind : small.kinds().entrySet()) {
+                double[] wideCost = large.kinds().get(kind.getKey());
+                if (wideCost != null) {
+                    // Kinds other than pojo do not depend on the backend and are averaged over both runs
+                    String key = kind.getKey().equals("pojo") ? "pojo:" + backend : kind.getKey();
+                    fits.computeIfAbsent(key, k -> new Fit()).add(small.columns(), kind.getValue(),
+                            large.columns(), wideCost);
+                }
+            }
+        }
+
+        Map<String, PlanCalibration.ArtifactCost> artifacts = new LinkedHashMap<>();
+        fits.forEach((kind, fit) -> artifacts.put(kind, fit.toCost()));
+        artifacts.putIfAbsent("default", defaults.cost("default"));
+        calibration.setArtifacts(artifacts);
+        calibration.setWriteMillisPerFile(files > 0 ? writeMillis / files : defaults.getWriteMillisPerFile());
+        calibration.write(out);
+        log.info("Plan calibration written to {}", out.toAbsolutePath());
+    }
+
+    // Two-point linear fit of cost against column count, summed over the runs that measured a kind
+    private static final class Fit {
+        private double runs;
+        private double narrowColumns;
+        private double wideColumns;
+        private final double[] narrow = new double[3];
+        private final double[] wide = new double[3];
+
+        void add(double narrowColumns, double[] narrow, double wideColumns, double[] wide) {
+            runs++;
+            this.narrowColumns += narrowColumns;
+            this.wideColumns += wideColumns;
+            for (int i = 0; i < 3; i++) {
+                this.narrow[i] += narrow[i];
+                this.wide[i] += wide[i];
+            }
+        }
+
+        PlanCalibration.ArtifactCost toCost() {
+            double span = Math.max((wideColumns - narrowColumns) / runs, 1);
+            double columns = narrowColumns / runs;
+            PlanCalibration.ArtifactCost cost = new PlanCalibration.ArtifactCost();
+            cost.setMicrosPerColumn(Math.max(0, (wide[0] - narrow[0]) / runs / span));
+            cost.setMicrosPerTable(Math.max(0, narrow[0] / runs - cost.getMicrosPerColumn() * columns));
+            cost.setLinesPerColumn(Math.max(0, (wide[1] - narrow[1]) / runs / span));
+            cost.setLinesPerTable(Math.max(0, narrow[1] / runs - cost.getLinesPerColumn() * columns));
+            double lines = narrow[1] + wide[1];
+            cost.setBytesPerLine(lines > 0 ? (narrow[2] + wide[2]) / lines : cost.getBytesPerLine());
+            return cost;
+        }
+    }
+
+    // Per kind: {micros per table, lines per table, bytes per table}
+    private record Measurement(double columns, Map<String, double[]> kinds, double writeMillis, long files) {
+    }
+
+    private static Measurement measure(int tables, int width, String backend) throws Exception {
+        Map<String, String> schemaOptions = Map.of("width", width + "," + width, "fkDensity", "0",
+                "joinRatio", "0", "seed", "7");
+        SyntheticDatabase database = ScalingBenchmark.database(schemaOptions, tables);
+        double columns = database.getSchema("scaling").getTables().stream()
+                .mapToInt(table -> table.getColumns().size()).average().orElse(width);
+        String name = "calibration-" + width;
+        String url = SyntheticDriver.register(name, database);
+        Path workDir = Files.createTempDirectory("codegen-calibration-");
+        Level previous = ScalingBenchmark.quietLogging();
+        PrintStream stdout = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            GeneratorSettings settings = ScalingBenchmark.settings(url, backend, workDir, 0, 1);
+            settings.getRepository().setGenerate(true);
+            DbReader.readDatabase(settings.getDatabase(), settings.getTarget(), settings.getRecord(),
+                    settings.getDao(), settings.getRepository(), settings.getPojo(),
+                    settings.getShard(), settings.getRun(), settings.getArtifacts());
+
+            ScalingResult result = new ScalingResult();
+            result.setTables(tables);
+            ScalingBenchmark.collectPhases(result, workDir.resolve("codegen"));
+            GenerationManifest manifest = GenerationManifest.JSON.readValue(
+                    workDir.resolve("codegen").resolve(GenerationManifest.fileName(0, 1)).toFile(),
+                    GenerationManifest.class);
+
+            Map<String, double[]> kinds = new TreeMap<>();
+            for (GenerationManifest.Artifact artifact : manifest.getArtifacts()) {
+                Path file = Paths.get(artifact.getPath());
+                if (!Files.exists(file)) {
+                    continue;
+                }
+                double[] totals = kinds.computeIfAbsent(artifact.getKind(), k -> new double[3]);
+                totals[1] += Files.readAllLines(file).size();
+                totals[2] += Files.size(file);
+            }
+            for (Map.Entry<String, double[]> kind : kinds.entrySet()) {
+                ScalingResult.PhaseCost render = result.getPhases().get("render:" + kind.getKey());
+                double[] totals = kind.getValue();
+                totals[0] = render == null ? 0 : render.getWallMillisPerTable() * 1000;
+                totals[1] /= tables;
+                totals[2] /= tables;
+            }
+            ScalingResult.PhaseCost write = result.getPhases().get("write");
+            long files = manifest.getArtifacts().size();
+            return new Measurement(columns, kinds, write == null ? 0 : write.getWallMillisPerTable() * tables, files);
+        } finally {
+            System.setOut(stdout);
+            ScalingBenchmark.restoreLogging(previous);
+            SyntheticDriver.unregister(name);
+            ScalingBenchmark.deleteRecursively(workDir);
+        }
+    }
+}
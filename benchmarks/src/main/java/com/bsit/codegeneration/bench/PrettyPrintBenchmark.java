@@ -0,0 +1,56 @@
+package com.bsit.codegeneration.bench;
+
+import com.bsit.codegeneration.parser.JdbcDaoGenerator;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.ResultSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code cu.toString()} on the compilation unit of a generated JDBC DAO, the last step of every
+ * JavaParser-based generator.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PrettyPrintBenchmark {
+
+    @Param({"8", "40", "500"})
+    public int width;
+
+    private CompilationUnit cu;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        SyntheticTable table = SyntheticTable.of(width);
+        CapturingOutputSink sink = new CapturingOutputSink();
+        try (ResultSet columns = table.openColumns()) {
+            JdbcDaoGenerator.generateDao(table.getTableName(), columns, BenchmarkSettings.databaseConfig(),
+                    BenchmarkSettings.targetConfig("target/bench-out"), table.getRelationships(), sink);
+        }
+        StaticJavaParser.getParserConfiguration().setLanguageLevel(ParserConfiguration.LanguageLevel.JAVA_21);
+        cu = StaticJavaParser.parse(sink.getLastSource());
+    }
+
+    @Benchmark
+    public String print() {
+        return cu.toString();
+    }
+}
@@ -0,0 +1,291 @@
+package com.bsit.codegeneration.bench;
+
+import ch.qos.logback.classic.Level;
+import com.bsit.codegeneration.fixture.RandomSchema;
+import com.bsit.codegeneration.fixture.SyntheticDatabase;
+import com.bsit.codegeneration.fixture.SyntheticDriver;
+import com.bsit.codegeneration.metadata.DbReader;
+import com.bsit.codegeneration.metadata.YamlParser;
+import com.bsit.codegeneration.model.GeneratorSettings;
+import com.bsit.codegeneration.model.RunConfig;
+import com.bsit.codegeneration.model.ShardConfig;
+import com.bsit.codegeneration.run.GenerationManifest;
+import com.bsit.codegeneration.run.MetricsReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * End-to-end scaling runs: the full {@code DbReader} pipeline against synthetic schemas of growing
+ * size, for each POJO backend and concurrency setting. Records tables/sec, peak heap, peak RSS and
+ * catalog calls per table, and writes JSON, CSV and an HTML chart report.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.bsit.codegeneration.bench.ScalingBenchmark \
+ *     sizes=10,100,1000,10000,50000 backends=javaparser,freemarker workers=1,4 out=target/scaling
+ * </pre>
+ *
+ * Concurrency is run as {@code workers} in-process shards of the same schema (the generator's own
+ * unit of parallelism), each with its own connection.
+ */
+public final class ScalingBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(ScalingBenchmark.class);
+    private static final String SCHEMA = "scaling";
+
+    private ScalingBenchmark() { }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseArgs(args);
+        List<Integer> sizes = intList(options.getOrDefault("sizes", "10,100,1000,10000,50000"));
+        List<String> backends = Arrays.asList(options.getOrDefault("backends", "javaparser,freemarker").split(","));
+        List<Integer> workers = intList(options.getOrDefault("workers",
+                "1," + Runtime.getRuntime().availableProcessors()));
+        Path out = Paths.get(options.getOrDefault("out", "target/scaling"));
+
+        List<ScalingResult> results = runAll(options, sizes, backends, workers);
+        ScalingReport.write(out, results);
+        log.info("Scaling report written to {}", out.toAbsolutePath().resolve("scaling.html"));
+    }
+
+    /** Every size x backend x worker combination, in that order. */
+    static List<ScalingResult> runAll(Map<String, String> options, List<Integer> sizes, List<String> backends,
+                                      List<Integer> workers) throws IOException {
+        List<ScalingResult> results = new ArrayList<>();
+        for (int size : sizes) {
+            SyntheticDatabase database = database(options, size);
+            for (String backend : backends) {
+                for (int workerCount : workers.stream().distinct().toList()) {
+                    ScalingResult result = run(database, size, backend, workerCount);
+                    results.add(result);
+                    log.info("{} tables, {} x{}: {} tables/s, {} KB/table, heap {} MB, rss {} MB, {} catalog calls/table{}",
+                            size, backend, workerCount, String.format("%.1f", result.getTablesPerSecond()),
+                            (long) result.getAllocatedBytesPerTable() >> 10,
+                            result.getPeakHeapBytes() >> 20, result.getPeakRssBytes() >> 20,
+                            String.format("%.2f", result.getCatalogCallsPerTable()),
+                            result.getError() == null ? "" : " FAILED: " + result.getError());
+                }
+            }
+        }
+        return results;
+    }
+
+    static SyntheticDatabase database(Map<String, String> options, int size) {
+        RandomSchema schema = new RandomSchema()
+                .schemaName(SCHEMA)
+                .tableCount(size)
+                .fkDensity(Double.parseDouble(options.getOrDefault("fkDensity", "0.3")))
+                .joinTableRatio(Double.parseDouble(options.getOrDefault("joinRatio", "0.1")))
+                .seed(Long.parseLong(options.getOrDefault("seed", "42")));
+        String[] width = options.getOrDefault("width", "4,40").split(",");
+        schema.width(Integer.parseInt(width[0]), Integer.parseInt(width[width.length - 1]));
+        SyntheticDatabase database = new SyntheticDatabase(schema.build());
+        long latencyMicros = Long.parseLong(options.getOrDefault("latencyMicros", "0"));
+        if (latencyMicros > 0) {
+            database.latency(Duration.ofNanos(latencyMicros * 1000));
+        }
+        return database;
+    }
+
+    /** Runs one generation of {@code database} and measures it; the output directory is removed afterwards. */
+    static ScalingResult run(SyntheticDatabase database, int size, String backend, int workers) throws IOException {
+        String name = SCHEMA + "-" + size;
+        String url = SyntheticDriver.register(name, database);
+        Path workDir = Files.createTempDirectory("codegen-scaling-");
+        ScalingResult result = new ScalingResult();
+        result.setBackend(backend);
+        result.setWorkers(workers);
+        result.setTables(size);
+
+        Level previous = quietLogging();
+        PrintStream stdout = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            System.gc();
+            database.resetCounters();
+            resetPeaks();
+            long start = System.nanoTime();
+            List<Future<?>> shards = new ArrayList<>();
+            for (int i = 0; i < workers; i++) {
+                GeneratorSettings settings = settings(url, backend, workDir, i, workers);
+                shards.add(executor.submit(() -> {
+                    DbReader.readDatabase(settings.getDatabase(), settings.getTarget(), settings.getRecord(),
+                            settings.getDao(), settings.getRepository(), settings.getPojo(),
+                            settings.getShard(), settings.getRun(), settings.getArtifacts());
+                    return null;
+                }));
+            }
+            for (Future<?> shard : shards) {
+                shard.get();
+            }
+            long elapsedNanos = System.nanoTime() - start;
+            result.setElapsedMillis(elapsedNanos / 1_000_000);
+            result.setTablesPerSecond(size / (elapsedNanos / 1e9));
+            collectPhases(result, workDir.resolve("codegen"));
+        } catch (Exception e) {
+            result.setError(e.getCause() != null ? e.getCause().toString() : e.toString());
+        } finally {
+            executor.shutdownNow();
+            System.setOut(stdout);
+            restoreLogging(previous);
+            SyntheticDriver.unregister(name);
+            deleteRecursively(workDir);
+        }
+        result.setPeakHeapBytes(peakHeap());
+        result.setPeakRssBytes(peakRss());
+        result.setCallCounts(database.callCounts());
+        result.setCatalogCalls(database.totalCalls());
+        result.setCatalogCallsPerTable((double) database.totalCalls() / size);
+        return result;
+    }
+
+    // Sums the metrics-shard-*.json reports the run wrote, per phase and in total
+    static void collectPhases(ScalingResult result, Path journalDir) throws IOException {
+        Map<String, long[]> totals = new TreeMap<>();
+        try (Stream<Path> files = Files.list(journalDir)) {
+            for (Path file : files.filter(f -> f.getFileName().toString().startsWith("metrics-")).toList()) {
+                MetricsReport report = GenerationManifest.JSON.readValue(file.toFile(), MetricsReport.class);
+                report.getPhases().forEach((phase, cost) -> {
+                    long[] total = totals.computeIfAbsent(phase, p -> new long[2]);
+                    total[0] += cost.getWallMillis();
+                    total[1] += cost.getAllocatedBytes();
+                });
+            }
+        }
+        int tables = Math.max(1, result.getTables());
+        Map<String, ScalingResult.PhaseCost> phases = new LinkedHashMap<>();
+        long allocated = 0;
+        for (Map.Entry<String, long[]> total : totals.entrySet()) {
+            phases.put(total.getKey(), new ScalingResult.PhaseCost(
+                    (double) total.getValue()[0] / tables, (double) total.getValue()[1] / tables));
+            allocated += total.getValue()[1];
+        }
+        result.setPhases(phases);
+        result.setAllocatedBytes(allocated);
+        result.setAllocatedBytesPerTable((double) allocated / tables);
+    }
+
+    // The bundled generator.yml with the connection, output and shard pointed at this run
+    static GeneratorSettings settings(String url, String backend, Path workDir, int shardIndex, int shardCount)
+            throws IOException {
+        GeneratorSettings settings;
+        try (InputStream input = ScalingBenchmark.class.getClassLoader().getResourceAsStream("generator.yml")) {
+            if (input == null) {
+                throw new IllegalStateException("generator.yml not found on the classpath");
+            }
+            settings = new YamlParser().loadConfig(input).getGenerator();
+        }
+        settings.getDatabase().setDriver(SyntheticDriver.class.getName());
+        settings.getDatabase().setUrl(url);
+        settings.getDatabase().setSchema(SCHEMA);
+        settings.getTarget().setOutputDirectory(workDir.resolve("src").toString());
+        settings.getPojo().setGenerator(backend);
+
+        ShardConfig shard = new ShardConfig();
+        shard.setShardIndex(shardIndex);
+        shard.setShardCount(shardCount);
+        shard.setManifestDirectory(workDir.resolve("codegen").toString());
+        settings.setShard(shard);
+
+        RunConfig run = settings.getRun();
+        run.setResume(false);
+        run.setMetrics(true);
+        run.setJournalDirectory(workDir.resolve("codegen").toString());
+        return settings;
+    }
+
+    static Level quietLogging() {
+        ch.qos.logback.classic.Logger root = rootLogger();
+        Level previous = root.getLevel();
+        root.setLevel(Level.WARN);
+        return previous;
+    }
+
+    static void restoreLogging(Level previous) {
+        rootLogger().setLevel(previous);
+    }
+
+    private static ch.qos.logback.classic.Logger rootLogger() {
+        return (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
+    }
+
+    private static void resetPeaks() {
+        ManagementFactory.getMemoryPoolMXBeans().forEach(MemoryPoolMXBean::resetPeakUsage);
+        try {
+            // Resets VmHWM so the next read covers this run only (Linux 4.0+)
+            Files.writeString(Paths.get("/proc/self/clear_refs"), "5");
+        } catch (IOException | RuntimeException e) {
+            // Not Linux or not permitted: peak RSS then covers the whole process lifetime
+        }
+    }
+
+    private static long peakHeap() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .mapToLong(pool -> pool.getPeakUsage().getUsed())
+                .sum();
+    }
+
+    // VmHWM from /proc/self/status in bytes, -1 where unavailable
+    static long peakRss() {
+        try (Stream<String> lines = Files.lines(Paths.get("/proc/self/status"))) {
+            return lines.filter(line -> line.startsWith("VmHWM:"))
+                    .map(line -> line.replaceAll("\\D", ""))
+                    .mapToLong(kb -> Long.parseLong(kb) * 1024)
+                    .findFirst()
+                    .orElse(-1);
+        } catch (IOException | RuntimeException e) {
+            return -1;
+        }
+    }
+
+    static void deleteRecursively(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected key=value, got " + arg);
+            }
+            options.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+
+    static List<Integer> intList(String value) {
+        return Arrays.stream(value.split(",")).map(String::trim).map(Integer::parseInt).toList();
+    }
+}
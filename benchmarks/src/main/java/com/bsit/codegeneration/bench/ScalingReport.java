@@ -0,0 +1,166 @@
+package com.bsit.codegeneration.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Writes scaling results as {@code scaling.json}, {@code scaling.csv} and {@code scaling.html}.
+ * The HTML report has one inline SVG line chart per metric, table count on a log scale, one line
+ * per backend/worker combination, so it opens without network access.
+ */
+final class ScalingReport {
+
+    private static final String[] COLORS = {"#1f77b4", "#ff7f0e", "#2ca02c", "#d62728", "#9467bd", "#8c564b"};
+    private static final int WIDTH = 640;
+    private static final int HEIGHT = 320;
+    private static final int MARGIN = 56;
+
+    private ScalingReport() { }
+
+    static void write(Path dir, List<ScalingResult> results) throws IOException {
+        Files.createDirectories(dir);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(dir.resolve("scaling.json").toFile(), results);
+        Files.writeString(dir.resolve("scaling.csv"), csv(results), StandardCharsets.UTF_8);
+        Files.writeString(dir.resolve("scaling.html"), html(results), StandardCharsets.UTF_8);
+    }
+
+    static String csv(List<ScalingResult> results) {
+        StringBuilder csv = new StringBuilder(
+                "backend,workers,tables,elapsedMillis,tablesPerSecond,peakHeapBytes,peakRssBytes,catalogCalls,catalogCallsPerTable,error\n");
+        for (ScalingResult r : results) {
+            csv.append(r.getBackend()).append(',')
+                    .append(r.getWorkers()).append(',')
+                    .append(r.getTables()).append(',')
+                    .append(r.getElapsedMillis()).append(',')
+                    .append(String.format(Locale.ROOT, "%.2f", r.getTablesPerSecond())).append(',')
+                    .append(r.getPeakHeapBytes()).append(',')
+                    .append(r.getPeakRssBytes()).append(',')
+                    .append(r.getCatalogCalls()).append(',')
+                    .append(String.format(Locale.ROOT, "%.3f", r.getCatalogCallsPerTable())).append(',')
+                    .append(r.getError() == null ? "" : '"' + r.getError().replace("\"", "\"\"") + '"')
+                    .append('\n');
+        }
+        return csv.toString();
+    }
+
+    static String html(List<ScalingResult> results) {
+        Map<String, List<ScalingResult>> series = new TreeMap<>();
+        for (ScalingResult r : results) {
+            if (r.getError() == null) {
+                series.computeIfAbsent(r.key(), k -> new ArrayList<>()).add(r);
+            }
+        }
+        StringBuilder html = new StringBuilder("""
+                <!DOCTYPE html>
+                <html><head><meta charset="utf-8"><title>Code generation scaling</title>
+                <style>body{font-family:sans-serif;margin:24px}table{border-collapse:collapse}
+                td,th{border:1px solid #ccc;padding:4px 8px;text-align:right}</style></head><body>
+                <h1>Code generation scaling</h1>
+                """);
+        html.append(chart("Throughput (tables/s)", series, ScalingResult::getTablesPerSecond));
+        html.append(chart("Peak heap (MB)", series, r -> r.getPeakHeapBytes() / 1048576.0));
+        html.append(chart("Peak RSS (MB)", series, r -> r.getPeakRssBytes() / 1048576.0));
+        html.append(chart("Catalog calls per table", series, ScalingResult::getCatalogCallsPerTable));
+
+        html.append("<h2>Runs</h2><table><tr><th>backend</th><th>workers</th><th>tables</th><th>ms</th>")
+                .append("<th>tables/s</th><th>heap MB</th><th>RSS MB</th><th>catalog calls</th><th>calls/table</th><th>error</th></tr>\n");
+        for (ScalingResult r : results) {
+            html.append("<tr><td>").append(escape(r.getBackend()))
+                    .append("</td><td>").append(r.getWorkers())
+                    .append("</td><td>").append(r.getTables())
+                    .append("</td><td>").append(r.getElapsedMillis())
+                    .append("</td><td>").append(String.format(Locale.ROOT, "%.1f", r.getTablesPerSecond()))
+                    .append("</td><td>").append(r.getPeakHeapBytes() >> 20)
+                    .append("</td><td>").append(r.getPeakRssBytes() < 0 ? "n/a" : String.valueOf(r.getPeakRssBytes() >> 20))
+                    .append("</td><td>").append(r.getCatalogCalls())
+                    .append("</td><td>").append(String.format(Locale.ROOT, "%.2f", r.getCatalogCallsPerTable()))
+                    .append("</td><td>").append(r.getError() == null ? "" : escape(r.getError()))
+                    .append("</td></tr>\n");
+        }
+        return html.append("</table></body></html>\n").toString();
+    }
+
+    private static String chart(String title, Map<String, List<ScalingResult>> series,
+                                ToDoubleFunction<ScalingResult> metric) {
+        double minX = Double.MAX_VALUE;
+        double maxX = 0;
+        double maxY = 0;
+        for (List<ScalingResult> points : series.values()) {
+            for (ScalingResult r : points) {
+                minX = Math.min(minX, Math.log10(Math.max(1, r.getTables())));
+                maxX = Math.max(maxX, Math.log10(Math.max(1, r.getTables())));
+                maxY = Math.max(maxY, metric.applyAsDouble(r));
+            }
+        }
+        if (series.isEmpty()) {
+            return "<h2>" + escape(title) + "</h2><p>No successful runs.</p>\n";
+        }
+        double spanX = Math.max(maxX - minX, 1e-9);
+        double spanY = maxY <= 0 ? 1 : maxY * 1.1;
+        int plotWidth = WIDTH - 2 * MARGIN;
+        int plotHeight = HEIGHT - 2 * MARGIN;
+
+        StringBuilder svg = new StringBuilder("<h2>").append(escape(title)).append("</h2>\n")
+                .append("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"").append(WIDTH + 180)
+                .append("\" height=\"").append(HEIGHT).append("\" font-size=\"11\">\n")
+                .append(line(MARGIN, HEIGHT - MARGIN, WIDTH - MARGIN, HEIGHT - MARGIN, "#000"))
+                .append(line(MARGIN, MARGIN, MARGIN, HEIGHT - MARGIN, "#000"));
+        for (int tick = 0; tick <= 4; tick++) {
+            double value = spanY * tick / 4;
+            double y = HEIGHT - MARGIN - plotHeight * tick / 4.0;
+            svg.append(line(MARGIN, y, WIDTH - MARGIN, y, "#eee"))
+                    .append(text(MARGIN - 6, y + 4, "end", String.format(Locale.ROOT, "%.1f", value)));
+        }
+        for (int decade = (int) Math.ceil(minX); decade <= (int) Math.floor(maxX); decade++) {
+            double x = MARGIN + plotWidth * (decade - minX) / spanX;
+            svg.append(line(x, HEIGHT - MARGIN, x, HEIGHT - MARGIN + 4, "#000"))
+                    .append(text(x, HEIGHT - MARGIN + 16, "middle", String.valueOf((long) Math.pow(10, decade))));
+        }
+        svg.append(text(WIDTH / 2.0, HEIGHT - 12, "middle", "tables (log scale)"));
+
+        int index = 0;
+        for (Map.Entry<String, List<ScalingResult>> entry : series.entrySet()) {
+            String color = COLORS[index % COLORS.length];
+            StringBuilder points = new StringBuilder();
+            for (ScalingResult r : entry.getValue()) {
+                double x = MARGIN + plotWidth * (Math.log10(Math.max(1, r.getTables())) - minX) / spanX;
+                double y = HEIGHT - MARGIN - plotHeight * metric.applyAsDouble(r) / spanY;
+                points.append(String.format(Locale.ROOT, "%.1f,%.1f ", x, y));
+                svg.append(String.format(Locale.ROOT, "<circle cx=\"%.1f\" cy=\"%.1f\" r=\"3\" fill=\"%s\"/>\n", x, y, color));
+            }
+            svg.append("<polyline fill=\"none\" stroke=\"").append(color).append("\" points=\"")
+                    .append(points.toString().trim()).append("\"/>\n");
+            double legendY = MARGIN + 16 * index;
+            svg.append(line(WIDTH - MARGIN + 16, legendY, WIDTH - MARGIN + 36, legendY, color))
+                    .append(text(WIDTH - MARGIN + 40, legendY + 4, "start", entry.getKey()));
+            index++;
+        }
+        return svg.append("</svg>\n").toString();
+    }
+
+    private static String line(double x1, double y1, double x2, double y2, String color) {
+        return String.format(Locale.ROOT,
+                "<line x1=\"%.1f\" y1=\"%.1f\" x2=\"%.1f\" y2=\"%.1f\" stroke=\"%s\"/>\n", x1, y1, x2, y2, color);
+    }
+
+    private static String text(double x, double y, String anchor, String value) {
+        return String.format(Locale.ROOT, "<text x=\"%.1f\" y=\"%.1f\" text-anchor=\"%s\">%s</text>\n",
+                x, y, anchor, escape(value));
+    }
+
+    private static String escape(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
@@ -0,0 +1,170 @@
+package com.bsit.codegeneration.bench;
+
+import java.util.Map;
+
+/**
+ * One end-to-end run of the scaling harness.
+ */
+public class ScalingResult {
+
+    private String backend;
+    private int workers;
+    private int tables;
+    private long elapsedMillis;
+    private double tablesPerSecond;
+    private long peakHeapBytes;
+    private long peakRssBytes;
+    private long catalogCalls;
+    private double catalogCallsPerTable;
+    private Map<String, Long> callCounts;
+    private long allocatedBytes;
+    private double allocatedBytesPerTable;
+    private Map<String, PhaseCost> phases;
+    private String error;
+
+    public String key() {
+        return backend + "/" + workers;
+    }
+
+    public String getBackend() {
+        return backend;
+    }
+
+    public void setBackend(String backend) {
+        this.backend = backend;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public void setWorkers(int workers) {
+        this.workers = workers;
+    }
+
+    public int getTables() {
+        return tables;
+    }
+
+    public void setTables(int tables) {
+        this.tables = tables;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public double getTablesPerSecond() {
+        return tablesPerSecond;
+    }
+
+    public void setTablesPerSecond(double tablesPerSecond) {
+        this.tablesPerSecond = tablesPerSecond;
+    }
+
+    public long getPeakHeapBytes() {
+        return peakHeapBytes;
+    }
+
+    public void setPeakHeapBytes(long peakHeapBytes) {
+        this.peakHeapBytes = peakHeapBytes;
+    }
+
+    public long getPeakRssBytes() {
+        return peakRssBytes;
+    }
+
+    public void setPeakRssBytes(long peakRssBytes) {
+        this.peakRssBytes = peakRssBytes;
+    }
+
+    public long getCatalogCalls() {
+        return catalogCalls;
+    }
+
+    public void setCatalogCalls(long catalogCalls) {
+        this.catalogCalls = catalogCalls;
+    }
+
+    public double getCatalogCallsPerTable() {
+        return catalogCallsPerTable;
+    }
+
+    public void setCatalogCallsPerTable(double catalogCallsPerTable) {
+        this.catalogCallsPerTable = catalogCallsPerTable;
+    }
+
+    public Map<String, Long> getCallCounts() {
+        return callCounts;
+    }
+
+    public void setCallCounts(Map<String, Long> callCounts) {
+        this.callCounts = callCounts;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public void setAllocatedBytes(long allocatedBytes) {
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    public double getAllocatedBytesPerTable() {
+        return allocatedBytesPerTable;
+    }
+
+    public void setAllocatedBytesPerTable(double allocatedBytesPerTable) {
+        this.allocatedBytesPerTable = allocatedBytesPerTable;
+    }
+
+    public Map<String, PhaseCost> getPhases() {
+        return phases;
+    }
+
+    public void setPhases(Map<String, PhaseCost> phases) {
+        this.phases = phases;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    /** Per-table cost of one metrics phase (catalog, model, render:*, write), summed over shards. */
+    public static class PhaseCost {
+
+        private double wallMillisPerTable;
+        private double allocatedBytesPerTable;
+
+        public PhaseCost() { }
+
+        public PhaseCost(double wallMillisPerTable, double allocatedBytesPerTable) {
+            this.wallMillisPerTable = wallMillisPerTable;
+            this.allocatedBytesPerTable = allocatedBytesPerTable;
+        }
+
+        public double getWallMillisPerTable() {
+            return wallMillisPerTable;
+        }
+
+        public void setWallMillisPerTable(double wallMillisPerTable) {
+            this.wallMillisPerTable = wallMillisPerTable;
+        }
+
+        public double getAllocatedBytesPerTable() {
+            return allocatedBytesPerTable;
+        }
+
+        public void setAllocatedBytesPerTable(double allocatedBytesPerTable) {
+            this.allocatedBytesPerTable = allocatedBytesPerTable;
+        }
+    }
+}
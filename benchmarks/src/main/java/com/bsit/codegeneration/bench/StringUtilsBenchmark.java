@@ -0,0 +1,46 @@
+package com.bsit.codegeneration.bench;
+
+import com.bsit.codegeneration.util.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringUtilsBenchmark {
+
+    private static final List<String> ACRONYMS = List.of("ID", "URL");
+
+    @Param({"film_id", "last_update", "customer_payment_history_url"})
+    public String name;
+
+    // Generators call toCamelCase with the same identifiers over and over, so this is the cache-hit path
+    @Benchmark
+    public String toCamelCase() {
+        return StringUtils.toCamelCase(name, ACRONYMS, false);
+    }
+
+    @Benchmark
+    public String toPascalCase() {
+        return StringUtils.toCamelCase(name, ACRONYMS, true);
+    }
+
+    @Benchmark
+    public String stripPrefix() {
+        return StringUtils.stripPrefix(name, ACRONYMS);
+    }
+}
@@ -0,0 +1,77 @@
+package com.bsit.codegeneration.bench;
+
+import com.bsit.codegeneration.fixture.ColumnType;
+import com.bsit.codegeneration.fixture.SchemaSpec;
+import com.bsit.codegeneration.fixture.SyntheticDatabase;
+import com.bsit.codegeneration.fixture.TableSpec;
+import com.bsit.codegeneration.util.Relationship;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * One table of a given width on the synthetic catalog. The first column is an auto-increment
+ * primary key, the second a foreign key to {@code customer}; the rest cycle through the column
+ * types the generators map differently.
+ */
+public final class SyntheticTable {
+
+    public static final String SCHEMA = "bench";
+
+    private static final ColumnType[] TYPES = {ColumnType.VARCHAR, ColumnType.NUMERIC, ColumnType.TIMESTAMP,
+            ColumnType.BOOL, ColumnType.INT4, ColumnType.DATE, ColumnType.BPCHAR, ColumnType.TEXT,
+            ColumnType.UUID, ColumnType.BYTEA, ColumnType.INT8, ColumnType.JSONB};
+
+    private final String tableName;
+    private final Connection connection;
+    private final List<Relationship> relationships;
+
+    private SyntheticTable(String tableName, Connection connection, List<Relationship> relationships) {
+        this.tableName = tableName;
+        this.connection = connection;
+        this.relationships = relationships;
+    }
+
+    public static SyntheticTable of(int width) {
+        String tableName = "bench_table_" + width;
+        SchemaSpec schema = new SchemaSpec(SCHEMA);
+        schema.table("customer").id("customer_id").column("name", ColumnType.VARCHAR);
+        TableSpec table = schema.table(tableName).id(tableName + "_id");
+        if (width > 1) {
+            table.foreignKey("customer_id", "customer", "customer_id");
+        }
+        for (int i = 3; i <= width; i++) {
+            ColumnType type = TYPES[(i - 3) % TYPES.length];
+            table.column(type.name().toLowerCase() + "_" + i, type);
+        }
+        List<Relationship> relationships = width > 1
+                ? List.of(new Relationship("customer", "customer_id", "customer_id", false,
+                        Relationship.Type.MANY_TO_ONE, null))
+                : List.of();
+        return new SyntheticTable(tableName, new SyntheticDatabase(schema).connect(), relationships);
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public List<Relationship> getRelationships() {
+        return relationships;
+    }
+
+    /** Fresh cursor over the column rows; the caller closes it. */
+    public ResultSet openColumns() throws SQLException {
+        return metaData().getColumns(null, SCHEMA, tableName, "%");
+    }
+
+    public DatabaseMetaData metaData() throws SQLException {
+        return connection.getMetaData();
+    }
+
+    public Connection connection() {
+        return connection;
+    }
+}
@@ -0,0 +1,83 @@
+package com.bsit.codegeneration.freemarker;
+
+import com.bsit.codegeneration.bench.SyntheticTable;
+import com.bsit.codegeneration.util.Relationship;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * FreeMarker POJO generation for one table (column read, data model, template rendering and the
+ * file write into a temporary directory), plus its type mapping.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FreeMarkerPojoBenchmark {
+
+    private static final String[] TYPE_NAMES = {"varchar", "numeric", "timestamp", "bool", "int4", "date",
+            "bpchar", "text", "uuid", "bytea", "int8", "JSONB", "TIMESTAMPZ", "DOUBLE", "BLOB"};
+
+    @Param({"8", "40", "500"})
+    public int width;
+
+    private FreeMarkerPojoGenerator generator;
+    private Connection connection;
+    private List<String> tables;
+    private Map<String, List<Relationship>> relationships;
+    private Path outputDirectory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        SyntheticTable table = SyntheticTable.of(width);
+        generator = new FreeMarkerPojoGenerator();
+        connection = table.connection();
+        tables = List.of(table.getTableName());
+        relationships = Map.of(table.getTableName(), table.getRelationships());
+        outputDirectory = Files.createTempDirectory("freemarker-bench");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(outputDirectory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public Map<String, Path> render() throws Exception {
+        return generator.generate(connection, SyntheticTable.SCHEMA, "com.bsit.codegeneration.bench.generated",
+                outputDirectory.toString(), tables, relationships);
+    }
+
+    @Benchmark
+    public void typeMapping(Blackhole bh) {
+        for (String typeName : TYPE_NAMES) {
+            bh.consume(generator.sqlTypeToJavaType(typeName));
+        }
+    }
+}
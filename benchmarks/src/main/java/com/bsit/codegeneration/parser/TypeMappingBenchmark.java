@@ -0,0 +1,98 @@
+package com.bsit.codegeneration.parser;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Types;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every per-column type mapping of the parser generators, each over the same mix of column
+ * names and types. Lives in the generators' package because the mappers are package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TypeMappingBenchmark {
+
+    private static final String[] TYPE_NAMES = {"varchar", "numeric", "timestamp", "bool", "int4", "date",
+            "bpchar", "text", "uuid", "bytea", "int8", "NUMBER", "VARCHAR2", "CLOB", "BLOB"};
+    private static final String[] COLUMN_NAMES = {"name", "amount", "created_at", "active", "customer_id",
+            "birth_date", "code", "description", "external_ref", "payload", "total", "price", "title",
+            "notes", "image"};
+    private static final int[] SQL_TYPES = {Types.VARCHAR, Types.NUMERIC, Types.TIMESTAMP, Types.BIT,
+            Types.INTEGER, Types.DATE, Types.CHAR, Types.LONGVARCHAR, Types.OTHER, Types.BINARY, Types.BIGINT,
+            Types.DECIMAL, Types.VARCHAR, Types.CLOB, Types.BLOB};
+    private static final String[] JAVA_TYPES = {"int", "long", "float", "double", "boolean", "Integer",
+            "Long", "String", "java.math.BigDecimal", "byte[]"};
+    private static final Set<String> FK_COLUMNS = Set.of("customer_id");
+
+    @Benchmark
+    public void jdbcDao(Blackhole bh) {
+        for (int i = 0; i < TYPE_NAMES.length; i++) {
+            bh.consume(JdbcDaoGenerator.mapDbTypeToJava(TYPE_NAMES[i], COLUMN_NAMES[i], 0, "POSTGRES"));
+        }
+    }
+
+    @Benchmark
+    public void jdbcDaoWrappers(Blackhole bh) {
+        for (String javaType : JAVA_TYPES) {
+            bh.consume(JdbcDaoGenerator.mapJavaTypeToWrapper(javaType));
+            bh.consume(JdbcDaoGenerator.mapJavaTypeToMethod(javaType));
+        }
+    }
+
+    @Benchmark
+    public void jdbiDao(Blackhole bh) {
+        for (int i = 0; i < TYPE_NAMES.length; i++) {
+            bh.consume(JdbiDaoGenerator.mapDbTypeToJava(TYPE_NAMES[i], COLUMN_NAMES[i], FK_COLUMNS));
+        }
+    }
+
+    @Benchmark
+    public void record(Blackhole bh) {
+        for (int i = 0; i < TYPE_NAMES.length; i++) {
+            bh.consume(RecordGenerator.mapDbTypeToJava(TYPE_NAMES[i], COLUMN_NAMES[i], true));
+        }
+    }
+
+    @Benchmark
+    public void recordTest(Blackhole bh) {
+        for (int i = 0; i < TYPE_NAMES.length; i++) {
+            bh.consume(RecordTestGenerator.mapDbTypeToJava(TYPE_NAMES[i], COLUMN_NAMES[i], true));
+        }
+    }
+
+    @Benchmark
+    public void repository(Blackhole bh) {
+        for (String typeName : TYPE_NAMES) {
+            bh.consume(RepositoryGenerator.mapDbTypeToJava(typeName));
+        }
+    }
+
+    @Benchmark
+    public void pojo(Blackhole bh) {
+        for (int i = 0; i < TYPE_NAMES.length; i++) {
+            bh.consume(PojoGenerator.mapDbTypeToJava(TYPE_NAMES[i], COLUMN_NAMES[i], 2, 10, "ORACLE"));
+        }
+    }
+
+    @Benchmark
+    public void mapperGetters(Blackhole bh) {
+        for (int sqlType : SQL_TYPES) {
+            bh.consume(MapperGenerator.mapSqlTypeToGetter(sqlType));
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.bsit.codegeneration.bench.jmh_generated;
+public class DaoGenerationBenchmark_jmhType extends DaoGenerationBenchmark_jmhType_B3 {
+}
+
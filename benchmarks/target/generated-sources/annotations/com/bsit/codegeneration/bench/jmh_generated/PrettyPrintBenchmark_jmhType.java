@@ -0,0 +1,4 @@
+package com.bsit.codegeneration.bench.jmh_generated;
+public class PrettyPrintBenchmark_jmhType extends PrettyPrintBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.bsit.codegeneration.bench.jmh_generated;
+public class StringUtilsBenchmark_jmhType extends StringUtilsBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.bsit.codegeneration.freemarker.jmh_generated;
+public class FreeMarkerPojoBenchmark_jmhType extends FreeMarkerPojoBenchmark_jmhType_B3 {
+}
+
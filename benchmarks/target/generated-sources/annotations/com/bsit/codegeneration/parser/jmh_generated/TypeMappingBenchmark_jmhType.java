@@ -0,0 +1,4 @@
+package com.bsit.codegeneration.parser.jmh_generated;
+public class TypeMappingBenchmark_jmhType extends TypeMappingBenchmark_jmhType_B3 {
+}
+
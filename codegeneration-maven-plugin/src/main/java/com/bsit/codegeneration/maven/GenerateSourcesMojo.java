@@ -0,0 +1,186 @@
+package com.bsit.codegeneration.maven;
+
+import com.bsit.codegeneration.freemarker.FreeMarkerPojoGenerator;
+import com.bsit.codegeneration.metadata.DbReader;
+import com.bsit.codegeneration.metadata.SchemaFingerprint;
+import com.bsit.codegeneration.metadata.YamlParser;
+import com.bsit.codegeneration.model.DatabaseConfig;
+import com.bsit.codegeneration.model.GeneratorConfig;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * Runs the generator during {@code generate-sources} and registers its output as a compile source root.
+ * The run is skipped when the config file, the templates, the generator itself and the schema
+ * fingerprint all match the state recorded by the last successful run.
+ */
+@Mojo(name = "generate-sources", defaultPhase = LifecyclePhase.GENERATE_SOURCES, threadSafe = true)
+public class GenerateSourcesMojo extends AbstractMojo {
+
+    private static final String KEY_CONFIG = "config";
+    private static final String KEY_TEMPLATES = "templates";
+    private static final String KEY_GENERATOR = "generator";
+    private static final String KEY_OUTPUT = "output";
+    private static final String KEY_SCHEMA = "schema";
+
+    @Parameter(defaultValue = "${project}", readonly = true, required = true)
+    private MavenProject project;
+
+    @Parameter(property = "codegen.configFile", defaultValue = "${project.basedir}/src/main/resources/generator.yml")
+    private File configFile;
+
+    @Parameter(property = "codegen.outputDirectory", defaultValue = "${project.build.directory}/generated-sources/codegen")
+    private File outputDirectory;
+
+    @Parameter(property = "codegen.stateFile", defaultValue = "${project.build.directory}/codegen/generate-sources.state")
+    private File stateFile;
+
+    /** Skip the catalog query and only compare config, templates and generator version. */
+    @Parameter(property = "codegen.skipSchemaCheck", defaultValue = "false")
+    private boolean skipSchemaCheck;
+
+    @Parameter(property = "codegen.force", defaultValue = "false")
+    private boolean force;
+
+    @Parameter(property = "codegen.skip", defaultValue = "false")
+    private boolean skip;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        // Register the source root even when generation is skipped, the previous output is still valid
+        project.addCompileSourceRoot(outputDirectory.getAbsolutePath());
+
+        if (skip) {
+            getLog().info("Code generation skipped");
+            return;
+        }
+        if (!configFile.isFile()) {
+            throw new MojoExecutionException("Generator config not found: " + configFile);
+        }
+
+        try {
+            YamlParser yamlParser = new YamlParser();
+            GeneratorConfig config = yamlParser.loadConfig(configFile.toPath());
+            config.getGenerator().getTarget().setOutputDirectory(outputDirectory.getAbsolutePath());
+
+            Properties current = new Properties();
+            current.setProperty(KEY_CONFIG, hashFile(configFile.toPath()));
+            current.setProperty(KEY_TEMPLATES, hashTemplates());
+            current.setProperty(KEY_GENERATOR, generatorVersion());
+            current.setProperty(KEY_OUTPUT, outputDirectory.getAbsolutePath());
+            if (!skipSchemaCheck) {
+                current.setProperty(KEY_SCHEMA, schemaFingerprint(config.getGenerator().getDatabase()));
+            }
+
+            Properties previous = readState();
+            if (!force && outputDirectory.isDirectory() && current.equals(previous)) {
+                getLog().info("Generated sources are up to date, skipping code generation");
+                return;
+            }
+            logChanges(previous, current);
+
+            yamlParser.generate(config);
+            writeState(current);
+        } catch (MojoExecutionException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new MojoExecutionException("Code generation failed", e);
+        }
+    }
+
+    private String schemaFingerprint(DatabaseConfig dbConfig) throws Exception {
+        try (Connection conn = DbReader.openConnection(dbConfig)) {
+            return SchemaFingerprint.compute(conn, dbConfig);
+        }
+    }
+
+    private String hashTemplates() throws IOException {
+        MessageDigest digest = newDigest();
+        ClassLoader loader = FreeMarkerPojoGenerator.class.getClassLoader();
+        for (String template : FreeMarkerPojoGenerator.TEMPLATES) {
+            digest.update(template.getBytes(StandardCharsets.UTF_8));
+            try (InputStream in = loader.getResourceAsStream(FreeMarkerPojoGenerator.TEMPLATE_DIR + "/" + template)) {
+                if (in != null) {
+                    digest.update(in.readAllBytes());
+                }
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    // The generator jar changes whenever its code or bundled templates change
+    private String generatorVersion() throws IOException, URISyntaxException {
+        CodeSource codeSource = YamlParser.class.getProtectionDomain().getCodeSource();
+        if (codeSource == null) {
+            return "unknown";
+        }
+        Path location = Path.of(codeSource.getLocation().toURI());
+        if (Files.isDirectory(location)) {
+            return location.toString();
+        }
+        return location + ":" + Files.size(location) + ":" + Files.getLastModifiedTime(location).toMillis();
+    }
+
+    private String hashFile(Path file) throws IOException {
+        MessageDigest digest = newDigest();
+        digest.update(Files.readAllBytes(file));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private Properties readState() throws IOException {
+        Properties state = new Properties();
+        if (stateFile.isFile()) {
+            try (InputStream in = Files.newInputStream(stateFile.toPath())) {
+                state.load(in);
+            }
+        }
+        return state;
+    }
+
+    private void writeState(Properties state) throws IOException {
+        Files.createDirectories(stateFile.toPath().getParent());
+        try (OutputStream out = Files.newOutputStream(stateFile.toPath())) {
+            state.store(out, "codegeneration-maven-plugin up-to-date state");
+        }
+    }
+
+    private void logChanges(Properties previous, Properties current) {
+        if (previous.isEmpty()) {
+            getLog().info("No previous generation state, generating sources");
+            return;
+        }
+        for (String key : current.stringPropertyNames()) {
+            if (!Objects.equals(previous.getProperty(key), current.getProperty(key))) {
+                getLog().info("Generator input changed: " + key);
+            }
+        }
+    }
+}
@@ -1,9 +1,41 @@
 package com.bsit.codegeneration;
 
 import com.bsit.codegeneration.metadata.YamlParser;
+import com.bsit.codegeneration.run.GenerationPlan;
+import com.bsit.codegeneration.run.PlanCalibration;
+import com.bsit.codegeneration.run.ShardManifestMerger;
+
+import java.nio.file.Paths;
 
 public class App {
     public static void main(String[] args) {
+        // "merge-manifests <dir> [runDir]" combines the per-shard manifests, failures and metrics of a sharded run
+        if (args.length > 0 && "merge-manifests".equals(args[0])) {
+            String directory = args.length > 1 ? args[1] : "target/codegen";
+            String runDirectory = args.length > 2 ? args[2] : directory;
+            try {
+                ShardManifestMerger.merge(Paths.get(directory), Paths.get(runDirectory));
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to merge shard manifests in " + directory, e);
+            }
+            return;
+        }
+
+        // "plan [calibration.json]" estimates the run from catalog summaries without generating anything
+        if (args.length > 0 && "plan".equals(args[0])) {
+            try {
+                PlanCalibration calibration = args.length > 1
+                        ? PlanCalibration.load(Paths.get(args[1])) : PlanCalibration.loadDefault();
+                YamlParser yamlParser = new YamlParser();
+                for (GenerationPlan plan : yamlParser.plan(yamlParser.loadBundledConfig(), calibration)) {
+                    System.out.print(plan.format());
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to plan the generation run", e);
+            }
+            return;
+        }
+
         YamlParser yamlParser = new YamlParser();
         try {
             yamlParser.generate();
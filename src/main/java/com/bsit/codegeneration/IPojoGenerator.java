@@ -1,7 +1,52 @@
 package com.bsit.codegeneration;
 
+import java.nio.file.Path;
 import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.bsit.codegeneration.util.Relationship;
 
 public interface IPojoGenerator {
     void generate(Connection conn, String schema, String packageName, String outputDir) throws Exception;
+
+    // Generates only the given tables (all when null) and returns the written file per table
+    Map<String, Path> generate(Connection conn, String schema, String packageName, String outputDir,
+                               Collection<String> tables) throws Exception;
+
+    // Same with relationships supplied by the caller, which must cover the tables and their direct neighbours
+    default Map<String, Path> generate(Connection conn, String schema, String packageName, String outputDir,
+                                       Collection<String> tables, Map<String, List<Relationship>> relationships) throws Exception {
+        Map<String, Path> written = new LinkedHashMap<>();
+        List<Exception> failures = new ArrayList<>();
+        generate(conn, schema, packageName, outputDir, tables, relationships, new TableListener() {
+            @Override
+            public void completed(String table, Path path) {
+                written.put(table, path);
+            }
+
+            @Override
+            public void failed(String table, Exception error) {
+                failures.add(error);
+            }
+        });
+        if (!failures.isEmpty()) {
+            throw failures.get(0);
+        }
+        return written;
+    }
+
+    // Same, reporting each table to the listener; a failing table does not stop the others
+    void generate(Connection conn, String schema, String packageName, String outputDir,
+                  Collection<String> tables, Map<String, List<Relationship>> relationships,
+                  TableListener listener) throws Exception;
+
+    interface TableListener {
+        void completed(String table, Path path);
+
+        void failed(String table, Exception error);
+    }
 }
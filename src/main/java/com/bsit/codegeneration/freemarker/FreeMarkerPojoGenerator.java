@@ -13,6 +13,7 @@ import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.Writer;
+import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
@@ -21,38 +22,72 @@ import java.util.*;
 
 public class FreeMarkerPojoGenerator implements IPojoGenerator {
 
+    // Classpath folder and template names, also used for up-to-date fingerprints
+    public static final String TEMPLATE_DIR = "templates";
+    public static final List<String> TEMPLATES = List.of("pojo.ftl");
+
+    // Configuration is thread-safe once set up; sharing it keeps parsed templates cached across generators and targets
+    private static final Configuration SHARED_CONFIG = createConfiguration();
+
     private final Configuration config;
 
     public FreeMarkerPojoGenerator() {
-        config = new Configuration(Configuration.VERSION_2_3_31);
-        config.setClassLoaderForTemplateLoading(getClass().getClassLoader(), "templates");
-        config.setDefaultEncoding("UTF-8");
-        config.setTemplateExceptionHandler(TemplateExceptionHandler.RETHROW_HANDLER);
+        config = SHARED_CONFIG;
+    }
+
+    private static Configuration createConfiguration() {
+        Configuration configuration = new Configuration(Configuration.VERSION_2_3_31);
+        configuration.setClassLoaderForTemplateLoading(FreeMarkerPojoGenerator.class.getClassLoader(), TEMPLATE_DIR);
+        configuration.setDefaultEncoding("UTF-8");
+        configuration.setTemplateExceptionHandler(TemplateExceptionHandler.RETHROW_HANDLER);
+        return configuration;
     }
 
     @Override
     public void generate(Connection conn, String schema, String packageName, String outputDir) throws Exception {
+        generate(conn, schema, packageName, outputDir, null);
+    }
+
+    @Override
+    public Map<String, Path> generate(Connection conn, String schema, String packageName, String outputDir,
+                                      Collection<String> selectedTables) throws Exception {
         DatabaseMetaData meta = conn.getMetaData();
 
-        List<String> tables = readTableNames(meta, schema);
-        Map<String, List<Relationship>> allRelationships = DbReader.readRelationships(conn, schema);
+        List<String> tables = new ArrayList<>();
+        for (String table : DbReader.readTableNames(meta, schema)) {
+            if (selectedTables == null || selectedTables.contains(table)) {
+                tables.add(table);
+            }
+        }
+        return generate(conn, schema, packageName, outputDir, tables, DbReader.readRelationships(conn, schema));
+    }
+
+    @Override
+    public void generate(Connection conn, String schema, String packageName, String outputDir,
+                         Collection<String> tables, Map<String, List<Relationship>> allRelationships,
+                         TableListener listener) throws Exception {
+        DatabaseMetaData meta = conn.getMetaData();
 
         // Build reverse relationships map
         Map<String, List<Relationship>> reverseRelationshipMap = buildReverseRelationships(allRelationships);
 
-        // Detect join tables
-        Set<String> joinTables = detectJoinTables(allRelationships, meta, schema, tables);
+        // Detect join tables among the tables the relationships were loaded for
+        Set<String> joinTables = detectJoinTables(allRelationships, meta, schema, new ArrayList<>(allRelationships.keySet()));
 
         // Generate for each table - PASS allRelationships as parameter
         for (String table : tables) {
             List<Relationship> relationships = allRelationships.getOrDefault(table, Collections.emptyList());
             List<Relationship> reverseRelationships = reverseRelationshipMap.getOrDefault(table, Collections.emptyList());
-            generatePojoForTable(meta, schema, table, packageName, outputDir, joinTables, relationships, reverseRelationships, allRelationships);
+            try {
+                listener.completed(table, generatePojoForTable(meta, schema, table, packageName, outputDir, joinTables, relationships, reverseRelationships, allRelationships));
+            } catch (Exception e) {
+                listener.failed(table, e);
+            }
         }
     }
 
     // FIXED: Added allRelationships as parameter
-    private void generatePojoForTable(
+    private Path generatePojoForTable(
             DatabaseMetaData meta,
             String schema,
             String table,
@@ -181,6 +216,7 @@ public class FreeMarkerPojoGenerator implements IPojoGenerator {
             template.process(dataModel, writer);
         }
         System.out.println("Generated POJO: " + outFile.getAbsolutePath());
+        return outFile.toPath();
     }
 
     // Helper method to build reverse relationships
@@ -214,16 +250,6 @@ public class FreeMarkerPojoGenerator implements IPojoGenerator {
         return joinTables;
     }
 
-    private List<String> readTableNames(DatabaseMetaData meta, String schema) throws SQLException {
-        List<String> tables = new ArrayList<>();
-        try (ResultSet rs = meta.getTables(null, schema, "%", new String[]{"TABLE"})) {
-            while (rs.next()) {
-                tables.add(rs.getString("TABLE_NAME"));
-            }
-        }
-        return tables;
-    }
-
     private String toCamelCase(String s) {
         return StringUtils.toCamelCase(s, Collections.emptyList(), false);
     }
@@ -232,7 +258,7 @@ public class FreeMarkerPojoGenerator implements IPojoGenerator {
         return StringUtils.toCamelCase(s, Collections.emptyList(), true);
     }
 
-    private String sqlTypeToJavaType(String sqlType) {
+    String sqlTypeToJavaType(String sqlType) {
         if (sqlType == null) return "String";
         switch (sqlType.toUpperCase(Locale.ROOT)) {
             case "INT": case "INTEGER": return "int";
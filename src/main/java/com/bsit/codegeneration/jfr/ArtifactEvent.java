@@ -0,0 +1,34 @@
+package com.bsit.codegeneration.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One artifact generator run for one table, including the write of its output.
+ */
+@Name("com.bsit.codegeneration.Artifact")
+@Label("Artifact")
+@Category({"Code Generation"})
+@Description("Rendering and writing one artifact of one table")
+public class ArtifactEvent extends Event {
+
+    @Label("Table")
+    public String table;
+
+    @Label("Artifact Kind")
+    public String artifactKind;
+
+    @Label("Column Count")
+    public int columnCount;
+
+    @Label("Bytes Written")
+    @DataAmount
+    public long bytesWritten;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
@@ -0,0 +1,26 @@
+package com.bsit.codegeneration.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Schema-wide catalog reads: the table list, relationships and structure fingerprints.
+ */
+@Name("com.bsit.codegeneration.CatalogRead")
+@Label("Catalog Read")
+@Category({"Code Generation"})
+@Description("DatabaseMetaData calls covering many tables at once")
+public class CatalogReadEvent extends Event {
+
+    @Label("Schema")
+    public String schema;
+
+    @Label("Phase")
+    public String phase;
+
+    @Label("Table Count")
+    public int tableCount;
+}
@@ -0,0 +1,23 @@
+package com.bsit.codegeneration.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Spans one {@code DbReader.readDatabase} call, i.e. one schema (or one shard of it).
+ */
+@Name("com.bsit.codegeneration.GenerationRun")
+@Label("Generation Run")
+@Category({"Code Generation"})
+@Description("Generation of all artifacts of one schema")
+public class GenerationRunEvent extends Event {
+
+    @Label("Schema")
+    public String schema;
+
+    @Label("Table Count")
+    public int tableCount;
+}
@@ -0,0 +1,23 @@
+package com.bsit.codegeneration.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Loading the column snapshot of one table.
+ */
+@Name("com.bsit.codegeneration.TableModel")
+@Label("Table Model")
+@Category({"Code Generation"})
+@Description("getColumns snapshot of one table shared by its artifact generators")
+public class TableModelEvent extends Event {
+
+    @Label("Table")
+    public String table;
+
+    @Label("Column Count")
+    public int columnCount;
+}
@@ -0,0 +1,28 @@
+package com.bsit.codegeneration.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Writing one generated source file.
+ */
+@Name("com.bsit.codegeneration.Write")
+@Label("Write Source")
+@Category({"Code Generation"})
+@Description("Writing one generated source file")
+public class WriteEvent extends Event {
+
+    @Label("Class Name")
+    public String className;
+
+    @Label("Path")
+    public String path;
+
+    @Label("Bytes Written")
+    @DataAmount
+    public long bytesWritten;
+}
@@ -1,39 +1,67 @@
 package com.bsit.codegeneration.metadata;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Driver;
 import java.sql.DriverManager;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.ResultSet;
 import java.sql.DatabaseMetaData;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.HashMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.Collections;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 import com.bsit.codegeneration.IPojoGenerator;
 import com.bsit.codegeneration.PojoGeneratorFactory;
+import com.bsit.codegeneration.jfr.ArtifactEvent;
+import com.bsit.codegeneration.jfr.CatalogReadEvent;
+import com.bsit.codegeneration.jfr.GenerationRunEvent;
 import com.bsit.codegeneration.model.DatabaseConfig;
 import com.bsit.codegeneration.model.TargetConfig;
 import com.bsit.codegeneration.model.RecordConfig;
 import com.bsit.codegeneration.model.DaoConfig;
 import com.bsit.codegeneration.model.RepositoryConfig;
 import com.bsit.codegeneration.model.PojoConfig;
-import com.bsit.codegeneration.parser.RecordGenerator;
-import com.bsit.codegeneration.parser.JdbiDaoGenerator;
-import com.bsit.codegeneration.parser.JdbcDaoGenerator;
-import com.bsit.codegeneration.parser.RepositoryGenerator;
+import com.bsit.codegeneration.model.NamingStrategyConfig;
+import com.bsit.codegeneration.model.RunConfig;
+import com.bsit.codegeneration.model.ShardConfig;
+import com.bsit.codegeneration.run.GenerationManifest;
+import com.bsit.codegeneration.run.GenerationRun;
+import com.bsit.codegeneration.run.MeasuringOutputSink;
+import com.bsit.codegeneration.run.RunMetrics;
+import com.bsit.codegeneration.spi.ArtifactContext;
+import com.bsit.codegeneration.spi.ArtifactGenerator;
+import com.bsit.codegeneration.spi.ArtifactGenerators;
+import com.bsit.codegeneration.spi.FileOutputSink;
+import com.bsit.codegeneration.spi.TableModel;
 import com.bsit.codegeneration.util.Relationship;
+import com.bsit.codegeneration.util.StringUtils;
 import com.bsit.codegeneration.util.Relationship.Type;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class DbReader {
 
     public static final int INT = 2;
+    private static final String POJO = "pojo";
+    private static final ObjectMapper FINGERPRINT_JSON =
+            new ObjectMapper().disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
     private static final Logger logger = LoggerFactory.getLogger(DbReader.class);
+    private static final Map<String, Driver> DRIVERS = new ConcurrentHashMap<>();
     private static final Logger filmLogger = LoggerFactory.getLogger("filmLogger"); // Custom logger for "film" table
 
     private DbReader() { }
@@ -43,118 +71,438 @@ public class DbReader {
                                     RecordConfig recordConfig,
                                     DaoConfig daoConfig,
                                     RepositoryConfig repositoryConfig,
-                                    PojoConfig pojoConfig) throws SQLException, ClassNotFoundException {  // Removed dtoConfig
+                                    PojoConfig pojoConfig) throws SQLException, ClassNotFoundException, IOException {
+        readDatabase(dbConfig, target, recordConfig, daoConfig, repositoryConfig, pojoConfig,
+                new ShardConfig(), new RunConfig());
+    }
+
+    public static GenerationManifest readDatabase(DatabaseConfig dbConfig,
+                                                  TargetConfig target,
+                                                  RecordConfig recordConfig,
+                                                  DaoConfig daoConfig,
+                                                  RepositoryConfig repositoryConfig,
+                                                  PojoConfig pojoConfig,
+                                                  ShardConfig shardConfig,
+                                                  RunConfig runConfig) throws SQLException, ClassNotFoundException, IOException {
+        return readDatabase(dbConfig, target, recordConfig, daoConfig, repositoryConfig, pojoConfig,
+                shardConfig, runConfig, Collections.emptyList());
+    }
 
-        Class.forName(dbConfig.getDriver());
+    public static GenerationManifest readDatabase(DatabaseConfig dbConfig,
+                                                  TargetConfig target,
+                                                  RecordConfig recordConfig,
+                                                  DaoConfig daoConfig,
+                                                  RepositoryConfig repositoryConfig,
+                                                  PojoConfig pojoConfig,
+                                                  ShardConfig shardConfig,
+                                                  RunConfig runConfig,
+                                                  List<String> extraArtifacts) throws SQLException, ClassNotFoundException, IOException {  // Removed dtoConfig
 
-        try (Connection conn = DriverManager.getConnection(
-                dbConfig.getUrl(), dbConfig.getUser(), dbConfig.getPassword())) {
+        long startNanos = System.nanoTime();
+        // Names cached by an earlier run in this JVM may come from other acronyms or another schema
+        StringUtils.clearCaches();
+        GenerationRunEvent runEvent = new GenerationRunEvent();
+        runEvent.begin();
+        try (Connection conn = openConnection(dbConfig)) {
 
             DatabaseMetaData metaData = conn.getMetaData();
             String schema = dbConfig.getSchema();
-            List<String> tableTypes = dbConfig.getInputFilter().getTableTypes();
-
-            ResultSet tables = metaData.getTables(null, schema, "%", tableTypes.toArray(new String[0]));
-            Set<String> processedTables = new HashSet<>();
-            int count = 0;
-            Map<String, List<Relationship>> allRelationships = readRelationships(conn, schema);
+            RunMetrics metrics = new RunMetrics(runConfig.isMetrics());
+            RunMetrics.Sample catalogStart = metrics.start();
+            CatalogReadEvent tablesEvent = new CatalogReadEvent();
+            tablesEvent.begin();
 
-            while (tables.next()) {
-                String tableName = tables.getString("TABLE_NAME");
-                if (processedTables.contains(tableName.toLowerCase()))
-                    continue;
-                processedTables.add(tableName.toLowerCase());
+            // Every shard sees the same filtered table list, so the assignment is identical everywhere
+            Set<String> partitionChildren = TableStructures.readPartitionChildren(metaData, schema);
+            List<String> tableNames = readIncludedTables(metaData, schema, dbConfig, partitionChildren);
+            List<String> shardTables = ShardPlanner.assign(metaData, schema, tableNames, shardConfig);
+            if (shardConfig.isSharded()) {
+                logger.info("Shard {}/{} ({}) owns {} of {} tables", shardConfig.getShardIndex(),
+                        shardConfig.getShardCount(), shardConfig.getStrategy(), shardTables.size(), tableNames.size());
+            }
 
-                if (!isIncluded(tableName, dbConfig.getIncludes(), dbConfig.getExcludes())) {
-                    continue;
+            GenerationRun run = GenerationRun.open(schema, shardConfig, runConfig, shardTables, metrics);
+            try {
+                GenerationManifest manifest = run.getManifest();
+                try {
+                    List<String> tenants = TableStructures.readTenantSchemas(metaData, schema, dbConfig.getTenantSchemas());
+                    manifest.setTenantSchemas(tenants);
+                    manifest.setTenantDrift(TableStructures.findTenantDrift(metaData, schema, tenants, shardTables));
+                } catch (SQLException e) {
+                    run.failed("*", RunMetrics.CATALOG, e);
                 }
+                metrics.record(RunMetrics.CATALOG, tableNames.size(), catalogStart);
+                commitCatalogEvent(tablesEvent, schema, "tables", tableNames.size());
 
-                Logger currentLogger;
-                if (tableName.equalsIgnoreCase("film")) {
-                    currentLogger = filmLogger;
-                } else {
-                    currentLogger = logger;
-                }
-                currentLogger.info("Reading table: {}", tableName);
-                count++;
+                // Inputs of every unit: table structure, its relationships and the generator settings
+                String configFingerprint = configFingerprint(dbConfig, target, recordConfig, daoConfig,
+                        repositoryConfig, pojoConfig);
+                // Only this shard's tables are known to be written here, other shards may use another target
+                ArtifactContext context = new ArtifactContext(dbConfig, target, recordConfig, daoConfig,
+                        repositoryConfig, pojoConfig, Set.copyOf(shardTables));
+                List<ArtifactGenerator> generators = ArtifactGenerators.load(
+                        enabledKinds(recordConfig, daoConfig, repositoryConfig, extraArtifacts));
+                TableBatch batch = new TableBatch(conn, schema, context, generators,
+                        new MeasuringOutputSink(new FileOutputSink(target.getOutputDirectory()), metrics),
+                        partitionChildren, run, configFingerprint);
 
-                List<Relationship> relationships;
-                if (pojoConfig.isIncludeRelationships()) {  // Use pojoConfig
-                    relationships = allRelationships.getOrDefault(tableName, Collections.emptyList());
+                if (runConfig.isStreaming()) {
+                    // Peak heap follows the window size: relationships, fingerprints and artifacts are per window
+                    List<List<String>> windows = TableWindows.plan(metaData, schema, shardTables, runConfig.getWindowSize());
+                    logger.info("Streaming {} tables in {} windows of up to {} tables",
+                            shardTables.size(), windows.size(), runConfig.getWindowSize());
+                    for (List<String> window : windows) {
+                        RunMetrics.Sample windowStart = metrics.start();
+                        CatalogReadEvent windowEvent = new CatalogReadEvent();
+                        windowEvent.begin();
+                        Map<String, List<Relationship>> relationships;
+                        Map<String, String> fingerprints;
+                        try {
+                            relationships = readRelationshipNeighborhood(metaData, schema, window, partitionChildren);
+                            fingerprints = TableStructures.fingerprints(metaData, schema, window);
+                        } catch (SQLException e) {
+                            failTables(batch, window, e);
+                            continue;
+                        }
+                        metrics.record(RunMetrics.CATALOG, window.size(), windowStart);
+                        commitCatalogEvent(windowEvent, schema, "window", window.size());
+                        generateTables(batch, window, relationships, fingerprints);
+                    }
                 } else {
-                    relationships = Collections.emptyList();
+                    RunMetrics.Sample relationshipStart = metrics.start();
+                    CatalogReadEvent relationshipEvent = new CatalogReadEvent();
+                    relationshipEvent.begin();
+                    Map<String, List<Relationship>> relationships = null;
+                    Map<String, String> fingerprints = null;
+                    try {
+                        relationships = readRelationships(conn, schema);
+                        fingerprints = TableStructures.fingerprints(metaData, schema);
+                    } catch (SQLException e) {
+                        failTables(batch, shardTables, e);
+                    }
+                    if (fingerprints != null) {
+                        metrics.record(RunMetrics.CATALOG, shardTables.size(), relationshipStart);
+                        commitCatalogEvent(relationshipEvent, schema, "relationships", shardTables.size());
+                        generateTables(batch, shardTables, relationships, fingerprints);
+                    }
                 }
-                List<Relationship> reverseRelationships;
-                if (pojoConfig.isIncludeReverseRelationships()) {  // Use pojoConfig
-                    reverseRelationships = getReverseRelationships(metaData, schema, tableName);
-                } else {
-                    reverseRelationships = Collections.emptyList();
+
+                logger.info("Total processed tables: {}", shardTables.size());
+                runEvent.end();
+                if (runEvent.shouldCommit()) {
+                    runEvent.schema = schema;
+                    runEvent.tableCount = shardTables.size();
+                    runEvent.commit();
                 }
+                return run.finish((System.nanoTime() - startNanos) / 1_000_000);
+            } finally {
+                // Flushes the journal when the run ends early, so a retry resumes from every recorded unit
+                run.close();
+            }
+        }
+    }
 
-                processGenerators(tableName, metaData, schema, dbConfig, target, recordConfig,
-                        daoConfig, repositoryConfig, relationships, reverseRelationships, pojoConfig, currentLogger, conn);  // Passed conn at the end
+    /**
+     * Connects through the configured driver class directly. Going through {@link DriverManager}
+     * first initializes every driver on the classpath (pgjdbc and ojdbc in the assembly jar), which
+     * is a noticeable part of startup for small runs; it stays the fallback for URLs the configured
+     * driver does not accept or when no driver is configured.
+     */
+    public static Connection openConnection(DatabaseConfig dbConfig) throws SQLException, ClassNotFoundException {
+        if (dbConfig.getDriver() != null && !dbConfig.getDriver().isBlank()) {
+            Driver driver = DRIVERS.computeIfAbsent(dbConfig.getDriver(), DbReader::instantiateDriver);
+            if (driver.acceptsURL(dbConfig.getUrl())) {
+                Properties info = new Properties();
+                if (dbConfig.getUser() != null) {
+                    info.setProperty("user", dbConfig.getUser());
+                }
+                if (dbConfig.getPassword() != null) {
+                    info.setProperty("password", dbConfig.getPassword());
+                }
+                Connection conn = driver.connect(dbConfig.getUrl(), info);
+                if (conn != null) {
+                    return conn;
+                }
             }
+        }
+        return DriverManager.getConnection(dbConfig.getUrl(), dbConfig.getUser(), dbConfig.getPassword());
+    }
 
-            logger.info("Total processed tables: {}", count);
-            tables.close();
+    private static Driver instantiateDriver(String className) {
+        try {
+            return (Driver) Class.forName(className).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new IllegalStateException("Cannot load JDBC driver " + className, e);
         }
     }
 
-    private static void processGenerators(String tableName, DatabaseMetaData metaData, String schema,
-                                          DatabaseConfig dbConfig, TargetConfig target,
-                                          RecordConfig recordConfig,
-                                          DaoConfig daoConfig, RepositoryConfig repositoryConfig,
-                                          List<Relationship> relationships, List<Relationship> reverseRelationships,
-                                          PojoConfig pojoConfig,
-                                          Logger currentLogger, Connection conn) throws SQLException {  // Added conn parameter
+    private static void commitCatalogEvent(CatalogReadEvent event, String schema, String phase, int tableCount) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.schema = schema;
+            event.phase = phase;
+            event.tableCount = tableCount;
+            event.commit();
+        }
+    }
+
+    // Settings shared by every table of a run
+    private record TableBatch(Connection conn, String schema, ArtifactContext context,
+                              List<ArtifactGenerator> generators, MeasuringOutputSink sink,
+                              Set<String> partitionChildren, GenerationRun run, String configFingerprint) {
+    }
 
-        // Replaced DTO generation with POJO (using factory for switching)
+    // Built-in kinds follow the existing generate flags, plugins are enabled by name
+    static Set<String> enabledKinds(RecordConfig recordConfig, DaoConfig daoConfig,
+                                            RepositoryConfig repositoryConfig, List<String> extraArtifacts) {
+        Set<String> kinds = new LinkedHashSet<>();
+        if (recordConfig.isGenerate()) {
+            kinds.add("record");
+        }
+        if (daoConfig.isGenerate()) {
+            kinds.add("jdbc-dao");
+            kinds.add("jdbi-dao");
+        }
+        if (repositoryConfig.isGenerate()) {
+            kinds.add("repository");
+        }
+        if (extraArtifacts != null) {
+            kinds.addAll(extraArtifacts);
+        }
+        return kinds;
+    }
+
+    private static void generateTables(TableBatch batch, List<String> tableNames,
+                                       Map<String, List<Relationship>> allRelationships,
+                                       Map<String, String> tableFingerprints) throws SQLException {
+        DatabaseMetaData metaData = batch.conn().getMetaData();
+        String schema = batch.schema();
+        PojoConfig pojoConfig = batch.context().pojoConfig();
+        RunMetrics metrics = batch.run().getMetrics();
+        Map<String, String> unitFingerprints = new HashMap<>();
+
+        for (String tableName : tableNames) {
+            Logger currentLogger;
+            if (tableName.equalsIgnoreCase("film")) {
+                currentLogger = filmLogger;
+            } else {
+                currentLogger = logger;
+            }
+            currentLogger.info("Reading table: {}", tableName);
+            RunMetrics.Sample catalogStart = metrics.start();
+            CatalogReadEvent tablesEvent = new CatalogReadEvent();
+            tablesEvent.begin();
+
+            List<Relationship> relationships;
+            if (pojoConfig.isIncludeRelationships()) {  // Use pojoConfig
+                relationships = allRelationships.getOrDefault(tableName, Collections.emptyList());
+            } else {
+                relationships = Collections.emptyList();
+            }
+            List<Relationship> reverseRelationships;
+            if (pojoConfig.isIncludeReverseRelationships()) {  // Use pojoConfig
+                try {
+                    reverseRelationships = getReverseRelationships(metaData, schema, tableName, batch.partitionChildren());
+                } catch (SQLException e) {
+                    failTables(batch, List.of(tableName), e);
+                    continue;
+                }
+            } else {
+                reverseRelationships = Collections.emptyList();
+            }
+            metrics.record(RunMetrics.CATALOG, tableName, catalogStart);
+
+            String fingerprint = unitFingerprint(batch.configFingerprint(), tableFingerprints.get(tableName),
+                    relationships, reverseRelationships);
+            unitFingerprints.put(tableName, fingerprint);
+            List<ArtifactGenerator> pending = new ArrayList<>();
+            for (ArtifactGenerator generator : batch.generators()) {
+                if (batch.run().isUpToDate(tableName, generator.kind(), fingerprint)) {
+                    currentLogger.debug("{} for {} already completed by a previous run", generator.kind(), tableName);
+                } else {
+                    pending.add(generator);
+                }
+            }
+            if (!pending.isEmpty()) {
+                generateArtifacts(batch, metaData, tableName, relationships, reverseRelationships,
+                        pending, fingerprint, currentLogger);
+            }
+        }
+
+        // POJO generators are schema-wide, run them once per batch of tables instead of once per table
         if (pojoConfig.isGenerate()) {
-            try (ResultSet columns = metaData.getColumns(null, schema, tableName, "%")) {
-                String generatorType = pojoConfig.getGenerator();  // From YAML
-                IPojoGenerator pojoGenerator = PojoGeneratorFactory.create(generatorType);
-                pojoGenerator.generate(conn, schema, target.getBasePackage(), target.getOutputDirectory());
-                currentLogger.info("POJO generated for: {} using {}", tableName, generatorType);
-            } catch (Exception e) {
-                throw new IllegalStateException(e);
+            // Tables whose catalog read failed are already reported for every kind
+            generatePojos(batch, tableNames.stream().filter(unitFingerprints::containsKey).toList(),
+                    allRelationships, unitFingerprints);
+        }
+    }
+
+    // A catalog read shared by these tables failed, so each of their units fails with it and the run goes on
+    private static void failTables(TableBatch batch, List<String> tableNames, SQLException error) {
+        for (String tableName : tableNames) {
+            for (ArtifactGenerator generator : batch.generators()) {
+                batch.run().failed(tableName, generator.kind(), error);
+            }
+            if (batch.context().pojoConfig().isGenerate()) {
+                batch.run().failed(tableName, POJO, error);
             }
         }
+    }
 
-        if (recordConfig.isGenerate()) {
-            try (ResultSet columns = metaData.getColumns(null, schema, tableName, "%")) {
-                RecordGenerator.generateRecord(tableName, columns, dbConfig, target, recordConfig, relationships, reverseRelationships);
-                currentLogger.info("Record generated for: {}", tableName);
-            } catch (IOException e) {
-                throw new IllegalStateException(e);
+    static List<String> readIncludedTables(DatabaseMetaData metaData, String schema, DatabaseConfig dbConfig,
+                                                   Set<String> partitionChildren) throws SQLException {
+        String[] tableTypes = TableStructures.tableTypes(dbConfig.getInputFilter().getTableTypes());
+        List<String> tableNames = new ArrayList<>();
+        Set<String> processedTables = new HashSet<>();
+        try (ResultSet tables = metaData.getTables(null, schema, "%", tableTypes)) {
+            while (tables.next()) {
+                String tableName = tables.getString("TABLE_NAME");
+                if (!processedTables.add(tableName.toLowerCase()) || partitionChildren.contains(tableName))
+                    continue;
+                if (isIncluded(tableName, dbConfig.getIncludes(), dbConfig.getExcludes())) {
+                    tableNames.add(tableName);
+                }
             }
         }
+        return tableNames;
+    }
 
-        if (daoConfig.isGenerate()) {
-            try (ResultSet columns = metaData.getColumns(null, schema, tableName, "%")) {
-                JdbcDaoGenerator.generateDao(tableName, columns, dbConfig, target, relationships);
-                currentLogger.info("DAO generated for: {}", tableName);
+    private static void generatePojos(TableBatch batch, List<String> tableNames,
+                                      Map<String, List<Relationship>> allRelationships,
+                                      Map<String, String> unitFingerprints) {
+        GenerationRun run = batch.run();
+        List<String> pending = new ArrayList<>();
+        for (String tableName : tableNames) {
+            if (!run.isUpToDate(tableName, POJO, unitFingerprints.get(tableName))) {
+                pending.add(tableName);
+            }
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+        String generatorType = batch.context().pojoConfig().getGenerator();  // From YAML
+        TargetConfig target = batch.context().target();
+        RunMetrics metrics = run.getMetrics();
+        RunMetrics.Sample start = metrics.start();
+        int[] generated = {0};
+        try {
+            IPojoGenerator pojoGenerator = PojoGeneratorFactory.create(generatorType);
+            // Outcomes are journaled per table, so one table's error neither loses nor re-runs the others
+            pojoGenerator.generate(batch.conn(), batch.schema(), target.getBasePackage(), target.getOutputDirectory(),
+                    pending, allRelationships, new IPojoGenerator.TableListener() {
+                        @Override
+                        public void completed(String tableName, Path path) {
+                            run.completed(tableName, POJO, unitFingerprints.get(tableName), path);
+                            generated[0]++;
+                        }
+
+                        @Override
+                        public void failed(String tableName, Exception error) {
+                            run.failed(tableName, POJO, error);
+                        }
+                    });
+            logger.info("POJOs generated for {} of {} tables using {}", generated[0], pending.size(), generatorType);
+        } catch (Exception e) {
+            // Setup failed before any table was attempted
+            run.failed("*", POJO, e);
+        } finally {
+            // POJO generators write their own files, so rendering and writing are not separated here
+            metrics.record(RunMetrics.render(POJO), pending.size(), start);
+        }
+    }
+
+    // The table model is read once and shared; each (table, artifact) unit fails on its own
+    private static void generateArtifacts(TableBatch batch, DatabaseMetaData metaData, String tableName,
+                                          List<Relationship> relationships, List<Relationship> reverseRelationships,
+                                          List<ArtifactGenerator> generators, String fingerprint, Logger currentLogger) {
+        GenerationRun run = batch.run();
+        RunMetrics metrics = run.getMetrics();
+        MeasuringOutputSink sink = batch.sink();
+        RunMetrics.Sample modelStart = metrics.start();
+        TableModel table;
+        try {
+            table = TableModel.load(metaData, batch.schema(), tableName, relationships, reverseRelationships);
+            metrics.record(RunMetrics.MODEL, tableName, modelStart);
+        } catch (SQLException e) {
+            for (ArtifactGenerator generator : generators) {
+                run.failed(tableName, generator.kind(), e);
+            }
+            return;
+        }
+        for (ArtifactGenerator generator : generators) {
+            RunMetrics.Sample start = metrics.start();
+            RunMetrics.Sample writtenBefore = sink.writtenByCurrentThread();
+            ArtifactEvent event = new ArtifactEvent();
+            event.begin();
+            try {
+                Path path = generator.generate(table, batch.context(), sink);
+                run.completed(tableName, generator.kind(), fingerprint, path);
+                currentLogger.info("{} generated for: {}", generator.kind(), tableName);
+                commitArtifactEvent(event, tableName, generator.kind(), table.getColumns().size(), path);
             } catch (Exception e) {
-                throw new IllegalStateException(e);
+                commitArtifactEvent(event, tableName, generator.kind(), table.getColumns().size(), null);
+                run.failed(tableName, generator.kind(), e);
+            } finally {
+                if (metrics.isEnabled()) {
+                    RunMetrics.Sample written = sink.writtenByCurrentThread().minus(writtenBefore);
+                    metrics.add(RunMetrics.render(generator.kind()), tableName,
+                            RunMetrics.Sample.now().minus(start).minus(written));
+                    metrics.add(RunMetrics.WRITE, tableName, written);
+                }
             }
         }
+    }
 
-        if (daoConfig.isGenerate()) {
-            try (ResultSet columns = metaData.getColumns(null, schema, tableName, "%")) {
-                JdbiDaoGenerator.generateDao(tableName, columns, dbConfig, target, relationships);
-                currentLogger.info("Jdbi DAO generated for: {}", tableName);
+    // File size is only looked up while a recording with this event enabled is running
+    private static void commitArtifactEvent(ArtifactEvent event, String tableName, String kind, int columnCount,
+                                            Path path) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.table = tableName;
+            event.artifactKind = kind;
+            event.columnCount = columnCount;
+            event.succeeded = path != null;
+            try {
+                event.bytesWritten = path != null && Files.exists(path) ? Files.size(path) : 0;
             } catch (IOException e) {
-                throw new IllegalStateException(e);
+                event.bytesWritten = 0;
             }
+            event.commit();
         }
+    }
 
-        if (repositoryConfig.isGenerate()) {
-            try (ResultSet columns = metaData.getColumns(null, schema, tableName, "%")) {
-                RepositoryGenerator.generateRepository(tableName, columns, dbConfig, target);
-                currentLogger.info("Repository generated for: {}", tableName);
-            } catch (IOException e) {
-                throw new IllegalStateException(e);
+    private static String configFingerprint(Object... configs) {
+        List<String> parts = new ArrayList<>();
+        try {
+            for (Object config : configs) {
+                parts.add(FINGERPRINT_JSON.writeValueAsString(config));
             }
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to fingerprint generator settings", e);
         }
+        // Naming settings live in static fields and are not part of the serialized beans
+        parts.add(String.valueOf(NamingStrategyConfig.getStripPrefixes()));
+        parts.add(String.valueOf(NamingStrategyConfig.getUppercaseAcronyms()));
+        return SchemaFingerprint.sha256(parts);
+    }
+
+    private static String unitFingerprint(String configFingerprint, String tableFingerprint,
+                                          List<Relationship> relationships, List<Relationship> reverseRelationships) {
+        List<String> parts = new ArrayList<>();
+        parts.add(configFingerprint);
+        parts.add(String.valueOf(tableFingerprint));
+        for (Relationship rel : relationships) {
+            parts.add(relationshipLine("R", rel));
+        }
+        for (Relationship rel : reverseRelationships) {
+            parts.add(relationshipLine("X", rel));
+        }
+        return SchemaFingerprint.sha256(parts);
+    }
+
+    private static String relationshipLine(String prefix, Relationship rel) {
+        return String.join("|", prefix, rel.getRelatedTable(), rel.getPkColumn(), rel.getFkColumn(),
+                String.valueOf(rel.isReverse()), String.valueOf(rel.getType()), String.valueOf(rel.getJoinTableName()));
     }
 
     private static boolean isIncluded(String tableName, List<String> includes, List<String> excludes) {
@@ -169,10 +517,14 @@ public class DbReader {
         return false;
     }
 
-    private static List<Relationship> getReverseRelationships(DatabaseMetaData metaData, String schema, String tableName) throws SQLException {
+    private static List<Relationship> getReverseRelationships(DatabaseMetaData metaData, String schema, String tableName,
+                                                              Set<String> partitionChildren) throws SQLException {
         List<Relationship> revRels = new ArrayList<>();
         try (ResultSet rs = metaData.getExportedKeys(null, schema, tableName)) {
             while (rs.next()) {
+                // Partitions carry clones of the parent's foreign keys
+                if (partitionChildren.contains(rs.getString("FKTABLE_NAME")))
+                    continue;
                 revRels.add(new Relationship(
                         rs.getString("FKTABLE_NAME"),
                         rs.getString("PKCOLUMN_NAME"),
@@ -186,39 +538,94 @@ public class DbReader {
         return revRels;
     }
 
+    public static List<String> readTableNames(DatabaseMetaData metaData, String schema) throws SQLException {
+        Set<String> partitionChildren = TableStructures.readPartitionChildren(metaData, schema);
+        List<String> tableNames = new ArrayList<>();
+        try (ResultSet tables = metaData.getTables(null, schema, null,
+                new String[]{TableStructures.TABLE, TableStructures.PARTITIONED_TABLE})) {
+            while (tables.next()) {
+                String tableName = tables.getString("TABLE_NAME");
+                if (!partitionChildren.contains(tableName)) {
+                    tableNames.add(tableName);
+                }
+            }
+        }
+        return tableNames;
+    }
+
     public static Map<String, List<Relationship>> readRelationships(Connection connection, String schema) throws SQLException {
-        Map<String, List<Relationship>> relationshipMap = new HashMap<>();
         DatabaseMetaData metaData = connection.getMetaData();
 
-        // Collect table names first
-        List<String> tableNames = new ArrayList<>();
-        try (ResultSet tables = metaData.getTables(null, schema, null, new String[]{"TABLE"})) {
-            while (tables.next()) {
-                tableNames.add(tables.getString("TABLE_NAME"));
+        // Collect table names first, partitions are represented by their parent
+        List<String> tableNames = readTableNames(metaData, schema);
+        return buildRelationships(metaData, schema, tableNames, new HashMap<>());
+    }
+
+    /**
+     * Streaming-mode counterpart of {@link #readRelationships}: loads only the window, the tables it
+     * references and the tables referencing it. That is enough for complete MANY_TO_ONE, ONE_TO_MANY
+     * and MANY_TO_MANY lists for every table in the window.
+     */
+    public static Map<String, List<Relationship>> readRelationshipNeighborhood(DatabaseMetaData metaData, String schema,
+                                                                             Collection<String> window,
+                                                                             Set<String> partitionChildren) throws SQLException {
+        Map<String, List<Relationship>> importedKeys = new HashMap<>();
+        Set<String> neighborhood = new LinkedHashSet<>(window);
+        for (String tableName : window) {
+            List<Relationship> imported = readImportedKeys(metaData, schema, tableName);
+            importedKeys.put(tableName, imported);
+            for (Relationship rel : imported) {
+                neighborhood.add(rel.getRelatedTable());
+            }
+            try (ResultSet rs = metaData.getExportedKeys(null, schema, tableName)) {
+                while (rs.next()) {
+                    neighborhood.add(rs.getString("FKTABLE_NAME"));
+                }
             }
         }
+        neighborhood.removeAll(partitionChildren);
+        return buildRelationships(metaData, schema, neighborhood, importedKeys);
+    }
+
+    private static List<Relationship> readImportedKeys(DatabaseMetaData metaData, String schema, String tableName) throws SQLException {
+        List<Relationship> currentRels = new ArrayList<>();
+        try (ResultSet fks = metaData.getImportedKeys(null, schema, tableName)) {
+            while (fks.next()) {
+                String pkTable = fks.getString("PKTABLE_NAME");
+                String fkColumn = fks.getString("FKCOLUMN_NAME");
+                String pkColumn = fks.getString("PKCOLUMN_NAME");
+                currentRels.add(new Relationship(pkTable, pkColumn, fkColumn, false, Type.MANY_TO_ONE, null));
+            }
+        }
+        return currentRels;
+    }
+
+    // Tables are visited in name order so the lists do not depend on which subset of the schema was loaded
+    private static Map<String, List<Relationship>> buildRelationships(DatabaseMetaData metaData, String schema,
+                                                                      Collection<String> tableNames,
+                                                                      Map<String, List<Relationship>> importedKeys) throws SQLException {
+        Map<String, List<Relationship>> relationshipMap = new HashMap<>();
+        Map<String, List<Relationship>> oneToMany = new HashMap<>();
 
         // Process each table
-        Map<String, List<Relationship>> fkRels = new HashMap<>();
-        for (String tableName : tableNames) {
-            try (ResultSet fks = metaData.getImportedKeys(null, schema, tableName)) {
-                List<Relationship> currentRels = new ArrayList<>();
-                while (fks.next()) {
-                    String pkTable = fks.getString("PKTABLE_NAME");
-                    String fkColumn = fks.getString("FKCOLUMN_NAME");
-                    String pkColumn = fks.getString("PKCOLUMN_NAME");
-                    Relationship rel = new Relationship(pkTable, pkColumn, fkColumn, false, Type.MANY_TO_ONE, null);
-                    currentRels.add(rel);
-
-                    relationshipMap.computeIfAbsent(pkTable, k -> new ArrayList<>())
-                            .add(new Relationship(tableName, pkColumn, fkColumn, true, Type.ONE_TO_MANY, null));
-                }
-                if (!currentRels.isEmpty()) {
-                    fkRels.put(tableName, currentRels);
-                }
-                relationshipMap.put(tableName, currentRels);
+        Map<String, List<Relationship>> fkRels = new TreeMap<>();
+        for (String tableName : new TreeSet<>(tableNames)) {
+            List<Relationship> currentRels = importedKeys.get(tableName);
+            if (currentRels == null) {
+                currentRels = readImportedKeys(metaData, schema, tableName);
+            }
+            for (Relationship rel : currentRels) {
+                oneToMany.computeIfAbsent(rel.getRelatedTable(), k -> new ArrayList<>())
+                        .add(new Relationship(tableName, rel.getPkColumn(), rel.getFkColumn(), true, Type.ONE_TO_MANY, null));
+            }
+            if (!currentRels.isEmpty()) {
+                fkRels.put(tableName, currentRels);
             }
+            relationshipMap.put(tableName, new ArrayList<>(currentRels));
         }
+        // Appended after all tables so a table's own MANY_TO_ONE entries come first and none are overwritten
+        oneToMany.forEach((pkTable, rels) ->
+                relationshipMap.computeIfAbsent(pkTable, k -> new ArrayList<>()).addAll(rels));
 
         // Detect MANY_TO_MANY join tables
         for (Map.Entry<String, List<Relationship>> entry : fkRels.entrySet()) {
@@ -0,0 +1,245 @@
+package com.bsit.codegeneration.metadata;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import com.bsit.codegeneration.model.DaoConfig;
+import com.bsit.codegeneration.model.DatabaseConfig;
+import com.bsit.codegeneration.model.PojoConfig;
+import com.bsit.codegeneration.model.RecordConfig;
+import com.bsit.codegeneration.model.RepositoryConfig;
+import com.bsit.codegeneration.model.RunConfig;
+import com.bsit.codegeneration.model.ShardConfig;
+import com.bsit.codegeneration.run.GenerationPlan;
+import com.bsit.codegeneration.run.PlanCalibration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Dry run for {@code plan} mode. Reads the table list, one schema-wide column summary and one
+ * schema-wide foreign-key summary, then estimates artifacts, output size, catalog round trips per
+ * shard for the configured metadata strategy, and wall time from a {@link PlanCalibration}.
+ * Assumes a fresh run: tables a resumed run would skip are still counted.
+ */
+public final class GenerationPlanner {
+
+    private static final Logger logger = LoggerFactory.getLogger(GenerationPlanner.class);
+    private static final String POJO = "pojo";
+    private static final int[] SHARD_COUNTS = {1, 2, 4, 8, 16};
+
+    private GenerationPlanner() { }
+
+    public static GenerationPlan plan(DatabaseConfig dbConfig,
+                                      RecordConfig recordConfig,
+                                      DaoConfig daoConfig,
+                                      RepositoryConfig repositoryConfig,
+                                      PojoConfig pojoConfig,
+                                      ShardConfig shardConfig,
+                                      RunConfig runConfig,
+                                      List<String> extraArtifacts,
+                                      PlanCalibration calibration) throws SQLException, ClassNotFoundException {
+        try (Connection conn = DbReader.openConnection(dbConfig)) {
+            DatabaseMetaData metaData = conn.getMetaData();
+            String schema = dbConfig.getSchema();
+            boolean postgres = metaData.getDatabaseProductName().toUpperCase().contains("POSTGRES");
+
+            Set<String> partitionChildren = TableStructures.readPartitionChildren(metaData, schema);
+            List<String> tableNames = DbReader.readIncludedTables(metaData, schema, dbConfig, partitionChildren);
+            List<String> relationshipTables = DbReader.readTableNames(metaData, schema);
+            Map<String, Integer> columnCounts = ShardPlanner.readColumnCounts(metaData, schema);
+            Map<String, Set<String>> graph = readForeignKeyGraph(metaData, schema);
+            List<String> tenants = TableStructures.readTenantSchemas(metaData, schema, dbConfig.getTenantSchemas());
+            boolean tenantPatterns = dbConfig.getTenantSchemas() != null && !dbConfig.getTenantSchemas().isEmpty();
+            int planningRoundTrips = 4 + (postgres ? 2 : 0) + (tenantPatterns ? 1 : 0);
+
+            List<String> kinds = new ArrayList<>(DbReader.enabledKinds(recordConfig, daoConfig, repositoryConfig,
+                    extraArtifacts));
+            if (pojoConfig.isGenerate()) {
+                kinds.add(POJO + ":" + pojoConfig.getGenerator().toLowerCase());
+            }
+            Inputs inputs = new Inputs(postgres, partitionChildren, relationshipTables.size(), columnCounts, graph,
+                    tenantPatterns, tenants.size(), kinds, daoConfig.isGenerateUpsert(), pojoConfig, shardConfig, runConfig,
+                    calibration);
+
+            GenerationPlan plan = new GenerationPlan();
+            plan.setSchema(schema);
+            plan.setMetadataStrategy(runConfig.isStreaming() ? "streaming, window " + runConfig.getWindowSize() : "full");
+            plan.setCalibrationSource(calibration.getSource());
+            plan.setTables(tableNames);
+            plan.setArtifactsPerTable(kinds);
+            plan.setPlanningRoundTrips(planningRoundTrips);
+
+            int columns = 0;
+            double lines = 0;
+            double bytes = 0;
+            for (String tableName : tableNames) {
+                int tableColumns = columnCounts.getOrDefault(tableName, 0);
+                columns += tableColumns;
+                for (String kind : kinds) {
+                    PlanCalibration.ArtifactCost cost = calibration.cost(kind);
+                    lines += cost.lines(tableColumns);
+                    bytes += cost.lines(tableColumns) * cost.getBytesPerLine();
+                }
+            }
+            plan.setColumns(columns);
+            plan.setFiles((long) tableNames.size() * kinds.size());
+            plan.setEstimatedLines(Math.round(lines));
+            plan.setEstimatedBytes(Math.round(bytes));
+
+            for (int index = 0; index < shardConfig.getShardCount(); index++) {
+                plan.getShards().add(estimateShard(inputs, tableNames, shardConfig.getShardCount(), index));
+            }
+            Set<Integer> shardCounts = new TreeSet<>();
+            for (int count : SHARD_COUNTS) {
+                shardCounts.add(count);
+            }
+            shardCounts.add(shardConfig.getShardCount());
+            for (int count : shardCounts) {
+                long slowest = 0;
+                for (int index = 0; index < count; index++) {
+                    slowest = Math.max(slowest, estimateShard(inputs, tableNames, count, index).getEstimatedMillis());
+                }
+                plan.getEstimatedMillisByShardCount().put(count, slowest);
+            }
+            return plan;
+        }
+    }
+
+    // Everything a shard estimate needs besides its table list
+    private record Inputs(boolean postgres, Set<String> partitionChildren, int relationshipTables,
+                          Map<String, Integer> columnCounts, Map<String, Set<String>> graph, boolean tenantPatterns, int tenants,
+                          List<String> kinds, boolean upsert, PojoConfig pojoConfig, ShardConfig shardConfig,
+                          RunConfig runConfig, PlanCalibration calibration) {
+    }
+
+    /**
+     * Catalog calls mirror what {@link DbReader#readDatabase} issues for the shard: the fixed
+     * schema-wide reads, the relationship and fingerprint reads of the chosen strategy, and the
+     * per-table reads of the enabled generators.
+     */
+    private static GenerationPlan.Shard estimateShard(Inputs in, List<String> tableNames, int shardCount, int index) {
+        ShardConfig shard = new ShardConfig();
+        shard.setShardCount(shardCount);
+        shard.setShardIndex(index);
+        shard.setStrategy(in.shardConfig().getStrategy());
+        List<String> tables;
+        if (!shard.isSharded()) {
+            tables = tableNames;
+        } else if (ShardConfig.STRATEGY_COST.equalsIgnoreCase(shard.getStrategy())) {
+            tables = ShardPlanner.assignByCost(tableNames, in.columnCounts(), shard);
+        } else {
+            tables = ShardPlanner.assignByHash(tableNames, shard);
+        }
+        long size = tables.size();
+
+        Map<String, Long> calls = new LinkedHashMap<>();
+        calls.put("tables", 1L + (in.postgres() ? 1 : 0));
+        if (shard.isSharded() && ShardConfig.STRATEGY_COST.equalsIgnoreCase(shard.getStrategy())) {
+            calls.put("shard column counts", 1L);
+        }
+        if (in.tenantPatterns()) {
+            calls.put("tenant drift", 1L + (in.tenants() > 0 ? 2 + 2L * in.tenants() : 0));
+        }
+        if (in.runConfig().isStreaming()) {
+            calls.put("window ordering", 1L);
+            calls.put("relationships", streamingRelationshipCalls(in, tables));
+            calls.put("fingerprints", 2 * size);
+        } else {
+            calls.put("relationships", 1L + (in.postgres() ? 1 : 0) + in.relationshipTables());
+            calls.put("fingerprints", 2L);
+        }
+        if (in.pojoConfig().isIncludeReverseRelationships()) {
+            calls.put("reverse keys", size);
+        }
+        boolean tableArtifacts = in.kinds().stream().anyMatch(kind -> !kind.startsWith(POJO + ":"));
+        if (tableArtifacts) {
+            calls.put("table model", size);
+        }
+        // Upserts add a unique-index read per table, and the JDBC DAO its own primary key read
+        if (in.kinds().contains("jdbc-dao") && in.upsert()) {
+            calls.put("jdbc-dao keys", 2 * size);
+        }
+        if (in.kinds().contains("jdbi-dao")) {
+            calls.put("jdbi-dao keys", (in.upsert() ? 3 : 2) * size);
+        }
+        if (in.kinds().contains(POJO + ":javaparser")) {
+            calls.put("pojo", 3 * size);
+        } else if (in.kinds().contains(POJO + ":freemarker")) {
+            calls.put("pojo", 2 * size);
+        }
+        long roundTrips = calls.values().stream().mapToLong(Long::longValue).sum();
+
+        int columns = 0;
+        double renderMicros = 0;
+        for (String tableName : tables) {
+            int tableColumns = in.columnCounts().getOrDefault(tableName, 0);
+            columns += tableColumns;
+            for (String kind : in.kinds()) {
+                renderMicros += in.calibration().cost(kind).micros(tableColumns);
+            }
+        }
+        double millis = roundTrips * in.calibration().getCatalogRoundTripMillis()
+                + renderMicros / 1000
+                + size * in.kinds().size() * in.calibration().getWriteMillisPerFile();
+
+        GenerationPlan.Shard result = new GenerationPlan.Shard();
+        result.setShardIndex(index);
+        result.setTables(tables.size());
+        result.setColumns(columns);
+        result.setCatalogRoundTrips(roundTrips);
+        result.setRoundTripBreakdown(calls);
+        result.setEstimatedMillis(Math.round(millis));
+        return result;
+    }
+
+    // Per window: imported and exported keys of each table, plus imported keys of neighbours outside it
+    private static long streamingRelationshipCalls(Inputs in, List<String> tables) {
+        List<String> ordered = TableWindows.order(tables, in.graph());
+        int windowSize = in.runConfig().getWindowSize();
+        long calls = 0;
+        for (int from = 0; from < ordered.size(); from += windowSize) {
+            List<String> window = ordered.subList(from, Math.min(from + windowSize, ordered.size()));
+            Set<String> members = new HashSet<>(window);
+            Set<String> outside = new HashSet<>();
+            for (String tableName : window) {
+                for (String neighbour : in.graph().getOrDefault(tableName, Set.of())) {
+                    if (!members.contains(neighbour) && !in.partitionChildren().contains(neighbour)) {
+                        outside.add(neighbour);
+                    }
+                }
+            }
+            calls += 2L * window.size() + outside.size();
+        }
+        return calls;
+    }
+
+    // Undirected adjacency from one schema-wide cross reference, empty when the driver rejects it
+    private static Map<String, Set<String>> readForeignKeyGraph(DatabaseMetaData metaData, String schema) {
+        Map<String, Set<String>> graph = new HashMap<>();
+        try (ResultSet fks = metaData.getCrossReference(null, schema, null, null, schema, null)) {
+            while (fks.next()) {
+                String fkTable = fks.getString("FKTABLE_NAME");
+                String pkTable = fks.getString("PKTABLE_NAME");
+                if (fkTable != null && pkTable != null && !fkTable.equals(pkTable)) {
+                    graph.computeIfAbsent(fkTable, k -> new HashSet<>()).add(pkTable);
+                    graph.computeIfAbsent(pkTable, k -> new HashSet<>()).add(fkTable);
+                }
+            }
+        } catch (SQLException e) {
+            logger.warn("Schema-wide cross reference not supported, streaming estimate ignores neighbours: {}",
+                    e.getMessage());
+            graph.clear();
+        }
+        return graph;
+    }
+}
@@ -0,0 +1,158 @@
+package com.bsit.codegeneration.metadata;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import com.bsit.codegeneration.model.DatabaseConfig;
+
+/**
+ * Computes a stable hash of the catalog parts that drive generation (columns, primary keys, unique
+ * indexes and foreign keys) for the included tables and the tables their foreign keys reach, so
+ * callers can tell whether a schema changed without running any generator.
+ */
+public final class SchemaFingerprint {
+
+    private static final String TABLE_NAME = "TABLE_NAME";
+
+    private SchemaFingerprint() { }
+
+    public static String compute(Connection conn, DatabaseConfig dbConfig) throws SQLException {
+        DatabaseMetaData metaData = conn.getMetaData();
+        String schema = dbConfig.getSchema();
+        Set<String> included = new HashSet<>(DbReader.readIncludedTables(metaData, schema, dbConfig,
+                TableStructures.readPartitionChildren(metaData, schema)));
+
+        // Sorted so the hash does not depend on the driver's row ordering
+        Set<String> lines = new TreeSet<>();
+        Map<String, List<String>> columnLines = new HashMap<>();
+
+        // One catalog round trip for every column in the schema
+        try (ResultSet cols = metaData.getColumns(null, schema, "%", "%")) {
+            while (cols.next()) {
+                String tableName = cols.getString(TABLE_NAME);
+                columnLines.computeIfAbsent(tableName, k -> new ArrayList<>()).add(String.join("|", "C", tableName,
+                        cols.getString("COLUMN_NAME"),
+                        cols.getString("TYPE_NAME"),
+                        cols.getString("COLUMN_SIZE"),
+                        cols.getString("DECIMAL_DIGITS"),
+                        cols.getString("NULLABLE"),
+                        cols.getString("IS_AUTOINCREMENT")));
+            }
+        }
+
+        // Relationships of an included table pull in the table on their other end
+        Set<String> relevant = new TreeSet<>(included);
+        for (String[] fk : readForeignKeys(metaData, schema, columnLines.keySet())) {
+            if (included.contains(fk[0]) || included.contains(fk[2])) {
+                relevant.add(fk[0]);
+                relevant.add(fk[2]);
+                lines.add(String.join("|", "F", fk[0], fk[1], fk[2], fk[3]));
+            }
+        }
+
+        for (String tableName : relevant) {
+            lines.addAll(columnLines.getOrDefault(tableName, List.of()));
+            for (String keyLine : keyLines(metaData, schema, tableName)) {
+                lines.add(tableName + "|" + keyLine);
+            }
+        }
+
+        return sha256(lines);
+    }
+
+    /**
+     * Primary key and unique index lines of one table, by column names only so equal keys in another
+     * schema give equal lines: {@code P|a,b} for the primary key, then one {@code U|...} per unique index.
+     */
+    static List<String> keyLines(DatabaseMetaData metaData, String schema, String tableName) throws SQLException {
+        List<String> keyLines = new ArrayList<>();
+        Map<Short, String> primaryKey = new TreeMap<>();
+        try (ResultSet pks = metaData.getPrimaryKeys(null, schema, tableName)) {
+            while (pks.next()) {
+                primaryKey.put(pks.getShort("KEY_SEQ"), pks.getString("COLUMN_NAME"));
+            }
+        }
+        if (!primaryKey.isEmpty()) {
+            keyLines.add("P|" + String.join(",", primaryKey.values()));
+        }
+
+        Map<String, Map<Short, String>> indexes = new HashMap<>();
+        try (ResultSet rs = metaData.getIndexInfo(null, schema, tableName, true, true)) {
+            while (rs.next()) {
+                String indexName = rs.getString("INDEX_NAME");
+                if (indexName == null || rs.getShort("TYPE") == DatabaseMetaData.tableIndexStatistic) {
+                    continue;
+                }
+                // Expression columns have no name, partial indexes carry their predicate
+                String column = rs.getString("COLUMN_NAME");
+                String filter = rs.getString("FILTER_CONDITION");
+                indexes.computeIfAbsent(indexName, k -> new TreeMap<>()).put(rs.getShort("ORDINAL_POSITION"),
+                        (column == null ? "?" : column) + (filter == null ? "" : " WHERE " + filter));
+            }
+        }
+        Set<String> uniqueLines = new TreeSet<>();
+        for (Map<Short, String> columns : indexes.values()) {
+            uniqueLines.add("U|" + String.join(",", columns.values()));
+        }
+        keyLines.addAll(uniqueLines);
+        return keyLines;
+    }
+
+    /** Foreign key rows as {FKTABLE_NAME, FKCOLUMN_NAME, PKTABLE_NAME, PKCOLUMN_NAME}. */
+    private static List<String[]> readForeignKeys(DatabaseMetaData metaData, String schema, Set<String> tableNames)
+            throws SQLException {
+        List<String[]> fkRows = new ArrayList<>();
+        try (ResultSet fks = metaData.getCrossReference(null, schema, null, null, schema, null)) {
+            while (fks.next()) {
+                fkRows.add(foreignKeyRow(fks));
+            }
+            return fkRows;
+        } catch (SQLException e) {
+            // Driver does not accept a schema-wide cross reference, fall back to one call per table
+            fkRows.clear();
+        }
+        for (String tableName : tableNames) {
+            try (ResultSet fks = metaData.getImportedKeys(null, schema, tableName)) {
+                while (fks.next()) {
+                    fkRows.add(foreignKeyRow(fks));
+                }
+            }
+        }
+        return fkRows;
+    }
+
+    private static String[] foreignKeyRow(ResultSet fks) throws SQLException {
+        return new String[] {
+                fks.getString("FKTABLE_NAME"),
+                fks.getString("FKCOLUMN_NAME"),
+                fks.getString("PKTABLE_NAME"),
+                fks.getString("PKCOLUMN_NAME")};
+    }
+
+    public static String sha256(Iterable<String> lines) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String line : lines) {
+                digest.update(line.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.bsit.codegeneration.metadata;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import com.bsit.codegeneration.model.ShardConfig;
+
+/**
+ * Splits the selected tables of a run across {@code shardCount} processes. Every shard computes the
+ * same assignment from the same catalog, so no coordination is needed between executors.
+ */
+public final class ShardPlanner {
+
+    // Fixed per-table overhead (catalog calls, file write) added to the column count in cost mode
+    private static final int TABLE_BASE_COST = 4;
+
+    private ShardPlanner() { }
+
+    public static List<String> assign(DatabaseMetaData metaData, String schema, List<String> tableNames,
+                                      ShardConfig shardConfig) throws SQLException {
+        if (!shardConfig.isSharded()) {
+            return tableNames;
+        }
+        if (ShardConfig.STRATEGY_COST.equalsIgnoreCase(shardConfig.getStrategy())) {
+            return assignByCost(tableNames, readColumnCounts(metaData, schema), shardConfig);
+        }
+        return assignByHash(tableNames, shardConfig);
+    }
+
+    public static List<String> assignByHash(List<String> tableNames, ShardConfig shardConfig) {
+        List<String> assigned = new ArrayList<>();
+        for (String tableName : tableNames) {
+            if (shardOf(tableName, shardConfig.getShardCount()) == shardConfig.getShardIndex()) {
+                assigned.add(tableName);
+            }
+        }
+        return assigned;
+    }
+
+    // String.hashCode is specified by the JLS, so the result is identical on every JVM
+    public static int shardOf(String tableName, int shardCount) {
+        return Math.floorMod(tableName.toLowerCase(Locale.ROOT).hashCode(), shardCount);
+    }
+
+    /**
+     * Longest-processing-time-first: widest tables are placed first, each on the currently
+     * lightest shard. Ties are broken by table name and shard index to stay deterministic.
+     */
+    public static List<String> assignByCost(List<String> tableNames, Map<String, Integer> columnCounts,
+                                            ShardConfig shardConfig) {
+        List<String> ordered = new ArrayList<>(tableNames);
+        ordered.sort(Comparator.comparingInt((String t) -> cost(t, columnCounts)).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+
+        long[] load = new long[shardConfig.getShardCount()];
+        Set<String> assigned = new HashSet<>();
+        for (String tableName : ordered) {
+            int target = 0;
+            for (int shard = 1; shard < load.length; shard++) {
+                if (load[shard] < load[target]) {
+                    target = shard;
+                }
+            }
+            load[target] += cost(tableName, columnCounts);
+            if (target == shardConfig.getShardIndex()) {
+                assigned.add(tableName);
+            }
+        }
+        // Keep catalog order for the tables this shard generates
+        List<String> result = new ArrayList<>();
+        for (String tableName : tableNames) {
+            if (assigned.contains(tableName)) {
+                result.add(tableName);
+            }
+        }
+        return result;
+    }
+
+    private static int cost(String tableName, Map<String, Integer> columnCounts) {
+        return TABLE_BASE_COST + columnCounts.getOrDefault(tableName, 0);
+    }
+
+    // One catalog call for the whole schema instead of one per table
+    public static Map<String, Integer> readColumnCounts(DatabaseMetaData metaData, String schema) throws SQLException {
+        Map<String, Integer> counts = new HashMap<>();
+        try (ResultSet cols = metaData.getColumns(null, schema, "%", "%")) {
+            while (cols.next()) {
+                counts.merge(cols.getString("TABLE_NAME"), 1, Integer::sum);
+            }
+        }
+        return counts;
+    }
+}
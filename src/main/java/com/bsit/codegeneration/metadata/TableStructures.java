@@ -0,0 +1,237 @@
+package com.bsit.codegeneration.metadata;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Structural view of the catalog used to avoid generating the same shape twice:
+ * PostgreSQL partition children are folded into their partitioned parent, and tenant schemas
+ * are compared against the configured schema by a name-independent fingerprint per table.
+ */
+public final class TableStructures {
+
+    private static final Logger logger = LoggerFactory.getLogger(TableStructures.class);
+
+    public static final String TABLE = "TABLE";
+    // Table type reported by pgjdbc for declaratively partitioned parents
+    public static final String PARTITIONED_TABLE = "PARTITIONED TABLE";
+    private static final String TABLE_NAME = "TABLE_NAME";
+
+    private static final String PARTITION_CHILDREN_SQL = """
+            SELECT c.relname
+            FROM pg_catalog.pg_inherits i
+            JOIN pg_catalog.pg_class c ON c.oid = i.inhrelid
+            JOIN pg_catalog.pg_class p ON p.oid = i.inhparent
+            JOIN pg_catalog.pg_namespace n ON n.oid = c.relnamespace
+            WHERE n.nspname = ? AND p.relkind = 'p'
+            """;
+
+    private TableStructures() { }
+
+    /** Adds the partitioned-parent type whenever plain tables are requested. */
+    public static String[] tableTypes(Collection<String> configured) {
+        Set<String> types = new LinkedHashSet<>(configured);
+        if (types.contains(TABLE)) {
+            types.add(PARTITIONED_TABLE);
+        }
+        return types.toArray(new String[0]);
+    }
+
+    /**
+     * Names of tables in {@code schema} that are partitions of a partitioned table, including
+     * sub-partitions. Empty for databases other than PostgreSQL.
+     */
+    public static Set<String> readPartitionChildren(DatabaseMetaData metaData, String schema) throws SQLException {
+        if (!metaData.getDatabaseProductName().toUpperCase().contains("POSTGRES")) {
+            return Collections.emptySet();
+        }
+        Set<String> children = new HashSet<>();
+        Connection conn = metaData.getConnection();
+        try (PreparedStatement ps = conn.prepareStatement(PARTITION_CHILDREN_SQL)) {
+            ps.setString(1, schema == null ? "public" : schema);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    children.add(rs.getString(1));
+                }
+            }
+        }
+        if (!children.isEmpty()) {
+            logger.info("Collapsed {} partitions into their parent tables in schema {}", children.size(), schema);
+        }
+        return children;
+    }
+
+    /**
+     * Per-table fingerprint of columns (in ordinal order), primary key, unique indexes and foreign keys.
+     * Table and schema names are left out so identical tables in different schemas produce the same value.
+     */
+    public static Map<String, String> fingerprints(DatabaseMetaData metaData, String schema) throws SQLException {
+        return readFingerprints(metaData, schema, null);
+    }
+
+    // Keys cost two calls per table, so they are read for keyTables only (every table when null)
+    private static Map<String, String> readFingerprints(DatabaseMetaData metaData, String schema,
+                                                        Collection<String> keyTables) throws SQLException {
+        Map<String, TreeMap<Integer, String>> columns = new HashMap<>();
+        try (ResultSet cols = metaData.getColumns(null, schema, "%", "%")) {
+            while (cols.next()) {
+                addColumn(columns, cols);
+            }
+        }
+
+        Map<String, Set<String>> foreignKeys = new HashMap<>();
+        try (ResultSet fks = metaData.getCrossReference(null, schema, null, null, schema, null)) {
+            while (fks.next()) {
+                addForeignKey(foreignKeys, fks);
+            }
+        } catch (SQLException e) {
+            // Driver does not accept a schema-wide cross reference, fall back to one call per table
+            foreignKeys.clear();
+            for (String tableName : columns.keySet()) {
+                try (ResultSet fks = metaData.getImportedKeys(null, schema, tableName)) {
+                    while (fks.next()) {
+                        addForeignKey(foreignKeys, fks);
+                    }
+                }
+            }
+        }
+
+        Map<String, List<String>> keys = new HashMap<>();
+        for (String tableName : keyTables == null ? columns.keySet() : keyTables) {
+            if (columns.containsKey(tableName)) {
+                keys.put(tableName, SchemaFingerprint.keyLines(metaData, schema, tableName));
+            }
+        }
+        return toFingerprints(columns, keys, foreignKeys);
+    }
+
+    /**
+     * Same fingerprints for a subset of tables, read with per-table catalog calls so the result set
+     * of a schema-wide column query is never held in memory.
+     */
+    public static Map<String, String> fingerprints(DatabaseMetaData metaData, String schema,
+                                                   Collection<String> tableNames) throws SQLException {
+        Map<String, TreeMap<Integer, String>> columns = new HashMap<>();
+        Map<String, List<String>> keys = new HashMap<>();
+        Map<String, Set<String>> foreignKeys = new HashMap<>();
+        for (String tableName : tableNames) {
+            try (ResultSet cols = metaData.getColumns(null, schema, tableName, "%")) {
+                while (cols.next()) {
+                    addColumn(columns, cols);
+                }
+            }
+            try (ResultSet fks = metaData.getImportedKeys(null, schema, tableName)) {
+                while (fks.next()) {
+                    addForeignKey(foreignKeys, fks);
+                }
+            }
+            keys.put(tableName, SchemaFingerprint.keyLines(metaData, schema, tableName));
+        }
+        return toFingerprints(columns, keys, foreignKeys);
+    }
+
+    private static Map<String, String> toFingerprints(Map<String, TreeMap<Integer, String>> columns,
+                                                      Map<String, List<String>> keys,
+                                                      Map<String, Set<String>> foreignKeys) {
+        Map<String, String> result = new HashMap<>();
+        for (Map.Entry<String, TreeMap<Integer, String>> entry : columns.entrySet()) {
+            List<String> lines = new ArrayList<>(entry.getValue().values());
+            lines.addAll(keys.getOrDefault(entry.getKey(), Collections.emptyList()));
+            lines.addAll(foreignKeys.getOrDefault(entry.getKey(), Collections.emptySet()));
+            result.put(entry.getKey(), SchemaFingerprint.sha256(lines));
+        }
+        return result;
+    }
+
+    private static void addColumn(Map<String, TreeMap<Integer, String>> columns, ResultSet cols) throws SQLException {
+        columns.computeIfAbsent(cols.getString(TABLE_NAME), k -> new TreeMap<>())
+                .put(cols.getInt("ORDINAL_POSITION"), String.join("|", "C",
+                        cols.getString("COLUMN_NAME"),
+                        cols.getString("TYPE_NAME"),
+                        cols.getString("COLUMN_SIZE"),
+                        cols.getString("DECIMAL_DIGITS"),
+                        cols.getString("NULLABLE"),
+                        cols.getString("IS_AUTOINCREMENT")));
+    }
+
+    private static void addForeignKey(Map<String, Set<String>> foreignKeys, ResultSet fks) throws SQLException {
+        foreignKeys.computeIfAbsent(fks.getString("FKTABLE_NAME"), k -> new TreeSet<>())
+                .add(String.join("|", "F",
+                        fks.getString("FKCOLUMN_NAME"),
+                        fks.getString("PKTABLE_NAME"),
+                        fks.getString("PKCOLUMN_NAME")));
+    }
+
+    /**
+     * Lists the schemas matching {@code patterns} (regular expressions), excluding {@code schema} itself.
+     */
+    public static List<String> readTenantSchemas(DatabaseMetaData metaData, String schema, List<String> patterns)
+            throws SQLException {
+        List<String> tenants = new ArrayList<>();
+        if (patterns == null || patterns.isEmpty()) {
+            return tenants;
+        }
+        try (ResultSet rs = metaData.getSchemas()) {
+            while (rs.next()) {
+                String name = rs.getString("TABLE_SCHEM");
+                if (name.equals(schema)) {
+                    continue;
+                }
+                for (String pattern : patterns) {
+                    if (name.matches(pattern)) {
+                        tenants.add(name);
+                        break;
+                    }
+                }
+            }
+        }
+        return tenants;
+    }
+
+    /**
+     * Compares every tenant schema with the generated one. Generated code uses unqualified table
+     * names, so one set of classes serves all tenants whose tables match structurally; the
+     * returned map lists, per table, the tenants where it is missing or differs.
+     */
+    public static Map<String, List<String>> findTenantDrift(DatabaseMetaData metaData, String schema,
+                                                            List<String> tenants, List<String> tableNames)
+            throws SQLException {
+        Map<String, List<String>> drift = new LinkedHashMap<>();
+        if (tenants.isEmpty()) {
+            return drift;
+        }
+        Map<String, String> reference = readFingerprints(metaData, schema, tableNames);
+        for (String tenant : tenants) {
+            Map<String, String> tenantPrints = readFingerprints(metaData, tenant, tableNames);
+            for (String tableName : tableNames) {
+                String expected = reference.get(tableName);
+                if (expected != null && !expected.equals(tenantPrints.get(tableName))) {
+                    drift.computeIfAbsent(tableName, k -> new ArrayList<>()).add(tenant);
+                }
+            }
+        }
+        logger.info("Checked {} tenant schemas against {}: {} of {} tables identical everywhere",
+                tenants.size(), schema, tableNames.size() - drift.size(), tableNames.size());
+        drift.forEach((tableName, schemas) ->
+                logger.warn("Table {} differs from {} in tenant schemas {}", tableName, schema, schemas));
+        return drift;
+    }
+}
@@ -0,0 +1,94 @@
+package com.bsit.codegeneration.metadata;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Splits the tables of a streaming run into windows. Tables are ordered breadth-first over the
+ * foreign-key graph so that related tables land in the same window and their relationship
+ * neighborhoods overlap instead of being reloaded by every window.
+ */
+public final class TableWindows {
+
+    private static final Logger logger = LoggerFactory.getLogger(TableWindows.class);
+
+    private TableWindows() { }
+
+    public static List<List<String>> plan(DatabaseMetaData metaData, String schema, List<String> tableNames,
+                                          int windowSize) throws SQLException {
+        Map<String, Set<String>> graph = readForeignKeyGraph(metaData, schema, tableNames);
+        List<String> ordered = order(tableNames, graph);
+
+        List<List<String>> windows = new ArrayList<>();
+        for (int from = 0; from < ordered.size(); from += windowSize) {
+            windows.add(List.copyOf(ordered.subList(from, Math.min(from + windowSize, ordered.size()))));
+        }
+        return windows;
+    }
+
+    // Breadth-first from each unvisited table in catalog order, so every connected component stays contiguous
+    static List<String> order(List<String> tableNames, Map<String, Set<String>> graph) {
+        List<String> ordered = new ArrayList<>(tableNames.size());
+        Set<String> visited = new HashSet<>();
+        Deque<String> queue = new ArrayDeque<>();
+        for (String start : tableNames) {
+            if (!visited.add(start)) {
+                continue;
+            }
+            queue.add(start);
+            while (!queue.isEmpty()) {
+                String tableName = queue.poll();
+                ordered.add(tableName);
+                for (String neighbour : graph.getOrDefault(tableName, Collections.emptySet())) {
+                    if (visited.add(neighbour)) {
+                        queue.add(neighbour);
+                    }
+                }
+            }
+        }
+        return ordered;
+    }
+
+    /**
+     * Undirected table adjacency from a single schema-wide cross reference. Only names are kept,
+     * reusing the instances from {@code tableNames}. Falls back to catalog order when the driver
+     * rejects the schema-wide call.
+     */
+    private static Map<String, Set<String>> readForeignKeyGraph(DatabaseMetaData metaData, String schema,
+                                                                List<String> tableNames) throws SQLException {
+        Map<String, String> canonical = new HashMap<>();
+        for (String tableName : tableNames) {
+            canonical.put(tableName, tableName);
+        }
+        Map<String, Set<String>> graph = new HashMap<>();
+        try (ResultSet fks = metaData.getCrossReference(null, schema, null, null, schema, null)) {
+            while (fks.next()) {
+                String fkTable = canonical.get(fks.getString("FKTABLE_NAME"));
+                String pkTable = canonical.get(fks.getString("PKTABLE_NAME"));
+                if (fkTable == null || pkTable == null || fkTable.equals(pkTable)) {
+                    continue;
+                }
+                graph.computeIfAbsent(fkTable, k -> new TreeSet<>()).add(pkTable);
+                graph.computeIfAbsent(pkTable, k -> new TreeSet<>()).add(fkTable);
+            }
+        } catch (SQLException e) {
+            logger.warn("Schema-wide foreign key lookup not supported ({}), windows follow catalog order", e.getMessage());
+            return Collections.emptyMap();
+        }
+        return graph;
+    }
+}
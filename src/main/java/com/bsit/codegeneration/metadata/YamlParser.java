@@ -1,8 +1,12 @@
 package com.bsit.codegeneration.metadata;
 
+import java.io.IOException;
 import java.io.InputStream;
-import java.sql.Connection;
-import java.sql.DriverManager;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 
 import com.bsit.codegeneration.model.CustomGeneratorConstructor;
 import com.bsit.codegeneration.model.GeneratorConfig;
@@ -13,50 +17,113 @@ import com.bsit.codegeneration.model.TargetConfig;
 import com.bsit.codegeneration.model.PojoConfig;
 import com.bsit.codegeneration.model.RecordConfig;
 import com.bsit.codegeneration.model.DaoConfig;
+import com.bsit.codegeneration.model.RunConfig;
+import com.bsit.codegeneration.model.SchemaTargetConfig;
+import com.bsit.codegeneration.model.ShardConfig;
 
-import org.yaml.snakeyaml.Yaml;
+import com.bsit.codegeneration.run.GenerationPlan;
+import com.bsit.codegeneration.run.MultiTargetRunner;
+import com.bsit.codegeneration.run.PlanCalibration;
 
-import static com.bsit.codegeneration.parser.JdbcDaoGenerator.log;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.yaml.snakeyaml.Yaml;
 
 public class YamlParser {
 
+    // Own logger: borrowing JdbcDaoGenerator's would load the JavaParser-based generator at startup
+    private static final Logger log = LoggerFactory.getLogger(YamlParser.class);
+
     public void generate() throws Exception {
-        Yaml yaml = new Yaml(new CustomGeneratorConstructor());
+        generate(loadBundledConfig());
+    }
 
+    public GeneratorConfig loadBundledConfig() throws IOException {
         try (InputStream input = getClass().getClassLoader().getResourceAsStream("generator.yml")) {
             if (input == null) {
                 throw new IllegalStateException("generator.yml not found in resources!");
             }
+            return loadConfig(input);
+        }
+    }
+
+    public GeneratorConfig loadConfig(InputStream input) {
+        Yaml yaml = new Yaml(new CustomGeneratorConstructor());
+        return yaml.loadAs(input, GeneratorConfig.class);
+    }
+
+    public GeneratorConfig loadConfig(Path configFile) throws IOException {
+        try (InputStream input = Files.newInputStream(configFile)) {
+            return loadConfig(input);
+        }
+    }
+
+    /**
+     * Dry run: estimates each configured target without generating anything. Plans are also
+     * written as plan.json next to the run journal.
+     */
+    public List<GenerationPlan> plan(GeneratorConfig config, PlanCalibration calibration) throws Exception {
+        GeneratorSettings generator = config.getGenerator();
+        ShardConfig shardConfig = generator.getShard() != null ? generator.getShard() : new ShardConfig();
+        shardConfig.applySystemOverrides();
+        RunConfig runConfig = generator.getRun() != null ? generator.getRun() : new RunConfig();
+        runConfig.applySystemOverrides();
 
-            GeneratorConfig config = yaml.loadAs(input, GeneratorConfig.class);
-            GeneratorSettings generator = config.getGenerator();
-
-            DatabaseConfig dbConfig = generator.getDatabase();
-            TargetConfig targetConfig = generator.getTarget();
-            PojoConfig pojoConfig = generator.getPojo();
-            RecordConfig recordConfig = generator.getRecord();
-            DaoConfig daoConfig = generator.getDao();
-            RepositoryConfig repositoryConfig = generator.getRepository();
-
-            // Set up DB connection using details from YAML
-            Class.forName(dbConfig.getDriver());
-            try (Connection conn = DriverManager.getConnection(
-                    dbConfig.getUrl(),
-                    dbConfig.getUser(),
-                    dbConfig.getPassword())) {
-
-                // Proceed with other generation (e.g., Record, DAO, POJO)
-                DbReader.readDatabase(
-                        dbConfig,
-                        targetConfig,
-                        recordConfig,
-                        daoConfig,
-                        repositoryConfig,
-                        pojoConfig
-                );
+        List<GenerationPlan> plans = new ArrayList<>();
+        if (generator.getTargets() != null && !generator.getTargets().isEmpty()) {
+            for (SchemaTargetConfig target : generator.getTargets()) {
+                RunConfig targetRun = runConfig.forTarget(target.getName());
+                plans.add(plan(generator, target.toDatabaseConfig(generator.getDatabase()),
+                        shardConfig.forTarget(target.getName()), targetRun, calibration));
             }
+        } else {
+            plans.add(plan(generator, generator.getDatabase(), shardConfig, runConfig, calibration));
+        }
+        return plans;
+    }
 
-            log.info("Code generation completed successfully");
+    private GenerationPlan plan(GeneratorSettings generator, DatabaseConfig dbConfig, ShardConfig shardConfig,
+                                RunConfig runConfig, PlanCalibration calibration) throws Exception {
+        GenerationPlan plan = GenerationPlanner.plan(dbConfig, generator.getRecord(), generator.getDao(),
+                generator.getRepository(), generator.getPojo(), shardConfig, runConfig, generator.getArtifacts(),
+                calibration);
+        plan.write(Paths.get(runConfig.getJournalDirectory()).resolve("plan.json"));
+        return plan;
+    }
+
+    public void generate(GeneratorConfig config) throws Exception {
+        GeneratorSettings generator = config.getGenerator();
+
+        DatabaseConfig dbConfig = generator.getDatabase();
+        TargetConfig targetConfig = generator.getTarget();
+        PojoConfig pojoConfig = generator.getPojo();
+        RecordConfig recordConfig = generator.getRecord();
+        DaoConfig daoConfig = generator.getDao();
+        RepositoryConfig repositoryConfig = generator.getRepository();
+        ShardConfig shardConfig = generator.getShard() != null ? generator.getShard() : new ShardConfig();
+        shardConfig.applySystemOverrides();
+        RunConfig runConfig = generator.getRun() != null ? generator.getRun() : new RunConfig();
+        runConfig.applySystemOverrides();
+
+        if (generator.getTargets() != null && !generator.getTargets().isEmpty()) {
+            MultiTargetRunner.run(generator, shardConfig, runConfig);
+            log.info("Code generation completed successfully for {} targets", generator.getTargets().size());
+            return;
         }
+
+        // DbReader opens its own connection from the YAML details
+        DbReader.readDatabase(
+                dbConfig,
+                targetConfig,
+                recordConfig,
+                daoConfig,
+                repositoryConfig,
+                pojoConfig,
+                shardConfig,
+                runConfig,
+                generator.getArtifacts()
+        );
+
+        log.info("Code generation completed successfully");
     }
 }
@@ -1,5 +1,10 @@
 package com.bsit.codegeneration.model;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 public class DaoConfig {
   private boolean generate;
   private String style;
@@ -9,6 +14,28 @@ public class DaoConfig {
   private boolean generatePaginationSupport;
   private boolean generateSoftDeleteSupport;
   private String baseClass;
+  // Prepared statements kept open per connection by generated JDBC DAOs, least recently used evicted first;
+  // raised per DAO to the number of statements its prepareStatements prepares
+  private int statementCacheSize = 32;
+  // Keyset pages seek on the primary key, or on these NOT NULL columns per table (the primary key is appended when missing)
+  private boolean generateKeysetPagination;
+  private Map<String, List<String>> keysetColumns = new HashMap<>();
+  // Also generate page methods that return COUNT(*) OVER () with the rows; costs a full scan per page
+  private boolean keysetTotalCount;
+  // Cursor-based iterate/stream/forEach methods; rows are fetched from the server streamFetchSize at a time
+  private boolean generateStreaming;
+  private int streamFetchSize = 1000;
+  // PostgreSQL only: copyIn(Iterable) bulk load through COPY FROM STDIN
+  private boolean generateCopyIn;
+  // insertMultiRow splits a list over multi-row INSERT statements of these row counts
+  private boolean generateMultiRowInsert;
+  private List<Integer> multiRowSizes = new ArrayList<>(List.of(256, 64, 8, 1));
+  // findByIds: one array bind on PostgreSQL, elsewhere IN lists padded to one of these sizes (at most 1000)
+  private boolean generateFindByIds;
+  private List<Integer> idListSizes = new ArrayList<>(List.of(1, 10, 100, 1000));
+  // upsert/bulkUpsert per unique index, and per primary key unless it is generated (ON CONFLICT, MERGE or ON DUPLICATE KEY by vendor)
+  private boolean generateUpsert;
+  private boolean upsertReturnKeys;
 
   public boolean isGenerate() {
     return generate;
@@ -73,4 +100,108 @@ public class DaoConfig {
   public void setBaseClass(String baseClass) {
     this.baseClass = baseClass;
   }
+
+  public int getStatementCacheSize() {
+    return statementCacheSize;
+  }
+
+  public void setStatementCacheSize(int statementCacheSize) {
+    this.statementCacheSize = statementCacheSize;
+  }
+
+  public boolean isGenerateKeysetPagination() {
+    return generateKeysetPagination;
+  }
+
+  public void setGenerateKeysetPagination(boolean generateKeysetPagination) {
+    this.generateKeysetPagination = generateKeysetPagination;
+  }
+
+  public Map<String, List<String>> getKeysetColumns() {
+    return keysetColumns;
+  }
+
+  public void setKeysetColumns(Map<String, List<String>> keysetColumns) {
+    this.keysetColumns = keysetColumns;
+  }
+
+  public boolean isKeysetTotalCount() {
+    return keysetTotalCount;
+  }
+
+  public void setKeysetTotalCount(boolean keysetTotalCount) {
+    this.keysetTotalCount = keysetTotalCount;
+  }
+
+  public boolean isGenerateStreaming() {
+    return generateStreaming;
+  }
+
+  public void setGenerateStreaming(boolean generateStreaming) {
+    this.generateStreaming = generateStreaming;
+  }
+
+  public int getStreamFetchSize() {
+    return streamFetchSize;
+  }
+
+  public void setStreamFetchSize(int streamFetchSize) {
+    this.streamFetchSize = streamFetchSize;
+  }
+
+  public boolean isGenerateCopyIn() {
+    return generateCopyIn;
+  }
+
+  public void setGenerateCopyIn(boolean generateCopyIn) {
+    this.generateCopyIn = generateCopyIn;
+  }
+
+  public boolean isGenerateMultiRowInsert() {
+    return generateMultiRowInsert;
+  }
+
+  public void setGenerateMultiRowInsert(boolean generateMultiRowInsert) {
+    this.generateMultiRowInsert = generateMultiRowInsert;
+  }
+
+  public List<Integer> getMultiRowSizes() {
+    return multiRowSizes;
+  }
+
+  public void setMultiRowSizes(List<Integer> multiRowSizes) {
+    this.multiRowSizes = multiRowSizes;
+  }
+
+  public boolean isGenerateFindByIds() {
+    return generateFindByIds;
+  }
+
+  public void setGenerateFindByIds(boolean generateFindByIds) {
+    this.generateFindByIds = generateFindByIds;
+  }
+
+  public List<Integer> getIdListSizes() {
+    return idListSizes;
+  }
+
+  public void setIdListSizes(List<Integer> idListSizes) {
+    this.idListSizes = idListSizes;
+  }
+
+  public boolean isGenerateUpsert() {
+    return generateUpsert;
+  }
+
+  public void setGenerateUpsert(boolean generateUpsert) {
+    this.generateUpsert = generateUpsert;
+  }
+
+  public boolean isUpsertReturnKeys() {
+    return upsertReturnKeys;
+  }
+
+  public void setUpsertReturnKeys(boolean upsertReturnKeys) {
+    this.upsertReturnKeys = upsertReturnKeys;
+  }
 }
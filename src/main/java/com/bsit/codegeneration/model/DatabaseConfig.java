@@ -17,6 +17,8 @@ public class DatabaseConfig {
     private String schema;
     private List<String> includes;
     private List<String> excludes;
+    // Schemas (regex) expected to share the structure of "schema"; they are verified, not generated
+    private List<String> tenantSchemas;
     private InputFilterConfig inputFilter;
     private NamingStrategyConfig namingStrategy;
 
@@ -142,6 +144,14 @@ public class DatabaseConfig {
         this.excludes = excludes;
     }
 
+    public List<String> getTenantSchemas() {
+        return tenantSchemas;
+    }
+
+    public void setTenantSchemas(List<String> tenantSchemas) {
+        this.tenantSchemas = tenantSchemas;
+    }
+
     public InputFilterConfig getInputFilter() {
         return inputFilter;
     }
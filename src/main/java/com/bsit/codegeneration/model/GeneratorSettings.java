@@ -1,5 +1,7 @@
 package com.bsit.codegeneration.model;
 
+import java.util.List;
+
 public class GeneratorSettings {
 	private String name;
     private DatabaseConfig database;
@@ -13,6 +15,10 @@ public class GeneratorSettings {
 	private AdvancedConfig advanced;
     private SqlTemplatesConfig sqlTemplates;
     private LoggingConfig logging;
+    private ShardConfig shard;
+    private RunConfig run;
+    private List<SchemaTargetConfig> targets;
+    private List<String> artifacts;
     private String activeProfile;
    
     
@@ -83,6 +89,30 @@ public class GeneratorSettings {
 	public void setLogging(LoggingConfig logging) {
 		this.logging = logging;
 	}
+	public ShardConfig getShard() {
+		return shard;
+	}
+	public void setShard(ShardConfig shard) {
+		this.shard = shard;
+	}
+	public RunConfig getRun() {
+		return run;
+	}
+	public void setRun(RunConfig run) {
+		this.run = run;
+	}
+	public List<SchemaTargetConfig> getTargets() {
+		return targets;
+	}
+	public void setTargets(List<SchemaTargetConfig> targets) {
+		this.targets = targets;
+	}
+	public List<String> getArtifacts() {
+		return artifacts;
+	}
+	public void setArtifacts(List<String> artifacts) {
+		this.artifacts = artifacts;
+	}
 	public PojoConfig getDto() {
 		return pojo;
 	}
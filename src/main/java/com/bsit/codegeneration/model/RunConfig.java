@@ -0,0 +1,112 @@
+package com.bsit.codegeneration.model;
+
+public class RunConfig {
+    private boolean resume = true;
+    private String journalDirectory = "target/codegen";
+    // Stop at the first failing artifact instead of collecting failures into the report
+    private boolean failFast = false;
+    // Process tables in foreign-key ordered windows so heap use follows windowSize, not the schema size
+    private boolean streaming = false;
+    private int windowSize = 500;
+    // Targets generated concurrently in a multi-target run, 0 = one per available processor
+    private int workers = 0;
+    // Per-phase wall, CPU and allocation report written next to the journal
+    private boolean metrics = true;
+    private int slowestTables = 10;
+
+    public boolean isResume() {
+        return resume;
+    }
+
+    public void setResume(boolean resume) {
+        this.resume = resume;
+    }
+
+    public String getJournalDirectory() {
+        return journalDirectory;
+    }
+
+    public void setJournalDirectory(String journalDirectory) {
+        this.journalDirectory = journalDirectory;
+    }
+
+    public boolean isFailFast() {
+        return failFast;
+    }
+
+    public void setFailFast(boolean failFast) {
+        this.failFast = failFast;
+    }
+
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    public void setWindowSize(int windowSize) {
+        this.windowSize = windowSize;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public void setWorkers(int workers) {
+        this.workers = workers;
+    }
+
+    public boolean isMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(boolean metrics) {
+        this.metrics = metrics;
+    }
+
+    public int getSlowestTables() {
+        return slowestTables;
+    }
+
+    public void setSlowestTables(int slowestTables) {
+        this.slowestTables = slowestTables;
+    }
+
+    public int effectiveWorkers() {
+        return workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+    }
+
+    public RunConfig forTarget(String targetName) {
+        RunConfig copy = new RunConfig();
+        copy.setResume(resume);
+        copy.setJournalDirectory(journalDirectory + "/" + targetName);
+        copy.setFailFast(failFast);
+        copy.setStreaming(streaming);
+        copy.setWindowSize(windowSize);
+        copy.setWorkers(workers);
+        copy.setMetrics(metrics);
+        copy.setSlowestTables(slowestTables);
+        return copy;
+    }
+
+    // -Dcodegen.resume=false forces a full run without editing the config
+    public void applySystemOverrides() {
+        String resumeOverride = System.getProperty("codegen.resume");
+        String streamingOverride = System.getProperty("codegen.streaming");
+        String workersOverride = System.getProperty("codegen.workers");
+        String metricsOverride = System.getProperty("codegen.metrics");
+        if (resumeOverride != null) resume = Boolean.parseBoolean(resumeOverride.trim());
+        if (streamingOverride != null) streaming = Boolean.parseBoolean(streamingOverride.trim());
+        if (workersOverride != null) workers = Integer.parseInt(workersOverride.trim());
+        if (metricsOverride != null) metrics = Boolean.parseBoolean(metricsOverride.trim());
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("windowSize must be >= 1 but was " + windowSize);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.bsit.codegeneration.model;
+
+import java.util.List;
+
+/**
+ * One database/schema of a multi-target run. Unset fields fall back to the top-level
+ * {@code database} and {@code target} sections.
+ */
+public class SchemaTargetConfig {
+    private String name;
+    private String url;
+    private String user;
+    private String password;
+    private String schema;
+    private List<String> includes;
+    private List<String> excludes;
+    private String basePackage;
+    private String outputDirectory;
+
+    public String getName() {
+        return name != null ? name : schema;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getUser() {
+        return user;
+    }
+
+    public void setUser(String user) {
+        this.user = user;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public String getSchema() {
+        return schema;
+    }
+
+    public void setSchema(String schema) {
+        this.schema = schema;
+    }
+
+    public List<String> getIncludes() {
+        return includes;
+    }
+
+    public void setIncludes(List<String> includes) {
+        this.includes = includes;
+    }
+
+    public List<String> getExcludes() {
+        return excludes;
+    }
+
+    public void setExcludes(List<String> excludes) {
+        this.excludes = excludes;
+    }
+
+    public String getBasePackage() {
+        return basePackage;
+    }
+
+    public void setBasePackage(String basePackage) {
+        this.basePackage = basePackage;
+    }
+
+    public String getOutputDirectory() {
+        return outputDirectory;
+    }
+
+    public void setOutputDirectory(String outputDirectory) {
+        this.outputDirectory = outputDirectory;
+    }
+
+    public DatabaseConfig toDatabaseConfig(DatabaseConfig defaults) {
+        DatabaseConfig db = new DatabaseConfig();
+        db.setName(getName());
+        db.setDialect(defaults.getDialect());
+        db.setDriver(defaults.getDriver());
+        db.setUrl(url != null ? url : defaults.getUrl());
+        db.setUser(user != null ? user : defaults.getUser());
+        db.setPassword(password != null ? password : defaults.getPassword());
+        db.setSchema(schema != null ? schema : defaults.getSchema());
+        db.setIncludes(includes != null ? includes : defaults.getIncludes());
+        db.setExcludes(excludes != null ? excludes : defaults.getExcludes());
+        db.setTenantSchemas(defaults.getTenantSchemas());
+        db.setInputFilter(defaults.getInputFilter());
+        db.setNamingStrategy(defaults.getNamingStrategy());
+        return db;
+    }
+
+    public TargetConfig toTargetConfig(TargetConfig defaults) {
+        TargetConfig target = new TargetConfig(
+                outputDirectory != null ? outputDirectory : defaults.getOutputDirectory(),
+                basePackage != null ? basePackage : defaults.getBasePackage());
+        target.setRecordPackage(defaults.getRecordPackage());
+        target.setDaoPackage(defaults.getDaoPackage());
+        target.setMapperPackage(defaults.getMapperPackage());
+        target.setRepositoryPackage(defaults.getRepositoryPackage());
+        target.setOverwrite(defaults.isOverwrite());
+        target.setFormatSource(defaults.isFormatSource());
+        return target;
+    }
+}
@@ -0,0 +1,80 @@
+package com.bsit.codegeneration.model;
+
+public class ShardConfig {
+    public static final String STRATEGY_HASH = "hash";
+    public static final String STRATEGY_COST = "cost";
+
+    private int shardIndex = 0;
+    private int shardCount = 1;
+    private String strategy = STRATEGY_HASH;
+    private String manifestDirectory = "target/codegen";
+
+    public int getShardIndex() {
+        return shardIndex;
+    }
+
+    public void setShardIndex(int shardIndex) {
+        this.shardIndex = shardIndex;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public void setShardCount(int shardCount) {
+        this.shardCount = shardCount;
+    }
+
+    public String getStrategy() {
+        return strategy;
+    }
+
+    public void setStrategy(String strategy) {
+        this.strategy = strategy;
+    }
+
+    public String getManifestDirectory() {
+        return manifestDirectory;
+    }
+
+    public void setManifestDirectory(String manifestDirectory) {
+        this.manifestDirectory = manifestDirectory;
+    }
+
+    // Same shard slot, manifests kept apart per target of a multi-target run
+    public ShardConfig forTarget(String targetName) {
+        ShardConfig copy = new ShardConfig();
+        copy.setShardIndex(shardIndex);
+        copy.setShardCount(shardCount);
+        copy.setStrategy(strategy);
+        copy.setManifestDirectory(manifestDirectory + "/" + targetName);
+        return copy;
+    }
+
+    public boolean isSharded() {
+        return shardCount > 1;
+    }
+
+    // CI executors pass their slot with -Dcodegen.shardIndex / -Dcodegen.shardCount
+    public void applySystemOverrides() {
+        String index = System.getProperty("codegen.shardIndex");
+        String count = System.getProperty("codegen.shardCount");
+        String strategyOverride = System.getProperty("codegen.shardStrategy");
+        if (index != null) shardIndex = Integer.parseInt(index.trim());
+        if (count != null) shardCount = Integer.parseInt(count.trim());
+        if (strategyOverride != null) strategy = strategyOverride.trim();
+        validate();
+    }
+
+    public void validate() {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("shardCount must be >= 1 but was " + shardCount);
+        }
+        if (shardIndex < 0 || shardIndex >= shardCount) {
+            throw new IllegalArgumentException("shardIndex must be in [0, " + shardCount + ") but was " + shardIndex);
+        }
+        if (!STRATEGY_HASH.equalsIgnoreCase(strategy) && !STRATEGY_COST.equalsIgnoreCase(strategy)) {
+            throw new IllegalArgumentException("Unknown shard strategy: " + strategy);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.bsit.codegeneration.parser;
+
+import com.bsit.codegeneration.spi.ArtifactContext;
+import com.bsit.codegeneration.spi.ArtifactGenerator;
+import com.bsit.codegeneration.spi.ArtifactKind;
+import com.bsit.codegeneration.spi.OutputSink;
+import com.bsit.codegeneration.spi.TableModel;
+
+import java.nio.file.Path;
+import java.sql.ResultSet;
+
+@ArtifactKind("jdbc-dao")
+public class JdbcDaoArtifactGenerator implements ArtifactGenerator {
+
+    @Override
+    public Path generate(TableModel table, ArtifactContext context, OutputSink sink) throws Exception {
+        try (ResultSet columns = table.openColumns()) {
+            return JdbcDaoGenerator.generateDao(table.getTableName(), columns, context.dbConfig(), context.daoConfig(),
+                    table.getMetaData(), context.tables(), context.target(), table.getRelationships(), sink);
+        }
+    }
+}
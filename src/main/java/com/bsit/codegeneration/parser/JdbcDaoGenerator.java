@@ -2,7 +2,10 @@ package com.bsit.codegeneration.parser;
 
 import com.bsit.codegeneration.model.NamingStrategyConfig;
 import com.bsit.codegeneration.model.TargetConfig;
+import com.bsit.codegeneration.model.DaoConfig;
 import com.bsit.codegeneration.model.DatabaseConfig;
+import com.bsit.codegeneration.spi.FileOutputSink;
+import com.bsit.codegeneration.spi.OutputSink;
 import com.bsit.codegeneration.util.Relationship;
 import com.bsit.codegeneration.util.StringUtils;
 import com.github.javaparser.StaticJavaParser;
@@ -28,25 +31,27 @@ import com.github.javaparser.ast.stmt.ForStmt;
 import com.github.javaparser.ast.stmt.WhileStmt;
 import com.github.javaparser.ast.stmt.ForEachStmt;
 import com.github.javaparser.ast.stmt.CatchClause;
-import com.github.javaparser.ast.stmt.ExpressionStmt;
+import com.github.javaparser.ast.stmt.Statement;
 import com.github.javaparser.ast.type.ClassOrInterfaceType;
 import com.github.javaparser.ast.type.TypeParameter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.nio.file.Path;
+import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.HashMap;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 public class JdbcDaoGenerator {
@@ -92,7 +97,6 @@ public class JdbcDaoGenerator {
     private static final String RS_NEXT = "rs.next()";
     private static final String INT_ARRAY = "int[]";
     private static final String BATCH = "batch";
-    private static final String BRACE_NULL = ") : null";
     public static final String SELECT_COLUMNS = "SELECT_COLUMNS";
     public static final String LIST_LIST = "List<List<";
     public static final String ROLL_BACK = "conn.rollback();";
@@ -109,6 +113,7 @@ public class JdbcDaoGenerator {
         String referencedTable;
         String dbType;
         boolean isBinary;
+        boolean nullable;
 
         private static boolean isBinaryType(String dbType) {
             if (dbType == null) return false;
@@ -129,36 +134,94 @@ public class JdbcDaoGenerator {
             this.referencedTable = null;
             this.dbType = dbType;
             this.isBinary = isBinaryType(dbType);
+            this.nullable = true;
         }
     }
 
-    public static void generateDao(
+    public static Path generateDao(
             String tableName,
             ResultSet columns,
             DatabaseConfig dbConfig,
             TargetConfig target,
             List<Relationship> relationships)
             throws Exception {
+        return generateDao(tableName, columns, dbConfig, target, relationships,
+                new FileOutputSink(target.getOutputDirectory()));
+    }
+
+    public static Path generateDao(
+            String tableName,
+            ResultSet columns,
+            DatabaseConfig dbConfig,
+            TargetConfig target,
+            List<Relationship> relationships,
+            OutputSink sink)
+            throws Exception {
+        return generateDao(tableName, columns, dbConfig, new DaoConfig(), target, relationships, sink);
+    }
+
+    public static Path generateDao(
+            String tableName,
+            ResultSet columns,
+            DatabaseConfig dbConfig,
+            DaoConfig daoConfig,
+            TargetConfig target,
+            List<Relationship> relationships,
+            OutputSink sink)
+            throws Exception {
+        return generateDao(tableName, columns, dbConfig, daoConfig, null, target, relationships, sink);
+    }
+
+    public static Path generateDao(
+            String tableName,
+            ResultSet columns,
+            DatabaseConfig dbConfig,
+            DaoConfig daoConfig,
+            DatabaseMetaData metaData,
+            TargetConfig target,
+            List<Relationship> relationships,
+            OutputSink sink)
+            throws Exception {
+        return generateDao(tableName, columns, dbConfig, daoConfig, metaData, null, target, relationships, sink);
+    }
+
+    // metaData supplies the real primary and unique keys for upserts; without it upserts key on the detected primary key.
+    // generatedTables are the tables whose DAOs this run writes, null when unknown; relation loaders only call those.
+    public static Path generateDao(
+            String tableName,
+            ResultSet columns,
+            DatabaseConfig dbConfig,
+            DaoConfig daoConfig,
+            DatabaseMetaData metaData,
+            Set<String> generatedTables,
+            TargetConfig target,
+            List<Relationship> relationships,
+            OutputSink sink)
+            throws Exception {
 
         // Configure JavaParser
         StaticJavaParser.getParserConfiguration().setLanguageLevel(JAVA_16);
         // Setup configuration
-        DaoGenerationConfig config = setupGenerationConfig(dbConfig, tableName);
+        DaoGenerationConfig config = setupGenerationConfig(dbConfig, daoConfig, tableName);
 
         // Process columns and detect primary key
-        ColumnProcessingResult columnResult = processColumns(columns, relationships, config.vendor);
+        ColumnProcessingResult columnResult = processColumns(columns, relationships, config.vendor,
+                readPrimaryKey(metaData, dbConfig.getSchema(), config));
+        List<List<String>> upsertKeys = readUpsertKeys(metaData, dbConfig.getSchema(), config, columnResult);
+        Map<String, Relationship> loadedRelations = readLoadedRelations(metaData, dbConfig.getSchema(), config, columnResult,
+                relationships, generatedTables);
 
         // Create compilation unit with imports
         CompilationUnit cu = createCompilationUnit(config, columnResult, target, relationships);
 
         // Generate DAO class with all methods
-        generateDaoClass(cu, config, columnResult, relationships);
+        generateDaoClass(cu, config, columnResult, relationships, upsertKeys, loadedRelations);
 
         // Write file
-        writeToFile(target, config.packageName, config.daoClassName, cu);
+        return writeToFile(sink, config.packageName, config.daoClassName, cu);
     }
 
-    private static DaoGenerationConfig setupGenerationConfig(DatabaseConfig dbConfig, String tableName) {
+    private static DaoGenerationConfig setupGenerationConfig(DatabaseConfig dbConfig, DaoConfig daoConfig, String tableName) {
         String vendor = dbConfig.getDatabaseVendor() == null ? "" : dbConfig.getDatabaseVendor().toUpperCase();
         NamingStrategyConfig naming = dbConfig.getNamingStrategy();
         String rawClassName = StringUtils.stripPrefix(tableName, NamingStrategyConfig.getStripPrefixes());
@@ -166,17 +229,18 @@ public class JdbcDaoGenerator {
 
         return new DaoGenerationConfig(
                 vendor, naming, className, "Jdbc" + className + "Dao",
-                "com.bsit.codegeneration.jdbcdao", tableName
+                "com.bsit.codegeneration.jdbcdao", tableName, daoConfig
         );
     }
 
     // Create a simple config class
     private record DaoGenerationConfig(String vendor, NamingStrategyConfig naming, String className,
-                                       String daoClassName, String packageName, String tableName) {
+                                       String daoClassName, String packageName, String tableName,
+                                       DaoConfig dao) {
     }
 
-    private static ColumnProcessingResult processColumns(ResultSet columns, List<Relationship> relationships, String vendor)
-            throws SQLException {
+    private static ColumnProcessingResult processColumns(ResultSet columns, List<Relationship> relationships, String vendor,
+                                                         List<String> declaredKey) throws SQLException {
         List<ColumnInfo> columnsInfo = new ArrayList<>();
         Map<String, String> foreignKeyMap = buildForeignKeyMap(relationships);
 
@@ -188,8 +252,20 @@ public class JdbcDaoGenerator {
 
         // Detect primary key
         PrimaryKeyInfo pkInfo = detectPrimaryKey(columnsInfo);
+        List<String> primaryKey = !declaredKey.isEmpty() ? declaredKey
+                : pkInfo.field != null ? List.of(pkInfo.field) : List.of();
+
+        return new ColumnProcessingResult(columnsInfo, pkInfo, primaryKey);
+    }
 
-        return new ColumnProcessingResult(columnsInfo, pkInfo);
+    // The declared primary key in key order, read only when a feature needs every key column
+    private static List<String> readPrimaryKey(DatabaseMetaData metaData, String schema, DaoGenerationConfig config)
+            throws SQLException {
+        if (metaData == null || !(config.dao.isGenerateKeysetPagination() || config.dao.isGenerateFindByIds()
+                || config.dao.isGenerateUpsert())) {
+            return List.of();
+        }
+        return UpsertSql.primaryKey(metaData, schema, config.tableName);
     }
 
     private static Map<String, String> buildForeignKeyMap(List<Relationship> relationships) {
@@ -214,6 +290,7 @@ public class JdbcDaoGenerator {
         boolean isAutoIncrement = determineAutoIncrement(columns, dbType);
 
         ColumnInfo colInfo = new ColumnInfo(colName, javaType, isAutoIncrement, dbType);
+        colInfo.nullable = determineNullable(columns);
 
         // Set foreign key info
         if (foreignKeyMap.containsKey(colName)) {
@@ -232,6 +309,15 @@ public class JdbcDaoGenerator {
         }
     }
 
+    // Unknown nullability is treated as nullable so extract keeps its wasNull() check
+    private static boolean determineNullable(ResultSet columns) {
+        try {
+            return columns.getInt("NULLABLE") != DatabaseMetaData.columnNoNulls;
+        } catch (SQLException ignored) {
+            return true;
+        }
+    }
+
     private static boolean determineAutoIncrement(ResultSet columns, String dbType) {
         try {
             String isAutoStr = columns.getString("IS_AUTOINCREMENT");
@@ -276,7 +362,7 @@ public class JdbcDaoGenerator {
         return new PrimaryKeyInfo(pkField, idType, pkIsAuto);
     }
 
-    private static String mapJavaTypeToWrapper(String type) {
+    static String mapJavaTypeToWrapper(String type) {
         return switch (type) {
             case "int" -> INT_TYPE;
             case "long" -> "Long";
@@ -304,6 +390,26 @@ public class JdbcDaoGenerator {
         addConditionalImports(cu, columnResult.columnsInfo);
         addModelImports(cu, target, config.className);
         addRelationshipImports(cu, target, relationships, columnResult.columnsInfo);
+        if (config.dao.isGenerateStreaming()) {
+            cu.addImport("java.util.NoSuchElementException");
+            cu.addImport("java.util.Spliterator");
+            cu.addImport("java.util.Spliterators");
+            cu.addImport("java.util.function.Consumer");
+            cu.addImport("java.util.stream.Stream");
+            cu.addImport("java.util.stream.StreamSupport");
+        }
+        if (isFindByIdsEnabled(config, columnResult)) {
+            cu.addImport("java.sql.Array");
+            cu.addImport("java.util.Collection");
+            cu.addImport("java.util.LinkedHashSet");
+            cu.addImport("java.util.Set");
+        }
+        if (isCopyInEnabled(config, columnResult)) {
+            cu.addImport("java.nio.charset.StandardCharsets");
+            cu.addImport("java.util.HexFormat");
+            cu.addImport("org.postgresql.PGConnection");
+            cu.addImport("org.postgresql.copy.CopyIn");
+        }
 
         return cu;
     }
@@ -316,14 +422,19 @@ public class JdbcDaoGenerator {
         cu.addImport("java.sql.Statement");
         cu.addImport("java.sql.Types");
         cu.addImport("java.util.ArrayList");
+        cu.addImport("java.util.Collections");
+        cu.addImport("java.util.Iterator");
+        cu.addImport("java.util.LinkedHashMap");
         cu.addImport("java.util.List");
+        cu.addImport("java.util.Map");
+        cu.addImport("java.util.WeakHashMap");
         cu.addImport("org.slf4j.Logger");
         cu.addImport("org.slf4j.LoggerFactory");
     }
 
     private static void addConditionalImports(CompilationUnit cu, List<ColumnInfo> columnsInfo) {
         if (hasFieldsOfType(columnsInfo, LOCAL_DATE_TIME)) {
-            cu.addImport("java.sql.Timestamp");
+            cu.addImport(LOCAL_DATE_TIME);
         }
         if (hasFieldsOfType(columnsInfo, LOCAL_DATE)) {
             cu.addImport(LOCAL_DATE);
@@ -372,7 +483,8 @@ public class JdbcDaoGenerator {
     }
 
     private static void generateDaoClass(CompilationUnit cu, DaoGenerationConfig config,
-                                         ColumnProcessingResult columnResult, List<Relationship> relationships) {
+                                         ColumnProcessingResult columnResult, List<Relationship> relationships,
+                                         List<List<String>> upsertKeys, Map<String, Relationship> loadedRelations) {
 
         ClassOrInterfaceDeclaration daoClass = cu.addClass(config.daoClassName, Modifier.Keyword.PUBLIC);
 
@@ -380,14 +492,36 @@ public class JdbcDaoGenerator {
         addLogger(daoClass, config.daoClassName);
 
         // Create constants
-        createConstants(daoClass, config.tableName, columnResult.columnsInfo,
-                columnResult.pkInfo.field, columnResult.pkInfo.isAuto);
+        createConstants(daoClass, config.tableName, columnResult.columnsInfo, columnResult.pkInfo.field, columnResult.pkInfo.isAuto,
+                Math.max(config.dao.getStatementCacheSize(), preparedStatementCount(config, columnResult, upsertKeys)));
+        if (config.dao.isGenerateKeysetPagination()) {
+            createKeysetConstants(daoClass, config, columnResult.columnsInfo, columnResult.primaryKey);
+        }
+        if (config.dao.isGenerateStreaming()) {
+            createStreamingConstants(daoClass, config);
+        }
+        if (isCopyInEnabled(config, columnResult)) {
+            createCopyInConstants(daoClass, columnResult.columnsInfo, columnResult.pkInfo.field, columnResult.pkInfo.isAuto);
+        }
+        if (config.dao.isGenerateMultiRowInsert()) {
+            createMultiRowInsertConstants(daoClass, config, columnResult);
+        }
+        if (isFindByIdsEnabled(config, columnResult)) {
+            createFindByIdsConstants(daoClass, config, findByIdsKey(columnResult).name);
+        }
+        for (List<String> key : upsertKeys) {
+            daoClass.addFieldWithInitializer(STRING, upsertConstant(columnResult, key),
+                    new StringLiteralExpr(UpsertSql.upsert(config.vendor, config.tableName, insertColumns(columnResult.columnsInfo,
+                            columnResult.pkInfo.field, columnResult.pkInfo.isAuto).stream().map(c -> c.name).toList(), key, i -> "?")),
+                    Modifier.Keyword.PRIVATE, Modifier.Keyword.STATIC, Modifier.Keyword.FINAL);
+        }
 
         // Add utility methods
         createUtilityMethods(daoClass);
+        createStatementCacheMethods(daoClass);
 
         // Create all DAO methods
-        createAllDaoMethods(daoClass, config, columnResult, relationships);
+        createAllDaoMethods(daoClass, config, columnResult, relationships, upsertKeys, loadedRelations);
     }
 
     private static void addLogger(ClassOrInterfaceDeclaration daoClass, String daoClassName) {
@@ -401,7 +535,8 @@ public class JdbcDaoGenerator {
             String tableName,
             List<ColumnInfo> columnsInfo,
             String pkField,
-            boolean pkIsAuto) {
+            boolean pkIsAuto,
+            int statementCacheSize) {
 
         // TABLE constant
         daoClass.addFieldWithInitializer(STRING, TABLE,
@@ -481,6 +616,27 @@ public class JdbcDaoGenerator {
         daoClass.addFieldWithInitializer(STRING, "DELETE_SQL", deleteSqlExpr,
                 Modifier.Keyword.PRIVATE, Modifier.Keyword.STATIC, Modifier.Keyword.FINAL);
 
+        // Lookup SQL by primary key and by each foreign key, built once instead of per call
+        for (String column : lookupColumns(columnsInfo, pkField)) {
+            daoClass.addFieldWithInitializer(STRING, selectByConstant(column),
+                    StaticJavaParser.parseExpression("getSelectByColumnSql(COL_" + column.toUpperCase() + ")"),
+                    Modifier.Keyword.PRIVATE, Modifier.Keyword.STATIC, Modifier.Keyword.FINAL);
+        }
+
+        daoClass.addFieldWithInitializer(STRING, "FIND_ALL_SQL",
+                StaticJavaParser.parseExpression("String.format(\"SELECT %s FROM %s ORDER BY %s OFFSET ? ROWS FETCH NEXT ? ROWS ONLY\", SELECT_COLUMNS, TABLE, COL_" + pkField.toUpperCase() + ")"),
+                Modifier.Keyword.PRIVATE, Modifier.Keyword.STATIC, Modifier.Keyword.FINAL);
+
+        // Statements kept per connection, never fewer than prepareStatements prepares
+        daoClass.addFieldWithInitializer("int", "STATEMENT_CACHE_SIZE",
+                StaticJavaParser.parseExpression(String.valueOf(statementCacheSize)),
+                Modifier.Keyword.PRIVATE, Modifier.Keyword.STATIC, Modifier.Keyword.FINAL);
+
+        // Weakly keyed so a connection the pool discards does not pin its statements here
+        daoClass.addFieldWithInitializer("Map<Connection, Map<String, PreparedStatement>>", "STATEMENT_CACHE",
+                StaticJavaParser.parseExpression("Collections.synchronizedMap(new WeakHashMap<>())"),
+                Modifier.Keyword.PRIVATE, Modifier.Keyword.STATIC, Modifier.Keyword.FINAL);
+
         // Batch size constants
         daoClass.addFieldWithInitializer("int", "INSERT_BATCH_SIZE",
                 StaticJavaParser.parseExpression("500"),
@@ -537,44 +693,1185 @@ public class JdbcDaoGenerator {
         selectExpr.addArgument(new NameExpr("column"));
         selectBody.addStatement(new ReturnStmt(selectExpr));
         selectByCol.setBody(selectBody);
+    }
 
-        // NEW: Add setNullable helper to handle null values uniformly
-        MethodDeclaration setNullable = daoClass.addMethod("setNullable", Modifier.Keyword.PRIVATE, Modifier.Keyword.STATIC);
-        setNullable.setType("void");
-        setNullable.addParameter(PREPARED_STATEMENT, "ps");
-        setNullable.addParameter("int", "index");
-        setNullable.addParameter(OBJECT, "value");
-        setNullable.addParameter("int", "sqlType");
-        setNullable.addThrownException(new ClassOrInterfaceType(null, SQL_EXCEPTION));
-        BlockStmt nullableBody = new BlockStmt();
-        nullableBody.addStatement(new IfStmt(
-                StaticJavaParser.parseExpression("value != null"),
-                StaticJavaParser.parseStatement("ps.setObject(index, value, sqlType);"),
-                StaticJavaParser.parseStatement("ps.setNull(index, sqlType);")
-        ));
-        setNullable.setBody(nullableBody);
+    // Columns with a precomputed SELECT_BY_<COLUMN>_SQL: the primary key, then each foreign key
+    private static Set<String> lookupColumns(List<ColumnInfo> columnsInfo, String pkField) {
+        Set<String> columns = new LinkedHashSet<>();
+        columns.add(pkField);
+        columnsInfo.stream().filter(c -> c.isForeignKey).forEach(c -> columns.add(c.name));
+        return columns;
+    }
 
+    private static String selectByConstant(String column) {
+        return "SELECT_BY_" + column.toUpperCase() + "_SQL";
+    }
 
-        // the toTimestamp helper method for set params method
-        MethodDeclaration toTimestampMethod = daoClass.addMethod("toTimestamp", Modifier.Keyword.PUBLIC, Modifier.Keyword.STATIC);
-        toTimestampMethod.setType(OBJECT);
-        toTimestampMethod.addParameter(OBJECT, "dateTime");
+    private static void createStatementCacheMethods(ClassOrInterfaceDeclaration daoClass) {
+        // prepare(conn, sql): the cached statement of this connection, callers must not close it
+        MethodDeclaration prepare = daoClass.addMethod("prepare", Modifier.Keyword.PRIVATE, Modifier.Keyword.STATIC);
+        prepare.setType(PREPARED_STATEMENT);
+        prepare.addParameter(CONNECTION, "conn");
+        prepare.addParameter(STRING, "sql");
+        prepare.addThrownException(new ClassOrInterfaceType(null, SQL_EXCEPTION));
+        prepare.setBody(new BlockStmt().addStatement(StaticJavaParser.parseStatement(
+                "return prepare(conn, sql, Statement.NO_GENERATED_KEYS);")));
+
+        MethodDeclaration prepareKeys = daoClass.addMethod("prepare", Modifier.Keyword.PRIVATE, Modifier.Keyword.STATIC);
+        prepareKeys.setType(PREPARED_STATEMENT);
+        prepareKeys.addParameter(CONNECTION, "conn");
+        prepareKeys.addParameter(STRING, "sql");
+        prepareKeys.addParameter("int", "autoGeneratedKeys");
+        prepareKeys.addThrownException(new ClassOrInterfaceType(null, SQL_EXCEPTION));
+        prepareKeys.setBody(StaticJavaParser.parseBlock("""
+                {
+                    Map<String, PreparedStatement> statements = statementsOf(conn);
+                    String key = autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS ? "keys:" + sql : sql;
+                    synchronized (statements) {
+                        PreparedStatement ps = statements.get(key);
+                        if (ps == null || ps.isClosed()) {
+                            ps = conn.prepareStatement(sql, autoGeneratedKeys);
+                            statements.put(key, ps);
+                        }
+                        return ps;
+                    }
+                }"""));
+
+        // LRU statements of one connection; closed connections are dropped whenever a new one is seen, and
+        // statements are only ever closed for the connection they were prepared on
+        MethodDeclaration statementsOf = daoClass.addMethod("statementsOf", Modifier.Keyword.PRIVATE, Modifier.Keyword.STATIC);
+        statementsOf.setType("Map<String, PreparedStatement>");
+        statementsOf.addParameter(CONNECTION, "conn");
+        statementsOf.addThrownException(new ClassOrInterfaceType(null, SQL_EXCEPTION));
+        statementsOf.setBody(StaticJavaParser.parseBlock("""
+                {
+                    synchronized (STATEMENT_CACHE) {
+                        Map<String, PreparedStatement> statements = STATEMENT_CACHE.get(conn);
+                        if (statements == null) {
+                            Iterator<Connection> connections = STATEMENT_CACHE.keySet().iterator();
+                            while (connections.hasNext()) {
+                                if (connections.next().isClosed()) {
+                                    connections.remove();
+                                }
+                            }
+                            statements = new LinkedHashMap<>(16, 0.75f, true) {
+                                @Override
+                                protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                                    if (size() <= STATEMENT_CACHE_SIZE) {
+                                        return false;
+                                    }
+                                    closeQuietly(eldest.getValue());
+                                    return true;
+                                }
+                            };
+                            STATEMENT_CACHE.put(conn, statements);
+                        }
+                        return statements;
+                    }
+                }"""));
+
+        MethodDeclaration release = daoClass.addMethod("releaseStatements", Modifier.Keyword.PUBLIC, Modifier.Keyword.STATIC);
+        release.setType("void");
+        release.addParameter(CONNECTION, "conn");
+        release.setJavadocComment("Closes the statements cached for conn, for pools that keep statements open across checkouts.");
+        release.setBody(StaticJavaParser.parseBlock("""
+                {
+                    Map<String, PreparedStatement> statements;
+                    synchronized (STATEMENT_CACHE) {
+                        statements = STATEMENT_CACHE.remove(conn);
+                    }
+                    if (statements != null) {
+                        closeAll(statements);
+                    }
+                }"""));
+
+        MethodDeclaration closeAll = daoClass.addMethod("closeAll", Modifier.Keyword.PRIVATE, Modifier.Keyword.STATIC);
+        closeAll.setType("void");
+        closeAll.addParameter("Map<String, PreparedStatement>", "statements");
+        closeAll.setBody(StaticJavaParser.parseBlock("""
+                {
+                    synchronized (statements) {
+                        statements.values().forEach(ps -> closeQuietly(ps));
+                        statements.clear();
+                    }
+                }"""));
+
+        MethodDeclaration closeQuietly = daoClass.addMethod("closeQuietly", Modifier.Keyword.PRIVATE, Modifier.Keyword.STATIC);
+        closeQuietly.setType("void");
+        closeQuietly.addParameter(PREPARED_STATEMENT, "ps");
+        closeQuietly.setBody(StaticJavaParser.parseBlock("""
+                {
+                    try {
+                        ps.close();
+                    } catch (SQLException e) {
+                        LOGGER.debug("Failed to close cached statement", e);
+                    }
+                }"""));
+    }
 
-        BlockStmt toTimestampBlock = new BlockStmt();
-        IfStmt ifStmt = new IfStmt();
-        ifStmt.setCondition(StaticJavaParser.parseExpression("dateTime instanceof java.time.LocalDateTime localDateTime"));
-        BlockStmt thenBlock = new BlockStmt();
-        thenBlock.addStatement(StaticJavaParser.parseStatement("return java.sql.Timestamp.valueOf(localDateTime);"));
-        ifStmt.setThenStmt(thenBlock);
-        toTimestampBlock.addStatement(ifStmt);
-        toTimestampBlock.addStatement(StaticJavaParser.parseStatement("return dateTime;"));
-        toTimestampMethod.setBody(toTimestampBlock);
+    private static void createPrepareStatementsMethod(ClassOrInterfaceDeclaration daoClass, DaoGenerationConfig config,
+                                                      ColumnProcessingResult columnResult, List<List<String>> upsertKeys) {
+        List<ColumnInfo> columnsInfo = columnResult.columnsInfo;
+        String pkField = columnResult.pkInfo.field;
+        boolean pkIsAuto = columnResult.pkInfo.isAuto;
+        MethodDeclaration m = daoClass.addMethod("prepareStatements", Modifier.Keyword.PUBLIC, Modifier.Keyword.STATIC);
+        m.setType("void");
+        m.addParameter(CONNECTION, "conn");
+        m.addThrownException(new ClassOrInterfaceType(null, SQL_EXCEPTION));
+        m.setJavadocComment("Prepares every fixed statement of this DAO on conn ahead of first use, for example when a pool opens it.");
 
+        BlockStmt block = new BlockStmt();
+        block.addStatement(StaticJavaParser.parseStatement(pkIsAuto
+                ? "prepare(conn, INSERT_SQL, Statement.RETURN_GENERATED_KEYS);"
+                : "prepare(conn, INSERT_SQL);"));
+        block.addStatement(StaticJavaParser.parseStatement("prepare(conn, UPDATE_SQL);"));
+        block.addStatement(StaticJavaParser.parseStatement("prepare(conn, DELETE_SQL);"));
+        block.addStatement(StaticJavaParser.parseStatement("prepare(conn, FIND_ALL_SQL);"));
+        for (String column : lookupColumns(columnsInfo, pkField)) {
+            block.addStatement(StaticJavaParser.parseStatement("prepare(conn, " + selectByConstant(column) + ");"));
+        }
+        if (config.dao.isGenerateKeysetPagination()) {
+            for (String constant : keysetConstants(config.dao)) {
+                block.addStatement(StaticJavaParser.parseStatement("prepare(conn, " + constant + ");"));
+            }
+        }
+        if (config.dao.isGenerateMultiRowInsert()) {
+            block.addStatement(StaticJavaParser.parseStatement("for (String sql : MULTI_ROW_INSERT_SQL) { prepare(conn, sql"
+                    + (multiRowReadsKeys(config, columnResult) ? ", Statement.RETURN_GENERATED_KEYS" : "") + "); }"));
+        }
+        if (isFindByIdsEnabled(config, columnResult)) {
+            block.addStatement(StaticJavaParser.parseStatement("POSTGRESQL".equals(config.vendor)
+                    ? "prepare(conn, FIND_BY_IDS_SQL);"
+                    : "for (String sql : FIND_BY_IDS_SQL) { prepare(conn, sql); }"));
+        }
+        for (List<String> key : upsertKeys) {
+            block.addStatement(StaticJavaParser.parseStatement("prepare(conn, " + upsertConstant(columnResult, key)
+                    + (upsertReadsKeys(config, columnResult, key) ? ", Statement.RETURN_GENERATED_KEYS" : "") + ");"));
+        }
+        m.setBody(block);
+    }
 
+    // Statements prepareStatements puts in the cache, so the per-connection LRU never evicts its own
+    private static int preparedStatementCount(DaoGenerationConfig config, ColumnProcessingResult columnResult,
+                                              List<List<String>> upsertKeys) {
+        int count = 4 + lookupColumns(columnResult.columnsInfo, columnResult.pkInfo.field).size() + upsertKeys.size();
+        if (config.dao.isGenerateKeysetPagination()) {
+            count += keysetConstants(config.dao).size();
+        }
+        if (config.dao.isGenerateMultiRowInsert()) {
+            count += multiRowSizes(config, insertColumns(columnResult.columnsInfo, columnResult.pkInfo.field,
+                    columnResult.pkInfo.isAuto).size()).size();
+        }
+        if (isFindByIdsEnabled(config, columnResult)) {
+            count += "POSTGRESQL".equals(config.vendor) ? 1 : idListSizes(config.dao).size();
+        }
+        return count;
+    }
+
+    private static List<String> keysetConstants(DaoConfig dao) {
+        List<String> constants = new ArrayList<>();
+        for (KeysetSql.Page page : KeysetSql.Page.values()) {
+            constants.add("PAGE_" + page + "_SQL");
+            if (dao.isKeysetTotalCount()) {
+                constants.add("PAGE_" + page + "_COUNT_SQL");
+            }
+        }
+        return constants;
+    }
+
+    private static List<ColumnInfo> keysetColumns(DaoGenerationConfig config, List<ColumnInfo> columnsInfo, List<String> primaryKey) {
+        List<String> names = KeysetSql.keyColumns(config.dao, config.tableName, primaryKey,
+                columnsInfo.stream().map(c -> c.name).toList(),
+                columnsInfo.stream().filter(c -> c.nullable).map(c -> c.name).toList());
+        List<ColumnInfo> keys = new ArrayList<>();
+        for (String name : names) {
+            keys.add(columnsInfo.stream().filter(c -> c.name.equals(name)).findFirst().orElseThrow());
+        }
+        return keys;
+    }
+
+    // PAGE_<FIRST|AFTER|LAST|BEFORE>_SQL, plus _COUNT_SQL variants carrying COUNT(*) OVER () after the columns
+    private static void createKeysetConstants(ClassOrInterfaceDeclaration daoClass, DaoGenerationConfig config,
+                                              List<ColumnInfo> columnsInfo, List<String> primaryKey) {
+        List<String> keys = keysetColumns(config, columnsInfo, primaryKey).stream().map(c -> c.name).toList();
+        String columns = columnsInfo.stream().map(c -> c.name).collect(Collectors.joining(", "));
+        String counted = "(SELECT " + columns + ", COUNT(*) OVER () AS total_count FROM " + config.tableName + ") counted";
+        for (KeysetSql.Page page : KeysetSql.Page.values()) {
+            String sql = KeysetSql.select(config.vendor, columns, config.tableName, keys, page, i -> "?", "?", new ArrayList<>());
+            daoClass.addFieldWithInitializer(STRING, "PAGE_" + page + "_SQL", new StringLiteralExpr(sql),
+                    Modifier.Keyword.PRIVATE, Modifier.Keyword.STATIC, Modifier.Keyword.FINAL);
+            if (config.dao.isKeysetTotalCount()) {
+                String countSql = KeysetSql.select(config.vendor, columns + ", total_count", counted, keys, page,
+                        i -> "?", "?", new ArrayList<>());
+                daoClass.addFieldWithInitializer(STRING, "PAGE_" + page + "_COUNT_SQL", new StringLiteralExpr(countSql),
+                        Modifier.Keyword.PRIVATE, Modifier.Keyword.STATIC, Modifier.Keyword.FINAL);
+            }
+        }
+    }
+
+    private static void createKeysetPageMethods(ClassOrInterfaceDeclaration daoClass, DaoGenerationConfig config,
+                                                String modelClassName, List<ColumnInfo> columnsInfo, List<String> primaryKey) {
+        List<ColumnInfo> keys = keysetColumns(config, columnsInfo, primaryKey);
+        if (config.dao.isKeysetTotalCount()) {
+            daoClass.addMember(StaticJavaParser.parseBodyDeclaration(
+                    "public record Page(List<" + modelClassName + "> items, long totalCount) { }"));
+        }
+        for (boolean after : new boolean[]{true, false}) {
+            createKeysetPageMethod(daoClass, config, modelClassName, columnsInfo.size(), keys, after, false);
+            if (config.dao.isKeysetTotalCount()) {
+                createKeysetPageMethod(daoClass, config, modelClassName, columnsInfo.size(), keys, after, true);
+            }
+        }
+    }
+
+    private static void createKeysetPageMethod(ClassOrInterfaceDeclaration daoClass, DaoGenerationConfig config,
+                                               String modelClassName, int columnCount, List<ColumnInfo> keys,
+                                               boolean after, boolean withCount) {
+        String direction = after ? "After" : "Before";
+        String prefix = after ? "after" : "before";
+        MethodDeclaration m = daoClass.addMethod("findPage" + direction + (withCount ? "WithCount" : ""), Modifier.Keyword.PUBLIC);
+        m.setType(withCount ? "Page" : LIST_GREATER + modelClassName + ">");
+        m.addParameter(CONNECTION, "conn");
+        List<String> params = new ArrayList<>();
+        for (ColumnInfo key : keys) {
+            String param = prefix + StringUtils.toCamelCase(key.name, NamingStrategyConfig.getUppercaseAcronyms(), true);
+            params.add(param);
+            m.addParameter(mapJavaTypeToWrapper(key.javaType), param);
+        }
+        m.addParameter("int", "pageSize");
+        m.addThrownException(new ClassOrInterfaceType(null, SQL_EXCEPTION));
+        m.setJavadocComment((after ? "Next" : "Previous") + " page in key order, seeking " + (after ? "past" : "before")
+                + " the given key; null keys start from the " + (after ? "first" : "last") + " page."
+                + (withCount ? " totalCount is the table row count, 0 for an empty page." : ""));
+
+        String suffix = withCount ? "_COUNT_SQL" : "_SQL";
+        KeysetSql.Page edge = after ? KeysetSql.Page.FIRST : KeysetSql.Page.LAST;
+        KeysetSql.Page seek = after ? KeysetSql.Page.AFTER : KeysetSql.Page.BEFORE;
+        List<Integer> bindOrder = new ArrayList<>();
+        KeysetSql.select(config.vendor, "", "", keys.stream().map(k -> k.name).toList(), seek, i -> "?", "?", bindOrder);
+
+        BlockStmt block = new BlockStmt();
+        block.addStatement(StaticJavaParser.parseStatement(
+                "if (pageSize < 1) { throw new IllegalArgumentException(\"Page size must be >= 1\"); }"));
+        block.addStatement(StaticJavaParser.parseStatement("PreparedStatement ps;"));
+
+        BlockStmt edgeBlock = new BlockStmt();
+        edgeBlock.addStatement(StaticJavaParser.parseStatement("ps = prepare(conn, PAGE_" + edge + suffix + ");"));
+        edgeBlock.addStatement(StaticJavaParser.parseStatement("ps.setInt(1, pageSize);"));
+        BlockStmt seekBlock = new BlockStmt();
+        seekBlock.addStatement(StaticJavaParser.parseStatement("ps = prepare(conn, PAGE_" + seek + suffix + ");"));
+        for (int i = 0; i < bindOrder.size(); i++) {
+            ColumnInfo key = keys.get(bindOrder.get(i));
+            seekBlock.addStatement(StaticJavaParser.parseStatement(
+                    "ps." + getPreparedStatementSetter(key.javaType) + "(" + (i + 1) + ", " + params.get(bindOrder.get(i)) + ");"));
+        }
+        seekBlock.addStatement(StaticJavaParser.parseStatement("ps.setInt(" + (bindOrder.size() + 1) + ", pageSize);"));
+        String anyNull = params.stream().map(p -> p + " == null").collect(Collectors.joining(" || "));
+        block.addStatement(new IfStmt(StaticJavaParser.parseExpression(anyNull), edgeBlock, seekBlock));
+
+        block.addStatement(StaticJavaParser.parseStatement(LIST_GREATER + modelClassName + "> list = new ArrayList<>();"));
+        if (withCount) {
+            block.addStatement(StaticJavaParser.parseStatement("long totalCount = 0;"));
+        }
+        BlockStmt whileBlock = new BlockStmt();
+        if (withCount) {
+            whileBlock.addStatement(StaticJavaParser.parseStatement("totalCount = rs.getLong(" + (columnCount + 1) + ");"));
+        }
+        whileBlock.addStatement(StaticJavaParser.parseStatement("list.add(extract(rs));"));
+        TryStmt tryStmt = new TryStmt();
+        VariableDeclarator rsDeclarator = new VariableDeclarator();
+        rsDeclarator.setName("rs");
+        rsDeclarator.setType(new ClassOrInterfaceType(null, RESULT_SET));
+        rsDeclarator.setInitializer(StaticJavaParser.parseExpression(PS_EXECUTE_QUERY));
+        tryStmt.getResources().add(new VariableDeclarationExpr(rsDeclarator));
+        tryStmt.setTryBlock(new BlockStmt().addStatement(new WhileStmt(StaticJavaParser.parseExpression(RS_NEXT), whileBlock)));
+        block.addStatement(tryStmt);
+        block.addStatement(new ReturnStmt(StaticJavaParser.parseExpression(withCount ? "new Page(list, totalCount)" : "list")));
+        m.setBody(block);
+    }
+
+    // Cached statements stay open after use, so ps is declared first in the try block instead of as its resource
+    private static void usePreparedStatement(BlockStmt tryBlock, String sql, boolean generatedKeys) {
+        tryBlock.addStatement(0, StaticJavaParser.parseStatement("PreparedStatement ps = prepare(conn, " + sql
+                + (generatedKeys ? ", Statement.RETURN_GENERATED_KEYS" : "") + ");"));
+    }
+
+    // A try left without resources or handlers is inlined into the enclosing block
+    private static void addTry(BlockStmt block, TryStmt tryStmt) {
+        if (tryStmt.getResources().isEmpty() && tryStmt.getCatchClauses().isEmpty() && tryStmt.getFinallyBlock().isEmpty()) {
+            for (Statement statement : new ArrayList<>(tryStmt.getTryBlock().getStatements())) {
+                block.addStatement(statement.clone());
+            }
+        } else {
+            block.addStatement(tryStmt);
+        }
+    }
+
+    private static void createStreamingConstants(ClassOrInterfaceDeclaration daoClass, DaoGenerationConfig config) {
+        daoClass.addFieldWithInitializer(STRING, "STREAM_ALL_SQL",
+                StaticJavaParser.parseExpression("String.format(\"SELECT %s FROM %s\", SELECT_COLUMNS, TABLE)"),
+                Modifier.Keyword.PRIVATE, Modifier.Keyword.STATIC, Modifier.Keyword.FINAL);
+
+        // Connector/J streams row by row only for Integer.MIN_VALUE, other drivers take a batch size
+        boolean mysql = "MYSQL".equals(config.vendor);
+        daoClass.addFieldWithInitializer("int", "STREAM_FETCH_SIZE",
+                StaticJavaParser.parseExpression(mysql ? "Integer.MIN_VALUE" : String.valueOf(Math.max(1, config.dao.getStreamFetchSize()))),
+                Modifier.Keyword.PRIVATE, Modifier.Keyword.STATIC, Modifier.Keyword.FINAL);
+    }
+
+    /**
+     * iterate/stream/forEach over all rows and over each foreign key. A Cursor owns a forward-only
+     * statement of its own rather than a cached one, so several cursors can be open on a connection.
+     */
+    private static void createStreamingMethods(ClassOrInterfaceDeclaration daoClass, DaoGenerationConfig config,
+                                               String modelClassName, List<ColumnInfo> columnsInfo,
+                                               List<Relationship> relationships) {
+        daoClass.addMember(createCursorClass(config, modelClassName));
+
+        daoClass.addMember(StaticJavaParser.parseBodyDeclaration(
+                "@FunctionalInterface private interface Binder { void bind(PreparedStatement ps) throws SQLException; }"));
+
+        createStreamingMethodGroup(daoClass, modelClassName, "All", null, null, "STREAM_ALL_SQL", "ps -> { }");
+
+        if (relationships == null) return;
+        for (Relationship rel : relationships) {
+            if (rel.getType() != Relationship.Type.MANY_TO_ONE) continue;
+            String fkColumn = rel.getFkColumn();
+            ColumnInfo fkColInfo = columnsInfo.stream().filter(c -> c.name.equals(fkColumn)).findFirst().orElse(null);
+            if (fkColInfo == null) continue;
+            String paramFkName = StringUtils.toCamelCase(fkColumn, NamingStrategyConfig.getUppercaseAcronyms(), false);
+            createStreamingMethodGroup(daoClass, modelClassName,
+                    "By" + StringUtils.toCamelCase(fkColumn, NamingStrategyConfig.getUppercaseAcronyms(), true),
+                    mapJavaTypeToMethod(fkColInfo.javaType), paramFkName, selectByConstant(fkColumn),
+                    "ps -> ps." + getPreparedStatementSetter(fkColInfo.javaType) + "(1, " + paramFkName + ")");
+        }
+    }
+
+    private static void createStreamingMethodGroup(ClassOrInterfaceDeclaration daoClass, String modelClassName,
+                                                   String suffix, String paramType, String paramName,
+                                                   String sqlConstant, String binder) {
+        String args = paramName == null ? "conn" : "conn, " + paramName;
+
+        MethodDeclaration iterate = daoClass.addMethod("iterate" + suffix, Modifier.Keyword.PUBLIC);
+        iterate.setType("Cursor");
+        iterate.addParameter(CONNECTION, "conn");
+        if (paramName != null) iterate.addParameter(paramType, paramName);
+        iterate.addThrownException(new ClassOrInterfaceType(null, SQL_EXCEPTION));
+        iterate.setJavadocComment("Opens a cursor over the rows; the caller must close it.");
+        iterate.setBody(new BlockStmt().addStatement(StaticJavaParser.parseStatement(
+                "return new Cursor(conn, " + sqlConstant + ", " + binder + ");")));
+
+        MethodDeclaration stream = daoClass.addMethod("stream" + suffix, Modifier.Keyword.PUBLIC);
+        stream.setType("Stream<" + modelClassName + ">");
+        stream.addParameter(CONNECTION, "conn");
+        if (paramName != null) stream.addParameter(paramType, paramName);
+        stream.addThrownException(new ClassOrInterfaceType(null, SQL_EXCEPTION));
+        stream.setJavadocComment("Lazily fetched rows; close the stream, for example with try-with-resources, to release the cursor.");
+        stream.setBody(StaticJavaParser.parseBlock("{\n"
+                + "    Cursor cursor = iterate" + suffix + "(" + args + ");\n"
+                + "    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED | Spliterator.NONNULL), false)\n"
+                + "            .onClose(cursor::closeUnchecked);\n"
+                + "}"));
+
+        MethodDeclaration forEach = daoClass.addMethod("forEach" + suffix, Modifier.Keyword.PUBLIC);
+        forEach.setType("void");
+        forEach.addParameter(CONNECTION, "conn");
+        if (paramName != null) forEach.addParameter(paramType, paramName);
+        forEach.addParameter("Consumer<? super " + modelClassName + ">", "action");
+        forEach.addThrownException(new ClassOrInterfaceType(null, SQL_EXCEPTION));
+        forEach.setBody(StaticJavaParser.parseBlock("{\n"
+                + "    try (Cursor cursor = iterate" + suffix + "(" + args + ")) {\n"
+                + "        cursor.forEachRemaining(action);\n"
+                + "    }\n"
+                + "}"));
+    }
+
+    private static ClassOrInterfaceDeclaration createCursorClass(DaoGenerationConfig config, String modelClassName) {
+        // pgjdbc only uses a server-side cursor for a fetch size inside a transaction
+        boolean postgres = "POSTGRESQL".equals(config.vendor);
+        String rowName = modelClassName.toLowerCase();
+        String source = """
+                /**
+                 * Forward-only cursor over a query result, holding one fetch of rows at a time.
+                 * Closing it closes its statement.%s
+                 */
+                public final class Cursor implements Iterator<%2$s>, AutoCloseable {
+
+                    private final Connection conn;
+                    private final boolean restoreAutoCommit;
+                    private PreparedStatement ps;
+                    private ResultSet rs;
+                    private Boolean hasRow;
+                    private boolean closed;
+
+                    private Cursor(Connection conn, String sql, Binder binder) throws SQLException {
+                        this.conn = conn;
+                        this.restoreAutoCommit = %3$s;
+                        try {
+                            if (restoreAutoCommit) {
+                                conn.setAutoCommit(false);
+                            }
+                            ps = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                            ps.setFetchSize(STREAM_FETCH_SIZE);
+                            binder.bind(ps);
+                            rs = ps.executeQuery();
+                        } catch (SQLException | RuntimeException e) {
+                            try {
+                                close();
+                            } catch (SQLException suppressed) {
+                                e.addSuppressed(suppressed);
+                            }
+                            throw e;
+                        }
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        if (hasRow == null) {
+                            try {
+                                hasRow = !closed && rs.next();
+                            } catch (SQLException e) {
+                                throw new DataAccessException("Failed to fetch next %4$s row", e);
+                            }
+                        }
+                        return hasRow;
+                    }
+
+                    @Override
+                    public %2$s next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        hasRow = null;
+                        try {
+                            return extract(rs);
+                        } catch (SQLException e) {
+                            throw new DataAccessException("Failed to read %4$s row", e);
+                        }
+                    }
+
+                    @Override
+                    public void close() throws SQLException {
+                        if (closed) {
+                            return;
+                        }
+                        closed = true;
+                        try {
+                            if (ps != null) {
+                                ps.close();
+                            }
+                        } finally {
+                            if (restoreAutoCommit) {
+                                conn.setAutoCommit(true);
+                            }
+                        }
+                    }
+
+                    private void closeUnchecked() {
+                        try {
+                            close();
+                        } catch (SQLException e) {
+                            throw new DataAccessException("Failed to close %4$s cursor", e);
+                        }
+                    }
+                }""".formatted(
+                postgres ? " On an auto-commit connection the cursor runs in a transaction that closing commits." : "",
+                modelClassName, postgres ? "conn.getAutoCommit()" : "false", rowName);
+        return StaticJavaParser.parseBodyDeclaration(source).asClassOrInterfaceDeclaration();
+    }
+
+    // Configured row counts, largest first, kept within the driver's bind limit; 1 is always present for remainders
+    private static List<Integer> multiRowSizes(DaoGenerationConfig config, int columnCount) {
+        int maxBinds = "MSSQL".equals(config.vendor) ? 2100 : 32767;
+        TreeSet<Integer> sizes = new TreeSet<>(Comparator.reverseOrder());
+        if (config.dao.getMultiRowSizes() != null) {
+            for (Integer rows : config.dao.getMultiRowSizes()) {
+                if (rows != null && rows > 1 && (long) rows * columnCount <= maxBinds) {
+                    sizes.add(rows);
+                }
+            }
+        }
+        sizes.add(1);
+        return new ArrayList<>(sizes);
+    }
+
+    private static void createMultiRowInsertConstants(ClassOrInterfaceDeclaration daoClass, DaoGenerationConfig config,
+                                                      ColumnProcessingResult columnResult) {
+        List<ColumnInfo> insertCols = insertColumns(columnResult.columnsInfo, columnResult.pkInfo.field, columnResult.pkInfo.isAuto);
+        List<Integer> sizes = multiRowSizes(config, insertCols.size());
+
+        daoClass.addFieldWithInitializer(STRING, "INSERT_COLUMNS",
+                StaticJavaParser.parseExpression("String.join(\", \", " + insertCols.stream()
+                        .map(c -> "COL_" + c.name.toUpperCase()).collect(Collectors.joining(", ")) + ")"),
+                Modifier.Keyword.PRIVATE, Modifier.Keyword.STATIC, Modifier.Keyword.FINAL);
+
+        daoClass.addFieldWithInitializer("int", "INSERT_COLUMN_COUNT",
+                StaticJavaParser.parseExpression(String.valueOf(insertCols.size())),
+                Modifier.Keyword.PRIVATE, Modifier.Keyword.STATIC, Modifier.Keyword.FINAL);
+
+        // Row counts of the multi-row INSERT shapes, largest first; each shape is one cached statement
+        daoClass.addFieldWithInitializer("int[]", "MULTI_ROW_SIZES",
+                StaticJavaParser.parseExpression("new int[] {" + sizes.stream().map(String::valueOf).collect(Collectors.joining(", ")) + "}"),
+                Modifier.Keyword.PRIVATE, Modifier.Keyword.STATIC, Modifier.Keyword.FINAL);
+
+        daoClass.addFieldWithInitializer("String[]", "MULTI_ROW_INSERT_SQL",
+                StaticJavaParser.parseExpression("new String[] {" + sizes.stream().map(rows -> "multiRowInsertSql(" + rows + ")")
+                        .collect(Collectors.joining(", ")) + "}"),
+                Modifier.Keyword.PRIVATE, Modifier.Keyword.STATIC, Modifier.Keyword.FINAL);
+    }
+
+    // Oracle INSERT ALL returns no keys and SQL Server reports only the last identity of a multi-row insert
+    private static boolean multiRowReadsKeys(DaoGenerationConfig config, ColumnProcessingResult columnResult) {
+        return columnResult.pkInfo.isAuto && !"ORACLE".equals(config.vendor) && !"MSSQL".equals(config.vendor);
+    }
+
+    private static void createMultiRowInsertMethods(ClassOrInterfaceDeclaration daoClass, DaoGenerationConfig config,
+                                                    ColumnProcessingResult columnResult) {
+        String modelClassName = config.className;
+        String className = modelClassName.replace("DTO", "");
+        String listName = StringUtils.toCamelCase(modelClassName, NamingStrategyConfig.getUppercaseAcronyms(), false) + "s";
+        boolean oracle = "ORACLE".equals(config.vendor);
+        boolean readKeys = multiRowReadsKeys(config, columnResult);
+
+        MethodDeclaration sql = daoClass.addMethod("multiRowInsertSql", Modifier.Keyword.PRIVATE, Modifier.Keyword.STATIC);
+        sql.setType(STRING);
+        sql.addParameter("int", "rows");
+        if (oracle && columnResult.pkInfo.isAuto) {
+            // INSERT ALL evaluates an identity or sequence default once for the whole statement, INSERT ... SELECT per row
+            sql.setBody(StaticJavaParser.parseBlock("""
+                    {
+                        String row = "SELECT " + String.join(", ", Collections.nCopies(INSERT_COLUMN_COUNT, "?")) + " FROM DUAL";
+                        return String.format("INSERT INTO %s (%s) ", TABLE, INSERT_COLUMNS)
+                                + String.join(" UNION ALL ", Collections.nCopies(rows, row));
+                    }"""));
+        } else if (oracle) {
+            sql.setBody(StaticJavaParser.parseBlock("""
+                    {
+                        String into = String.format("INTO %s (%s) VALUES (%s) ", TABLE, INSERT_COLUMNS,
+                                String.join(", ", Collections.nCopies(INSERT_COLUMN_COUNT, "?")));
+                        return "INSERT ALL " + into.repeat(rows) + "SELECT 1 FROM DUAL";
+                    }"""));
+        } else {
+            sql.setBody(StaticJavaParser.parseBlock("""
+                    {
+                        String row = "(" + String.join(", ", Collections.nCopies(INSERT_COLUMN_COUNT, "?")) + ")";
+                        return String.format("INSERT INTO %s (%s) VALUES ", TABLE, INSERT_COLUMNS)
+                                + String.join(", ", Collections.nCopies(rows, row));
+                    }"""));
+        }
+
+        MethodDeclaration m = daoClass.addMethod("insertMultiRow", Modifier.Keyword.PUBLIC);
+        m.setType("int");
+        m.addParameter(CONNECTION, "conn");
+        m.addParameter(LIST_GREATER + modelClassName + ">", listName);
+        m.addThrownException(new ClassOrInterfaceType(null, SQL_EXCEPTION));
+        m.setJavadocComment("Inserts " + listName + " with multi-row INSERT statements of MULTI_ROW_SIZES rows, splitting the list"
+                + " largest shape first so only those few statements are ever prepared. Returns the number of rows inserted."
+                + " On an auto-commit connection all statements run in one transaction, otherwise they join the caller's."
+                + (readKeys ? " Generated keys are set on the inserted objects."
+                        : columnResult.pkInfo.isAuto ? " Generated keys are not read back, use insertAll when they are needed." : ""));
+
+        String keys = "";
+        if (readKeys) {
+            String pkSetter = ".set" + StringUtils.toCamelCase(columnResult.pkInfo.field, NamingStrategyConfig.getUppercaseAcronyms(), true);
+            keys = """
+                                try (ResultSet rs = ps.getGeneratedKeys()) {
+                                    for (int r = 0; r < rows && rs.next(); r++) {
+                                        %s.get(offset + r)%s(rs.%s(1));
+                                    }
+                                }
+                    """.formatted(listName, pkSetter, getResultSetGetter(columnResult.pkInfo.type));
+        }
+        m.setBody(StaticJavaParser.parseBlock("""
+                {
+                    if (%1$s == null || %1$s.isEmpty()) {
+                        return 0;
+                    }
+                    boolean autoCommit = conn.getAutoCommit();
+                    if (autoCommit) {
+                        conn.setAutoCommit(false);
+                    }
+                    try {
+                        int inserted = 0;
+                        int offset = 0;
+                        for (int s = 0; s < MULTI_ROW_SIZES.length; s++) {
+                            int rows = MULTI_ROW_SIZES[s];
+                            while (%1$s.size() - offset >= rows) {
+                                PreparedStatement ps = prepare(conn, MULTI_ROW_INSERT_SQL[s]%2$s);
+                                for (int r = 0; r < rows; r++) {
+                                    set%3$sParams(ps, %1$s.get(offset + r), r * INSERT_COLUMN_COUNT);
+                                }
+                                inserted += ps.executeUpdate();
+                %4$s                offset += rows;
+                            }
+                        }
+                        if (autoCommit) {
+                            conn.commit();
+                        }
+                        return inserted;
+                    } catch (SQLException | RuntimeException e) {
+                        if (autoCommit) {
+                            try {
+                                conn.rollback();
+                            } catch (SQLException suppressed) {
+                                e.addSuppressed(suppressed);
+                            }
+                        }
+                        throw e;
+                    } finally {
+                        if (autoCommit) {
+                            conn.setAutoCommit(true);
+                        }
+                    }
+                }""".formatted(listName, readKeys ? ", Statement.RETURN_GENERATED_KEYS" : "", className, keys)));
+    }
+
+    // IN list sizes, smallest first and at most 1000 (Oracle's limit); 1 is always present
+    static List<Integer> idListSizes(DaoConfig dao) {
+        TreeSet<Integer> sizes = new TreeSet<>();
+        if (dao.getIdListSizes() != null) {
+            for (Integer size : dao.getIdListSizes()) {
+                if (size != null && size > 0 && size <= 1000) {
+                    sizes.add(size);
+                }
+            }
+        }
+        sizes.add(1);
+        return new ArrayList<>(sizes);
+    }
+
+    // findByIds keys on a single column; composite primary keys get none, and so no relation loaders either
+    private static boolean isFindByIdsEnabled(DaoGenerationConfig config, ColumnProcessingResult columnResult) {
+        return config.dao.isGenerateFindByIds() && findByIdsKey(columnResult) != null;
+    }
+
+    private static ColumnInfo findByIdsKey(ColumnProcessingResult columnResult) {
+        if (columnResult.primaryKey.size() != 1) {
+            return null;
+        }
+        return columnResult.columnsInfo.stream().filter(c -> c.name.equals(columnResult.primaryKey.getFirst()))
+                .findFirst().orElse(null);
+    }
+
+    /**
+     * MANY_TO_ONE relationships by foreign key column that get a loader: the referenced table's DAO is written
+     * by this run and has findByIds on exactly the referenced column, its single-column primary key.
+     */
+    private static Map<String, Relationship> readLoadedRelations(DatabaseMetaData metaData, String schema,
+                                                                 DaoGenerationConfig config, ColumnProcessingResult columnResult,
+                                                                 List<Relationship> relationships, Set<String> generatedTables)
+            throws SQLException {
+        Map<String, Relationship> loaded = new HashMap<>();
+        if (metaData == null || relationships == null || !isFindByIdsEnabled(config, columnResult)) {
+            return loaded;
+        }
+        Map<String, List<String>> primaryKeys = new HashMap<>();
+        for (Relationship rel : relationships) {
+            if (rel.getType() != Relationship.Type.MANY_TO_ONE || rel.getPkColumn() == null
+                    || (generatedTables != null && !generatedTables.contains(rel.getRelatedTable()))) {
+                continue;
+            }
+            List<String> key = primaryKeys.get(rel.getRelatedTable());
+            if (key == null) {
+                key = UpsertSql.primaryKey(metaData, schema, rel.getRelatedTable());
+                primaryKeys.put(rel.getRelatedTable(), key);
+            }
+            if (key.equals(List.of(rel.getPkColumn()))) {
+                loaded.put(rel.getFkColumn(), rel);
+            } else {
+                log.debug("No loader for {}.{}: {} has no findByIds on {}", config.tableName, rel.getFkColumn(),
+                        rel.getRelatedTable(), rel.getPkColumn());
+            }
+        }
+        return loaded;
+    }
+
+    // PostgreSQL binds the ids as one array, other vendors use IN lists padded to a few fixed sizes
+    private static void createFindByIdsConstants(ClassOrInterfaceDeclaration daoClass, DaoGenerationConfig config, String pkField) {
+        if ("POSTGRESQL".equals(config.vendor)) {
+            daoClass.addFieldWithInitializer(STRING, "FIND_BY_IDS_SQL",
+                    StaticJavaParser.parseExpression("String.format(\"SELECT %s FROM %s WHERE %s = ANY(?)\", SELECT_COLUMNS, TABLE, COL_" + pkField.toUpperCase() + ")"),
+                    Modifier.Keyword.PRIVATE, Modifier.Keyword.STATIC, Modifier.Keyword.FINAL);
+            return;
+        }
+        List<Integer> sizes = idListSizes(config.dao);
+        // A chunk of ids is padded up to the next size by repeating its last id
+        daoClass.addFieldWithInitializer("int[]", "ID_LIST_SIZES",
+                StaticJavaParser.parseExpression("new int[] {" + sizes.stream().map(String::valueOf).collect(Collectors.joining(", ")) + "}"),
+                Modifier.Keyword.PRIVATE, Modifier.Keyword.STATIC, Modifier.Keyword.FINAL);
+        daoClass.addFieldWithInitializer("String[]", "FIND_BY_IDS_SQL",
+                StaticJavaParser.parseExpression("new String[] {" + sizes.stream().map(size -> "findByIdsSql(" + size + ")")
+                        .collect(Collectors.joining(", ")) + "}"),
+                Modifier.Keyword.PRIVATE, Modifier.Keyword.STATIC, Modifier.Keyword.FINAL);
+    }
+
+    /**
+     * load<Model><Relations>(conn, list) per MANY_TO_ONE column: collects the distinct keys of the
+     * stubs extract() leaves behind and fetches them with one findByIds on the referenced table's DAO.
+     */
+    private static void createRelationLoaders(ClassOrInterfaceDeclaration daoClass, DaoGenerationConfig config,
+                                              ColumnProcessingResult columnResult, Map<String, Relationship> loadedRelations) {
+        String modelClassName = config.className;
+        String itemName = StringUtils.toCamelCase(modelClassName, NamingStrategyConfig.getUppercaseAcronyms(), false);
+        String listName = itemName + "s";
+        for (ColumnInfo c : columnResult.columnsInfo) {
+            Relationship rel = loadedRelations.get(c.name);
+            if (!c.isForeignKey || c.referencedTable == null || rel == null) {
+                continue;
+            }
+            String baseName = c.name.toLowerCase().endsWith("_id") ? c.name.substring(0, c.name.length() - 3) : c.name;
+            String relationshipName = StringUtils.toCamelCase(baseName, NamingStrategyConfig.getUppercaseAcronyms(), true);
+            String relatedClass = StringUtils.toCamelCase(StringUtils.stripPrefix(c.referencedTable, NamingStrategyConfig.getStripPrefixes()),
+                    NamingStrategyConfig.getUppercaseAcronyms(), true);
+            String relatedPkCamel = StringUtils.toCamelCase(rel.getPkColumn(), NamingStrategyConfig.getUppercaseAcronyms(), true);
+            String idType = mapJavaTypeToWrapper(c.javaType);
+            String stub = itemName + ".get" + relationshipName + "()";
+            String stubKey = stub + " != null ? " + stub + ".get" + relatedPkCamel + "() : null";
+
+            MethodDeclaration m = daoClass.addMethod("load" + modelClassName + relationshipName + "s", Modifier.Keyword.PUBLIC);
+            m.addParameter(CONNECTION, "conn");
+            m.addParameter(LIST_GREATER + modelClassName + ">", listName);
+            m.addThrownException(new ClassOrInterfaceType(null, SQL_EXCEPTION));
+            m.setJavadocComment("Replaces the " + baseName + " stubs of " + listName + " with full " + relatedClass
+                    + " rows read in one findByIds call. Elements sharing a key get the same instance;"
+                    + " stubs whose row no longer exists are left as they are.");
+            m.setBody(StaticJavaParser.parseBlock("""
+                    {
+                        if (%1$s == null || %1$s.isEmpty()) {
+                            return;
+                        }
+                        Set<%2$s> ids = new LinkedHashSet<>();
+                        for (%3$s %4$s : %1$s) {
+                            %2$s id = %5$s;
+                            if (id != null) {
+                                ids.add(id);
+                            }
+                        }
+                        if (ids.isEmpty()) {
+                            return;
+                        }
+                        Map<%2$s, %6$s> loaded = new Jdbc%6$sDao().findByIds(conn, ids);
+                        for (%3$s %4$s : %1$s) {
+                            %6$s related = %4$s.get%7$s() != null ? loaded.get(%4$s.get%7$s().get%8$s()) : null;
+                            if (related != null) {
+                                %4$s.set%7$s(related);
+                            }
+                        }
+                    }""".formatted(listName, idType, modelClassName, itemName, stubKey, relatedClass,
+                    relationshipName, relatedPkCamel)));
+        }
+    }
+
+    private static String arrayElementType(String idType) {
+        return switch (idType) {
+            case INT_TYPE -> "int4";
+            case LONG -> "int8";
+            case BIG_DECIMAL_IMPORT, "BigDecimal" -> "numeric";
+            case UID, "UUID" -> "uuid";
+            default -> "varchar";
+        };
+    }
+
+    private static void createFindByIdsMethods(ClassOrInterfaceDeclaration daoClass, DaoGenerationConfig config,
+                                               ColumnProcessingResult columnResult) {
+        String modelClassName = config.className;
+        ColumnInfo pk = findByIdsKey(columnResult);
+        String idType = mapJavaTypeToWrapper(pk.javaType);
+        String itemName = StringUtils.toCamelCase(modelClassName, NamingStrategyConfig.getUppercaseAcronyms(), false);
+        String idOf = columnValue(pk, itemName);
+        boolean postgres = "POSTGRESQL".equals(config.vendor);
+
+        if (!postgres) {
+            MethodDeclaration sql = daoClass.addMethod("findByIdsSql", Modifier.Keyword.PRIVATE, Modifier.Keyword.STATIC);
+            sql.setType(STRING);
+            sql.addParameter("int", "size");
+            sql.setBody(new BlockStmt().addStatement(StaticJavaParser.parseStatement(
+                    "return String.format(\"SELECT %s FROM %s WHERE %s IN (%s)\", SELECT_COLUMNS, TABLE, COL_" + pk.name.toUpperCase() + ","
+                            + " String.join(\", \", Collections.nCopies(size, \"?\")));")));
+        }
+
+        MethodDeclaration m = daoClass.addMethod("findByIds", Modifier.Keyword.PUBLIC);
+        m.setType("Map<" + idType + ", " + modelClassName + ">");
+        m.addParameter(CONNECTION, "conn");
+        m.addParameter("Collection<" + idType + ">", "ids");
+        m.addThrownException(new ClassOrInterfaceType(null, SQL_EXCEPTION));
+        m.setJavadocComment("Rows with the given ids by id, in no particular order; missing ids have no entry. "
+                + (postgres ? "One round trip, the ids are bound as a single array."
+                        : "One round trip per " + idListSizes(config.dao).getLast() + " distinct ids."));
+
+        String fetch = """
+                        try (ResultSet rs = ps.executeQuery()) {
+                            while (rs.next()) {
+                                %1$s %2$s = extract(rs);
+                                found.put(%3$s, %2$s);
+                            }
+                        }
+                """.formatted(modelClassName, itemName, idOf);
+        String lookup;
+        if (postgres) {
+            // A base type name: createArrayOf rejects pseudo types such as serial or bigserial
+            lookup = """
+                        PreparedStatement ps = prepare(conn, FIND_BY_IDS_SQL);
+                        Array array = conn.createArrayOf("%1$s", distinct.toArray());
+                        try {
+                            ps.setArray(1, array);
+                    %2$s    } finally {
+                            array.free();
+                        }
+                    """.formatted(arrayElementType(idType), fetch.indent(4).stripTrailing() + "\n");
+        } else {
+            lookup = """
+                        int maxIds = ID_LIST_SIZES[ID_LIST_SIZES.length - 1];
+                        for (int from = 0; from < distinct.size(); from += maxIds) {
+                            List<%1$s> chunk = distinct.subList(from, Math.min(from + maxIds, distinct.size()));
+                            int s = 0;
+                            while (ID_LIST_SIZES[s] < chunk.size()) {
+                                s++;
+                            }
+                            PreparedStatement ps = prepare(conn, FIND_BY_IDS_SQL[s]);
+                            for (int i = 0; i < ID_LIST_SIZES[s]; i++) {
+                                ps.%2$s(i + 1, chunk.get(Math.min(i, chunk.size() - 1)));
+                            }
+                    %3$s    }
+                    """.formatted(idType, getPreparedStatementSetter(idType), fetch.indent(4).stripTrailing() + "\n");
+        }
+        m.setBody(StaticJavaParser.parseBlock("""
+                {
+                    Map<%1$s, %2$s> found = new LinkedHashMap<>();
+                    if (ids == null || ids.isEmpty()) {
+                        return found;
+                    }
+                    Set<%1$s> unique = new LinkedHashSet<>(ids);
+                    unique.remove(null);
+                    List<%1$s> distinct = new ArrayList<>(unique);
+                    if (distinct.isEmpty()) {
+                        return found;
+                    }
+                %3$s    return found;
+                }""".formatted(idType, modelClassName, lookup)));
+
+        MethodDeclaration list = daoClass.addMethod("findAllByIds", Modifier.Keyword.PUBLIC);
+        list.setType(LIST_GREATER + modelClassName + ">");
+        list.addParameter(CONNECTION, "conn");
+        list.addParameter("Collection<" + idType + ">", "ids");
+        list.addThrownException(new ClassOrInterfaceType(null, SQL_EXCEPTION));
+        list.setJavadocComment("Rows with the given ids in the order of the ids, once per distinct id found.");
+        list.setBody(StaticJavaParser.parseBlock("""
+                {
+                    Map<%1$s, %2$s> found = findByIds(conn, ids);
+                    List<%2$s> result = new ArrayList<>(found.size());
+                    if (found.isEmpty()) {
+                        return result;
+                    }
+                    for (%1$s id : new LinkedHashSet<>(ids)) {
+                        %2$s %3$s = found.get(id);
+                        if (%3$s != null) {
+                            result.add(%3$s);
+                        }
+                    }
+                    return result;
+                }""".formatted(idType, modelClassName, itemName)));
+    }
+
+    // Primary key first, then each unique index; keys naming a column this DAO does not map are dropped.
+    // A generated primary key has no value to conflict on before the insert, so such tables upsert by unique index only.
+    private static List<List<String>> readUpsertKeys(DatabaseMetaData metaData, String schema, DaoGenerationConfig config,
+                                                     ColumnProcessingResult columnResult) throws SQLException {
+        List<List<String>> keys = new ArrayList<>();
+        if (!config.dao.isGenerateUpsert() || !UpsertSql.supports(config.vendor)) {
+            return keys;
+        }
+        Set<String> mapped = columnResult.columnsInfo.stream().map(c -> c.name).collect(Collectors.toSet());
+        List<String> primaryKey = columnResult.primaryKey;
+        if (!primaryKey.isEmpty() && mapped.containsAll(primaryKey)
+                && !(columnResult.pkInfo.isAuto && isPrimaryUpsertKey(columnResult, primaryKey))) {
+            keys.add(primaryKey);
+        }
+        if (metaData != null) {
+            for (List<String> unique : UpsertSql.uniqueIndexes(metaData, schema, config.tableName, primaryKey)) {
+                if (mapped.containsAll(unique)) {
+                    keys.add(unique);
+                }
+            }
+        }
+        return keys;
+    }
+
+    private static boolean isPrimaryUpsertKey(ColumnProcessingResult columnResult, List<String> key) {
+        return key.contains(columnResult.pkInfo.field);
+    }
+
+    // "" for the primary key, "ByEmail" / "ByStoreIdAndEmail" for unique indexes
+    private static String upsertSuffix(ColumnProcessingResult columnResult, List<String> key) {
+        if (isPrimaryUpsertKey(columnResult, key)) {
+            return "";
+        }
+        return "By" + key.stream().map(c -> StringUtils.toCamelCase(c, NamingStrategyConfig.getUppercaseAcronyms(), true))
+                .collect(Collectors.joining("And"));
+    }
+
+    private static String upsertConstant(ColumnProcessingResult columnResult, List<String> key) {
+        return isPrimaryUpsertKey(columnResult, key) ? "UPSERT_SQL"
+                : "UPSERT_BY_" + String.join("_AND_", key).toUpperCase() + "_SQL";
+    }
+
+    // Only PostgreSQL returns a key for every row, inserted or updated; DO NOTHING returns none for existing rows
+    private static boolean upsertReadsKeys(DaoGenerationConfig config, ColumnProcessingResult columnResult, List<String> key) {
+        boolean updates = insertColumns(columnResult.columnsInfo, columnResult.pkInfo.field, columnResult.pkInfo.isAuto)
+                .stream().anyMatch(c -> !key.contains(c.name));
+        return config.dao.isUpsertReturnKeys() && columnResult.pkInfo.isAuto && updates && "POSTGRESQL".equals(config.vendor);
+    }
+
+    private static void createUpsertMethods(ClassOrInterfaceDeclaration daoClass, DaoGenerationConfig config,
+                                            ColumnProcessingResult columnResult, List<String> key) {
+        String modelClassName = config.className;
+        String className = modelClassName.replace("DTO", "");
+        String itemName = StringUtils.toCamelCase(modelClassName, NamingStrategyConfig.getUppercaseAcronyms(), false);
+        String suffix = upsertSuffix(columnResult, key);
+        String sqlConstant = upsertConstant(columnResult, key);
+        // The statement binds exactly the insert columns, so setParams binds every parameter
+        List<ColumnInfo> columns = insertColumns(columnResult.columnsInfo, columnResult.pkInfo.field, columnResult.pkInfo.isAuto);
+        boolean readKeys = upsertReadsKeys(config, columnResult, key);
+        String prepare = "prepare(conn, " + sqlConstant + (readKeys ? ", Statement.RETURN_GENERATED_KEYS" : "") + ")";
+        String pkSetter = ".set" + StringUtils.toCamelCase(columnResult.pkInfo.field, NamingStrategyConfig.getUppercaseAcronyms(), true);
+        String keyGetter = getResultSetGetter(columnResult.pkInfo.type) + "(1)";
+        String keyDescription = isPrimaryUpsertKey(columnResult, key) ? "primary key" : String.join(", ", key);
+
+        String bind = "set" + className + PARAMS + itemName + ");\n";
+
+        MethodDeclaration single = daoClass.addMethod("upsert" + suffix, Modifier.Keyword.PUBLIC);
+        single.setType("int");
+        single.addParameter(CONNECTION, "conn");
+        single.addParameter(modelClassName, itemName);
+        single.addThrownException(new ClassOrInterfaceType(null, SQL_EXCEPTION));
+        single.setJavadocComment("Inserts " + itemName + ", or updates the row with the same " + keyDescription
+                + " in the same statement. Returns the driver's affected-row count."
+                + (readKeys ? " The generated key is set on " + itemName + "." : ""));
+        single.setBody(StaticJavaParser.parseBlock("""
+                {
+                    PreparedStatement ps = %s;
+                %s    int count = ps.executeUpdate();
+                %s    return count;
+                }""".formatted(prepare, bind.indent(4),
+                readKeys ? """
+                            try (ResultSet rs = ps.getGeneratedKeys()) {
+                                if (rs.next()) {
+                                    %s%s(rs.%s);
+                                }
+                            }
+                        """.formatted(itemName, pkSetter, keyGetter) : "")));
+
+        String listName = itemName + "s";
+        MethodDeclaration bulk = daoClass.addMethod("bulkUpsert" + suffix, Modifier.Keyword.PUBLIC);
+        bulk.setType(INT_ARRAY);
+        bulk.addParameter(CONNECTION, "conn");
+        bulk.addParameter(LIST_GREATER + modelClassName + ">", listName);
+        bulk.addThrownException(new ClassOrInterfaceType(null, SQL_EXCEPTION));
+        bulk.setJavadocComment("upsert" + suffix + " for each element, sent in JDBC batches of INSERT_BATCH_SIZE."
+                + " Returns the affected-row count per element.");
+        bulk.setBody(StaticJavaParser.parseBlock("""
+                {
+                    if (%1$s == null || %1$s.isEmpty()) {
+                        return new int[0];
+                    }
+                    int[] counts = new int[%1$s.size()];
+                    PreparedStatement ps = %2$s;
+                    for (int from = 0; from < %1$s.size(); from += INSERT_BATCH_SIZE) {
+                        List<%3$s> batch = %1$s.subList(from, Math.min(from + INSERT_BATCH_SIZE, %1$s.size()));
+                        ps.clearBatch();
+                        for (%3$s %4$s : batch) {
+                %5$s            ps.addBatch();
+                        }
+                        int[] results = ps.executeBatch();
+                        System.arraycopy(results, 0, counts, from, results.length);
+                %6$s        }
+                    return counts;
+                }""".formatted(listName, prepare, modelClassName, itemName, bind.indent(12),
+                readKeys ? """
+                                    try (ResultSet rs = ps.getGeneratedKeys()) {
+                                        for (int i = 0; i < batch.size() && rs.next(); i++) {
+                                            batch.get(i)%s(rs.%s);
+                                        }
+                                    }
+                        """.formatted(pkSetter, keyGetter) : "")));
+    }
+
+    private static List<ColumnInfo> insertColumns(List<ColumnInfo> columnsInfo, String pkField, boolean pkIsAuto) {
+        return columnsInfo.stream().filter(c -> !(pkIsAuto && c.name.equals(pkField))).toList();
+    }
+
+    // COPY is PostgreSQL only and needs a text form for every inserted column; json and array columns have none here
+    private static boolean isCopyInEnabled(DaoGenerationConfig config, ColumnProcessingResult columnResult) {
+        if (!config.dao.isGenerateCopyIn() || !"POSTGRESQL".equals(config.vendor)) {
+            return false;
+        }
+        for (ColumnInfo c : insertColumns(columnResult.columnsInfo, columnResult.pkInfo.field, columnResult.pkInfo.isAuto)) {
+            if (MAP.equals(c.javaType) || LIST.equals(c.javaType)) {
+                log.info("Skipping copyIn for {}: column {} has no COPY text form", config.tableName, c.name);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void createCopyInConstants(ClassOrInterfaceDeclaration daoClass, List<ColumnInfo> columnsInfo,
+                                              String pkField, boolean pkIsAuto) {
+        String columns = insertColumns(columnsInfo, pkField, pkIsAuto).stream()
+                .map(c -> "COL_" + c.name.toUpperCase()).collect(Collectors.joining(", "));
+        daoClass.addFieldWithInitializer(STRING, "COPY_SQL",
+                StaticJavaParser.parseExpression("String.format(\"COPY %s (%s) FROM STDIN\", TABLE, String.join(\", \", " + columns + "))"),
+                Modifier.Keyword.PRIVATE, Modifier.Keyword.STATIC, Modifier.Keyword.FINAL);
+
+        // Rows are encoded and sent whenever this many characters are buffered
+        daoClass.addFieldWithInitializer("int", "COPY_BUFFER_SIZE",
+                StaticJavaParser.parseExpression("64 * 1024"),
+                Modifier.Keyword.PRIVATE, Modifier.Keyword.STATIC, Modifier.Keyword.FINAL);
+
+        createCopyNullConstant(daoClass);
+    }
+
+    private static void createCopyInMethods(ClassOrInterfaceDeclaration daoClass, String modelClassName,
+                                            List<ColumnInfo> columnsInfo, String pkField, boolean pkIsAuto) {
+        String itemName = StringUtils.toCamelCase(modelClassName, NamingStrategyConfig.getUppercaseAcronyms(), false);
+
+        MethodDeclaration copyIn = daoClass.addMethod("copyIn", Modifier.Keyword.PUBLIC);
+        copyIn.setType("long");
+        copyIn.addParameter(CONNECTION, "conn");
+        copyIn.addParameter("Iterable<? extends " + modelClassName + ">", itemName + "s");
+        copyIn.addThrownException(new ClassOrInterfaceType(null, SQL_EXCEPTION));
+        copyIn.setJavadocComment("Loads rows with COPY FROM STDIN in text format, encoding them as they are iterated."
+                + " Returns the row count; generated keys are not read back, use insertAll when they are needed.");
+        copyIn.setBody(StaticJavaParser.parseBlock("""
+                {
+                    CopyIn copy = conn.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+                    try {
+                        StringBuilder buffer = new StringBuilder(COPY_BUFFER_SIZE + 1024);
+                        for (%1$s %2$s : %2$ss) {
+                            appendCopyRow(buffer, %2$s);
+                            if (buffer.length() >= COPY_BUFFER_SIZE) {
+                                flushCopy(copy, buffer);
+                            }
+                        }
+                        flushCopy(copy, buffer);
+                        return copy.endCopy();
+                    } catch (SQLException | RuntimeException e) {
+                        if (copy.isActive()) {
+                            try {
+                                copy.cancelCopy();
+                            } catch (SQLException suppressed) {
+                                e.addSuppressed(suppressed);
+                            }
+                        }
+                        throw e;
+                    }
+                }""".formatted(modelClassName, itemName)));
+
+        // One tab-separated line per row, in COPY_SQL column order
+        MethodDeclaration row = daoClass.addMethod("appendCopyRow", Modifier.Keyword.PRIVATE, Modifier.Keyword.STATIC);
+        row.setType("void");
+        row.addParameter("StringBuilder", "out");
+        row.addParameter(modelClassName, itemName);
+        BlockStmt rowBlock = new BlockStmt();
+        List<ColumnInfo> copyCols = insertColumns(columnsInfo, pkField, pkIsAuto);
+        for (int i = 0; i < copyCols.size(); i++) {
+            ColumnInfo c = copyCols.get(i);
+            String varName = StringUtils.toCamelCase(c.name, NamingStrategyConfig.getUppercaseAcronyms(), false);
+            if (varName.equals(itemName) || varName.equals("out")) {
+                varName = varName + "Value";
+            }
+            if (i > 0) {
+                rowBlock.addStatement(StaticJavaParser.parseStatement("out.append('\\t');"));
+            }
+            rowBlock.addStatement(StaticJavaParser.parseStatement(c.javaType + " " + varName + " = " + columnValue(c, itemName) + ";"));
+            rowBlock.addStatement(StaticJavaParser.parseStatement(copyValue(c, varName)));
+        }
+        rowBlock.addStatement(StaticJavaParser.parseStatement("out.append('\\n');"));
+        row.setBody(rowBlock);
+
+        createCopyEscapeMethods(daoClass);
+
+        MethodDeclaration flush = daoClass.addMethod("flushCopy", Modifier.Keyword.PRIVATE, Modifier.Keyword.STATIC);
+        flush.setType("void");
+        flush.addParameter("CopyIn", "copy");
+        flush.addParameter("StringBuilder", "buffer");
+        flush.addThrownException(new ClassOrInterfaceType(null, SQL_EXCEPTION));
+        flush.setBody(StaticJavaParser.parseBlock("""
+                {
+                    byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+                    copy.writeToCopy(bytes, 0, bytes.length);
+                    buffer.setLength(0);
+                }"""));
+    }
+
+    static void createCopyNullConstant(ClassOrInterfaceDeclaration daoClass) {
+        daoClass.addFieldWithInitializer(STRING, "COPY_NULL",
+                new StringLiteralExpr("\\\\N"),
+                Modifier.Keyword.PRIVATE, Modifier.Keyword.STATIC, Modifier.Keyword.FINAL);
+    }
+
+    // Text with backslash escapes and bytea as escaped hex; the generated class imports java.util.HexFormat
+    static void createCopyEscapeMethods(ClassOrInterfaceDeclaration daoClass) {
+        MethodDeclaration text = daoClass.addMethod("appendCopyText", Modifier.Keyword.PRIVATE, Modifier.Keyword.STATIC);
+        text.setType("void");
+        text.addParameter("StringBuilder", "out");
+        text.addParameter(STRING, "value");
+        text.setBody(StaticJavaParser.parseBlock("""
+                {
+                    if (value == null) {
+                        out.append(COPY_NULL);
+                        return;
+                    }
+                    for (int i = 0; i < value.length(); i++) {
+                        char ch = value.charAt(i);
+                        switch (ch) {
+                            case '\\\\' -> out.append("\\\\\\\\");
+                            case '\\n' -> out.append("\\\\n");
+                            case '\\r' -> out.append("\\\\r");
+                            case '\\t' -> out.append("\\\\t");
+                            default -> out.append(ch);
+                        }
+                    }
+                }"""));
+
+        // bytea hex input; the backslash of \x is itself escaped in COPY text
+        MethodDeclaration bytes = daoClass.addMethod("appendCopyBytes", Modifier.Keyword.PRIVATE, Modifier.Keyword.STATIC);
+        bytes.setType("void");
+        bytes.addParameter("StringBuilder", "out");
+        bytes.addParameter(BYTE, "value");
+        bytes.setBody(StaticJavaParser.parseBlock("""
+                {
+                    if (value == null) {
+                        out.append(COPY_NULL);
+                        return;
+                    }
+                    out.append("\\\\\\\\x");
+                    HexFormat.of().formatHex(out, value);
+                }"""));
+    }
+
+    // COPY text form of one column value: \N for null, t/f booleans, plain decimals, ISO dates
+    private static String copyValue(ColumnInfo c, String varName) {
+        if (BYTE.equals(c.javaType)) {
+            return "appendCopyBytes(out, " + varName + ");";
+        }
+        if (STRING.equals(c.javaType) && c.isBinary) {
+            return "appendCopyBytes(out, " + varName + " == null ? null : " + varName + ".getBytes(StandardCharsets.UTF_8));";
+        }
+        if (STRING.equals(c.javaType)) {
+            return "appendCopyText(out, " + varName + ");";
+        }
+        if (BOOLEAN.equals(c.javaType) || BOOL.equals(c.javaType)) {
+            return "out.append(" + varName + " == null ? COPY_NULL : " + varName + " ? \"t\" : \"f\");";
+        }
+        if (BIG_DECIMAL_IMPORT.equals(c.javaType)) {
+            return "out.append(" + varName + " == null ? COPY_NULL : " + varName + ".toPlainString());";
+        }
+        return "out.append(" + varName + " == null ? COPY_NULL : " + varName + ".toString());";
     }
 
     private static void createAllDaoMethods(ClassOrInterfaceDeclaration daoClass, DaoGenerationConfig config,
-                                            ColumnProcessingResult columnResult, List<Relationship> relationships) {
+                                            ColumnProcessingResult columnResult, List<Relationship> relationships,
+                                            List<List<String>> upsertKeys, Map<String, Relationship> loadedRelations) {
 
         String modelClassName = config.className;
         String pkField = columnResult.pkInfo.field;
@@ -610,10 +1907,30 @@ public class JdbcDaoGenerator {
         // Utility methods
         createSetParamsMethod(daoClass, modelClassName, columnsInfo, pkField, pkIsAuto);
         createExtractMethod(daoClass, modelClassName, columnsInfo);
+        if (config.dao.isGenerateKeysetPagination()) {
+            createKeysetPageMethods(daoClass, config, modelClassName, columnsInfo, columnResult.primaryKey);
+        }
+        if (config.dao.isGenerateStreaming()) {
+            createStreamingMethods(daoClass, config, modelClassName, columnsInfo, relationships);
+        }
+        if (isCopyInEnabled(config, columnResult)) {
+            createCopyInMethods(daoClass, modelClassName, columnsInfo, pkField, pkIsAuto);
+        }
+        if (config.dao.isGenerateMultiRowInsert()) {
+            createMultiRowInsertMethods(daoClass, config, columnResult);
+        }
+        if (isFindByIdsEnabled(config, columnResult)) {
+            createFindByIdsMethods(daoClass, config, columnResult);
+            createRelationLoaders(daoClass, config, columnResult, loadedRelations);
+        }
+        for (List<String> key : upsertKeys) {
+            createUpsertMethods(daoClass, config, columnResult, key);
+        }
+        createPrepareStatementsMethod(daoClass, config, columnResult, upsertKeys);
     }
 
     // Result classes
-    private record ColumnProcessingResult(List<ColumnInfo> columnsInfo, PrimaryKeyInfo pkInfo) {
+    private record ColumnProcessingResult(List<ColumnInfo> columnsInfo, PrimaryKeyInfo pkInfo, List<String> primaryKey) {
     }
 
     private record PrimaryKeyInfo(String field, String type, boolean isAuto) {
@@ -639,15 +1956,7 @@ public class JdbcDaoGenerator {
         TryStmt tryStmt = new TryStmt();
         BlockStmt tryBlock = new BlockStmt();
 
-        Expression psInitializer = pkIsAuto ?
-                StaticJavaParser.parseExpression("conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)") :
-                StaticJavaParser.parseExpression("conn.prepareStatement(INSERT_SQL)");
-
-        VariableDeclarator psDeclarator = new VariableDeclarator();
-        psDeclarator.setName("ps");
-        psDeclarator.setType(new ClassOrInterfaceType(null, PREPARED_STATEMENT));
-        psDeclarator.setInitializer(psInitializer);
-        tryStmt.getResources().add(new VariableDeclarationExpr(psDeclarator));
+        usePreparedStatement(tryBlock, "INSERT_SQL", pkIsAuto);
 
         tryBlock.addStatement(StaticJavaParser.parseStatement("set" + modelClassName + PARAMS + paramName + ");"));
 
@@ -693,7 +2002,7 @@ public class JdbcDaoGenerator {
         catchClause.setBody(catchBlock);
         tryStmt.getCatchClauses().add(catchClause);
 
-        block.addStatement(tryStmt);
+        addTry(block, tryStmt);
 
         m.setBody(block);
     }
@@ -835,15 +2144,10 @@ public class JdbcDaoGenerator {
         BlockStmt tryBlock = new BlockStmt();
 
         // Create PreparedStatement
-        Expression psInitializer = pkIsAuto ?
-                StaticJavaParser.parseExpression("conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)") :
-                StaticJavaParser.parseExpression("conn.prepareStatement(INSERT_SQL)");
+        usePreparedStatement(tryBlock, "INSERT_SQL", pkIsAuto);
 
-        VariableDeclarator psDeclarator = new VariableDeclarator();
-        psDeclarator.setName("ps");
-        psDeclarator.setType(new ClassOrInterfaceType(null, PREPARED_STATEMENT));
-        psDeclarator.setInitializer(psInitializer);
-        tryStmt.getResources().add(new VariableDeclarationExpr(psDeclarator));
+        // A failed earlier call may have left rows in the cached statement's batch
+        tryBlock.addStatement(StaticJavaParser.parseStatement("ps.clearBatch();"));
 
         // Add batch parameters
         ForEachStmt innerLoop = new ForEachStmt();
@@ -916,7 +2220,7 @@ public class JdbcDaoGenerator {
 
 
 
-        block.addStatement(tryStmt);
+        addTry(block, tryStmt);
         m.setBody(block);
     }
 
@@ -930,16 +2234,13 @@ public class JdbcDaoGenerator {
         m.setType(modelClassName);
         m.addParameter(CONNECTION, "conn");
         m.addParameter(mapJavaTypeToMethod(idType), "id");
+        m.addThrownException(new ClassOrInterfaceType(null, SQL_EXCEPTION));
 
         BlockStmt block = new BlockStmt();
         TryStmt tryStmt = new TryStmt();
         BlockStmt tryBlock = new BlockStmt();
 
-        VariableDeclarator psDeclarator = new VariableDeclarator();
-        psDeclarator.setName("ps");
-        psDeclarator.setType(new ClassOrInterfaceType(null, PREPARED_STATEMENT));
-        psDeclarator.setInitializer(StaticJavaParser.parseExpression("conn.prepareStatement(getSelectByColumnSql(COL_" + pkField.toUpperCase() + "))"));
-        tryStmt.getResources().add(new VariableDeclarationExpr(psDeclarator));
+        usePreparedStatement(tryBlock, selectByConstant(pkField), false);
 
         tryBlock.addStatement(StaticJavaParser.parseStatement("ps." + getPreparedStatementSetter(idType) + "(1, id);"));
 
@@ -958,7 +2259,7 @@ public class JdbcDaoGenerator {
         tryBlock.addStatement(innerTryStmt);
 
         tryStmt.setTryBlock(tryBlock);
-        block.addStatement(tryStmt);
+        addTry(block, tryStmt);
 
         m.setBody(block);
     }
@@ -968,9 +2269,6 @@ public class JdbcDaoGenerator {
             String modelClassName,
             ColumnProcessingResult columnResult) {
 
-        String pkField = columnResult.pkInfo.field;
-        String pkColConstant = "COL_" + pkField.toUpperCase();
-
         MethodDeclaration m = daoClass.addMethod("findAll", Modifier.Keyword.PUBLIC);
         // Use actual < and > characters (not HTML entities)
         m.setType("java.util.List<" + modelClassName + ">");
@@ -996,10 +2294,6 @@ public class JdbcDaoGenerator {
         sizeCheck.setThenStmt(sizeBlock);
         block.addStatement(sizeCheck);
 
-        // Build generalized SQL using String.format with constants
-        String sqlFormat = "\"SELECT %s FROM %s ORDER BY %s OFFSET ? ROWS FETCH NEXT ? ROWS ONLY\"";
-        block.addStatement(StaticJavaParser.parseStatement("String sql = String.format(" + sqlFormat + ", SELECT_COLUMNS, TABLE, " + pkColConstant + ");"));
-
         // Initialize result list
         block.addStatement(StaticJavaParser.parseStatement("java.util.List<" + modelClassName + "> list = new ArrayList<>();"));
 
@@ -1010,11 +2304,7 @@ public class JdbcDaoGenerator {
         TryStmt tryStmt = new TryStmt();
         BlockStmt tryBlock = new BlockStmt();
 
-        VariableDeclarator psDeclarator = new VariableDeclarator();
-        psDeclarator.setName("ps");
-        psDeclarator.setType(new ClassOrInterfaceType(null, PREPARED_STATEMENT));
-        psDeclarator.setInitializer(StaticJavaParser.parseExpression("conn.prepareStatement(sql)"));
-        tryStmt.getResources().add(new VariableDeclarationExpr(psDeclarator));
+        usePreparedStatement(tryBlock, "FIND_ALL_SQL", false);
 
         // Set pagination parameters directly
         tryBlock.addStatement(StaticJavaParser.parseStatement("ps.setInt(1, offset);"));
@@ -1041,7 +2331,7 @@ public class JdbcDaoGenerator {
         innerTryStmt.setTryBlock(innerTryBlock);
         tryBlock.addStatement(innerTryStmt);
         tryStmt.setTryBlock(tryBlock);
-        block.addStatement(tryStmt);
+        addTry(block, tryStmt);
 
         block.addStatement(new ReturnStmt(new NameExpr("list")));
         m.setBody(block);
@@ -1078,11 +2368,7 @@ public class JdbcDaoGenerator {
                 TryStmt tryStmt = new TryStmt();
                 BlockStmt tryBlock = new BlockStmt();
 
-                VariableDeclarator psDeclarator = new VariableDeclarator();
-                psDeclarator.setName("ps");
-                psDeclarator.setType(new ClassOrInterfaceType(null, PREPARED_STATEMENT));
-                psDeclarator.setInitializer(StaticJavaParser.parseExpression("conn.prepareStatement(getSelectByColumnSql(COL_" + fkColumn.toUpperCase() + "))"));
-                tryStmt.getResources().add(new VariableDeclarationExpr(psDeclarator));
+                usePreparedStatement(tryBlock, selectByConstant(fkColumn), false);
 
                 tryBlock.addStatement(StaticJavaParser.parseStatement(
                         "ps." + getPreparedStatementSetter(fkType) + "(1, " + paramFkName + ");"));
@@ -1107,7 +2393,7 @@ public class JdbcDaoGenerator {
                 tryBlock.addStatement(innerTryStmt);
 
                 tryStmt.setTryBlock(tryBlock);
-                block.addStatement(tryStmt);
+                addTry(block, tryStmt);
 
                 block.addStatement(new ReturnStmt(new NameExpr("list")));
                 m.setBody(block);
@@ -1142,11 +2428,7 @@ public class JdbcDaoGenerator {
         TryStmt tryStmt = new TryStmt();
         BlockStmt tryBlock = new BlockStmt();
 
-        VariableDeclarator psDeclarator = new VariableDeclarator();
-        psDeclarator.setName("ps");
-        psDeclarator.setType(new ClassOrInterfaceType(null, PREPARED_STATEMENT));
-        psDeclarator.setInitializer(StaticJavaParser.parseExpression("conn.prepareStatement(UPDATE_SQL)"));
-        tryStmt.getResources().add(new VariableDeclarationExpr(psDeclarator));
+        usePreparedStatement(tryBlock, "UPDATE_SQL", false);
 
         tryBlock.addStatement(StaticJavaParser.parseStatement("set" + className + PARAMS + paramName + ");"));
         tryBlock.addStatement(StaticJavaParser.parseStatement(
@@ -1155,7 +2437,7 @@ public class JdbcDaoGenerator {
         tryBlock.addStatement(new ReturnStmt(
                 StaticJavaParser.parseExpression("ps.executeUpdate() > 0")));
         tryStmt.setTryBlock(tryBlock);
-        block.addStatement(tryStmt);
+        addTry(block, tryStmt);
 
         m.setBody(block);
     }
@@ -1306,11 +2588,10 @@ public class JdbcDaoGenerator {
         BlockStmt tryBlock = new BlockStmt();
 
         // Create PreparedStatement
-        VariableDeclarator psDeclarator = new VariableDeclarator();
-        psDeclarator.setName("ps");
-        psDeclarator.setType(new ClassOrInterfaceType(null, PREPARED_STATEMENT));
-        psDeclarator.setInitializer(StaticJavaParser.parseExpression("conn.prepareStatement(UPDATE_SQL)"));
-        tryStmt.getResources().add(new VariableDeclarationExpr(psDeclarator));
+        usePreparedStatement(tryBlock, "UPDATE_SQL", false);
+
+        // A failed earlier call may have left rows in the cached statement's batch
+        tryBlock.addStatement(StaticJavaParser.parseStatement("ps.clearBatch();"));
 
         // Add batch parameters
         ForEachStmt innerLoop = new ForEachStmt();
@@ -1343,7 +2624,7 @@ public class JdbcDaoGenerator {
         catchClause.setBody(catchBlock);
         tryStmt.getCatchClauses().add(catchClause);
 
-        block.addStatement(tryStmt);
+        addTry(block, tryStmt);
         m.setBody(block);
     }
 
@@ -1361,18 +2642,14 @@ public class JdbcDaoGenerator {
         TryStmt tryStmt = new TryStmt();
         BlockStmt tryBlock = new BlockStmt();
 
-        VariableDeclarator psDeclarator = new VariableDeclarator();
-        psDeclarator.setName("ps");
-        psDeclarator.setType(new ClassOrInterfaceType(null, PREPARED_STATEMENT));
-        psDeclarator.setInitializer(StaticJavaParser.parseExpression("conn.prepareStatement(DELETE_SQL)"));
-        tryStmt.getResources().add(new VariableDeclarationExpr(psDeclarator));
+        usePreparedStatement(tryBlock, "DELETE_SQL", false);
 
         tryBlock.addStatement(StaticJavaParser.parseStatement("ps." + getPreparedStatementSetter(idType) + "(1, id);"));
         tryBlock.addStatement(new ReturnStmt(
                 StaticJavaParser.parseExpression("ps.executeUpdate() > 0")));
 
         tryStmt.setTryBlock(tryBlock);
-        block.addStatement(tryStmt);
+        addTry(block, tryStmt);
 
         m.setBody(block);
     }
@@ -1508,10 +2785,11 @@ public class JdbcDaoGenerator {
         TryStmt tryStmt = new TryStmt();
         BlockStmt tryBlock = new BlockStmt();
 
-        // Create PreparedStatement
+        // The IN list changes with the chunk size, so it bypasses the statement cache
+        // and is closed here instead of evicting the fixed statements
         VariableDeclarator psDeclarator = new VariableDeclarator();
         psDeclarator.setName("ps");
-        psDeclarator.setType(new ClassOrInterfaceType(null, PREPARED_STATEMENT));
+        psDeclarator.setType(new ClassOrInterfaceType(null, "PreparedStatement"));
         psDeclarator.setInitializer(StaticJavaParser.parseExpression("conn.prepareStatement(sql)"));
         tryStmt.getResources().add(new VariableDeclarationExpr(psDeclarator));
 
@@ -1550,7 +2828,7 @@ public class JdbcDaoGenerator {
 
 
 
-        block.addStatement(tryStmt);
+        addTry(block, tryStmt);
         m.setBody(block);
     }
 
@@ -1563,52 +2841,81 @@ public class JdbcDaoGenerator {
 
         // Now proceed with creating the setParams method
         String className = modelClassName.replace("DTO", "");
+        String paramName = StringUtils.toCamelCase(modelClassName, NamingStrategyConfig.getUppercaseAcronyms(), false);
+
+        MethodDeclaration single = daoClass.addMethod("set" + className + "Params", Modifier.Keyword.PRIVATE);
+        single.setType("void");
+        single.addParameter(PREPARED_STATEMENT, "ps");
+        single.addParameter(modelClassName, paramName);
+        single.addThrownException(new ClassOrInterfaceType(null, SQL_EXCEPTION));
+        single.setBody(new BlockStmt().addStatement(StaticJavaParser.parseStatement(
+                "set" + className + PARAMS + paramName + ", 0);")));
+
+        // offset: parameters already bound before this row, for multi-row statements
         MethodDeclaration m = daoClass.addMethod("set" + className + "Params", Modifier.Keyword.PRIVATE);
         m.setType("void");
         m.addParameter(PREPARED_STATEMENT, "ps");
-        m.addParameter(modelClassName, StringUtils.toCamelCase(modelClassName, NamingStrategyConfig.getUppercaseAcronyms(), false));
+        m.addParameter(modelClassName, paramName);
+        m.addParameter("int", "offset");
         m.addThrownException(new ClassOrInterfaceType(null, SQL_EXCEPTION));
 
         List<ColumnInfo> paramsCols = columnsInfo.stream()
                 .filter(c -> !(pkIsAuto && c.name.equals(pkField)))
                 .toList();
 
-        String paramName = StringUtils.toCamelCase(modelClassName, NamingStrategyConfig.getUppercaseAcronyms(), false);
-
         BlockStmt block = new BlockStmt();
 
         for (int i = 0; i < paramsCols.size(); i++) {
             ColumnInfo c = paramsCols.get(i);
-            String getter = paramName + ".get" + StringUtils.toCamelCase(c.name, NamingStrategyConfig.getUppercaseAcronyms(), true) + "()";
-            int idx = i + 1;
-
-            String typesConstant = getTypesConstant(c.javaType);
-            String valueExpr = getter;
+            String idx = "offset + " + (i + 1);
 
-            if (c.isForeignKey) {
-                String baseName = c.name.toLowerCase().endsWith("_id") ? c.name.substring(0, c.name.length() - 3) : c.name;
-                String relationshipName = StringUtils.toCamelCase(baseName, NamingStrategyConfig.getUppercaseAcronyms(), true);
-                String relationGetter = paramName + ".get" + relationshipName + "()";
-                String relatedPk = c.referencedTable + "_id";
-                String relatedPkCamel = StringUtils.toCamelCase(relatedPk, NamingStrategyConfig.getUppercaseAcronyms(), true);
-                valueExpr = relationGetter + " != null ? " + relationGetter + ".get" + relatedPkCamel + "() : null";
-            } else if (LOCAL_DATE_TIME.equals(c.javaType)) {
-                valueExpr = "toTimestamp(" + getter + ")";
-            } else if (LOCAL_DATE.equals(c.javaType)) {
-                valueExpr = getter + " != null ? java.sql.Date.valueOf(" + getter + BRACE_NULL;
-            } else if (LOCAL_TIME.equals(c.javaType)) {
-                valueExpr = getter + " != null ? java.sql.Time.valueOf(" + getter + BRACE_NULL;
-            } else if (c.javaType.equals(STRING) && c.isBinary) {
-                valueExpr = getter + " != null ? " + getter + ".getBytes() : null";
+            String varName = StringUtils.toCamelCase(c.name, NamingStrategyConfig.getUppercaseAcronyms(), false);
+            if (varName.equals(paramName) || varName.equals("ps") || varName.equals("offset")) {
+                varName = varName + "Value";
             }
-
-            String setStmt = "setNullable(ps, " + idx + ", " + valueExpr + ", " + typesConstant + ");";
-            block.addStatement(StaticJavaParser.parseStatement(setStmt));
+            String valueExpr = columnValue(c, paramName);
+
+            // Typed setter per column with an explicit setNull branch, nothing widened to Object
+            block.addStatement(StaticJavaParser.parseStatement(c.javaType + " " + varName + " = " + valueExpr + ";"));
+            block.addStatement(new IfStmt(
+                    StaticJavaParser.parseExpression(varName + STRING2),
+                    StaticJavaParser.parseStatement(bindColumn(c, idx, varName)),
+                    StaticJavaParser.parseStatement("ps.setNull(" + idx + ", " + (c.isBinary ? "Types.BINARY" : getTypesConstant(c.javaType)) + ");")));
         }
         m.setBody(block);
     }
 
 
+    // Column value read from the model, foreign keys through the related object's primary key
+    private static String columnValue(ColumnInfo c, String paramName) {
+        if (!c.isForeignKey) {
+            return paramName + ".get" + StringUtils.toCamelCase(c.name, NamingStrategyConfig.getUppercaseAcronyms(), true) + "()";
+        }
+        String baseName = c.name.toLowerCase().endsWith("_id") ? c.name.substring(0, c.name.length() - 3) : c.name;
+        String relationshipName = StringUtils.toCamelCase(baseName, NamingStrategyConfig.getUppercaseAcronyms(), true);
+        String relationGetter = paramName + ".get" + relationshipName + "()";
+        String relatedPk = c.referencedTable + "_id";
+        String relatedPkCamel = StringUtils.toCamelCase(relatedPk, NamingStrategyConfig.getUppercaseAcronyms(), true);
+        return relationGetter + " != null ? " + relationGetter + ".get" + relatedPkCamel + "() : null";
+    }
+
+    private static String bindColumn(ColumnInfo c, String idx, String varName) {
+        if (c.javaType.equals(STRING) && c.isBinary) {
+            return "ps.setBytes(" + idx + ", " + varName + ".getBytes());";
+        }
+        String setter = getPreparedStatementSetter(c.javaType);
+        if (SQL_OBJECT.equals(setter) && !isJdbc42Type(c.javaType)) {
+            return "ps.setObject(" + idx + ", " + varName + ", " + getTypesConstant(c.javaType) + ");";
+        }
+        return "ps." + setter + "(" + idx + ", " + varName + ");";
+    }
+
+    // java.time and UUID values are bound with setObject(int, Object) and converted by the driver
+    private static boolean isJdbc42Type(String javaType) {
+        return LOCAL_DATE_TIME.equals(javaType) || LOCAL_DATE.equals(javaType)
+                || LOCAL_TIME.equals(javaType) || UID.equals(javaType);
+    }
+
     private static void createExtractMethod(
             ClassOrInterfaceDeclaration daoClass,
             String modelClassName,
@@ -1618,6 +2925,7 @@ public class JdbcDaoGenerator {
         m.setType(modelClassName);
         m.addParameter(RESULT_SET, "rs");
         m.addThrownException(new ClassOrInterfaceType(null, SQL_EXCEPTION));
+        m.setJavadocComment("Maps the current row of a query selecting SELECT_COLUMNS. Columns are read by position in SELECT_COLUMNS order.");
 
         String objectName = StringUtils.toCamelCase(modelClassName, NamingStrategyConfig.getUppercaseAcronyms(), false);
 
@@ -1625,31 +2933,21 @@ public class JdbcDaoGenerator {
         block.addStatement(StaticJavaParser.parseStatement(
                 modelClassName + " " + objectName + " = new " + modelClassName + "();"));
 
-        for (ColumnInfo c : columnsInfo) {
-            String colConst = "COL_" + c.name.toUpperCase();
+        for (int i = 0; i < columnsInfo.size(); i++) {
+            ColumnInfo c = columnsInfo.get(i);
+            // Position of the column in SELECT_COLUMNS
+            int idx = i + 1;
 
             // --- Use camelCase for variable names ---
             String varName = StringUtils.toCamelCase(c.name, NamingStrategyConfig.getUppercaseAcronyms(), false);
             String setter = objectName + ".set" + StringUtils.toCamelCase(c.name, NamingStrategyConfig.getUppercaseAcronyms(), true);
 
-            if (LOCAL_DATE_TIME.equals(c.javaType)) {
-                block.addStatement(StaticJavaParser.parseStatement("Timestamp " + varName + " = rs.getTimestamp(" + colConst + ");"));
-                block.addStatement(new IfStmt(
-                        StaticJavaParser.parseExpression(varName + STRING2),
-                        new ExpressionStmt(StaticJavaParser.parseExpression(setter + "(" + varName + ".toLocalDateTime())")),
-                        null));
-            } else if (LOCAL_DATE.equals(c.javaType)) {
-                block.addStatement(StaticJavaParser.parseStatement("java.sql.Date " + varName + " = rs.getDate(" + colConst + ");"));
-                block.addStatement(new IfStmt(
-                        StaticJavaParser.parseExpression(varName + STRING2),
-                        new ExpressionStmt(StaticJavaParser.parseExpression(setter + "(" + varName + ".toLocalDate())")),
-                        null));
-            } else if (LOCAL_TIME.equals(c.javaType)) {
-                block.addStatement(StaticJavaParser.parseStatement("java.sql.Time " + varName + " = rs.getTime(" + colConst + ");"));
-                block.addStatement(new IfStmt(
-                        StaticJavaParser.parseExpression(varName + STRING2),
-                        new ExpressionStmt(StaticJavaParser.parseExpression(setter + "(" + varName + ".toLocalTime())")),
-                        null));
+            if (LOCAL_DATE_TIME.equals(c.javaType) || LOCAL_DATE.equals(c.javaType) || LOCAL_TIME.equals(c.javaType)
+                    || UID.equals(c.javaType)) {
+                // JDBC 4.2 conversion, no intermediate java.sql.Timestamp/Date/Time
+                String simpleType = UID.equals(c.javaType) ? UID : c.javaType.substring(c.javaType.lastIndexOf('.') + 1);
+                block.addStatement(StaticJavaParser.parseStatement(
+                        setter + "(rs.getObject(" + idx + ", " + simpleType + ".class));"));
             } else if (c.isForeignKey) {
                 String baseName = c.name.toLowerCase().endsWith("_id") ? c.name.substring(0, c.name.length() - 3) : c.name;
                 String relationshipName = StringUtils.toCamelCase(baseName, NamingStrategyConfig.getUppercaseAcronyms(), true);
@@ -1657,8 +2955,16 @@ public class JdbcDaoGenerator {
                 String relatedClass = StringUtils.toCamelCase(c.referencedTable, NamingStrategyConfig.getUppercaseAcronyms(), true);
                 String relatedPk = c.referencedTable + "_id";
                 String relatedPkCamel = StringUtils.toCamelCase(relatedPk, NamingStrategyConfig.getUppercaseAcronyms(), true);
-                block.addStatement(StaticJavaParser.parseStatement(
-                        c.javaType + " " + varName + " = rs.getObject(" + colConst + ", " + c.javaType + ".class);"));
+                if (isPrimitiveWrapper(c.javaType)) {
+                    String rawName = varName + "Value";
+                    block.addStatement(StaticJavaParser.parseStatement(
+                            mapJavaTypeToMethod(c.javaType) + " " + rawName + " = rs." + getResultSetGetter(c.javaType) + "(" + idx + ");"));
+                    block.addStatement(StaticJavaParser.parseStatement(
+                            c.javaType + " " + varName + " = " + (c.nullable ? "rs.wasNull() ? null : " : "") + rawName + ";"));
+                } else {
+                    block.addStatement(StaticJavaParser.parseStatement(
+                            c.javaType + " " + varName + " = rs." + getResultSetGetter(c.javaType) + "(" + idx + ");"));
+                }
                 block.addStatement(StaticJavaParser.parseStatement(setter + "(" + varName + ");"));
                 BlockStmt ifBlock = new BlockStmt();
                 ifBlock.addStatement(StaticJavaParser.parseStatement(
@@ -1672,32 +2978,35 @@ public class JdbcDaoGenerator {
                         ifBlock,
                         null));
             } else if (c.javaType.equals(STRING) && c.isBinary) {
-                block.addStatement(StaticJavaParser.parseStatement("byte[] bytes = rs.getBytes(" + colConst + ");"));
-                block.addStatement(StaticJavaParser.parseStatement(setter + "(bytes != null ? new String(bytes) : null);"));
-            } else if (Arrays.asList(INT_TYPE, LONG, FLOAT, DOUBLE, BIG_DECIMAL_IMPORT, BOOLEAN).contains(c.javaType)) {
+                block.addStatement(StaticJavaParser.parseStatement("byte[] " + varName + " = rs.getBytes(" + idx + ");"));
+                block.addStatement(StaticJavaParser.parseStatement(setter + "(" + varName + " != null ? new String(" + varName + ") : null);"));
+            } else if (isPrimitiveWrapper(c.javaType) && c.nullable) {
+                // Primitive getter, null restored from wasNull() instead of getObject(col, Class) boxing
                 block.addStatement(StaticJavaParser.parseStatement(
-                        c.javaType + " " + varName + " = rs.getObject(" + colConst + ", " + c.javaType + ".class);"));
-                block.addStatement(StaticJavaParser.parseStatement(setter + "(" + varName + ");"));
+                        mapJavaTypeToMethod(c.javaType) + " " + varName + " = rs." + getResultSetGetter(c.javaType) + "(" + idx + ");"));
+                block.addStatement(StaticJavaParser.parseStatement(setter + "(rs.wasNull() ? null : " + varName + ");"));
             } else {
                 block.addStatement(StaticJavaParser.parseStatement(
-                        setter + "(rs." + getResultSetGetter(c.javaType) + "(" + colConst + "));"));
+                        setter + "(rs." + getResultSetGetter(c.javaType) + "(" + idx + "));"));
             }
         }
         block.addStatement(new ReturnStmt(new NameExpr(objectName)));
         m.setBody(block);
     }
 
+    private static boolean isPrimitiveWrapper(String javaType) {
+        return Arrays.asList(INT_TYPE, LONG, FLOAT, DOUBLE, BOOLEAN).contains(javaType);
+    }
 
-    private static void writeToFile(TargetConfig target, String packageName, String className, CompilationUnit cu) throws IOException {
-        Path outputPath = Paths.get(target.getOutputDirectory(), packageName.replace(".", "/"), className + ".java");
-        Files.createDirectories(outputPath.getParent());
-        Files.writeString(outputPath, cu.toString());
+    private static Path writeToFile(OutputSink sink, String packageName, String className, CompilationUnit cu) throws IOException {
+        Path outputPath = sink.write(packageName, className, cu.toString());
         log.info("Generated DAO: {}", outputPath);
+        return outputPath;
     }
 
     /* ---------- utility methods ---------- */
 
-    private static String mapDbTypeToJava(String dbType, String columnName, int columnSize, String vendor) {
+    static String mapDbTypeToJava(String dbType, String columnName, int columnSize, String vendor) {
         // Handle null inputs
         if (columnName == null) return STRING;
         if (dbType == null) return STRING;
@@ -1852,7 +3161,7 @@ public class JdbcDaoGenerator {
         return isMonetaryField(colNameLower) ? BIG_DECIMAL_IMPORT : DOUBLE;
     }
 
-    private static String mapJavaTypeToMethod(String javaType) {
+    static String mapJavaTypeToMethod(String javaType) {
         return switch (javaType) {
             case INT_TYPE -> "int";
             case LONG -> "long";
@@ -1891,9 +3200,9 @@ public class JdbcDaoGenerator {
             case FLOAT -> "setFloat";
             case DOUBLE -> "setDouble";
             case BOOLEAN -> "setBoolean";
-            case LOCAL_DATE -> "setDate";
-            case LOCAL_TIME -> "setTime";
-            case LOCAL_DATE_TIME -> "setTimestamp";
+            case LOCAL_DATE -> SQL_OBJECT;
+            case LOCAL_TIME -> SQL_OBJECT;
+            case LOCAL_DATE_TIME -> SQL_OBJECT;
             case BIG_DECIMAL_IMPORT -> "setBigDecimal";
             case BYTE -> "setBytes";
             case UID -> SQL_OBJECT;
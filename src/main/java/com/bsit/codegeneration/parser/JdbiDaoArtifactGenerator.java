@@ -0,0 +1,22 @@
+package com.bsit.codegeneration.parser;
+
+import com.bsit.codegeneration.spi.ArtifactContext;
+import com.bsit.codegeneration.spi.ArtifactGenerator;
+import com.bsit.codegeneration.spi.ArtifactKind;
+import com.bsit.codegeneration.spi.OutputSink;
+import com.bsit.codegeneration.spi.TableModel;
+
+import java.nio.file.Path;
+import java.sql.ResultSet;
+
+@ArtifactKind("jdbi-dao")
+public class JdbiDaoArtifactGenerator implements ArtifactGenerator {
+
+    @Override
+    public Path generate(TableModel table, ArtifactContext context, OutputSink sink) throws Exception {
+        try (ResultSet columns = table.openColumns()) {
+            return JdbiDaoGenerator.generateDao(table.getTableName(), columns, table.getMetaData(),
+                    context.dbConfig(), context.daoConfig(), context.target(), table.getRelationships(), sink);
+        }
+    }
+}
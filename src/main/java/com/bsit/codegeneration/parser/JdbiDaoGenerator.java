@@ -1,8 +1,11 @@
 package com.bsit.codegeneration.parser;
 
 import com.bsit.codegeneration.model.*;
+import com.bsit.codegeneration.spi.FileOutputSink;
+import com.bsit.codegeneration.spi.OutputSink;
 import com.bsit.codegeneration.util.Relationship;
 import com.bsit.codegeneration.util.Relationship.Type;
+import com.github.javaparser.StaticJavaParser;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.Modifier;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
@@ -15,9 +18,7 @@ import com.github.javaparser.utils.Log;
 import static com.bsit.codegeneration.util.StringUtils.toCamelCase;
 
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -59,10 +60,11 @@ public class JdbiDaoGenerator {
         final boolean isGenerated;
         final boolean isPrimaryKey;
         final boolean isForeignKey;
+        final boolean nullable;
 
         public ColumnInfo(String columnName, String javaType, String dbType,
                           boolean isAutoIncrement, String defaultValue,
-                          boolean isGenerated, boolean isPrimaryKey, boolean isForeignKey) {
+                          boolean isGenerated, boolean isPrimaryKey, boolean isForeignKey, boolean nullable) {
             this.columnName = columnName;
             this.javaType = javaType;
             this.dbType = dbType;
@@ -71,6 +73,7 @@ public class JdbiDaoGenerator {
             this.isGenerated = isGenerated;
             this.isPrimaryKey = isPrimaryKey;
             this.isForeignKey = isForeignKey;
+            this.nullable = nullable;
         }
 
         @Override
@@ -104,10 +107,31 @@ public class JdbiDaoGenerator {
         }
     }
 
-    public static void generateDao(String tableName, ResultSet columnsRs, DatabaseConfig dbConfig,
+    public static Path generateDao(String tableName, ResultSet columnsRs, DatabaseConfig dbConfig,
                                    TargetConfig target,
                                    List<Relationship> relationships)
             throws IOException, SQLException {
+        return generateDao(tableName, columnsRs, columnsRs.getStatement().getConnection().getMetaData(),
+                dbConfig, target, relationships, new FileOutputSink(target.getOutputDirectory()));
+    }
+
+    public static Path generateDao(String tableName, ResultSet columnsRs, DatabaseMetaData dbMetaData,
+                                   DatabaseConfig dbConfig,
+                                   TargetConfig target,
+                                   List<Relationship> relationships,
+                                   OutputSink sink)
+            throws IOException, SQLException {
+        return generateDao(tableName, columnsRs, dbMetaData, dbConfig, new DaoConfig(), target, relationships, sink);
+    }
+
+    // Key lookups go through dbMetaData, so columnsRs may be a disconnected snapshot
+    public static Path generateDao(String tableName, ResultSet columnsRs, DatabaseMetaData dbMetaData,
+                                   DatabaseConfig dbConfig,
+                                   DaoConfig daoConfig,
+                                   TargetConfig target,
+                                   List<Relationship> relationships,
+                                   OutputSink sink)
+            throws IOException, SQLException {
 
         NamingStrategyConfig naming = dbConfig.getNamingStrategy();
         String entityClassName = generateEntityClassName(tableName, naming);
@@ -121,7 +145,7 @@ public class JdbiDaoGenerator {
                 .setPublic(true);
 
         // Process table metadata
-        TableMetadata metadata = processTableMetadata(tableName, columnsRs, dbConfig,
+        TableMetadata metadata = processTableMetadata(tableName, columnsRs, dbMetaData, dbConfig,
                 naming, relationships);
 
         // Debug logging
@@ -132,10 +156,22 @@ public class JdbiDaoGenerator {
             generateJoinTableDao(dao, metadata, naming, entityClassName);
         } else {
             generateStandardDao(dao, metadata, naming, entityClassName);
+            if (daoConfig.isGenerateKeysetPagination() && metadata.primaryKeyColumn != null) {
+                generateKeysetPages(dao, metadata, dbMetaData, dbConfig.getSchema(), daoConfig,
+                        dbConfig.getDatabaseVendor(), entityClassName);
+            }
+            if (daoConfig.isGenerateStreaming()) {
+                generateStreamingFindAll(cu, dao, metadata.tableName, daoConfig, dbConfig.getDatabaseVendor(),
+                        entityClassName);
+            }
+            if (daoConfig.isGenerateUpsert() && UpsertSql.supports(dbConfig.getDatabaseVendor())) {
+                generateUpserts(dao, metadata, dbMetaData, dbConfig.getSchema(), daoConfig,
+                        dbConfig.getDatabaseVendor(), entityClassName);
+            }
         }
 
         // Write to file
-        writeToFile(cu, target, daoClassName);
+        return writeToFile(cu, sink, daoClassName);
     }
 
     private static String generateEntityClassName(String tableName, NamingStrategyConfig naming) {
@@ -169,11 +205,10 @@ public class JdbiDaoGenerator {
     }
 
     private static TableMetadata processTableMetadata(String tableName, ResultSet columnsRs,
+                                                      DatabaseMetaData dbMetaData,
                                                       DatabaseConfig dbConfig, NamingStrategyConfig naming,
                                                       List<Relationship> relationships) throws SQLException {
 
-        DatabaseMetaData dbMetaData = columnsRs.getStatement().getConnection().getMetaData();
-
         // Get primary and foreign keys FIRST
         Set<String> pkColumns = getPrimaryKeys(dbMetaData, dbConfig.getSchema(), tableName);
         Set<String> fkColumns = getForeignKeys(dbMetaData, dbConfig.getSchema(), tableName);
@@ -237,10 +272,12 @@ public class JdbiDaoGenerator {
             String dbType = null;
             String autoIncrementValue = null;
             String defaultValue = null;
+            boolean nullable = true;
 
             try {
                 columnName = columnsRs.getString("COLUMN_NAME");
                 dbType = columnsRs.getString("TYPE_NAME");
+                nullable = columnsRs.getInt("NULLABLE") != DatabaseMetaData.columnNoNulls;
 
                 // Handle potential null values that cause stream issues
                 autoIncrementValue = columnsRs.getString("IS_AUTOINCREMENT");
@@ -274,7 +311,7 @@ public class JdbiDaoGenerator {
                     lowerColumn.contains("last_update");
 
             columns.add(new ColumnInfo(columnName, javaType, dbType, isAutoIncrement,
-                    defaultValue, isGenerated, isPrimaryKey, isForeignKey));
+                    defaultValue, isGenerated, isPrimaryKey, isForeignKey, nullable));
         }
 
         return columns;
@@ -705,6 +742,176 @@ public class JdbiDaoGenerator {
         method.setBody(null);
     }
 
+    // streamAll/iterateAll hold a cursor with a fetch size instead of loading the table like findAll
+    private static void generateStreamingFindAll(CompilationUnit cu, ClassOrInterfaceDeclaration dao, String tableName,
+                                                 DaoConfig daoConfig, String vendor, String entityClassName) {
+        boolean postgres = "POSTGRESQL".equals(vendor);
+        cu.addImport("java.util.function.Consumer");
+        cu.addImport("java.util.stream.Stream");
+        cu.addImport("org.jdbi.v3.core.result.ResultIterator");
+        cu.addImport("org.jdbi.v3.sqlobject.customizer.FetchSize");
+        if (postgres) {
+            cu.addImport("org.jdbi.v3.sqlobject.transaction.Transaction");
+        }
+
+        // Connector/J streams row by row only for Integer.MIN_VALUE, other drivers take a batch size
+        String fetchSize = "MYSQL".equals(vendor) ? "Integer.MIN_VALUE" : String.valueOf(Math.max(1, daoConfig.getStreamFetchSize()));
+        String cursorNote = postgres ? " PostgreSQL only streams inside a transaction, so call it from one." : "";
+        String sql = "SELECT * FROM " + tableName;
+
+        MethodDeclaration stream = dao.addMethod("streamAll", Modifier.Keyword.PUBLIC);
+        stream.setType("Stream<" + entityClassName + ">");
+        stream.setJavadocComment("Lazily fetched rows; close the stream to release the cursor." + cursorNote);
+        stream.addAnnotation(new SingleMemberAnnotationExpr(
+                new Name(SQL_QUERY), new StringLiteralExpr(sql)));
+        stream.addAnnotation(new SingleMemberAnnotationExpr(
+                new Name(REGISTER_BEAN_MAPPER),
+                new ClassExpr(new ClassOrInterfaceType(null, entityClassName))));
+        stream.addAnnotation(new SingleMemberAnnotationExpr(
+                new Name("FetchSize"), StaticJavaParser.parseExpression(fetchSize)));
+        stream.setBody(null);
+
+        MethodDeclaration iterate = dao.addMethod("iterateAll", Modifier.Keyword.PUBLIC);
+        iterate.setType("ResultIterator<" + entityClassName + ">");
+        iterate.setJavadocComment("Lazily fetched rows; close the iterator unless it is read to the end." + cursorNote);
+        iterate.addAnnotation(new SingleMemberAnnotationExpr(
+                new Name(SQL_QUERY), new StringLiteralExpr(sql)));
+        iterate.addAnnotation(new SingleMemberAnnotationExpr(
+                new Name(REGISTER_BEAN_MAPPER),
+                new ClassExpr(new ClassOrInterfaceType(null, entityClassName))));
+        iterate.addAnnotation(new SingleMemberAnnotationExpr(
+                new Name("FetchSize"), StaticJavaParser.parseExpression(fetchSize)));
+        iterate.setBody(null);
+
+        MethodDeclaration forEach = dao.addMethod("forEachAll", Modifier.Keyword.PUBLIC, Modifier.Keyword.DEFAULT);
+        forEach.setType("void");
+        forEach.addParameter("Consumer<? super " + entityClassName + ">", "action");
+        if (postgres) {
+            forEach.addAnnotation(new MarkerAnnotationExpr(new Name("Transaction")));
+        }
+        forEach.setBody(StaticJavaParser.parseBlock("""
+                {
+                    try (Stream<%s> rows = streamAll()) {
+                        rows.forEach(action);
+                    }
+                }""".formatted(entityClassName)));
+    }
+
+    // findFirstPage/findPageAfter/findLastPage/findPageBefore seek on the key instead of OFFSET
+    private static void generateKeysetPages(ClassOrInterfaceDeclaration dao, TableMetadata metadata,
+                                            DatabaseMetaData dbMetaData, String schema, DaoConfig daoConfig,
+                                            String vendor, String entityClassName) throws SQLException {
+        List<String> primaryKey = UpsertSql.primaryKey(dbMetaData, schema, metadata.tableName);
+        if (primaryKey.isEmpty()) {
+            primaryKey = List.of(metadata.primaryKeyColumn);
+        }
+        List<String> keys = KeysetSql.keyColumns(daoConfig, metadata.tableName, primaryKey,
+                metadata.columns.stream().map(c -> c.columnName).toList(),
+                metadata.columns.stream().filter(c -> c.nullable).map(c -> c.columnName).toList());
+        generateKeysetPage(dao, metadata, vendor, entityClassName, keys, KeysetSql.Page.FIRST, "findFirstPage",
+                "First page in key order.");
+        generateKeysetPage(dao, metadata, vendor, entityClassName, keys, KeysetSql.Page.AFTER, "findPageAfter",
+                "Next page in key order, starting past the last key of the previous page.");
+        generateKeysetPage(dao, metadata, vendor, entityClassName, keys, KeysetSql.Page.LAST, "findLastPage",
+                "Last page in key order.");
+        generateKeysetPage(dao, metadata, vendor, entityClassName, keys, KeysetSql.Page.BEFORE, "findPageBefore",
+                "Previous page in key order, ending before the first key of the following page.");
+    }
+
+    private static void generateKeysetPage(ClassOrInterfaceDeclaration dao, TableMetadata metadata, String vendor,
+                                           String entityClassName, List<String> keys, KeysetSql.Page page,
+                                           String methodName, String javadoc) {
+        String prefix = page == KeysetSql.Page.AFTER ? "after" : "before";
+        List<String> params = keys.stream().map(k -> prefix + toCamelCase(k, NamingStrategyConfig.getUppercaseAcronyms(), true)).toList();
+        String sql = KeysetSql.select(vendor, "*", metadata.tableName, keys, page, i -> ":" + params.get(i),
+                ":limit", new ArrayList<>());
+
+        MethodDeclaration method = dao.addMethod(methodName, Modifier.Keyword.PUBLIC);
+        method.setType(String.format(LIST_OF_S, entityClassName));
+        method.setJavadocComment(javadoc);
+        method.addAnnotation(new SingleMemberAnnotationExpr(
+                new Name(SQL_QUERY), new StringLiteralExpr(sql)));
+        method.addAnnotation(new SingleMemberAnnotationExpr(
+                new Name(REGISTER_BEAN_MAPPER),
+                new ClassExpr(new ClassOrInterfaceType(null, entityClassName))));
+
+        if (page == KeysetSql.Page.AFTER || page == KeysetSql.Page.BEFORE) {
+            for (int i = 0; i < keys.size(); i++) {
+                String key = keys.get(i);
+                String javaType = metadata.columns.stream().filter(c -> c.columnName.equals(key))
+                        .map(c -> c.javaType).findFirst().orElse("Object");
+                method.addParameter(new Parameter()
+                        .setType(javaType)
+                        .setName(params.get(i))
+                        .addAnnotation(new SingleMemberAnnotationExpr(
+                                new Name("Bind"), new StringLiteralExpr(params.get(i)))));
+            }
+        }
+        method.addParameter(new Parameter()
+                .setType("int")
+                .setName("limit")
+                .addAnnotation(new SingleMemberAnnotationExpr(
+                        new Name("Bind"), new StringLiteralExpr("limit"))));
+
+        method.setBody(null);
+    }
+
+    // One upsert/bulkUpsert pair for the primary key and for each unique index whose columns this DAO binds.
+    // A generated primary key has no value to conflict on before the insert, so such tables upsert by unique index only.
+    private static void generateUpserts(ClassOrInterfaceDeclaration dao, TableMetadata metadata,
+                                        DatabaseMetaData dbMetaData, String schema, DaoConfig daoConfig,
+                                        String vendor, String entityClassName) throws SQLException {
+        List<String> primaryKey = metadata.columns.stream().filter(c -> c.isPrimaryKey).map(c -> c.columnName).toList();
+        List<List<String>> keys = new ArrayList<>();
+        if (!primaryKey.isEmpty() && !metadata.hasAutoPk) {
+            keys.add(primaryKey);
+        }
+        keys.addAll(UpsertSql.uniqueIndexes(dbMetaData, schema, metadata.tableName, primaryKey));
+        List<ColumnInfo> columns = metadata.columns.stream()
+                .filter(c -> c.isPrimaryKey ? !metadata.hasAutoPk : !c.isGenerated)
+                .toList();
+        for (List<String> key : keys) {
+            boolean byPrimaryKey = key.equals(primaryKey);
+            List<String> columnNames = columns.stream().map(c -> c.columnName).toList();
+            if (!columnNames.containsAll(key)) {
+                continue;
+            }
+            String sql = UpsertSql.upsert(vendor, metadata.tableName, columnNames, key,
+                    i -> ":" + toCamelCase(columnNames.get(i), NamingStrategyConfig.getUppercaseAcronyms(), false));
+            String suffix = byPrimaryKey ? "" : "By" + key.stream()
+                    .map(c -> toCamelCase(c, NamingStrategyConfig.getUppercaseAcronyms(), true))
+                    .collect(Collectors.joining("And"));
+            // Only PostgreSQL returns a key for every row, inserted or updated
+            boolean readKeys = daoConfig.isUpsertReturnKeys() && metadata.hasAutoPk && !byPrimaryKey
+                    && "POSTGRESQL".equals(vendor) && columnNames.stream().anyMatch(c -> !key.contains(c));
+            String keyDescription = byPrimaryKey ? "primary key" : String.join(", ", key);
+            String entityName = toCamelCase(entityClassName, NamingStrategyConfig.getUppercaseAcronyms(), false);
+
+            MethodDeclaration upsert = dao.addMethod("upsert" + suffix, Modifier.Keyword.PUBLIC);
+            upsert.setType(readKeys ? metadata.primaryKeyType : "int");
+            upsert.setJavadocComment("Inserts a " + entityClassName + ", or updates the row with the same "
+                    + keyDescription + (readKeys ? ", and returns its ID." : ", and returns the affected-row count."));
+            upsert.addAnnotation(new SingleMemberAnnotationExpr(new Name(SQL_UPDATE), new StringLiteralExpr(sql)));
+            if (readKeys) {
+                upsert.addMarkerAnnotation(GET_GENERATED_KEYS);
+            }
+            upsert.addParameter(new Parameter().setType(entityClassName).setName(entityName)
+                    .addMarkerAnnotation(BIND_BEAN));
+            upsert.setBody(null);
+
+            MethodDeclaration bulkUpsert = dao.addMethod("bulkUpsert" + suffix, Modifier.Keyword.PUBLIC);
+            bulkUpsert.setType(readKeys ? metadata.primaryKeyType + "[]" : INT_ARRAY);
+            bulkUpsert.setJavadocComment("Batched upsert" + suffix + (readKeys ? ", returns the IDs." : ", returns the affected-row counts."));
+            bulkUpsert.addAnnotation(new SingleMemberAnnotationExpr(new Name(SQL_BATCH), new StringLiteralExpr(sql)));
+            if (readKeys) {
+                bulkUpsert.addMarkerAnnotation(GET_GENERATED_KEYS);
+            }
+            bulkUpsert.addParameter(new Parameter().setType(String.format(LIST_OF_S, entityClassName))
+                    .setName(entityName + "s").addMarkerAnnotation(BIND_BEAN));
+            bulkUpsert.setBody(null);
+        }
+    }
+
     private static void generateCountAll(ClassOrInterfaceDeclaration dao, String tableName) {
         String sql = String.format("SELECT COUNT(*) FROM %s", tableName);
 
@@ -1033,14 +1240,10 @@ public class JdbiDaoGenerator {
         Log.info("Relationships: " + metadata.relationships.values());
     }
 
-    private static void writeToFile(CompilationUnit cu, TargetConfig target, String daoClassName)
+    private static Path writeToFile(CompilationUnit cu, OutputSink sink, String daoClassName)
             throws IOException {
         String packageName = "com.bsit.codegeneration.jdbidao";
-        Path outputPath = Paths.get(target.getOutputDirectory(),
-                packageName.replace(".", "/"),
-                daoClassName + ".java");
-        Files.createDirectories(outputPath.getParent());
-        Files.writeString(outputPath, cu.toString());
+        return sink.write(packageName, daoClassName, cu.toString());
     }
 
     // Utility Methods
@@ -1055,7 +1258,7 @@ public class JdbiDaoGenerator {
         return name;
     }
 
-    private static String mapDbTypeToJava(String dbType, String columnName, Set<String> fkColumns) {
+    static String mapDbTypeToJava(String dbType, String columnName, Set<String> fkColumns) {
         // Force int for foreign keys and ID columns
         if (columnName != null && (columnName.toLowerCase().endsWith("_id") ||
                 (fkColumns != null && fkColumns.contains(columnName)))) {
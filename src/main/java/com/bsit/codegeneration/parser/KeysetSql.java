@@ -0,0 +1,115 @@
+package com.bsit.codegeneration.parser;
+
+import com.bsit.codegeneration.model.DaoConfig;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * SQL for keyset (seek) pages shared by the JDBC and Jdbi DAO generators. A page seeks past the
+ * last key of the previous page instead of skipping rows with OFFSET, so its cost does not grow
+ * with page depth. Pages before a key are read in descending order and flipped back in SQL.
+ */
+final class KeysetSql {
+
+    enum Page { FIRST, AFTER, LAST, BEFORE }
+
+    private KeysetSql() { }
+
+    /**
+     * Configured sort key of the table, or the primary key; every primary key column is appended so the order is total.
+     * A nullable configured column is rejected: NULL never compares greater or less, so seeks would skip those rows.
+     */
+    static List<String> keyColumns(DaoConfig daoConfig, String tableName, List<String> primaryKey, List<String> tableColumns,
+                                   Collection<String> nullableColumns) {
+        List<String> keys = new ArrayList<>();
+        List<String> configured = daoConfig.getKeysetColumns() == null ? null : daoConfig.getKeysetColumns().get(tableName);
+        if (configured != null) {
+            for (String column : configured) {
+                String match = tableColumns.stream().filter(column::equalsIgnoreCase).findFirst()
+                        .orElseThrow(() -> new IllegalStateException(
+                                "Keyset column " + column + " not found in table " + tableName));
+                if (nullableColumns.contains(match) && !primaryKey.contains(match)) {
+                    throw new IllegalStateException("Keyset column " + match + " of table " + tableName
+                            + " is nullable, page seeks would skip rows with a NULL key");
+                }
+                if (!keys.contains(match)) {
+                    keys.add(match);
+                }
+            }
+        }
+        for (String pkColumn : primaryKey) {
+            if (!keys.contains(pkColumn)) {
+                keys.add(pkColumn);
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * SELECT for one page. {@code placeholder} renders the bind marker of key i; {@code bindOrder}
+     * receives the key index behind each marker in statement order, keys repeat where Oracle needs
+     * the expanded comparison.
+     */
+    static String select(String vendor, String columns, String from, List<String> keys, Page page,
+                         IntFunction<String> placeholder, String limitPlaceholder, List<Integer> bindOrder) {
+        boolean forward = page == Page.FIRST || page == Page.AFTER;
+        StringBuilder sql = new StringBuilder("SELECT ").append(columns).append(" FROM ").append(from);
+        if (page == Page.AFTER || page == Page.BEFORE) {
+            sql.append(" WHERE ").append(seek(vendor, keys, forward ? ">" : "<", placeholder, bindOrder));
+        }
+        sql.append(" ORDER BY ").append(orderBy(keys, forward ? "" : " DESC"));
+        sql.append(' ').append(limit(vendor, limitPlaceholder));
+        if (forward) {
+            return sql.toString();
+        }
+        return "SELECT " + columns + " FROM (" + sql + ") page_rows ORDER BY " + orderBy(keys, "");
+    }
+
+    // (k1, k2) > (?, ?) where row values compare, else k1 > ? OR (k1 = ? AND k2 > ?) on Oracle and SQL Server
+    private static String seek(String vendor, List<String> keys, String op, IntFunction<String> placeholder,
+                               List<Integer> bindOrder) {
+        if (keys.size() == 1) {
+            bindOrder.add(0);
+            return keys.get(0) + " " + op + " " + placeholder.apply(0);
+        }
+        if (!"ORACLE".equals(vendor) && !"MSSQL".equals(vendor)) {
+            List<String> markers = new ArrayList<>();
+            for (int i = 0; i < keys.size(); i++) {
+                bindOrder.add(i);
+                markers.add(placeholder.apply(i));
+            }
+            return "(" + String.join(", ", keys) + ") " + op + " (" + String.join(", ", markers) + ")";
+        }
+        List<String> terms = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            List<String> parts = new ArrayList<>();
+            for (int j = 0; j < i; j++) {
+                bindOrder.add(j);
+                parts.add(keys.get(j) + " = " + placeholder.apply(j));
+            }
+            bindOrder.add(i);
+            parts.add(keys.get(i) + " " + op + " " + placeholder.apply(i));
+            terms.add(parts.size() == 1 ? parts.get(0) : "(" + String.join(" AND ", parts) + ")");
+        }
+        return "(" + String.join(" OR ", terms) + ")";
+    }
+
+    static String limit(String vendor, String placeholder) {
+        if ("MYSQL".equals(vendor) || "MARIADB".equals(vendor)) {
+            return "LIMIT " + placeholder;
+        }
+        // SQL Server takes FETCH only after OFFSET, which also lets the BEFORE page order its derived table
+        if ("MSSQL".equals(vendor)) {
+            return "OFFSET 0 ROWS FETCH NEXT " + placeholder + " ROWS ONLY";
+        }
+        return "FETCH FIRST " + placeholder + " ROWS ONLY";
+    }
+
+    private static String orderBy(List<String> keys, String direction) {
+        return keys.stream().map(k -> k + direction).collect(Collectors.joining(", "));
+    }
+}
@@ -82,7 +82,7 @@ public class MapperGenerator {
         return body;
     }
 
-    private static String mapSqlTypeToGetter(int sqlType) {
+    static String mapSqlTypeToGetter(int sqlType) {
         return switch (sqlType) {
             case java.sql.Types.VARCHAR, java.sql.Types.CHAR, java.sql.Types.LONGVARCHAR ->
                     "rs.getString(\":column\")";
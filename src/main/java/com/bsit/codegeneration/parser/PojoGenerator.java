@@ -1,6 +1,7 @@
 package com.bsit.codegeneration.parser;
 
 import com.bsit.codegeneration.IPojoGenerator;
+import com.bsit.codegeneration.metadata.DbReader;
 import com.bsit.codegeneration.model.*;
 import com.bsit.codegeneration.util.Relationship;
 import com.bsit.codegeneration.util.StringUtils;
@@ -29,16 +30,34 @@ public class PojoGenerator implements IPojoGenerator {
 
     @Override
     public void generate(Connection conn, String schema, String packageName, String outputDir) throws Exception {
+        generate(conn, schema, packageName, outputDir, null);
+    }
+
+    @Override
+    public Map<String, Path> generate(Connection conn, String schema, String packageName, String outputDir,
+                                      Collection<String> selectedTables) throws Exception {
+        List<String> tables = new ArrayList<>();
+        for (String tableName : DbReader.readTableNames(conn.getMetaData(), schema)) {
+            if (selectedTables == null || selectedTables.contains(tableName)) {
+                tables.add(tableName);
+            }
+        }
+        return generate(conn, schema, packageName, outputDir, tables, Collections.emptyMap());
+    }
+
+    @Override
+    public void generate(Connection conn, String schema, String packageName, String outputDir,
+                         Collection<String> tables, Map<String, List<Relationship>> relationshipMap,
+                         TableListener listener) throws Exception {
         DatabaseMetaData meta = conn.getMetaData();
-        try (ResultSet tables = meta.getTables(null, schema, "%", new String[]{"TABLE"})) {
-            while (tables.next()) {
-                String tableName = tables.getString("TABLE_NAME");
-                try (ResultSet columns = meta.getColumns(null, schema, tableName, "%")) {
-                    List<Relationship> relationships = fetchRelationships(meta, schema, tableName);
-                    List<Relationship> reverseRelationships = fetchReverseRelationships(meta, schema, tableName);
+        for (String tableName : tables) {
+            try (ResultSet columns = meta.getColumns(null, schema, tableName, "%")) {
+                List<Relationship> relationships = fetchRelationships(meta, schema, tableName);
+                List<Relationship> reverseRelationships = fetchReverseRelationships(meta, schema, tableName);
 
-                    generatePojo(tableName, columns, new DatabaseConfig(), new TargetConfig(outputDir, packageName), new PojoConfig(), relationships, reverseRelationships);
-                }
+                listener.completed(tableName, generatePojo(tableName, columns, new DatabaseConfig(), new TargetConfig(outputDir, packageName), new PojoConfig(), relationships, reverseRelationships));
+            } catch (Exception e) {
+                listener.failed(tableName, e);
             }
         }
     }
@@ -52,7 +71,7 @@ public class PojoGenerator implements IPojoGenerator {
         return Collections.emptyList();
     }
 
-    public static void generatePojo(
+    public static Path generatePojo(
             String tableName,
             ResultSet columns,
             DatabaseConfig dbConfig,
@@ -75,7 +94,9 @@ public class PojoGenerator implements IPojoGenerator {
         Set<String> imports = new HashSet<>();
         fieldTypes.forEach((name, type) -> {
             pojoClass.addField(type, name, Modifier.Keyword.PRIVATE);
-            if (type.contains(".")) imports.add(type);
+            // Only the raw type is importable, e.g. java.util.Map for java.util.Map<String, Object>
+            String rawType = type.replaceAll("<.*", "");
+            if (rawType.contains(".")) imports.add(rawType);
             if (type.startsWith("List<")) imports.add("java.util.List");
         });
         generateConstructors(pojoClass, fieldTypes);
@@ -84,7 +105,7 @@ public class PojoGenerator implements IPojoGenerator {
             generateBuilder(pojoClass, className, fieldTypes);
         }
         imports.forEach(cu::addImport);
-        writeToFile(target, packageName, className, cu);
+        return writeToFile(target, packageName, className, cu);
     }
 
     /**
@@ -211,17 +232,18 @@ public class PojoGenerator implements IPojoGenerator {
     /**
      * Write POJO to file
      */
-    private static void writeToFile(TargetConfig target, String packageName, String className, CompilationUnit cu) throws IOException {
+    private static Path writeToFile(TargetConfig target, String packageName, String className, CompilationUnit cu) throws IOException {
         Path outputPath = Paths.get(target.getOutputDirectory(), packageName.replace(".", "/"), className + ".java");
         Files.createDirectories(outputPath.getParent());
         Files.writeString(outputPath, cu.toString());
         System.out.println("Generated POJO: " + outputPath);
+        return outputPath;
     }
 
     /**
      * Map database type to Java type (improved mapping based on DAO)
      */
-    private static String mapDbTypeToJava(String dbType, String columnName, int decimalDigits, int columnSize, String vendor) {
+    static String mapDbTypeToJava(String dbType, String columnName, int decimalDigits, int columnSize, String vendor) {
         if (columnName == null) return STRING_TYPE;
         String colNameLower = columnName.toLowerCase();
 
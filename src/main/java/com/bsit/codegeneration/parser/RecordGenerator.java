@@ -1,12 +1,16 @@
 package com.bsit.codegeneration.parser;
 
 import com.bsit.codegeneration.model.*;
+import com.bsit.codegeneration.spi.FileOutputSink;
+import com.bsit.codegeneration.spi.OutputSink;
 import com.bsit.codegeneration.util.Relationship;
 import com.bsit.codegeneration.util.StringUtils;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.Modifier;
 import com.github.javaparser.ast.body.*;
 import com.github.javaparser.ast.stmt.BlockStmt;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.nio.file.*;
 import java.sql.ResultSet;
@@ -20,11 +24,22 @@ import java.util.HashSet;
 
 public class RecordGenerator {
 
+    private static final Logger log = LoggerFactory.getLogger(RecordGenerator.class);
+
     private RecordGenerator(){}
-    public static void generateRecord(String tableName, ResultSet columns, DatabaseConfig dbConfig,
+    public static Path generateRecord(String tableName, ResultSet columns, DatabaseConfig dbConfig,
                                       TargetConfig target, RecordConfig recordConfig,
                                       List<Relationship> relationships, List<Relationship> reverseRelationships)
             throws SQLException, IOException {
+        return generateRecord(tableName, columns, dbConfig, target, recordConfig, relationships, reverseRelationships,
+                new FileOutputSink(target.getOutputDirectory()));
+    }
+
+    public static Path generateRecord(String tableName, ResultSet columns, DatabaseConfig dbConfig,
+                                      TargetConfig target, RecordConfig recordConfig,
+                                      List<Relationship> relationships, List<Relationship> reverseRelationships,
+                                      OutputSink sink)
+            throws SQLException, IOException {
 
         NamingStrategyConfig naming = dbConfig.getNamingStrategy();
         String rawClassName = StringUtils.stripPrefix(tableName, naming.getStripPrefixes());
@@ -127,11 +142,10 @@ public class RecordGenerator {
             record.addMember(builder);
         }
 
-        Path outputPath = Paths.get(target.getOutputDirectory(), packageName.replace('.', '/'), className + ".java");
-        Files.createDirectories(outputPath.getParent());
-        Files.writeString(outputPath, cu.toString());
+        Path outputPath = sink.write(packageName, className, cu.toString());
 
-        System.out.println(" Generated Record with Builder: " + outputPath);
+        log.info("Generated Record with Builder: {}", outputPath);
+        return outputPath;
     }
 
     // Use a shared string utility class for the following methods
@@ -142,16 +156,16 @@ public class RecordGenerator {
         return upperColumnName.endsWith("_ID") || upperColumnName.equals("ID") || upperColumnName.endsWith("ID");
     }
 
-    private static String mapDbTypeToJava(String dbType, String columnName, boolean useJavaTime) {
+    static String mapDbTypeToJava(String dbType, String columnName, boolean useJavaTime) {
         dbType = dbType.toUpperCase();
         String upperColumnName = columnName.toUpperCase();
 
-        System.out.println("Processing column: " + columnName + " (upper: " + upperColumnName + ") with type: " + dbType);
+        log.debug("Processing column: {} (upper: {}) with type: {}", columnName, upperColumnName, dbType);
 
         return switch (dbType) {
             case "VARCHAR", "VARCHAR2", "CHAR", "TEXT", "CLOB" -> {
                 if (isIdField(upperColumnName)) {
-                    System.out.println("Mapping " + columnName + " to Integer (ID field detected in VARCHAR)");
+                    log.debug("Mapping {} to Integer (ID field detected in VARCHAR)", columnName);
                     yield "Integer";
                 } else {
                     yield "String";
@@ -159,17 +173,17 @@ public class RecordGenerator {
             }
             case "NUMBER", "DECIMAL", "NUMERIC", "FLOAT", "DOUBLE", "REAL", "INT", "INTEGER", "TINYINT", "SMALLINT", "MEDIUMINT", "BIGINT" -> {
                 if (isIdField(upperColumnName)) {
-                    System.out.println("Mapping " + columnName + " to Integer (ID field detected)");
+                    log.debug("Mapping {} to Integer (ID field detected)", columnName);
                     yield "Integer";
                 } else {
-                    System.out.println("Mapping " + columnName + " to Long (non-ID field)");
+                    log.debug("Mapping {} to Long (non-ID field)", columnName);
                     yield "Long";
                 }
             }
             case "DATE", "TIMESTAMP" -> useJavaTime ? "java.time.LocalDateTime" : "java.util.Date";
             default -> {
                 if (isIdField(upperColumnName)) {
-                    System.out.println("Mapping " + columnName + " to Integer (ID field detected in default)");
+                    log.debug("Mapping {} to Integer (ID field detected in default)", columnName);
                     yield "Integer";
                 } else {
                     yield "String";
@@ -442,7 +442,7 @@ public class RecordTestGenerator {
         return upperColumnName.endsWith("_ID") || upperColumnName.equals("ID") || upperColumnName.endsWith("ID");
     }
 
-    private static String mapDbTypeToJava(String dbType, String columnName, boolean useJavaTime) {
+    static String mapDbTypeToJava(String dbType, String columnName, boolean useJavaTime) {
         dbType = dbType.toUpperCase();
         String upperColumnName = columnName.toUpperCase();
 
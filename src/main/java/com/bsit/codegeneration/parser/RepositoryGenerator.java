@@ -2,6 +2,8 @@ package com.bsit.codegeneration.parser;
 
 import com.bsit.codegeneration.model.DatabaseConfig;
 import com.bsit.codegeneration.model.TargetConfig;
+import com.bsit.codegeneration.spi.FileOutputSink;
+import com.bsit.codegeneration.spi.OutputSink;
 import com.bsit.codegeneration.util.StringUtils;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.Modifier;
@@ -25,7 +27,12 @@ public class RepositoryGenerator {
 
     private RepositoryGenerator(){}
 
-    public static void generateRepository(String tableName, ResultSet columns, DatabaseConfig dbConfig, TargetConfig target) throws SQLException, IOException {
+    public static Path generateRepository(String tableName, ResultSet columns, DatabaseConfig dbConfig, TargetConfig target) throws SQLException, IOException {
+        return generateRepository(tableName, columns, dbConfig, target, new FileOutputSink(target.getOutputDirectory()));
+    }
+
+    public static Path generateRepository(String tableName, ResultSet columns, DatabaseConfig dbConfig, TargetConfig target,
+                                          OutputSink sink) throws SQLException, IOException {
         String rawClassName = StringUtils.stripPrefix(tableName, dbConfig.getNamingStrategy().getStripPrefixes());
         String className = StringUtils.toCamelCase(rawClassName, dbConfig.getNamingStrategy().getUppercaseAcronyms(), true);
         String daoClass = className + "Dao";
@@ -89,15 +96,14 @@ public class RepositoryGenerator {
         delete.setBody(new BlockStmt().addStatement(
                 "jdbi.useExtension(" + daoClass + ".class, dao -> dao.delete(id));"));
 
-        Path outputPath = Paths.get(target.getOutputDirectory(), packageName.replace(".", "/"), repoClass + ".java");
-        Files.createDirectories(outputPath.getParent());
-        Files.writeString(outputPath, cu.toString());
+        Path outputPath = sink.write(packageName, repoClass, cu.toString());
 
         log.info("Generated Repository: {}", outputPath);
+        return outputPath;
     }
 
     // Use your shared StringUtils for string utilities, no method duplication.
-    private static String mapDbTypeToJava(String dbType) {
+    static String mapDbTypeToJava(String dbType) {
         return switch (dbType.toUpperCase()) {
             case "VARCHAR", "VARCHAR2", "CHAR", "TEXT", "CLOB" -> "String";
             case "NUMBER", "DECIMAL", "NUMERIC", "FLOAT", "INT", "INTEGER" -> "Long";
@@ -0,0 +1,122 @@
+package com.bsit.codegeneration.parser;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Insert-or-update SQL shared by the JDBC and Jdbi DAO generators, keyed on the primary key or a
+ * unique index: ON CONFLICT on PostgreSQL, MERGE on Oracle, SQL Server and H2, ON DUPLICATE KEY
+ * UPDATE on MySQL and MariaDB. Other vendors get no upsert.
+ */
+final class UpsertSql {
+
+    private UpsertSql() { }
+
+    static boolean supports(String vendor) {
+        return switch (vendor == null ? "" : vendor) {
+            case "POSTGRESQL", "ORACLE", "MSSQL", "H2", "MYSQL", "MARIADB" -> true;
+            default -> false;
+        };
+    }
+
+    /** Primary key columns in key order, empty when the table has none. */
+    static List<String> primaryKey(DatabaseMetaData metaData, String schema, String tableName) throws SQLException {
+        Map<Short, String> columns = new TreeMap<>();
+        try (ResultSet pks = metaData.getPrimaryKeys(null, schema, tableName)) {
+            while (pks.next()) {
+                columns.put(pks.getShort("KEY_SEQ"), pks.getString("COLUMN_NAME"));
+            }
+        }
+        return new ArrayList<>(columns.values());
+    }
+
+    /**
+     * Unique indexes other than the primary key, each as its columns in index order. Expression and
+     * partial indexes are left out, a conflict target cannot name them by columns alone.
+     */
+    static List<List<String>> uniqueIndexes(DatabaseMetaData metaData, String schema, String tableName,
+                                            Collection<String> primaryKey) throws SQLException {
+        Map<String, Map<Short, String>> indexes = new LinkedHashMap<>();
+        Set<String> unusable = new HashSet<>();
+        try (ResultSet rs = metaData.getIndexInfo(null, schema, tableName, true, true)) {
+            while (rs.next()) {
+                String indexName = rs.getString("INDEX_NAME");
+                if (indexName == null || rs.getShort("TYPE") == DatabaseMetaData.tableIndexStatistic) {
+                    continue;
+                }
+                String column = rs.getString("COLUMN_NAME");
+                if (column == null || rs.getString("FILTER_CONDITION") != null) {
+                    unusable.add(indexName);
+                    continue;
+                }
+                indexes.computeIfAbsent(indexName, k -> new TreeMap<>()).put(rs.getShort("ORDINAL_POSITION"), column);
+            }
+        }
+        Set<Set<String>> seen = new HashSet<>();
+        seen.add(new HashSet<>(primaryKey));
+        List<List<String>> keys = new ArrayList<>();
+        indexes.forEach((indexName, columns) -> {
+            if (!unusable.contains(indexName) && seen.add(new HashSet<>(columns.values()))) {
+                keys.add(new ArrayList<>(columns.values()));
+            }
+        });
+        return keys;
+    }
+
+    /**
+     * Upsert of one row. {@code placeholder} renders the bind marker of column i; every vendor binds
+     * the columns exactly once and in {@code columns} order. Key columns must be among the columns.
+     */
+    static String upsert(String vendor, String tableName, List<String> columns, List<String> keys,
+                         IntFunction<String> placeholder) {
+        List<String> updated = columns.stream().filter(c -> !keys.contains(c)).toList();
+        List<String> markers = new ArrayList<>();
+        for (int i = 0; i < columns.size(); i++) {
+            markers.add(placeholder.apply(i));
+        }
+        String insert = "INSERT INTO " + tableName + " (" + String.join(", ", columns) + ") VALUES ("
+                + String.join(", ", markers) + ")";
+        return switch (vendor) {
+            case "POSTGRESQL" -> insert + " ON CONFLICT (" + String.join(", ", keys) + ") "
+                    + (updated.isEmpty() ? "DO NOTHING"
+                    : "DO UPDATE SET " + updated.stream().map(c -> c + " = EXCLUDED." + c).collect(Collectors.joining(", ")));
+            case "MYSQL", "MARIADB" -> insert + " ON DUPLICATE KEY UPDATE "
+                    + (updated.isEmpty() ? keys.get(0) + " = " + keys.get(0)
+                    : updated.stream().map(c -> c + " = VALUES(" + c + ")").collect(Collectors.joining(", ")));
+            case "H2" -> "MERGE INTO " + tableName + " (" + String.join(", ", columns) + ") KEY (" + String.join(", ", keys)
+                    + ") VALUES (" + String.join(", ", markers) + ")";
+            default -> merge(vendor, tableName, columns, keys, updated, markers);
+        };
+    }
+
+    // MERGE from a one-row source; Oracle selects it from DUAL and SQL Server needs the closing semicolon
+    private static String merge(String vendor, String tableName, List<String> columns, List<String> keys,
+                                List<String> updated, List<String> markers) {
+        boolean oracle = "ORACLE".equals(vendor);
+        List<String> source = new ArrayList<>();
+        for (int i = 0; i < columns.size(); i++) {
+            source.add(markers.get(i) + " AS " + columns.get(i));
+        }
+        StringBuilder sql = new StringBuilder("MERGE INTO ").append(tableName).append(oracle ? " d" : " AS d")
+                .append(" USING (SELECT ").append(String.join(", ", source)).append(oracle ? " FROM DUAL) s" : ") AS s")
+                .append(" ON (").append(keys.stream().map(k -> "d." + k + " = s." + k).collect(Collectors.joining(" AND "))).append(')');
+        if (!updated.isEmpty()) {
+            sql.append(" WHEN MATCHED THEN UPDATE SET ")
+                    .append(updated.stream().map(c -> "d." + c + " = s." + c).collect(Collectors.joining(", ")));
+        }
+        sql.append(" WHEN NOT MATCHED THEN INSERT (").append(String.join(", ", columns)).append(") VALUES (")
+                .append(columns.stream().map(c -> "s." + c).collect(Collectors.joining(", "))).append(')');
+        return oracle ? sql.toString() : sql.append(';').toString();
+    }
+}
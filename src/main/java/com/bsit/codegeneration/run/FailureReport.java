@@ -0,0 +1,126 @@
+package com.bsit.codegeneration.run;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Artifacts that failed during a run. Written next to the journal so a rerun can be checked
+ * against the exact set of units that did not complete.
+ */
+public class FailureReport {
+
+    private String schema;
+    private int completed;
+    private int skipped;
+    private List<Failure> failures = Collections.synchronizedList(new ArrayList<>());
+
+    public FailureReport() {
+    }
+
+    public FailureReport(String schema) {
+        this.schema = schema;
+    }
+
+    public void add(String table, String kind, Throwable error) {
+        StringWriter trace = new StringWriter();
+        error.printStackTrace(new PrintWriter(trace));
+        failures.add(new Failure(table, kind, String.valueOf(error), trace.toString()));
+    }
+
+    public boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+
+    public Path write(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        GenerationManifest.JSON.writeValue(file.toFile(), this);
+        return file;
+    }
+
+    public String getSchema() {
+        return schema;
+    }
+
+    public void setSchema(String schema) {
+        this.schema = schema;
+    }
+
+    public int getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(int completed) {
+        this.completed = completed;
+    }
+
+    public int getSkipped() {
+        return skipped;
+    }
+
+    public void setSkipped(int skipped) {
+        this.skipped = skipped;
+    }
+
+    public List<Failure> getFailures() {
+        return failures;
+    }
+
+    public void setFailures(List<Failure> failures) {
+        this.failures = Collections.synchronizedList(new ArrayList<>(failures));
+    }
+
+    public static class Failure {
+        private String table;
+        private String kind;
+        private String message;
+        private String stackTrace;
+
+        public Failure() {
+        }
+
+        public Failure(String table, String kind, String message, String stackTrace) {
+            this.table = table;
+            this.kind = kind;
+            this.message = message;
+            this.stackTrace = stackTrace;
+        }
+
+        public String getTable() {
+            return table;
+        }
+
+        public void setTable(String table) {
+            this.table = table;
+        }
+
+        public String getKind() {
+            return kind;
+        }
+
+        public void setKind(String kind) {
+            this.kind = kind;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+
+        public String getStackTrace() {
+            return stackTrace;
+        }
+
+        public void setStackTrace(String stackTrace) {
+            this.stackTrace = stackTrace;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.bsit.codegeneration.run;
+
+import com.bsit.codegeneration.model.ShardConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-run (and per-shard) record of the tables a generator process owned and the files it wrote.
+ * Serialized as JSON so shard outputs can be merged after a fanned-out CI run.
+ */
+public class GenerationManifest {
+
+    public static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private int shardIndex;
+    private int shardCount = 1;
+    private String strategy;
+    private String schema;
+    private long elapsedMillis;
+    private List<String> tables = new ArrayList<>();
+    private List<Artifact> artifacts = Collections.synchronizedList(new ArrayList<>());
+    private List<String> tenantSchemas = new ArrayList<>();
+    private Map<String, List<String>> tenantDrift = new LinkedHashMap<>();
+
+    public GenerationManifest() {
+    }
+
+    public GenerationManifest(String schema, ShardConfig shardConfig, List<String> tables) {
+        this.schema = schema;
+        this.shardIndex = shardConfig.getShardIndex();
+        this.shardCount = shardConfig.getShardCount();
+        this.strategy = shardConfig.getStrategy();
+        this.tables = new ArrayList<>(tables);
+    }
+
+    public void addArtifact(String table, String kind, Path path) {
+        if (path != null) {
+            artifacts.add(new Artifact(table, kind, path.toString()));
+        }
+    }
+
+    public static String fileName(int shardIndex, int shardCount) {
+        return "manifest-shard-" + shardIndex + "-of-" + shardCount + ".json";
+    }
+
+    public Path write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(fileName(shardIndex, shardCount));
+        JSON.writeValue(file.toFile(), this);
+        return file;
+    }
+
+    public static GenerationManifest read(Path file) throws IOException {
+        return JSON.readValue(file.toFile(), GenerationManifest.class);
+    }
+
+    public int getShardIndex() {
+        return shardIndex;
+    }
+
+    public void setShardIndex(int shardIndex) {
+        this.shardIndex = shardIndex;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public void setShardCount(int shardCount) {
+        this.shardCount = shardCount;
+    }
+
+    public String getStrategy() {
+        return strategy;
+    }
+
+    public void setStrategy(String strategy) {
+        this.strategy = strategy;
+    }
+
+    public String getSchema() {
+        return schema;
+    }
+
+    public void setSchema(String schema) {
+        this.schema = schema;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public List<String> getTables() {
+        return tables;
+    }
+
+    public void setTables(List<String> tables) {
+        this.tables = tables;
+    }
+
+    public List<Artifact> getArtifacts() {
+        return artifacts;
+    }
+
+    public void setArtifacts(List<Artifact> artifacts) {
+        this.artifacts = Collections.synchronizedList(new ArrayList<>(artifacts));
+    }
+
+    public List<String> getTenantSchemas() {
+        return tenantSchemas;
+    }
+
+    public void setTenantSchemas(List<String> tenantSchemas) {
+        this.tenantSchemas = tenantSchemas;
+    }
+
+    public Map<String, List<String>> getTenantDrift() {
+        return tenantDrift;
+    }
+
+    public void setTenantDrift(Map<String, List<String>> tenantDrift) {
+        this.tenantDrift = tenantDrift;
+    }
+
+    public static class Artifact {
+        private String table;
+        private String kind;
+        private String path;
+
+        public Artifact() {
+        }
+
+        public Artifact(String table, String kind, String path) {
+            this.table = table;
+            this.kind = kind;
+            this.path = path;
+        }
+
+        public String getTable() {
+            return table;
+        }
+
+        public void setTable(String table) {
+            this.table = table;
+        }
+
+        public String getKind() {
+            return kind;
+        }
+
+        public void setKind(String kind) {
+            this.kind = kind;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.bsit.codegeneration.run;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Result of {@code plan} mode: what a run over one schema would generate and what it would cost,
+ * estimated from cheap schema-wide catalog summaries without generating anything.
+ */
+public class GenerationPlan {
+
+    private String schema;
+    private String metadataStrategy;
+    private String calibrationSource;
+    private List<String> tables = new ArrayList<>();
+    private int columns;
+    private List<String> artifactsPerTable = new ArrayList<>();
+    private long files;
+    private long estimatedLines;
+    private long estimatedBytes;
+    private int planningRoundTrips;
+    private List<Shard> shards = new ArrayList<>();
+    private Map<Integer, Long> estimatedMillisByShardCount = new LinkedHashMap<>();
+
+    public Path write(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        GenerationManifest.JSON.writeValue(file.toFile(), this);
+        return file;
+    }
+
+    /** Human-readable summary printed by {@code App plan}. */
+    public String format() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "Plan for schema %s (%s metadata, calibration: %s)%n",
+                schema, metadataStrategy, calibrationSource));
+        out.append(String.format(Locale.ROOT, "  tables selected : %d (%d columns)%n", tables.size(), columns));
+        out.append(String.format(Locale.ROOT, "  artifacts/table : %s%n", String.join(", ", artifactsPerTable)));
+        out.append(String.format(Locale.ROOT, "  generated       : %d files, ~%d lines, ~%s%n",
+                files, estimatedLines, humanBytes(estimatedBytes)));
+        for (Shard shard : shards) {
+            out.append(String.format(Locale.ROOT, "  shard %d/%d      : %d tables, %d columns, %d catalog round trips, ~%s%n",
+                    shard.getShardIndex(), shards.size(), shard.getTables(), shard.getColumns(),
+                    shard.getCatalogRoundTrips(), humanMillis(shard.getEstimatedMillis())));
+            shard.getRoundTripBreakdown().forEach((step, calls) ->
+                    out.append(String.format(Locale.ROOT, "      %-22s %d%n", step, calls)));
+        }
+        out.append("  wall time by shard count:");
+        estimatedMillisByShardCount.forEach((count, millis) ->
+                out.append(String.format(Locale.ROOT, " %d=%s", count, humanMillis(millis))));
+        out.append(String.format(Locale.ROOT, "%n  (plan used %d catalog round trips)%n", planningRoundTrips));
+        if (tables.size() <= 20) {
+            out.append("  tables: ").append(String.join(", ", tables)).append(System.lineSeparator());
+        }
+        return out.toString();
+    }
+
+    private static String humanBytes(long bytes) {
+        if (bytes < 1024 * 1024) {
+            return String.format(Locale.ROOT, "%.1f KB", bytes / 1024.0);
+        }
+        return String.format(Locale.ROOT, "%.1f MB", bytes / (1024.0 * 1024));
+    }
+
+    private static String humanMillis(long millis) {
+        if (millis < 10_000) {
+            return millis + " ms";
+        }
+        if (millis < 600_000) {
+            return String.format(Locale.ROOT, "%.1f s", millis / 1000.0);
+        }
+        return String.format(Locale.ROOT, "%.1f min", millis / 60_000.0);
+    }
+
+    public String getSchema() {
+        return schema;
+    }
+
+    public void setSchema(String schema) {
+        this.schema = schema;
+    }
+
+    public String getMetadataStrategy() {
+        return metadataStrategy;
+    }
+
+    public void setMetadataStrategy(String metadataStrategy) {
+        this.metadataStrategy = metadataStrategy;
+    }
+
+    public String getCalibrationSource() {
+        return calibrationSource;
+    }
+
+    public void setCalibrationSource(String calibrationSource) {
+        this.calibrationSource = calibrationSource;
+    }
+
+    public List<String> getTables() {
+        return tables;
+    }
+
+    public void setTables(List<String> tables) {
+        this.tables = tables;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public void setColumns(int columns) {
+        this.columns = columns;
+    }
+
+    public List<String> getArtifactsPerTable() {
+        return artifactsPerTable;
+    }
+
+    public void setArtifactsPerTable(List<String> artifactsPerTable) {
+        this.artifactsPerTable = artifactsPerTable;
+    }
+
+    public long getFiles() {
+        return files;
+    }
+
+    public void setFiles(long files) {
+        this.files = files;
+    }
+
+    public long getEstimatedLines() {
+        return estimatedLines;
+    }
+
+    public void setEstimatedLines(long estimatedLines) {
+        this.estimatedLines = estimatedLines;
+    }
+
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    public void setEstimatedBytes(long estimatedBytes) {
+        this.estimatedBytes = estimatedBytes;
+    }
+
+    public int getPlanningRoundTrips() {
+        return planningRoundTrips;
+    }
+
+    public void setPlanningRoundTrips(int planningRoundTrips) {
+        this.planningRoundTrips = planningRoundTrips;
+    }
+
+    public List<Shard> getShards() {
+        return shards;
+    }
+
+    public void setShards(List<Shard> shards) {
+        this.shards = shards;
+    }
+
+    public Map<Integer, Long> getEstimatedMillisByShardCount() {
+        return estimatedMillisByShardCount;
+    }
+
+    public void setEstimatedMillisByShardCount(Map<Integer, Long> estimatedMillisByShardCount) {
+        this.estimatedMillisByShardCount = estimatedMillisByShardCount;
+    }
+
+    public static class Shard {
+        private int shardIndex;
+        private int tables;
+        private int columns;
+        private long catalogRoundTrips;
+        private Map<String, Long> roundTripBreakdown = new LinkedHashMap<>();
+        private long estimatedMillis;
+
+        public int getShardIndex() {
+            return shardIndex;
+        }
+
+        public void setShardIndex(int shardIndex) {
+            this.shardIndex = shardIndex;
+        }
+
+        public int getTables() {
+            return tables;
+        }
+
+        public void setTables(int tables) {
+            this.tables = tables;
+        }
+
+        public int getColumns() {
+            return columns;
+        }
+
+        public void setColumns(int columns) {
+            this.columns = columns;
+        }
+
+        public long getCatalogRoundTrips() {
+            return catalogRoundTrips;
+        }
+
+        public void setCatalogRoundTrips(long catalogRoundTrips) {
+            this.catalogRoundTrips = catalogRoundTrips;
+        }
+
+        public Map<String, Long> getRoundTripBreakdown() {
+            return roundTripBreakdown;
+        }
+
+        public void setRoundTripBreakdown(Map<String, Long> roundTripBreakdown) {
+            this.roundTripBreakdown = roundTripBreakdown;
+        }
+
+        public long getEstimatedMillis() {
+            return estimatedMillis;
+        }
+
+        public void setEstimatedMillis(long estimatedMillis) {
+            this.estimatedMillis = estimatedMillis;
+        }
+    }
+}
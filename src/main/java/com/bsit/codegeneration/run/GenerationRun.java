@@ -0,0 +1,142 @@
+package com.bsit.codegeneration.run;
+
+import com.bsit.codegeneration.model.RunConfig;
+import com.bsit.codegeneration.model.ShardConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * State of one generation run: the manifest of written files, the resume journal and the
+ * failure report. Generators report each (table, artifact) unit here instead of aborting the run.
+ */
+public class GenerationRun implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(GenerationRun.class);
+
+    private final GenerationManifest manifest;
+    private final RunJournal journal;
+    private final FailureReport report;
+    private final RunMetrics metrics;
+    private final RunConfig runConfig;
+    private final Path runDirectory;
+    private final Path manifestDirectory;
+    private final String suffix;
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger skipped = new AtomicInteger();
+
+    private GenerationRun(GenerationManifest manifest, RunJournal journal, RunMetrics metrics, RunConfig runConfig,
+                          Path runDirectory, Path manifestDirectory, String suffix) {
+        this.manifest = manifest;
+        this.journal = journal;
+        this.report = new FailureReport(manifest.getSchema());
+        this.metrics = metrics;
+        this.runConfig = runConfig;
+        this.runDirectory = runDirectory;
+        this.manifestDirectory = manifestDirectory;
+        this.suffix = suffix;
+    }
+
+    public static GenerationRun open(String schema, ShardConfig shardConfig, RunConfig runConfig,
+                                     List<String> tables, RunMetrics metrics) throws IOException {
+        GenerationManifest manifest = new GenerationManifest(schema, shardConfig, tables);
+        String suffix = "-shard-" + shardConfig.getShardIndex() + "-of-" + shardConfig.getShardCount();
+        Path runDirectory = Paths.get(runConfig.getJournalDirectory());
+        RunJournal journal = RunJournal.open(runDirectory.resolve("journal" + suffix + ".jsonl"), runConfig.isResume());
+        return new GenerationRun(manifest, journal, metrics, runConfig, runDirectory,
+                Paths.get(shardConfig.getManifestDirectory()), suffix);
+    }
+
+    public GenerationManifest getManifest() {
+        return manifest;
+    }
+
+    public RunMetrics getMetrics() {
+        return metrics;
+    }
+
+    /** True when a previous attempt already produced this unit from the same inputs. */
+    public boolean isUpToDate(String table, String kind, String fingerprint) {
+        if (!journal.isCompleted(table, kind, fingerprint)) {
+            return false;
+        }
+        manifest.addArtifact(table, kind, Path.of(journal.getEntry(table, kind).getPath()));
+        skipped.incrementAndGet();
+        return true;
+    }
+
+    public void completed(String table, String kind, String fingerprint, Path path) {
+        manifest.addArtifact(table, kind, path);
+        completed.incrementAndGet();
+        try {
+            journal.record(table, kind, fingerprint, path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write run journal " + journal.getFile(), e);
+        }
+    }
+
+    public void failed(String table, String kind, Exception error) {
+        if (runConfig.isFailFast()) {
+            throw new IllegalStateException(error);
+        }
+        logger.error("Failed to generate {} for {}: {}", kind, table, error.toString());
+        report.add(table, kind, error);
+    }
+
+    /**
+     * Writes the manifest and, when units failed, the failure report. A clean run removes the
+     * journal so the next run starts fresh; otherwise it is kept for the retry.
+     */
+    public GenerationManifest finish(long elapsedMillis) throws IOException {
+        manifest.setElapsedMillis(elapsedMillis);
+        Path manifestFile = manifest.write(manifestDirectory);
+        logger.info("Generation manifest written to {} ({} generated, {} reused from journal)",
+                manifestFile, completed.get(), skipped.get());
+        writeMetrics(elapsedMillis);
+
+        Path reportFile = runDirectory.resolve("failures" + suffix + ".json");
+        if (!report.hasFailures()) {
+            journal.delete();
+            Files.deleteIfExists(reportFile);
+            return manifest;
+        }
+        journal.close();
+        report.setCompleted(completed.get());
+        report.setSkipped(skipped.get());
+        report.write(reportFile);
+        throw new IllegalStateException(report.getFailures().size() + " artifacts failed, see " + reportFile
+                + "; rerun to resume from " + journal.getFile());
+    }
+
+    /** Closes the journal, also when the run ends without {@link #finish(long)}. */
+    @Override
+    public void close() throws IOException {
+        journal.close();
+    }
+
+    private void writeMetrics(long elapsedMillis) throws IOException {
+        if (!metrics.isEnabled()) {
+            return;
+        }
+        MetricsReport metricsReport = metrics.report(manifest.getSchema(), elapsedMillis,
+                manifest.getTables().size(), runConfig.getSlowestTables());
+        Path metricsFile = metricsReport.write(runDirectory.resolve("metrics" + suffix + ".json"));
+        metricsReport.getPhases().forEach((phase, stats) ->
+                logger.info("Phase {}: {} tables, {} ms wall, {} ms CPU, {} bytes allocated", phase,
+                        stats.getTables(), stats.getWallMillis(), stats.getCpuMillis(), stats.getAllocatedBytes()));
+        for (MetricsReport.Table table : metricsReport.getSlowestTables()) {
+            logger.info("Slow table {}: {} ms wall, {} ms CPU, {} bytes allocated", table.getTable(),
+                    table.getWallMillis(), table.getCpuMillis(), table.getAllocatedBytes());
+        }
+        logger.info("Run metrics written to {} ({} tables/s)", metricsFile,
+                String.format("%.1f", metricsReport.getTablesPerSecond()));
+    }
+}
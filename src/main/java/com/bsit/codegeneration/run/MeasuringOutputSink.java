@@ -0,0 +1,39 @@
+package com.bsit.codegeneration.run;
+
+import com.bsit.codegeneration.spi.OutputSink;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Keeps a per-thread running total of the time and allocation spent in {@link #write}, so the
+ * caller can split an artifact's cost into rendering and writing.
+ */
+public class MeasuringOutputSink implements OutputSink {
+
+    private final OutputSink delegate;
+    private final RunMetrics metrics;
+    private final ThreadLocal<RunMetrics.Sample> written = ThreadLocal.withInitial(() -> RunMetrics.Sample.ZERO);
+
+    public MeasuringOutputSink(OutputSink delegate, RunMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Path write(String packageName, String className, String source) throws IOException {
+        RunMetrics.Sample start = metrics.start();
+        try {
+            return delegate.write(packageName, className, source);
+        } finally {
+            if (metrics.isEnabled()) {
+                written.set(written.get().plus(RunMetrics.Sample.now().minus(start)));
+            }
+        }
+    }
+
+    /** Total spent writing by the current thread so far. */
+    public RunMetrics.Sample writtenByCurrentThread() {
+        return written.get();
+    }
+}
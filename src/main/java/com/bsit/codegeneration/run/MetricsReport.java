@@ -0,0 +1,179 @@
+package com.bsit.codegeneration.run;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON view of {@link RunMetrics}: totals per phase and the tables with the highest wall time.
+ */
+public class MetricsReport {
+
+    private String schema;
+    private long elapsedMillis;
+    private int tables;
+    private double tablesPerSecond;
+    private boolean cpuTimeSupported;
+    private boolean allocationSupported;
+    private Map<String, Phase> phases;
+    private List<Table> slowestTables;
+
+    public Path write(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        GenerationManifest.JSON.writeValue(file.toFile(), this);
+        return file;
+    }
+
+    public String getSchema() {
+        return schema;
+    }
+
+    public void setSchema(String schema) {
+        this.schema = schema;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public int getTables() {
+        return tables;
+    }
+
+    public void setTables(int tables) {
+        this.tables = tables;
+    }
+
+    public double getTablesPerSecond() {
+        return tablesPerSecond;
+    }
+
+    public void setTablesPerSecond(double tablesPerSecond) {
+        this.tablesPerSecond = tablesPerSecond;
+    }
+
+    public boolean isCpuTimeSupported() {
+        return cpuTimeSupported;
+    }
+
+    public void setCpuTimeSupported(boolean cpuTimeSupported) {
+        this.cpuTimeSupported = cpuTimeSupported;
+    }
+
+    public boolean isAllocationSupported() {
+        return allocationSupported;
+    }
+
+    public void setAllocationSupported(boolean allocationSupported) {
+        this.allocationSupported = allocationSupported;
+    }
+
+    public Map<String, Phase> getPhases() {
+        return phases;
+    }
+
+    public void setPhases(Map<String, Phase> phases) {
+        this.phases = phases;
+    }
+
+    public List<Table> getSlowestTables() {
+        return slowestTables;
+    }
+
+    public void setSlowestTables(List<Table> slowestTables) {
+        this.slowestTables = slowestTables;
+    }
+
+    public static class Phase {
+        private long count;
+        private long tables;
+        private long wallMillis;
+        private long cpuMillis;
+        private long allocatedBytes;
+
+        public long getCount() {
+            return count;
+        }
+
+        public void setCount(long count) {
+            this.count = count;
+        }
+
+        public long getTables() {
+            return tables;
+        }
+
+        public void setTables(long tables) {
+            this.tables = tables;
+        }
+
+        public long getWallMillis() {
+            return wallMillis;
+        }
+
+        public void setWallMillis(long wallMillis) {
+            this.wallMillis = wallMillis;
+        }
+
+        public long getCpuMillis() {
+            return cpuMillis;
+        }
+
+        public void setCpuMillis(long cpuMillis) {
+            this.cpuMillis = cpuMillis;
+        }
+
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        public void setAllocatedBytes(long allocatedBytes) {
+            this.allocatedBytes = allocatedBytes;
+        }
+    }
+
+    public static class Table {
+        private String table;
+        private long wallMillis;
+        private long cpuMillis;
+        private long allocatedBytes;
+
+        public String getTable() {
+            return table;
+        }
+
+        public void setTable(String table) {
+            this.table = table;
+        }
+
+        public long getWallMillis() {
+            return wallMillis;
+        }
+
+        public void setWallMillis(long wallMillis) {
+            this.wallMillis = wallMillis;
+        }
+
+        public long getCpuMillis() {
+            return cpuMillis;
+        }
+
+        public void setCpuMillis(long cpuMillis) {
+            this.cpuMillis = cpuMillis;
+        }
+
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        public void setAllocatedBytes(long allocatedBytes) {
+            this.allocatedBytes = allocatedBytes;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.bsit.codegeneration.run;
+
+import com.bsit.codegeneration.metadata.DbReader;
+import com.bsit.codegeneration.model.GeneratorSettings;
+import com.bsit.codegeneration.model.RunConfig;
+import com.bsit.codegeneration.model.SchemaTargetConfig;
+import com.bsit.codegeneration.model.ShardConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates every entry of {@code generator.targets} in one JVM. Targets share the worker pool
+ * (run.workers), the FreeMarker template cache and the naming cache; each opens its own
+ * connection and writes its own manifest and journal under a per-target directory.
+ */
+public final class MultiTargetRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(MultiTargetRunner.class);
+
+    private MultiTargetRunner() { }
+
+    public static List<GenerationManifest> run(GeneratorSettings settings, ShardConfig shardConfig,
+                                               RunConfig runConfig) throws InterruptedException {
+        List<SchemaTargetConfig> targets = settings.getTargets();
+        validateNames(targets);
+
+        int workers = Math.min(runConfig.effectiveWorkers(), targets.size());
+        logger.info("Generating {} targets with {} workers", targets.size(), workers);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setName("codegen-target-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Map<String, Future<GenerationManifest>> futures = new LinkedHashMap<>();
+        try {
+            for (SchemaTargetConfig target : targets) {
+                String name = target.getName();
+                futures.put(name, executor.submit(() -> DbReader.readDatabase(
+                        target.toDatabaseConfig(settings.getDatabase()),
+                        target.toTargetConfig(settings.getTarget()),
+                        settings.getRecord(),
+                        settings.getDao(),
+                        settings.getRepository(),
+                        settings.getPojo(),
+                        shardConfig.forTarget(name),
+                        runConfig.forTarget(name),
+                        settings.getArtifacts())));
+            }
+
+            List<GenerationManifest> manifests = new ArrayList<>();
+            List<String> failed = new ArrayList<>();
+            for (Map.Entry<String, Future<GenerationManifest>> entry : futures.entrySet()) {
+                try {
+                    GenerationManifest manifest = entry.getValue().get();
+                    manifests.add(manifest);
+                    logger.info("Target {} done: {} tables, {} files in {} ms", entry.getKey(),
+                            manifest.getTables().size(), manifest.getArtifacts().size(), manifest.getElapsedMillis());
+                } catch (ExecutionException e) {
+                    // One broken target must not stop the others
+                    failed.add(entry.getKey());
+                    logger.error("Target {} failed", entry.getKey(), e.getCause());
+                }
+            }
+            if (!failed.isEmpty()) {
+                throw new IllegalStateException(failed.size() + " of " + targets.size() + " targets failed: " + failed);
+            }
+            return manifests;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Names become directory names for manifests and journals, so they must be unique
+    private static void validateNames(List<SchemaTargetConfig> targets) {
+        Set<String> names = new HashSet<>();
+        for (SchemaTargetConfig target : targets) {
+            if (target.getName() == null) {
+                throw new IllegalArgumentException("Every entry of generator.targets needs a name or a schema");
+            }
+            if (!names.add(target.getName())) {
+                throw new IllegalArgumentException("Duplicate target name: " + target.getName());
+            }
+        }
+    }
+}
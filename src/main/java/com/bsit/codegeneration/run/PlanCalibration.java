@@ -0,0 +1,141 @@
+package com.bsit.codegeneration.run;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-artifact cost model used by {@code plan} mode: render time and generated size as a fixed
+ * per-table part plus a per-column part. The bundled {@code plan-calibration.json} holds defaults;
+ * {@code PlanCalibrator} in the benchmarks module measures a machine-specific file.
+ */
+public class PlanCalibration {
+
+    public static final String RESOURCE = "plan-calibration.json";
+
+    private String source;
+    private double catalogRoundTripMillis = 2.0;
+    private double writeMillisPerFile = 0.2;
+    private Map<String, ArtifactCost> artifacts = new LinkedHashMap<>();
+
+    public static PlanCalibration load(Path file) throws IOException {
+        try (InputStream input = Files.newInputStream(file)) {
+            return GenerationManifest.JSON.readValue(input, PlanCalibration.class);
+        }
+    }
+
+    public static PlanCalibration loadDefault() throws IOException {
+        try (InputStream input = PlanCalibration.class.getClassLoader().getResourceAsStream(RESOURCE)) {
+            if (input == null) {
+                throw new IllegalStateException(RESOURCE + " not found in resources!");
+            }
+            return GenerationManifest.JSON.readValue(input, PlanCalibration.class);
+        }
+    }
+
+    public Path write(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        GenerationManifest.JSON.writeValue(file.toFile(), this);
+        return file;
+    }
+
+    /** Cost of {@code kind}, falling back to the "default" entry for plugin kinds without calibration. */
+    public ArtifactCost cost(String kind) {
+        ArtifactCost cost = artifacts.get(kind);
+        if (cost == null) {
+            cost = artifacts.getOrDefault("default", new ArtifactCost());
+        }
+        return cost;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public double getCatalogRoundTripMillis() {
+        return catalogRoundTripMillis;
+    }
+
+    public void setCatalogRoundTripMillis(double catalogRoundTripMillis) {
+        this.catalogRoundTripMillis = catalogRoundTripMillis;
+    }
+
+    public double getWriteMillisPerFile() {
+        return writeMillisPerFile;
+    }
+
+    public void setWriteMillisPerFile(double writeMillisPerFile) {
+        this.writeMillisPerFile = writeMillisPerFile;
+    }
+
+    public Map<String, ArtifactCost> getArtifacts() {
+        return artifacts;
+    }
+
+    public void setArtifacts(Map<String, ArtifactCost> artifacts) {
+        this.artifacts = artifacts;
+    }
+
+    public static class ArtifactCost {
+        private double microsPerTable;
+        private double microsPerColumn;
+        private double linesPerTable;
+        private double linesPerColumn;
+        private double bytesPerLine = 40;
+
+        public double micros(int columns) {
+            return microsPerTable + microsPerColumn * columns;
+        }
+
+        public double lines(int columns) {
+            return linesPerTable + linesPerColumn * columns;
+        }
+
+        public double getMicrosPerTable() {
+            return microsPerTable;
+        }
+
+        public void setMicrosPerTable(double microsPerTable) {
+            this.microsPerTable = microsPerTable;
+        }
+
+        public double getMicrosPerColumn() {
+            return microsPerColumn;
+        }
+
+        public void setMicrosPerColumn(double microsPerColumn) {
+            this.microsPerColumn = microsPerColumn;
+        }
+
+        public double getLinesPerTable() {
+            return linesPerTable;
+        }
+
+        public void setLinesPerTable(double linesPerTable) {
+            this.linesPerTable = linesPerTable;
+        }
+
+        public double getLinesPerColumn() {
+            return linesPerColumn;
+        }
+
+        public void setLinesPerColumn(double linesPerColumn) {
+            this.linesPerColumn = linesPerColumn;
+        }
+
+        public double getBytesPerLine() {
+            return bytesPerLine;
+        }
+
+        public void setBytesPerLine(double bytesPerLine) {
+            this.bytesPerLine = bytesPerLine;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.bsit.codegeneration.run;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Append-only JSON-lines log of the (table, artifact) units a run has completed, each with the
+ * fingerprint of its inputs. A rerun after a failure skips units whose fingerprint is unchanged
+ * and whose file is still on disk. The journal is removed once a run completes without failures.
+ */
+public class RunJournal implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(RunJournal.class);
+    private static final ObjectWriter LINE_WRITER =
+            GenerationManifest.JSON.writer().without(SerializationFeature.INDENT_OUTPUT);
+    private static final ObjectReader LINE_READER = GenerationManifest.JSON.readerFor(Entry.class);
+
+    private final Path file;
+    private final Map<String, Entry> completed = new ConcurrentHashMap<>();
+    private final BufferedWriter writer;
+
+    private RunJournal(Path file, BufferedWriter writer) {
+        this.file = file;
+        this.writer = writer;
+    }
+
+    public static RunJournal open(Path file, boolean resume) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        if (!resume) {
+            Files.deleteIfExists(file);
+        }
+        RunJournal journal = new RunJournal(file, Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+        if (resume) {
+            journal.load();
+        }
+        return journal;
+    }
+
+    private void load() throws IOException {
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        for (String line : lines) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                Entry entry = LINE_READER.readValue(line);
+                completed.put(key(entry.getTable(), entry.getKind()), entry);
+            } catch (JsonProcessingException e) {
+                // Last line of a killed run may be cut off
+                logger.warn("Ignoring unreadable journal line in {}", file);
+            }
+        }
+        if (!completed.isEmpty()) {
+            logger.info("Resuming from {}: {} artifacts already completed", file, completed.size());
+        }
+    }
+
+    public boolean isCompleted(String table, String kind, String fingerprint) {
+        Entry entry = completed.get(key(table, kind));
+        return entry != null
+                && entry.getFingerprint().equals(fingerprint)
+                && entry.getPath() != null
+                && Files.exists(Path.of(entry.getPath()));
+    }
+
+    public Entry getEntry(String table, String kind) {
+        return completed.get(key(table, kind));
+    }
+
+    // Flushed per unit so a crash loses at most the unit in progress
+    public synchronized void record(String table, String kind, String fingerprint, Path path) throws IOException {
+        Entry entry = new Entry(table, kind, fingerprint, path == null ? null : path.toString());
+        writer.write(LINE_WRITER.writeValueAsString(entry));
+        writer.newLine();
+        writer.flush();
+        completed.put(key(table, kind), entry);
+    }
+
+    public int size() {
+        return completed.size();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public void delete() throws IOException {
+        close();
+        Files.deleteIfExists(file);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+
+    private static String key(String table, String kind) {
+        return table + '\u0000' + kind;
+    }
+
+    public static class Entry {
+        private String table;
+        private String kind;
+        private String fingerprint;
+        private String path;
+
+        public Entry() {
+        }
+
+        public Entry(String table, String kind, String fingerprint, String path) {
+            this.table = table;
+            this.kind = kind;
+            this.fingerprint = fingerprint;
+            this.path = path;
+        }
+
+        public String getTable() {
+            return table;
+        }
+
+        public void setTable(String table) {
+            this.table = table;
+        }
+
+        public String getKind() {
+            return kind;
+        }
+
+        public void setKind(String kind) {
+            this.kind = kind;
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        public void setFingerprint(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.bsit.codegeneration.run;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Wall time, CPU time and allocated bytes of the current thread, accumulated per phase and per
+ * table. Phases are {@link #CATALOG} (table list, relationships, fingerprints), {@link #MODEL}
+ * (column snapshot of one table), {@code render:<kind>} (building the source of one artifact,
+ * excluding its write) and {@link #WRITE}.
+ */
+public class RunMetrics {
+
+    public static final String CATALOG = "catalog";
+    public static final String MODEL = "model";
+    public static final String WRITE = "write";
+    private static final String RENDER = "render:";
+
+    private final boolean enabled;
+    private final Map<String, Totals> phases = new ConcurrentHashMap<>();
+    private final Map<String, Totals> tables = new ConcurrentHashMap<>();
+
+    public RunMetrics(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public static String render(String kind) {
+        return RENDER + kind;
+    }
+
+    public Sample start() {
+        return enabled ? Sample.now() : Sample.ZERO;
+    }
+
+    /** Records the work done by the current thread since {@code start} against one table. */
+    public void record(String phase, String table, Sample start) {
+        if (enabled) {
+            add(phase, table, Sample.now().minus(start));
+        }
+    }
+
+    /** Records schema-wide work that covered {@code tableCount} tables. */
+    public void record(String phase, int tableCount, Sample start) {
+        if (enabled) {
+            Totals totals = phases.computeIfAbsent(phase, k -> new Totals());
+            totals.add(Sample.now().minus(start));
+            totals.batchTables.add(tableCount);
+        }
+    }
+
+    public void add(String phase, String table, Sample sample) {
+        if (!enabled) {
+            return;
+        }
+        Totals totals = phases.computeIfAbsent(phase, k -> new Totals());
+        totals.add(sample);
+        totals.tableNames.add(table);
+        tables.computeIfAbsent(table, k -> new Totals()).add(sample);
+    }
+
+    public MetricsReport report(String schema, long elapsedMillis, int tableCount, int slowestTables) {
+        MetricsReport report = new MetricsReport();
+        report.setSchema(schema);
+        report.setElapsedMillis(elapsedMillis);
+        report.setTables(tableCount);
+        report.setTablesPerSecond(elapsedMillis == 0 ? 0 : tableCount * 1000.0 / elapsedMillis);
+        report.setCpuTimeSupported(Threads.BEAN.isCurrentThreadCpuTimeSupported());
+        report.setAllocationSupported(Threads.BEAN.isThreadAllocatedMemorySupported());
+
+        Map<String, MetricsReport.Phase> phaseReport = new LinkedHashMap<>();
+        phases.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(e -> phaseReport.put(e.getKey(), e.getValue().toPhase()));
+        report.setPhases(phaseReport);
+
+        List<MetricsReport.Table> slowest = new ArrayList<>();
+        tables.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, Totals> e) -> e.getValue().wallNanos.sum()).reversed())
+                .limit(slowestTables)
+                .forEach(e -> slowest.add(e.getValue().toTable(e.getKey())));
+        report.setSlowestTables(slowest);
+        return report;
+    }
+
+    // Holder so a run with metrics disabled never initializes the management subsystem
+    private static final class Threads {
+        static final com.sun.management.ThreadMXBean BEAN = threadBean();
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (bean.isThreadCpuTimeSupported() && !bean.isThreadCpuTimeEnabled()) {
+            bean.setThreadCpuTimeEnabled(true);
+        }
+        if (bean.isThreadAllocatedMemorySupported() && !bean.isThreadAllocatedMemoryEnabled()) {
+            bean.setThreadAllocatedMemoryEnabled(true);
+        }
+        return bean;
+    }
+
+    /** Counters of the current thread at one point in time, or the difference of two such points. */
+    public record Sample(long wallNanos, long cpuNanos, long allocatedBytes) {
+
+        public static final Sample ZERO = new Sample(0, 0, 0);
+
+        public static Sample now() {
+            long cpu = Threads.BEAN.isCurrentThreadCpuTimeSupported() ? Threads.BEAN.getCurrentThreadCpuTime() : 0;
+            long allocated = Threads.BEAN.isThreadAllocatedMemorySupported() ? Threads.BEAN.getCurrentThreadAllocatedBytes() : 0;
+            return new Sample(System.nanoTime(), cpu, allocated);
+        }
+
+        public Sample plus(Sample other) {
+            return new Sample(wallNanos + other.wallNanos, cpuNanos + other.cpuNanos,
+                    allocatedBytes + other.allocatedBytes);
+        }
+
+        public Sample minus(Sample other) {
+            return new Sample(wallNanos - other.wallNanos, cpuNanos - other.cpuNanos,
+                    allocatedBytes - other.allocatedBytes);
+        }
+    }
+
+    private static final class Totals {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder wallNanos = new LongAdder();
+        private final LongAdder cpuNanos = new LongAdder();
+        private final LongAdder allocatedBytes = new LongAdder();
+        private final LongAdder batchTables = new LongAdder();
+        private final Set<String> tableNames = ConcurrentHashMap.newKeySet();
+
+        void add(Sample sample) {
+            count.increment();
+            wallNanos.add(sample.wallNanos());
+            cpuNanos.add(sample.cpuNanos());
+            allocatedBytes.add(sample.allocatedBytes());
+        }
+
+        MetricsReport.Phase toPhase() {
+            MetricsReport.Phase phase = new MetricsReport.Phase();
+            phase.setCount(count.sum());
+            phase.setTables(tableNames.size() + batchTables.sum());
+            phase.setWallMillis(wallNanos.sum() / 1_000_000);
+            phase.setCpuMillis(cpuNanos.sum() / 1_000_000);
+            phase.setAllocatedBytes(allocatedBytes.sum());
+            return phase;
+        }
+
+        MetricsReport.Table toTable(String name) {
+            MetricsReport.Table table = new MetricsReport.Table();
+            table.setTable(name);
+            table.setWallMillis(wallNanos.sum() / 1_000_000);
+            table.setCpuMillis(cpuNanos.sum() / 1_000_000);
+            table.setAllocatedBytes(allocatedBytes.sum());
+            return table;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.bsit.codegeneration.run;
+
+import com.bsit.codegeneration.model.ShardConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Combines the {@code manifest-shard-*.json} files of a sharded run into one manifest and verifies
+ * that every shard reported and that no table or file was produced by two shards. The per-shard
+ * {@code failures-shard-*.json} and {@code metrics-shard-*.json} reports are combined the same way.
+ */
+public final class ShardManifestMerger {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardManifestMerger.class);
+    public static final String MERGED_FILE = "manifest.json";
+    public static final String MERGED_FAILURES_FILE = "failures.json";
+    public static final String MERGED_METRICS_FILE = "metrics.json";
+
+    private ShardManifestMerger() { }
+
+    public static GenerationManifest merge(Path directory) throws IOException {
+        return merge(directory, directory);
+    }
+
+    // Manifests live in shard.manifestDirectory, failure and metrics reports in run.journalDirectory
+    public static GenerationManifest merge(Path directory, Path runDirectory) throws IOException {
+        List<GenerationManifest> shards = readShardManifests(directory);
+        if (shards.isEmpty()) {
+            throw new IllegalStateException("No shard manifests found in " + directory);
+        }
+
+        int shardCount = shards.getFirst().getShardCount();
+        Map<Integer, GenerationManifest> byIndex = new TreeMap<>();
+        for (GenerationManifest shard : shards) {
+            if (shard.getShardCount() != shardCount) {
+                throw new IllegalStateException("Shard manifests disagree on shardCount: "
+                        + shardCount + " vs " + shard.getShardCount());
+            }
+            if (byIndex.put(shard.getShardIndex(), shard) != null) {
+                throw new IllegalStateException("Duplicate manifest for shard " + shard.getShardIndex());
+            }
+        }
+        List<Integer> missing = new ArrayList<>();
+        for (int i = 0; i < shardCount; i++) {
+            if (!byIndex.containsKey(i)) missing.add(i);
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Missing manifests for shards " + missing);
+        }
+
+        ShardConfig merged = new ShardConfig();
+        merged.setShardCount(shardCount);
+        merged.setStrategy(shards.getFirst().getStrategy());
+        GenerationManifest result = new GenerationManifest(shards.getFirst().getSchema(), merged, List.of());
+        result.setTenantSchemas(shards.getFirst().getTenantSchemas());
+
+        Map<String, Integer> tableOwner = new HashMap<>();
+        Set<String> paths = new HashSet<>();
+        long slowest = 0;
+        for (GenerationManifest shard : byIndex.values()) {
+            for (String table : shard.getTables()) {
+                Integer owner = tableOwner.put(table, shard.getShardIndex());
+                if (owner != null) {
+                    throw new IllegalStateException("Table " + table + " generated by shards "
+                            + owner + " and " + shard.getShardIndex());
+                }
+                result.getTables().add(table);
+            }
+            for (GenerationManifest.Artifact artifact : shard.getArtifacts()) {
+                if (!paths.add(artifact.getPath())) {
+                    logger.warn("File {} written by more than one shard", artifact.getPath());
+                    continue;
+                }
+                result.getArtifacts().add(artifact);
+            }
+            result.getTenantDrift().putAll(shard.getTenantDrift());
+            slowest = Math.max(slowest, shard.getElapsedMillis());
+            logger.info("Shard {}/{}: {} tables, {} files, {} ms", shard.getShardIndex(), shardCount,
+                    shard.getTables().size(), shard.getArtifacts().size(), shard.getElapsedMillis());
+        }
+        result.setElapsedMillis(slowest);
+
+        Path mergedFile = directory.resolve(MERGED_FILE);
+        GenerationManifest.JSON.writeValue(mergedFile.toFile(), result);
+        logger.info("Merged {} shards: {} tables, {} files, slowest shard {} ms -> {}",
+                shardCount, result.getTables().size(), result.getArtifacts().size(), slowest, mergedFile);
+        mergeFailures(runDirectory, result.getSchema());
+        mergeMetrics(runDirectory, result.getSchema());
+        return result;
+    }
+
+    // Shards without failures leave no report; a stale merged report is removed when none has one
+    private static void mergeFailures(Path runDirectory, String schema) throws IOException {
+        Path mergedFile = runDirectory.resolve(MERGED_FAILURES_FILE);
+        List<Path> files = shardFiles(runDirectory, "failures-shard-");
+        if (files.isEmpty()) {
+            Files.deleteIfExists(mergedFile);
+            return;
+        }
+        FailureReport merged = new FailureReport(schema);
+        for (Path file : files) {
+            FailureReport shard = GenerationManifest.JSON.readValue(file.toFile(), FailureReport.class);
+            merged.setCompleted(merged.getCompleted() + shard.getCompleted());
+            merged.setSkipped(merged.getSkipped() + shard.getSkipped());
+            merged.getFailures().addAll(shard.getFailures());
+        }
+        merged.write(mergedFile);
+        logger.warn("{} artifacts failed across {} shards -> {}", merged.getFailures().size(), files.size(), mergedFile);
+    }
+
+    // Shards run side by side: wall time is the slowest shard's, phase totals and tables add up
+    private static void mergeMetrics(Path runDirectory, String schema) throws IOException {
+        List<Path> files = shardFiles(runDirectory, "metrics-shard-");
+        if (files.isEmpty()) {
+            return;
+        }
+        MetricsReport merged = new MetricsReport();
+        merged.setSchema(schema);
+        merged.setCpuTimeSupported(true);
+        merged.setAllocationSupported(true);
+        Map<String, MetricsReport.Phase> phases = new TreeMap<>();
+        List<MetricsReport.Table> slowestTables = new ArrayList<>();
+        int slowestLimit = 0;
+        for (Path file : files) {
+            MetricsReport shard = GenerationManifest.JSON.readValue(file.toFile(), MetricsReport.class);
+            merged.setElapsedMillis(Math.max(merged.getElapsedMillis(), shard.getElapsedMillis()));
+            merged.setTables(merged.getTables() + shard.getTables());
+            merged.setCpuTimeSupported(merged.isCpuTimeSupported() && shard.isCpuTimeSupported());
+            merged.setAllocationSupported(merged.isAllocationSupported() && shard.isAllocationSupported());
+            if (shard.getPhases() != null) {
+                shard.getPhases().forEach((name, phase) -> {
+                    MetricsReport.Phase total = phases.computeIfAbsent(name, k -> new MetricsReport.Phase());
+                    total.setCount(total.getCount() + phase.getCount());
+                    total.setTables(total.getTables() + phase.getTables());
+                    total.setWallMillis(total.getWallMillis() + phase.getWallMillis());
+                    total.setCpuMillis(total.getCpuMillis() + phase.getCpuMillis());
+                    total.setAllocatedBytes(total.getAllocatedBytes() + phase.getAllocatedBytes());
+                });
+            }
+            if (shard.getSlowestTables() != null) {
+                slowestTables.addAll(shard.getSlowestTables());
+                slowestLimit = Math.max(slowestLimit, shard.getSlowestTables().size());
+            }
+        }
+        slowestTables.sort(Comparator.comparingLong(MetricsReport.Table::getWallMillis).reversed());
+        merged.setTablesPerSecond(merged.getElapsedMillis() == 0 ? 0
+                : merged.getTables() * 1000.0 / merged.getElapsedMillis());
+        merged.setPhases(new LinkedHashMap<>(phases));
+        merged.setSlowestTables(new ArrayList<>(slowestTables.subList(0, Math.min(slowestLimit, slowestTables.size()))));
+        Path mergedFile = merged.write(runDirectory.resolve(MERGED_METRICS_FILE));
+        logger.info("Merged metrics of {} shards: {} tables, {} tables/s -> {}", files.size(), merged.getTables(),
+                String.format("%.1f", merged.getTablesPerSecond()), mergedFile);
+    }
+
+    private static List<Path> shardFiles(Path directory, String prefix) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(f -> f.getFileName().toString().startsWith(prefix)).sorted().toList();
+        }
+    }
+
+    private static List<GenerationManifest> readShardManifests(Path directory) throws IOException {
+        List<GenerationManifest> manifests = new ArrayList<>();
+        for (Path file : shardFiles(directory, "manifest-shard-")) {
+            manifests.add(GenerationManifest.read(file));
+        }
+        return manifests;
+    }
+}
@@ -0,0 +1,29 @@
+package com.bsit.codegeneration.spi;
+
+import com.bsit.codegeneration.model.DaoConfig;
+import com.bsit.codegeneration.model.DatabaseConfig;
+import com.bsit.codegeneration.model.PojoConfig;
+import com.bsit.codegeneration.model.RecordConfig;
+import com.bsit.codegeneration.model.RepositoryConfig;
+import com.bsit.codegeneration.model.TargetConfig;
+
+import java.util.Set;
+
+/**
+ * Settings of the run an {@link ArtifactGenerator} is called from. {@code tables} are the tables this
+ * run generates into {@code target}, or null when unknown; generators referring to another table's
+ * artifact check it so they never reference one that is not written.
+ */
+public record ArtifactContext(DatabaseConfig dbConfig,
+                              TargetConfig target,
+                              RecordConfig recordConfig,
+                              DaoConfig daoConfig,
+                              RepositoryConfig repositoryConfig,
+                              PojoConfig pojoConfig,
+                              Set<String> tables) {
+
+    public ArtifactContext(DatabaseConfig dbConfig, TargetConfig target, RecordConfig recordConfig,
+                           DaoConfig daoConfig, RepositoryConfig repositoryConfig, PojoConfig pojoConfig) {
+        this(dbConfig, target, recordConfig, daoConfig, repositoryConfig, pojoConfig, null);
+    }
+}
@@ -0,0 +1,19 @@
+package com.bsit.codegeneration.spi;
+
+import java.nio.file.Path;
+
+/**
+ * Per-table artifact generator discovered through {@link java.util.ServiceLoader}. Implementations
+ * are annotated with {@link ArtifactKind}, need a public no-arg constructor and must be stateless
+ * or thread-safe, since one instance serves every table of a run.
+ */
+public interface ArtifactGenerator {
+
+    /** Generates the artifact for one table and returns the written file, or null when nothing was written. */
+    Path generate(TableModel table, ArtifactContext context, OutputSink sink) throws Exception;
+
+    default String kind() {
+        ArtifactKind kind = getClass().getAnnotation(ArtifactKind.class);
+        return kind != null ? kind.value() : getClass().getSimpleName();
+    }
+}
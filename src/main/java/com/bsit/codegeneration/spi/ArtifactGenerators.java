@@ -0,0 +1,41 @@
+package com.bsit.codegeneration.spi;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.Set;
+
+/**
+ * Discovers {@link ArtifactGenerator} providers and instantiates only the enabled kinds, in
+ * service-file order.
+ */
+public final class ArtifactGenerators {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactGenerators.class);
+
+    private ArtifactGenerators() { }
+
+    public static List<ArtifactGenerator> load(Collection<String> enabledKinds) {
+        List<ArtifactGenerator> generators = new ArrayList<>();
+        Set<String> found = new HashSet<>();
+        // Provider.type() reads the annotation without running any constructor
+        for (ServiceLoader.Provider<ArtifactGenerator> provider : ServiceLoader.load(ArtifactGenerator.class).stream().toList()) {
+            ArtifactKind kind = provider.type().getAnnotation(ArtifactKind.class);
+            if (kind == null || !enabledKinds.contains(kind.value()) || !found.add(kind.value())) {
+                continue;
+            }
+            generators.add(provider.get());
+        }
+        for (String kind : enabledKinds) {
+            if (!found.contains(kind)) {
+                logger.warn("No artifact generator found for enabled kind '{}'", kind);
+            }
+        }
+        return generators;
+    }
+}
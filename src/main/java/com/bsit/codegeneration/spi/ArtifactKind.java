@@ -0,0 +1,18 @@
+package com.bsit.codegeneration.spi;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Names the artifact an {@link ArtifactGenerator} produces. Read from the provider class before
+ * instantiation, so generators that are not enabled are never created.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface ArtifactKind {
+    String value();
+}
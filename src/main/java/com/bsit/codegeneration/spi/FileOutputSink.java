@@ -0,0 +1,39 @@
+package com.bsit.codegeneration.spi;
+
+import com.bsit.codegeneration.jfr.WriteEvent;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Writes {@code <outputDirectory>/<package path>/<ClassName>.java}.
+ */
+public class FileOutputSink implements OutputSink {
+
+    private final String outputDirectory;
+
+    public FileOutputSink(String outputDirectory) {
+        this.outputDirectory = outputDirectory;
+    }
+
+    @Override
+    public Path write(String packageName, String className, String source) throws IOException {
+        WriteEvent event = new WriteEvent();
+        event.begin();
+        Path outputPath = Paths.get(outputDirectory, packageName.replace('.', '/'), className + ".java");
+        Files.createDirectories(outputPath.getParent());
+        byte[] bytes = source.getBytes(StandardCharsets.UTF_8);
+        Files.write(outputPath, bytes);
+        event.end();
+        if (event.shouldCommit()) {
+            event.className = packageName + "." + className;
+            event.path = outputPath.toString();
+            event.bytesWritten = bytes.length;
+            event.commit();
+        }
+        return outputPath;
+    }
+}
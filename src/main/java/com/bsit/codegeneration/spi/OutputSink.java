@@ -0,0 +1,13 @@
+package com.bsit.codegeneration.spi;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Destination for generated sources. Generators hand over the rendered source and never build
+ * output paths themselves.
+ */
+public interface OutputSink {
+
+    Path write(String packageName, String className, String source) throws IOException;
+}
@@ -0,0 +1,110 @@
+package com.bsit.codegeneration.spi;
+
+import com.bsit.codegeneration.jfr.TableModelEvent;
+import com.bsit.codegeneration.util.Relationship;
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetProvider;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Catalog data of one table, read once and shared by every artifact generator of that table.
+ * Columns are kept as a disconnected snapshot of {@code DatabaseMetaData.getColumns}, so generators
+ * written against the JDBC result set can still read them without another catalog round trip.
+ */
+public final class TableModel {
+
+    private final DatabaseMetaData metaData;
+    private final String schema;
+    private final String tableName;
+    private final CachedRowSet columnSnapshot;
+    private final List<Column> columns;
+    private final List<Relationship> relationships;
+    private final List<Relationship> reverseRelationships;
+
+    private TableModel(DatabaseMetaData metaData, String schema, String tableName, CachedRowSet columnSnapshot, List<Column> columns,
+                       List<Relationship> relationships, List<Relationship> reverseRelationships) {
+        this.metaData = metaData;
+        this.schema = schema;
+        this.tableName = tableName;
+        this.columnSnapshot = columnSnapshot;
+        this.columns = columns;
+        this.relationships = relationships;
+        this.reverseRelationships = reverseRelationships;
+    }
+
+    public static TableModel load(DatabaseMetaData metaData, String schema, String tableName,
+                                  List<Relationship> relationships, List<Relationship> reverseRelationships)
+            throws SQLException {
+        TableModelEvent event = new TableModelEvent();
+        event.begin();
+        CachedRowSet snapshot = RowSetProvider.newFactory().createCachedRowSet();
+        try (ResultSet rs = metaData.getColumns(null, schema, tableName, "%")) {
+            snapshot.populate(rs);
+        }
+        List<Column> columns = new ArrayList<>();
+        while (snapshot.next()) {
+            columns.add(new Column(
+                    snapshot.getString("COLUMN_NAME"),
+                    snapshot.getString("TYPE_NAME"),
+                    snapshot.getInt("DATA_TYPE"),
+                    snapshot.getInt("COLUMN_SIZE"),
+                    snapshot.getInt("DECIMAL_DIGITS"),
+                    snapshot.getInt("NULLABLE") == DatabaseMetaData.columnNullable,
+                    "YES".equals(snapshot.getString("IS_AUTOINCREMENT"))));
+        }
+        snapshot.beforeFirst();
+        event.end();
+        if (event.shouldCommit()) {
+            event.table = tableName;
+            event.columnCount = columns.size();
+            event.commit();
+        }
+        return new TableModel(metaData, schema, tableName, snapshot, Collections.unmodifiableList(columns),
+                relationships, reverseRelationships);
+    }
+
+    /** Catalog of the connection the model was read from, for generators needing keys or indexes. */
+    public DatabaseMetaData getMetaData() {
+        return metaData;
+    }
+
+    public String getSchema() {
+        return schema;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public List<Column> getColumns() {
+        return columns;
+    }
+
+    public List<Relationship> getRelationships() {
+        return relationships;
+    }
+
+    public List<Relationship> getReverseRelationships() {
+        return reverseRelationships;
+    }
+
+    /**
+     * Fresh cursor over the column rows in getColumns() layout; the caller closes it. Each call
+     * returns an independent copy, a shared row set would lose its rows when the first one closes.
+     */
+    public ResultSet openColumns() throws SQLException {
+        CachedRowSet copy = columnSnapshot.createCopy();
+        copy.beforeFirst();
+        return copy;
+    }
+
+    public record Column(String name, String typeName, int dataType, int columnSize, int decimalDigits,
+                         boolean nullable, boolean autoIncrement) {
+    }
+}
@@ -1,9 +1,24 @@
 package com.bsit.codegeneration.util;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class StringUtils {
 
+    // Identifiers repeat across generators, tables and targets; shared by all threads of a run
+    private static final Map<CamelCaseKey, String> CAMEL_CASE_CACHE = new ConcurrentHashMap<>();
+
+    // A daemon or Maven JVM outlives many runs; past this the cache starts over instead of growing
+    private static final int MAX_CACHED_NAMES = 16_384;
+
+    // The acronyms are copied so a caller changing its list later cannot corrupt the key
+    private record CamelCaseKey(String name, List<String> acronyms, boolean capitalizeFirst) {
+        CamelCaseKey {
+            acronyms = acronyms == null ? null : List.copyOf(acronyms);
+        }
+    }
+
     private StringUtils() {}
 
     public static String capitalize(String s) {
@@ -23,6 +38,19 @@ public final class StringUtils {
 
     public static String toCamelCase(String name, List<String> acronyms, boolean capitalizeFirst) {
         if (name == null || name.isEmpty()) return name;
+        if (CAMEL_CASE_CACHE.size() >= MAX_CACHED_NAMES) {
+            CAMEL_CASE_CACHE.clear();
+        }
+        return CAMEL_CASE_CACHE.computeIfAbsent(new CamelCaseKey(name, acronyms, capitalizeFirst),
+                key -> convertToCamelCase(key.name(), key.acronyms(), key.capitalizeFirst()));
+    }
+
+    /** Drops the cached names, so each run starts with only its own identifiers. */
+    public static void clearCaches() {
+        CAMEL_CASE_CACHE.clear();
+    }
+
+    private static String convertToCamelCase(String name, List<String> acronyms, boolean capitalizeFirst) {
         boolean leading = name.startsWith("_");
         boolean trailing = name.endsWith("_");
         String clean = name;
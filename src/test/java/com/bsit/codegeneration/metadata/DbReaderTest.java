@@ -0,0 +1,70 @@
+package com.bsit.codegeneration.metadata;
+
+import com.bsit.codegeneration.fixture.RandomSchema;
+import com.bsit.codegeneration.fixture.SyntheticDatabase;
+import com.bsit.codegeneration.fixture.SyntheticDriver;
+import com.bsit.codegeneration.model.GeneratorSettings;
+import com.bsit.codegeneration.model.ShardConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DbReaderTest {
+
+    // Catalog calls of a default run: a fixed number per run plus a fixed number per table, never per relationship
+    private static final Map<String, Long> PER_RUN = Map.of(
+            "getTables", 2L, "getCrossReference", 1L, "executeQuery", 2L, "getColumns", 1L);
+    private static final Map<String, Long> PER_TABLE = Map.of(
+            "getColumns", 3L, "getImportedKeys", 2L, "getPrimaryKeys", 2L, "getExportedKeys", 1L, "getIndexInfo", 1L);
+
+    @TempDir
+    Path workDir;
+
+    @Test
+    void catalogCallsPerMethod() throws Exception {
+        for (int tables : new int[] {10, 20}) {
+            Map<String, Long> expected = new TreeMap<>(PER_RUN);
+            PER_TABLE.forEach((method, calls) -> expected.merge(method, calls * tables, Long::sum));
+            assertEquals(expected, new TreeMap<>(callCounts(tables)), tables + " tables");
+        }
+    }
+
+    private Map<String, Long> callCounts(int tables) throws Exception {
+        SyntheticDatabase database = new SyntheticDatabase(
+                new RandomSchema().tableCount(tables).width(3, 12).fkDensity(0.2).seed(11).build());
+        String name = "dbreader-" + tables;
+        String url = SyntheticDriver.register(name, database);
+        try {
+            GeneratorSettings settings = settings(url, workDir.resolve(name));
+            database.resetCounters();
+            DbReader.readDatabase(settings.getDatabase(), settings.getTarget(), settings.getRecord(),
+                    settings.getDao(), settings.getRepository(), settings.getPojo(),
+                    settings.getShard(), settings.getRun(), settings.getArtifacts());
+            return database.callCounts();
+        } finally {
+            SyntheticDriver.unregister(name);
+        }
+    }
+
+    private static GeneratorSettings settings(String url, Path dir) throws Exception {
+        GeneratorSettings settings;
+        try (InputStream input = DbReaderTest.class.getClassLoader().getResourceAsStream("generator.yml")) {
+            settings = new YamlParser().loadConfig(input).getGenerator();
+        }
+        settings.getDatabase().setDriver(SyntheticDriver.class.getName());
+        settings.getDatabase().setUrl(url);
+        settings.getTarget().setOutputDirectory(dir.resolve("src").toString());
+        ShardConfig shard = new ShardConfig();
+        shard.setManifestDirectory(dir.resolve("codegen").toString());
+        settings.setShard(shard);
+        settings.getRun().setResume(false);
+        settings.getRun().setJournalDirectory(dir.resolve("codegen").toString());
+        return settings;
+    }
+}
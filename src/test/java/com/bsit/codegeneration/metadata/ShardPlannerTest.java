@@ -0,0 +1,84 @@
+package com.bsit.codegeneration.metadata;
+
+import com.bsit.codegeneration.fixture.RandomSchema;
+import com.bsit.codegeneration.fixture.SyntheticDatabase;
+import com.bsit.codegeneration.model.ShardConfig;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShardPlannerTest {
+
+    private static final int SHARDS = 3;
+
+    @Test
+    void hashShardsAreDisjointAndCoverEveryTable() throws Exception {
+        assertPartition(ShardConfig.STRATEGY_HASH);
+    }
+
+    @Test
+    void costShardsAreDisjointAndCoverEveryTable() throws Exception {
+        assertPartition(ShardConfig.STRATEGY_COST);
+    }
+
+    @Test
+    void costShardsAreBalanced() throws Exception {
+        try (Connection conn = database().connect()) {
+            DatabaseMetaData metaData = conn.getMetaData();
+            List<String> tables = DbReader.readTableNames(metaData, "public");
+            Map<String, Integer> columnCounts = ShardPlanner.readColumnCounts(metaData, "public");
+            int widest = columnCounts.values().stream().mapToInt(Integer::intValue).max().orElseThrow();
+            List<Integer> loads = new ArrayList<>();
+            for (int shard = 0; shard < SHARDS; shard++) {
+                loads.add(ShardPlanner.assignByCost(tables, columnCounts, config(ShardConfig.STRATEGY_COST, shard))
+                        .stream().mapToInt(t -> 4 + columnCounts.get(t)).sum());
+            }
+            // Largest-first placement keeps shards within one table of each other
+            int spread = loads.stream().mapToInt(Integer::intValue).max().orElseThrow()
+                    - loads.stream().mapToInt(Integer::intValue).min().orElseThrow();
+            assertTrue(spread <= 4 + widest, () -> "shard loads " + loads);
+        }
+    }
+
+    @Test
+    void unshardedRunKeepsEveryTable() throws Exception {
+        List<String> tables = List.of("a", "b", "c");
+        assertSame(tables, ShardPlanner.assign(null, "public", tables, new ShardConfig()));
+    }
+
+    private static void assertPartition(String strategy) throws Exception {
+        try (Connection conn = database().connect()) {
+            DatabaseMetaData metaData = conn.getMetaData();
+            List<String> tables = DbReader.readTableNames(metaData, "public");
+            Set<String> seen = new HashSet<>();
+            for (int shard = 0; shard < SHARDS; shard++) {
+                for (String table : ShardPlanner.assign(metaData, "public", tables, config(strategy, shard))) {
+                    assertTrue(seen.add(table), () -> table + " assigned to two shards");
+                }
+            }
+            assertEquals(new HashSet<>(tables), seen);
+        }
+    }
+
+    private static ShardConfig config(String strategy, int shardIndex) {
+        ShardConfig config = new ShardConfig();
+        config.setStrategy(strategy);
+        config.setShardCount(SHARDS);
+        config.setShardIndex(shardIndex);
+        return config;
+    }
+
+    private static SyntheticDatabase database() {
+        return new SyntheticDatabase(new RandomSchema().tableCount(40).width(2, 30).seed(7).build());
+    }
+}
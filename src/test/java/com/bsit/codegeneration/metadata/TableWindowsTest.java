@@ -0,0 +1,47 @@
+package com.bsit.codegeneration.metadata;
+
+import com.bsit.codegeneration.fixture.ColumnType;
+import com.bsit.codegeneration.fixture.SchemaSpec;
+import com.bsit.codegeneration.fixture.SyntheticDatabase;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TableWindowsTest {
+
+    @Test
+    void orderKeepsConnectedTablesTogether() {
+        Map<String, Set<String>> graph = Map.of(
+                "film", Set.of("language"),
+                "language", Set.of("film"),
+                "actor", Set.of("film_actor"),
+                "film_actor", Set.of("actor"));
+        List<String> ordered = TableWindows.order(List.of("actor", "film", "audit", "film_actor", "language"), graph);
+        assertEquals(List.of("actor", "film_actor", "film", "language", "audit"), ordered);
+    }
+
+    @Test
+    void orderWithoutForeignKeysIsCatalogOrder() {
+        List<String> tables = List.of("c", "a", "b");
+        assertEquals(tables, TableWindows.order(tables, Map.of()));
+    }
+
+    @Test
+    void planSplitsOrderedTablesIntoWindows() throws Exception {
+        SchemaSpec schema = new SchemaSpec("public");
+        schema.table("actor").id("actor_id");
+        schema.table("audit").id("audit_id");
+        schema.table("film").id("film_id").column("actor_id", ColumnType.INT4)
+                .foreignKey("actor_id", "actor", "actor_id");
+        try (Connection conn = new SyntheticDatabase(schema).connect()) {
+            List<List<String>> windows = TableWindows.plan(conn.getMetaData(), "public",
+                    List.of("actor", "audit", "film"), 2);
+            assertEquals(List.of(List.of("actor", "film"), List.of("audit")), windows);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.bsit.codegeneration.parser;
+
+import com.bsit.codegeneration.model.DaoConfig;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Modifier;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JdbcDaoGeneratorTest {
+
+    private static Method appendCopyText;
+    private static Method appendCopyBytes;
+
+    // Compiles the generated COPY helpers on their own so the escaping is checked as it runs in a DAO
+    @BeforeAll
+    static void compileCopyEscapes(@TempDir Path dir) throws Exception {
+        CompilationUnit cu = new CompilationUnit();
+        cu.addImport("java.util.HexFormat");
+        ClassOrInterfaceDeclaration copyClass = cu.addClass("CopyEscapes", Modifier.Keyword.PUBLIC);
+        JdbcDaoGenerator.createCopyNullConstant(copyClass);
+        JdbcDaoGenerator.createCopyEscapeMethods(copyClass);
+        Path source = dir.resolve("CopyEscapes.java");
+        Files.writeString(source, cu.toString());
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertEquals(0, compiler.run(null, null, null, "-d", dir.toString(), source.toString()));
+        Class<?> compiled = new URLClassLoader(new URL[] {dir.toUri().toURL()}).loadClass("CopyEscapes");
+        appendCopyText = compiled.getDeclaredMethod("appendCopyText", StringBuilder.class, String.class);
+        appendCopyText.setAccessible(true);
+        appendCopyBytes = compiled.getDeclaredMethod("appendCopyBytes", StringBuilder.class, byte[].class);
+        appendCopyBytes.setAccessible(true);
+    }
+
+    @Test
+    void copyTextEscapesBackslashAndControlCharacters() throws Exception {
+        assertEquals("a\\\\b\\tc\\nd\\re", copyText("a\\b\tc\nd\re"));
+    }
+
+    @Test
+    void copyTextKeepsPlainText() throws Exception {
+        assertEquals("Ação, \"quoted\" 'text'", copyText("Ação, \"quoted\" 'text'"));
+    }
+
+    @Test
+    void copyTextWritesNullMarker() throws Exception {
+        assertEquals("\\N", copyText(null));
+    }
+
+    @Test
+    void copyTextOfBackslashNIsNotTheNullMarker() throws Exception {
+        assertEquals("\\\\N", copyText("\\N"));
+    }
+
+    @Test
+    void copyBytesWritesEscapedHex() throws Exception {
+        assertEquals("\\\\x00ff7f", copyBytes(new byte[] {0, (byte) 0xff, 0x7f}));
+        assertEquals("\\\\x", copyBytes(new byte[0]));
+        assertEquals("\\N", copyBytes(null));
+    }
+
+    @Test
+    void idListSizesAreSortedDistinctAndStartAtOne() {
+        DaoConfig dao = new DaoConfig();
+        dao.setIdListSizes(Arrays.asList(100, 10, null, 100, 0, -5, 1001, 1000));
+        assertEquals(List.of(1, 10, 100, 1000), JdbcDaoGenerator.idListSizes(dao));
+    }
+
+    @Test
+    void idListSizesDefaultToSingleIds() {
+        DaoConfig dao = new DaoConfig();
+        dao.setIdListSizes(null);
+        assertEquals(List.of(1), JdbcDaoGenerator.idListSizes(dao));
+    }
+
+    private static String copyText(String value) throws Exception {
+        StringBuilder out = new StringBuilder();
+        appendCopyText.invoke(null, out, value);
+        return out.toString();
+    }
+
+    private static String copyBytes(byte[] value) throws Exception {
+        StringBuilder out = new StringBuilder();
+        appendCopyBytes.invoke(null, out, (Object) value);
+        return out.toString();
+    }
+}
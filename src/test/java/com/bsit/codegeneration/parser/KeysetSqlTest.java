@@ -0,0 +1,111 @@
+package com.bsit.codegeneration.parser;
+
+import com.bsit.codegeneration.model.DaoConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KeysetSqlTest {
+
+    private static final List<String> KEYS = List.of("title", "film_id");
+
+    @Test
+    void primaryKeyIsTheDefaultKey() {
+        assertEquals(List.of("actor_id", "film_id"), KeysetSql.keyColumns(new DaoConfig(), "film_actor",
+                List.of("actor_id", "film_id"), List.of("actor_id", "film_id", "note"), List.of("note")));
+    }
+
+    @Test
+    void configuredColumnsGetEveryPrimaryKeyColumnAppended() {
+        DaoConfig config = keysetConfig("film_actor", "NOTE", "film_id");
+        assertEquals(List.of("note", "film_id", "actor_id"), KeysetSql.keyColumns(config, "film_actor",
+                List.of("actor_id", "film_id"), List.of("actor_id", "film_id", "note"), List.of()));
+    }
+
+    @Test
+    void unknownColumnIsRejected() {
+        DaoConfig config = keysetConfig("film", "rating");
+        assertThrows(IllegalStateException.class, () -> KeysetSql.keyColumns(config, "film",
+                List.of("film_id"), List.of("film_id", "title"), List.of()));
+    }
+
+    @Test
+    void nullableColumnIsRejected() {
+        DaoConfig config = keysetConfig("film", "title");
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> KeysetSql.keyColumns(config, "film",
+                List.of("film_id"), List.of("film_id", "title"), List.of("title")));
+        assertTrue(e.getMessage().contains("nullable"), e.getMessage());
+    }
+
+    @Test
+    void singleKeySeeksWithOneComparison() {
+        List<Integer> binds = new ArrayList<>();
+        assertEquals("SELECT * FROM film WHERE film_id > ? ORDER BY film_id FETCH FIRST ? ROWS ONLY",
+                KeysetSql.select("POSTGRESQL", "*", "film", List.of("film_id"), KeysetSql.Page.AFTER,
+                        i -> "?", "?", binds));
+        assertEquals(List.of(0), binds);
+    }
+
+    @Test
+    void rowValueSeekWhereRowsCompare() {
+        for (String vendor : List.of("POSTGRESQL", "MYSQL", "MARIADB", "H2")) {
+            List<Integer> binds = new ArrayList<>();
+            String sql = KeysetSql.select(vendor, "*", "film", KEYS, KeysetSql.Page.AFTER, i -> "?", "?", binds);
+            assertTrue(sql.contains(" WHERE (title, film_id) > (?, ?) ORDER BY title, film_id "), vendor + ": " + sql);
+            assertEquals(List.of(0, 1), binds, vendor);
+        }
+    }
+
+    @Test
+    void expandedSeekOnOracleAndSqlServer() {
+        for (String vendor : List.of("ORACLE", "MSSQL")) {
+            List<Integer> binds = new ArrayList<>();
+            String sql = KeysetSql.select(vendor, "*", "film", KEYS, KeysetSql.Page.AFTER, i -> "?", "?", binds);
+            assertTrue(sql.contains(" WHERE (title > ? OR (title = ? AND film_id > ?)) ORDER BY title, film_id "),
+                    vendor + ": " + sql);
+            assertEquals(List.of(0, 0, 1), binds, vendor);
+        }
+    }
+
+    @Test
+    void namedPlaceholdersFollowTheKey() {
+        List<Integer> binds = new ArrayList<>();
+        String sql = KeysetSql.select("ORACLE", "*", "film", KEYS, KeysetSql.Page.AFTER,
+                i -> ":after" + i, ":limit", binds);
+        assertEquals("SELECT * FROM film WHERE (title > :after0 OR (title = :after0 AND film_id > :after1))"
+                + " ORDER BY title, film_id FETCH FIRST :limit ROWS ONLY", sql);
+    }
+
+    @Test
+    void pagesBeforeAKeyReadDescendingAndFlipBack() {
+        List<Integer> binds = new ArrayList<>();
+        assertEquals("SELECT * FROM (SELECT * FROM film WHERE (title, film_id) < (?, ?)"
+                        + " ORDER BY title DESC, film_id DESC FETCH FIRST ? ROWS ONLY) page_rows ORDER BY title, film_id",
+                KeysetSql.select("POSTGRESQL", "*", "film", KEYS, KeysetSql.Page.BEFORE, i -> "?", "?", binds));
+        assertEquals("SELECT * FROM (SELECT * FROM film ORDER BY title DESC, film_id DESC"
+                        + " OFFSET 0 ROWS FETCH NEXT ? ROWS ONLY) page_rows ORDER BY title, film_id",
+                KeysetSql.select("MSSQL", "*", "film", KEYS, KeysetSql.Page.LAST, i -> "?", "?", new ArrayList<>()));
+    }
+
+    @Test
+    void limitPerDialect() {
+        assertEquals("FETCH FIRST ? ROWS ONLY", KeysetSql.limit("POSTGRESQL", "?"));
+        assertEquals("FETCH FIRST ? ROWS ONLY", KeysetSql.limit("ORACLE", "?"));
+        assertEquals("FETCH FIRST ? ROWS ONLY", KeysetSql.limit("H2", "?"));
+        assertEquals("LIMIT ?", KeysetSql.limit("MYSQL", "?"));
+        assertEquals("LIMIT ?", KeysetSql.limit("MARIADB", "?"));
+        assertEquals("OFFSET 0 ROWS FETCH NEXT ? ROWS ONLY", KeysetSql.limit("MSSQL", "?"));
+    }
+
+    private static DaoConfig keysetConfig(String table, String... columns) {
+        DaoConfig config = new DaoConfig();
+        config.setKeysetColumns(Map.of(table, List.of(columns)));
+        return config;
+    }
+}
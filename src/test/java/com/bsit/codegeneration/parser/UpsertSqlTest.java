@@ -0,0 +1,85 @@
+package com.bsit.codegeneration.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UpsertSqlTest {
+
+    private static final IntFunction<String> MARKER = i -> "?";
+    private static final List<String> COLUMNS = List.of("film_id", "title", "rating");
+    private static final List<String> KEYS = List.of("film_id");
+
+    @Test
+    void postgresUpdatesEveryNonKeyColumnOnConflict() {
+        assertEquals("INSERT INTO film (film_id, title, rating) VALUES (?, ?, ?)"
+                        + " ON CONFLICT (film_id) DO UPDATE SET title = EXCLUDED.title, rating = EXCLUDED.rating",
+                UpsertSql.upsert("POSTGRESQL", "film", COLUMNS, KEYS, MARKER));
+    }
+
+    @Test
+    void postgresDoesNothingWhenEveryColumnIsKey() {
+        assertEquals("INSERT INTO film_actor (actor_id, film_id) VALUES (?, ?) ON CONFLICT (actor_id, film_id) DO NOTHING",
+                UpsertSql.upsert("POSTGRESQL", "film_actor", List.of("actor_id", "film_id"),
+                        List.of("actor_id", "film_id"), MARKER));
+    }
+
+    @Test
+    void mysqlAndMariadbUpdateOnDuplicateKey() {
+        String expected = "INSERT INTO film (film_id, title, rating) VALUES (?, ?, ?)"
+                + " ON DUPLICATE KEY UPDATE title = VALUES(title), rating = VALUES(rating)";
+        assertEquals(expected, UpsertSql.upsert("MYSQL", "film", COLUMNS, KEYS, MARKER));
+        assertEquals(expected, UpsertSql.upsert("MARIADB", "film", COLUMNS, KEYS, MARKER));
+    }
+
+    @Test
+    void mysqlAssignsTheFirstKeyWhenEveryColumnIsKey() {
+        assertEquals("INSERT INTO film_actor (actor_id, film_id) VALUES (?, ?) ON DUPLICATE KEY UPDATE actor_id = actor_id",
+                UpsertSql.upsert("MYSQL", "film_actor", List.of("actor_id", "film_id"),
+                        List.of("actor_id", "film_id"), MARKER));
+    }
+
+    @Test
+    void h2MergesOnKey() {
+        assertEquals("MERGE INTO film (film_id, title, rating) KEY (film_id) VALUES (?, ?, ?)",
+                UpsertSql.upsert("H2", "film", COLUMNS, KEYS, MARKER));
+    }
+
+    @Test
+    void oracleMergesUsingDual() {
+        assertEquals("MERGE INTO film d USING (SELECT ? AS film_id, ? AS title, ? AS rating FROM DUAL) s"
+                        + " ON (d.film_id = s.film_id)"
+                        + " WHEN MATCHED THEN UPDATE SET d.title = s.title, d.rating = s.rating"
+                        + " WHEN NOT MATCHED THEN INSERT (film_id, title, rating) VALUES (s.film_id, s.title, s.rating)",
+                UpsertSql.upsert("ORACLE", "film", COLUMNS, KEYS, MARKER));
+    }
+
+    @Test
+    void mssqlMergeUsesAliasesAndEndsWithSemicolon() {
+        String sql = UpsertSql.upsert("MSSQL", "film", COLUMNS, KEYS, MARKER);
+        assertTrue(sql.startsWith("MERGE INTO film AS d USING (SELECT ? AS film_id, ? AS title, ? AS rating) AS s"), sql);
+        assertTrue(sql.contains(" ON (d.film_id = s.film_id)"), sql);
+        assertFalse(sql.contains("DUAL"), sql);
+        assertTrue(sql.endsWith("VALUES (s.film_id, s.title, s.rating);"), sql);
+    }
+
+    @Test
+    void mergeWithOnlyKeyColumnsOnlyInserts() {
+        String sql = UpsertSql.upsert("ORACLE", "film_actor", List.of("actor_id", "film_id"),
+                List.of("actor_id", "film_id"), MARKER);
+        assertTrue(sql.contains(" ON (d.actor_id = s.actor_id AND d.film_id = s.film_id)"), sql);
+        assertFalse(sql.contains("WHEN MATCHED"), sql);
+        assertTrue(sql.endsWith("WHEN NOT MATCHED THEN INSERT (actor_id, film_id) VALUES (s.actor_id, s.film_id)"), sql);
+    }
+
+    @Test
+    void placeholdersComeFromTheCaller() {
+        assertEquals("MERGE INTO film (film_id, title, rating) KEY (film_id) VALUES (?, CAST(? AS VARCHAR), ?)",
+                UpsertSql.upsert("H2", "film", COLUMNS, KEYS, i -> i == 1 ? "CAST(? AS VARCHAR)" : "?"));
+    }
+}
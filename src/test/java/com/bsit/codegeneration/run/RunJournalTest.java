@@ -0,0 +1,102 @@
+package com.bsit.codegeneration.run;
+
+import com.bsit.codegeneration.model.RunConfig;
+import com.bsit.codegeneration.model.ShardConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RunJournalTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void resumedJournalSkipsUnchangedUnits() throws Exception {
+        Path journalFile = dir.resolve("journal.jsonl");
+        Path film = Files.writeString(dir.resolve("Film.java"), "class Film {}");
+        try (RunJournal journal = RunJournal.open(journalFile, false)) {
+            journal.record("film", "record", "abc", film);
+        }
+
+        try (RunJournal resumed = RunJournal.open(journalFile, true)) {
+            assertEquals(1, resumed.size());
+            assertTrue(resumed.isCompleted("film", "record", "abc"));
+            assertFalse(resumed.isCompleted("film", "record", "changed"), "input changed");
+            assertFalse(resumed.isCompleted("film", "jdbc-dao", "abc"), "other kind");
+        }
+    }
+
+    @Test
+    void unitWhoseFileIsGoneIsRegenerated() throws Exception {
+        Path journalFile = dir.resolve("journal.jsonl");
+        Path film = Files.writeString(dir.resolve("Film.java"), "class Film {}");
+        try (RunJournal journal = RunJournal.open(journalFile, false)) {
+            journal.record("film", "record", "abc", film);
+        }
+        Files.delete(film);
+
+        try (RunJournal resumed = RunJournal.open(journalFile, true)) {
+            assertFalse(resumed.isCompleted("film", "record", "abc"));
+        }
+    }
+
+    @Test
+    void freshRunIgnoresPreviousJournal() throws Exception {
+        Path journalFile = dir.resolve("journal.jsonl");
+        Path film = Files.writeString(dir.resolve("Film.java"), "class Film {}");
+        try (RunJournal journal = RunJournal.open(journalFile, false)) {
+            journal.record("film", "record", "abc", film);
+        }
+
+        try (RunJournal fresh = RunJournal.open(journalFile, false)) {
+            assertEquals(0, fresh.size());
+            assertFalse(fresh.isCompleted("film", "record", "abc"));
+        }
+    }
+
+    @Test
+    void truncatedLastLineOfKilledRunIsIgnored() throws Exception {
+        Path journalFile = dir.resolve("journal.jsonl");
+        Path film = Files.writeString(dir.resolve("Film.java"), "class Film {}");
+        try (RunJournal journal = RunJournal.open(journalFile, false)) {
+            journal.record("film", "record", "abc", film);
+        }
+        Files.writeString(journalFile, "{\"table\":\"actor\",\"ki", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        try (RunJournal resumed = RunJournal.open(journalFile, true)) {
+            assertEquals(1, resumed.size());
+            assertTrue(resumed.isCompleted("film", "record", "abc"));
+        }
+    }
+
+    @Test
+    void runReusesJournaledUnitsInItsManifest() throws Exception {
+        Path journalFile = dir.resolve("journal-shard-0-of-1.jsonl");
+        Path film = Files.writeString(dir.resolve("Film.java"), "class Film {}");
+        try (RunJournal journal = RunJournal.open(journalFile, false)) {
+            journal.record("film", "record", "abc", film);
+        }
+
+        RunConfig runConfig = new RunConfig();
+        runConfig.setJournalDirectory(dir.toString());
+        runConfig.setResume(true);
+        ShardConfig shardConfig = new ShardConfig();
+        shardConfig.setManifestDirectory(dir.toString());
+        try (GenerationRun run = GenerationRun.open("public", shardConfig, runConfig,
+                List.of("film"), new RunMetrics(false))) {
+            assertTrue(run.isUpToDate("film", "record", "abc"));
+            assertFalse(run.isUpToDate("film", "record", "changed"));
+            assertEquals(1, run.getManifest().getArtifacts().size());
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.bsit.codegeneration.run;
+
+import com.bsit.codegeneration.model.ShardConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShardManifestMergerTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void mergesEveryShard() throws Exception {
+        writeShard(0, 2, 120, "film", "language");
+        writeShard(1, 2, 300, "actor");
+
+        GenerationManifest merged = ShardManifestMerger.merge(dir);
+
+        assertEquals(List.of("film", "language", "actor"), merged.getTables());
+        assertEquals(3, merged.getArtifacts().size());
+        assertEquals(2, merged.getShardCount());
+        assertEquals(300, merged.getElapsedMillis(), "slowest shard");
+        assertTrue(Files.exists(dir.resolve(ShardManifestMerger.MERGED_FILE)));
+        assertFalse(Files.exists(dir.resolve(ShardManifestMerger.MERGED_FAILURES_FILE)));
+    }
+
+    @Test
+    void missingShardIsRejected() throws Exception {
+        writeShard(0, 3, 10, "film");
+        writeShard(2, 3, 10, "actor");
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> ShardManifestMerger.merge(dir));
+        assertTrue(e.getMessage().contains("[1]"), e.getMessage());
+    }
+
+    @Test
+    void tableOfTwoShardsIsRejected() throws Exception {
+        writeShard(0, 2, 10, "film");
+        writeShard(1, 2, 10, "film");
+
+        assertThrows(IllegalStateException.class, () -> ShardManifestMerger.merge(dir));
+    }
+
+    @Test
+    void shardsDisagreeingOnCountAreRejected() throws Exception {
+        writeShard(0, 2, 10, "film");
+        writeShard(1, 3, 10, "actor");
+
+        assertThrows(IllegalStateException.class, () -> ShardManifestMerger.merge(dir));
+    }
+
+    @Test
+    void failureReportsAreCombined() throws Exception {
+        writeShard(0, 2, 10, "film");
+        writeShard(1, 2, 10, "actor");
+        for (int shard = 0; shard < 2; shard++) {
+            FailureReport report = new FailureReport("public");
+            report.setCompleted(3);
+            report.add(shard == 0 ? "film" : "actor", "jdbc-dao", new SQLException("connection reset"));
+            report.write(dir.resolve("failures-shard-" + shard + "-of-2.json"));
+        }
+
+        ShardManifestMerger.merge(dir);
+
+        FailureReport merged = GenerationManifest.JSON.readValue(
+                dir.resolve(ShardManifestMerger.MERGED_FAILURES_FILE).toFile(), FailureReport.class);
+        assertEquals(6, merged.getCompleted());
+        assertEquals(List.of("film", "actor"), merged.getFailures().stream().map(FailureReport.Failure::getTable).toList());
+    }
+
+    private void writeShard(int index, int count, long elapsedMillis, String... tables) throws Exception {
+        ShardConfig config = new ShardConfig();
+        config.setShardIndex(index);
+        config.setShardCount(count);
+        GenerationManifest manifest = new GenerationManifest("public", config, List.of(tables));
+        for (String table : tables) {
+            manifest.addArtifact(table, "record", dir.resolve(table + "Record.java"));
+        }
+        manifest.setElapsedMillis(elapsedMillis);
+        manifest.write(dir);
+    }
+}
@@ -0,0 +1,92 @@
+package com.bsit.codegeneration.spi;
+
+import com.bsit.codegeneration.fixture.ColumnType;
+import com.bsit.codegeneration.fixture.SchemaSpec;
+import com.bsit.codegeneration.fixture.SyntheticDatabase;
+import com.bsit.codegeneration.model.DaoConfig;
+import com.bsit.codegeneration.model.DatabaseConfig;
+import com.bsit.codegeneration.model.PojoConfig;
+import com.bsit.codegeneration.model.RecordConfig;
+import com.bsit.codegeneration.model.RepositoryConfig;
+import com.bsit.codegeneration.model.TargetConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TableModelTest {
+
+    private static final List<String> KINDS = List.of("record", "jdbc-dao", "jdbi-dao", "repository");
+
+    @TempDir
+    Path outputDir;
+
+    @Test
+    void columnCursorsAreIndependent() throws Exception {
+        try (Connection conn = database().connect()) {
+            TableModel table = TableModel.load(conn.getMetaData(), "public", "film", List.of(), List.of());
+            try (ResultSet first = table.openColumns()) {
+                assertEquals(3, count(first));
+            }
+            try (ResultSet second = table.openColumns()) {
+                assertEquals(3, count(second));
+            }
+        }
+    }
+
+    @Test
+    void everyGeneratorRunsOnOneModel() throws Exception {
+        DatabaseConfig dbConfig = new DatabaseConfig();
+        dbConfig.setDialect("POSTGRESQL");
+        dbConfig.setSchema("public");
+        TargetConfig target = new TargetConfig(outputDir.toString(), "com.example");
+        target.setRecordPackage("record");
+        target.setDaoPackage("dao");
+        target.setRepositoryPackage("repository");
+        RecordConfig recordConfig = new RecordConfig();
+        recordConfig.setGenerate(true);
+        recordConfig.setPackageName("record");
+        ArtifactContext context = new ArtifactContext(dbConfig, target, recordConfig, new DaoConfig(),
+                new RepositoryConfig(), new PojoConfig());
+        Map<String, String> written = new LinkedHashMap<>();
+        OutputSink sink = (packageName, className, content) -> {
+            written.put(className, content);
+            return outputDir.resolve(className + ".java");
+        };
+
+        List<ArtifactGenerator> generators = ArtifactGenerators.load(KINDS);
+        assertEquals(KINDS.size(), generators.size());
+        try (Connection conn = database().connect()) {
+            TableModel table = TableModel.load(conn.getMetaData(), "public", "film", List.of(), List.of());
+            for (ArtifactGenerator generator : generators) {
+                generator.generate(table, context, sink);
+            }
+        }
+        assertEquals(KINDS.size(), written.size(), () -> "written: " + written.keySet());
+        written.forEach((className, content) -> assertTrue(content.contains(className), className));
+    }
+
+    private static SyntheticDatabase database() {
+        SchemaSpec schema = new SchemaSpec("public");
+        schema.table("film").id("film_id")
+                .column("title", ColumnType.VARCHAR)
+                .column("rental_rate", ColumnType.NUMERIC);
+        return new SyntheticDatabase(schema);
+    }
+
+    private static int count(ResultSet rs) throws Exception {
+        int rows = 0;
+        while (rs.next()) {
+            rows++;
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,22 @@
+package com.bsit.codegeneration.fixture;
+
+/**
+ * One column of a synthetic table.
+ */
+public record ColumnSpec(String name, String typeName, int dataType, int size, int decimalDigits,
+                         boolean nullable, boolean autoIncrement, String defaultValue) {
+
+    public static ColumnSpec of(String name, ColumnType type) {
+        return new ColumnSpec(name, type.typeName(), type.dataType(), type.size(), type.decimalDigits(),
+                true, false, null);
+    }
+
+    public static ColumnSpec autoIncrement(String name, String tableName) {
+        return new ColumnSpec(name, ColumnType.INT4.typeName(), ColumnType.INT4.dataType(), ColumnType.INT4.size(),
+                0, false, true, "nextval('" + tableName + "_" + name + "_seq'::regclass)");
+    }
+
+    public ColumnSpec notNull() {
+        return new ColumnSpec(name, typeName, dataType, size, decimalDigits, false, autoIncrement, defaultValue);
+    }
+}
@@ -0,0 +1,50 @@
+package com.bsit.codegeneration.fixture;
+
+import java.sql.Types;
+
+/**
+ * Column types as PostgreSQL reports them in {@code getColumns}: type name, JDBC type, size and scale.
+ */
+public enum ColumnType {
+    INT4("int4", Types.INTEGER, 10, 0),
+    INT8("int8", Types.BIGINT, 19, 0),
+    SERIAL("serial", Types.INTEGER, 10, 0),
+    NUMERIC("numeric", Types.NUMERIC, 10, 2),
+    VARCHAR("varchar", Types.VARCHAR, 255, 0),
+    TEXT("text", Types.VARCHAR, Integer.MAX_VALUE, 0),
+    BPCHAR("bpchar", Types.CHAR, 3, 0),
+    BOOL("bool", Types.BIT, 1, 0),
+    DATE("date", Types.DATE, 13, 0),
+    TIMESTAMP("timestamp", Types.TIMESTAMP, 29, 6),
+    UUID("uuid", Types.OTHER, Integer.MAX_VALUE, 0),
+    BYTEA("bytea", Types.BINARY, Integer.MAX_VALUE, 0),
+    JSONB("jsonb", Types.OTHER, Integer.MAX_VALUE, 0);
+
+    private final String typeName;
+    private final int dataType;
+    private final int size;
+    private final int decimalDigits;
+
+    ColumnType(String typeName, int dataType, int size, int decimalDigits) {
+        this.typeName = typeName;
+        this.dataType = dataType;
+        this.size = size;
+        this.decimalDigits = decimalDigits;
+    }
+
+    public String typeName() {
+        return typeName;
+    }
+
+    public int dataType() {
+        return dataType;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int decimalDigits() {
+        return decimalDigits;
+    }
+}
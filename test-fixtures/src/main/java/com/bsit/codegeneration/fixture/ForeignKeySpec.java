@@ -0,0 +1,7 @@
+package com.bsit.codegeneration.fixture;
+
+/**
+ * Single-column foreign key from the owning table to {@code pkTable.pkColumn}.
+ */
+public record ForeignKeySpec(String name, String fkColumn, String pkTable, String pkColumn) {
+}
@@ -0,0 +1,200 @@
+package com.bsit.codegeneration.fixture;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Read-only, scrollable-to-start {@link ResultSet} over rows held in memory. Columns are looked up
+ * by 1-based index or case-insensitive label, as drivers do for catalog result sets. Methods that
+ * a catalog result set does not need throw {@link SQLFeatureNotSupportedException}.
+ */
+final class ListResultSet implements InvocationHandler {
+
+    private final Statement statement;
+    private final String[] columns;
+    private final int[] types;
+    private final List<Object[]> rows;
+    private final Map<String, Integer> index = new HashMap<>();
+    private int cursor = -1;
+    private boolean closed;
+    private boolean wasNull;
+
+    private ListResultSet(Statement statement, String[] columns, int[] types, List<Object[]> rows) {
+        this.statement = statement;
+        this.columns = columns;
+        this.types = types;
+        this.rows = rows;
+        for (int i = 0; i < columns.length; i++) {
+            index.putIfAbsent(columns[i].toUpperCase(Locale.ROOT), i);
+        }
+    }
+
+    static ResultSet create(Statement statement, String[] columns, int[] types, List<Object[]> rows) {
+        return (ResultSet) Proxy.newProxyInstance(ListResultSet.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class}, new ListResultSet(statement, columns, types, rows));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        switch (name) {
+            case "close" -> {
+                closed = true;
+                return null;
+            }
+            case "isClosed" -> {
+                return closed;
+            }
+            case "hashCode" -> {
+                return System.identityHashCode(proxy);
+            }
+            case "equals" -> {
+                return proxy == args[0];
+            }
+            case "toString" -> {
+                return "ListResultSet" + List.of(columns) + "[" + rows.size() + " rows]";
+            }
+            case "unwrap" -> throw new SQLException("Not a wrapper");
+            case "isWrapperFor" -> {
+                return false;
+            }
+            default -> {
+                // continue below
+            }
+        }
+        if (closed) {
+            throw new SQLException("ResultSet is closed");
+        }
+        return switch (name) {
+            case "next" -> ++cursor < rows.size();
+            case "beforeFirst" -> {
+                cursor = -1;
+                yield null;
+            }
+            case "isBeforeFirst" -> cursor < 0 && !rows.isEmpty();
+            case "isAfterLast" -> cursor >= rows.size() && !rows.isEmpty();
+            case "getRow" -> cursor >= 0 && cursor < rows.size() ? cursor + 1 : 0;
+            case "getType" -> ResultSet.TYPE_FORWARD_ONLY;
+            case "getConcurrency" -> ResultSet.CONCUR_READ_ONLY;
+            case "getFetchSize" -> 0;
+            case "setFetchSize", "setFetchDirection", "clearWarnings" -> null;
+            case "getWarnings" -> null;
+            case "getStatement" -> statement;
+            case "wasNull" -> wasNull;
+            case "findColumn" -> column(args[0]) + 1;
+            case "getMetaData" -> metaData();
+            case "getString" -> {
+                Object value = value(args[0]);
+                yield value == null ? null : value.toString();
+            }
+            case "getInt" -> number(value(args[0])).intValue();
+            case "getShort" -> number(value(args[0])).shortValue();
+            case "getLong" -> number(value(args[0])).longValue();
+            case "getDouble" -> number(value(args[0])).doubleValue();
+            case "getBigDecimal" -> {
+                Object value = value(args[0]);
+                yield value == null ? null : new BigDecimal(value.toString());
+            }
+            case "getBoolean" -> {
+                Object value = value(args[0]);
+                yield value instanceof Boolean b ? b : value != null && "YES".equalsIgnoreCase(value.toString());
+            }
+            case "getObject" -> {
+                Object value = value(args[0]);
+                yield args.length > 1 && args[1] instanceof Class<?> type && value != null ? convert(value, type) : value;
+            }
+            default -> throw new SQLFeatureNotSupportedException(name + " is not supported by the synthetic catalog");
+        };
+    }
+
+    private int column(Object key) throws SQLException {
+        if (key instanceof Integer i) {
+            if (i < 1 || i > columns.length) {
+                throw new SQLException("Column index out of range: " + i);
+            }
+            return i - 1;
+        }
+        Integer i = index.get(key.toString().toUpperCase(Locale.ROOT));
+        if (i == null) {
+            throw new SQLException("Column not found: " + key);
+        }
+        return i;
+    }
+
+    private Object value(Object key) throws SQLException {
+        if (cursor < 0 || cursor >= rows.size()) {
+            throw new SQLException("No current row");
+        }
+        Object value = rows.get(cursor)[column(key)];
+        wasNull = value == null;
+        return value;
+    }
+
+    private Number number(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        return value instanceof Number n ? n : new BigDecimal(value.toString());
+    }
+
+    private Object convert(Object value, Class<?> type) {
+        if (type.isInstance(value)) {
+            return type.cast(value);
+        }
+        if (type == String.class) {
+            return value.toString();
+        }
+        if (type == Integer.class) {
+            return number(value).intValue();
+        }
+        if (type == Long.class) {
+            return number(value).longValue();
+        }
+        if (type == Short.class) {
+            return number(value).shortValue();
+        }
+        return value;
+    }
+
+    private ResultSetMetaData metaData() {
+        return (ResultSetMetaData) Proxy.newProxyInstance(ListResultSet.class.getClassLoader(),
+                new Class<?>[]{ResultSetMetaData.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "getColumnCount" -> columns.length;
+                    case "getColumnName", "getColumnLabel" -> columns[(Integer) args[0] - 1];
+                    case "getColumnType" -> types[(Integer) args[0] - 1];
+                    case "getColumnTypeName" -> typeName(types[(Integer) args[0] - 1]);
+                    case "getColumnClassName" -> types[(Integer) args[0] - 1] == Types.VARCHAR
+                            ? String.class.getName() : Integer.class.getName();
+                    case "isNullable" -> DatabaseMetaData.columnNullable;
+                    case "isReadOnly" -> true;
+                    case "getColumnDisplaySize" -> types[(Integer) args[0] - 1] == Types.VARCHAR ? 255 : 11;
+                    case "getSchemaName", "getTableName", "getCatalogName" -> "";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "ListResultSetMetaData" + List.of(columns);
+                    default -> SyntheticDatabase.defaultValue(method.getReturnType());
+                });
+    }
+
+    private static String typeName(int type) {
+        return switch (type) {
+            case Types.INTEGER -> "int4";
+            case Types.SMALLINT -> "int2";
+            case Types.BOOLEAN, Types.BIT -> "bool";
+            default -> "varchar";
+        };
+    }
+}
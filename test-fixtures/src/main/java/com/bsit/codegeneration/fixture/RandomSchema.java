@@ -0,0 +1,105 @@
+package com.bsit.codegeneration.fixture;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Reproducible random schema: the same settings and seed always produce the same tables.
+ * <p>
+ * Entity tables {@code t_00001 ...} get an auto-increment key and {@code minWidth..maxWidth}
+ * columns. Each non-key column becomes, with probability {@code fkDensity}, a foreign key to an
+ * earlier entity table. {@code joinTableRatio} of the tables are two-column join tables with a
+ * composite primary key, the shape the generators detect as many-to-many.
+ */
+public class RandomSchema {
+
+    private static final ColumnType[] VALUE_TYPES = {ColumnType.VARCHAR, ColumnType.NUMERIC,
+            ColumnType.TIMESTAMP, ColumnType.BOOL, ColumnType.INT4, ColumnType.DATE, ColumnType.BPCHAR,
+            ColumnType.TEXT, ColumnType.UUID, ColumnType.INT8, ColumnType.BYTEA, ColumnType.JSONB};
+
+    private String schemaName = "public";
+    private int tableCount = 100;
+    private int minWidth = 5;
+    private int maxWidth = 30;
+    private double fkDensity = 0.05;
+    private double joinTableRatio = 0.1;
+    private long seed = 42;
+
+    public RandomSchema schemaName(String schemaName) {
+        this.schemaName = schemaName;
+        return this;
+    }
+
+    public RandomSchema tableCount(int tableCount) {
+        this.tableCount = tableCount;
+        return this;
+    }
+
+    public RandomSchema width(int minWidth, int maxWidth) {
+        if (minWidth < 1 || maxWidth < minWidth) {
+            throw new IllegalArgumentException("Invalid width range " + minWidth + ".." + maxWidth);
+        }
+        this.minWidth = minWidth;
+        this.maxWidth = maxWidth;
+        return this;
+    }
+
+    public RandomSchema fkDensity(double fkDensity) {
+        this.fkDensity = fkDensity;
+        return this;
+    }
+
+    public RandomSchema joinTableRatio(double joinTableRatio) {
+        this.joinTableRatio = joinTableRatio;
+        return this;
+    }
+
+    public RandomSchema seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public SchemaSpec build() {
+        Random random = new Random(seed);
+        SchemaSpec schema = new SchemaSpec(schemaName);
+        int joinTables = (int) Math.round(tableCount * joinTableRatio);
+        int entityTables = Math.max(tableCount - joinTables, Math.min(tableCount, 2));
+        joinTables = tableCount - entityTables;
+
+        List<String> entities = new ArrayList<>(entityTables);
+        for (int i = 1; i <= entityTables; i++) {
+            String tableName = String.format("t_%05d", i);
+            TableSpec table = schema.table(tableName).id(tableName + "_id");
+            int width = minWidth + random.nextInt(maxWidth - minWidth + 1);
+            for (int c = 1; c < width; c++) {
+                if (!entities.isEmpty() && random.nextDouble() < fkDensity) {
+                    String target = entities.get(random.nextInt(entities.size()));
+                    String fkColumn = target + "_id";
+                    if (table.findColumn(fkColumn) != null) {
+                        fkColumn = target + "_id_" + c;
+                    }
+                    table.foreignKey(fkColumn, target, target + "_id");
+                } else {
+                    ColumnType type = VALUE_TYPES[random.nextInt(VALUE_TYPES.length)];
+                    table.column(type.name().toLowerCase() + "_" + c, type);
+                }
+            }
+            entities.add(tableName);
+        }
+
+        for (int i = 1; i <= joinTables; i++) {
+            String left = entities.get(random.nextInt(entities.size()));
+            String right = entities.get(random.nextInt(entities.size()));
+            if (left.equals(right)) {
+                right = entities.get((entities.indexOf(left) + 1) % entities.size());
+            }
+            String tableName = String.format("j_%05d", i);
+            schema.table(tableName)
+                    .foreignKey(left + "_id", left, left + "_id")
+                    .foreignKey(right + "_id", right, right + "_id")
+                    .primaryKey(left + "_id", right + "_id");
+        }
+        return schema;
+    }
+}
@@ -0,0 +1,39 @@
+package com.bsit.codegeneration.fixture;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Tables of one synthetic schema, in creation order (the order {@code getTables} reports them).
+ */
+public class SchemaSpec {
+
+    private final String name;
+    private final Map<String, TableSpec> tables = new LinkedHashMap<>();
+
+    public SchemaSpec(String name) {
+        this.name = name;
+    }
+
+    /** Returns the table with this name, creating it on first use. */
+    public TableSpec table(String tableName) {
+        return tables.computeIfAbsent(tableName, TableSpec::new);
+    }
+
+    public TableSpec getTable(String tableName) {
+        return tables.get(tableName);
+    }
+
+    public Collection<TableSpec> getTables() {
+        return tables.values();
+    }
+
+    public int size() {
+        return tables.size();
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,142 @@
+package com.bsit.codegeneration.fixture;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Connection and {@link DatabaseMetaData} proxies backed by a {@link SyntheticDatabase}. Catalog
+ * result sets report a statement whose {@code getConnection()} is this connection, like real drivers.
+ */
+final class SyntheticConnection {
+
+    private final SyntheticDatabase database;
+    private String schema;
+    private boolean autoCommit = true;
+    private boolean closed;
+    private Connection connection;
+    private DatabaseMetaData metaData;
+    private Statement catalogStatement;
+
+    SyntheticConnection(SyntheticDatabase database, String schema) {
+        this.database = database;
+        this.schema = schema;
+    }
+
+    Connection proxy() {
+        connection = (Connection) Proxy.newProxyInstance(SyntheticConnection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    if (SyntheticDatabase.isIdentityMethod(method)) {
+                        return SyntheticDatabase.identity(proxy, method, args, "SyntheticConnection[" + schema + "]");
+                    }
+                    String name = method.getName();
+                    if (closed && !name.equals("isClosed") && !name.equals("close")) {
+                        throw new SQLException("Connection is closed");
+                    }
+                    return switch (name) {
+                        case "getMetaData" -> metaData;
+                        case "prepareStatement" ->
+                                SyntheticDatabase.statementProxy(database, connection, (String) args[0]);
+                        case "createStatement" -> SyntheticDatabase.statementProxy(database, connection, null);
+                        case "getAutoCommit" -> autoCommit;
+                        case "setAutoCommit" -> {
+                            autoCommit = (Boolean) args[0];
+                            yield null;
+                        }
+                        case "getSchema" -> schema;
+                        case "setSchema" -> {
+                            schema = (String) args[0];
+                            yield null;
+                        }
+                        case "nativeSQL" -> args[0];
+                        case "isValid" -> !closed;
+                        case "isClosed" -> closed;
+                        case "close" -> {
+                            closed = true;
+                            yield null;
+                        }
+                        case "getTransactionIsolation" -> Connection.TRANSACTION_READ_COMMITTED;
+                        case "unwrap" -> throw new SQLException("Not a wrapper");
+                        default -> SyntheticDatabase.defaultValue(method.getReturnType());
+                    };
+                });
+        catalogStatement = SyntheticDatabase.statementProxy(database, connection, "catalog");
+        metaData = createMetaData();
+        return connection;
+    }
+
+    private DatabaseMetaData createMetaData() {
+        return (DatabaseMetaData) Proxy.newProxyInstance(SyntheticConnection.class.getClassLoader(),
+                new Class<?>[]{DatabaseMetaData.class}, (proxy, method, args) -> {
+                    if (SyntheticDatabase.isIdentityMethod(method)) {
+                        return SyntheticDatabase.identity(proxy, method, args, "SyntheticDatabaseMetaData");
+                    }
+                    String name = method.getName();
+                    return switch (name) {
+                        case "getTables" -> {
+                            database.countCall(name);
+                            yield database.getTables(catalogStatement, (String) args[1], (String) args[2],
+                                    (String[]) args[3]);
+                        }
+                        case "getColumns" -> {
+                            database.countCall(name);
+                            yield database.getColumns(catalogStatement, (String) args[1], (String) args[2],
+                                    (String) args[3]);
+                        }
+                        case "getPrimaryKeys" -> {
+                            database.countCall(name);
+                            yield database.getPrimaryKeys(catalogStatement, (String) args[1], (String) args[2]);
+                        }
+                        case "getImportedKeys" -> {
+                            database.countCall(name);
+                            yield database.getImportedKeys(catalogStatement, (String) args[1], (String) args[2]);
+                        }
+                        case "getExportedKeys" -> {
+                            database.countCall(name);
+                            yield database.getExportedKeys(catalogStatement, (String) args[1], (String) args[2]);
+                        }
+                        case "getCrossReference" -> {
+                            database.countCall(name);
+                            yield database.getCrossReference(catalogStatement, (String) args[1], (String) args[2],
+                                    (String) args[4], (String) args[5]);
+                        }
+                        case "getIndexInfo" -> {
+                            database.countCall(name);
+                            yield database.getIndexInfo(catalogStatement, (String) args[1], (String) args[2]);
+                        }
+                        case "getSchemas" -> {
+                            database.countCall(name);
+                            yield database.getSchemas(catalogStatement, args == null ? null : (String) args[1]);
+                        }
+                        case "getTableTypes" -> {
+                            database.countCall(name);
+                            yield database.getTableTypes(catalogStatement);
+                        }
+                        case "getConnection" -> connection;
+                        case "getDatabaseProductName" -> database.getProductName();
+                        case "getDatabaseProductVersion" -> "16.0 (synthetic)";
+                        case "getDatabaseMajorVersion" -> 16;
+                        case "getDriverName" -> "synthetic";
+                        case "getDriverVersion" -> "1.0";
+                        case "getJDBCMajorVersion" -> 4;
+                        case "getJDBCMinorVersion" -> 3;
+                        case "getURL" -> SyntheticDriver.URL_PREFIX + schema;
+                        case "getUserName" -> "synthetic";
+                        case "getIdentifierQuoteString" -> "\"";
+                        case "getSearchStringEscape" -> "\\";
+                        case "getCatalogSeparator" -> ".";
+                        case "storesLowerCaseIdentifiers" -> true;
+                        case "unwrap" -> throw new SQLException("Not a wrapper");
+                        default -> {
+                            if (method.getReturnType() == java.sql.ResultSet.class) {
+                                database.countCall(name);
+                                yield database.empty(catalogStatement);
+                            }
+                            yield SyntheticDatabase.defaultValue(method.getReturnType());
+                        }
+                    };
+                });
+    }
+}
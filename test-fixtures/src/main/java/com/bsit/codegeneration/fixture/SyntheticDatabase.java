@@ -0,0 +1,415 @@
+package com.bsit.codegeneration.fixture;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory database that answers the {@link DatabaseMetaData} catalog calls the generator makes
+ * from one or more {@link SchemaSpec}s. Every catalog call is counted by method name and can be
+ * delayed by a fixed latency to simulate the round trip to a remote database.
+ * <p>
+ * Specs must be complete before the database is created; keys are indexed once up front.
+ * Table name patterns without {@code %} are matched literally ({@code _} is not a wildcard), which
+ * is how the generator passes table names. Statements run against the database return no rows.
+ */
+public class SyntheticDatabase {
+
+    private static final String[] TABLES = {"TABLE_CAT", "TABLE_SCHEM", "TABLE_NAME", "TABLE_TYPE", "REMARKS"};
+    private static final String[] COLUMNS = {"TABLE_CAT", "TABLE_SCHEM", "TABLE_NAME", "COLUMN_NAME",
+            "DATA_TYPE", "TYPE_NAME", "COLUMN_SIZE", "BUFFER_LENGTH", "DECIMAL_DIGITS", "NUM_PREC_RADIX",
+            "NULLABLE", "REMARKS", "COLUMN_DEF", "SQL_DATA_TYPE", "SQL_DATETIME_SUB", "CHAR_OCTET_LENGTH",
+            "ORDINAL_POSITION", "IS_NULLABLE", "SCOPE_CATALOG", "SCOPE_SCHEMA", "SCOPE_TABLE",
+            "SOURCE_DATA_TYPE", "IS_AUTOINCREMENT", "IS_GENERATEDCOLUMN"};
+    private static final String[] PRIMARY_KEYS = {"TABLE_CAT", "TABLE_SCHEM", "TABLE_NAME", "COLUMN_NAME",
+            "KEY_SEQ", "PK_NAME"};
+    private static final String[] KEYS = {"PKTABLE_CAT", "PKTABLE_SCHEM", "PKTABLE_NAME", "PKCOLUMN_NAME",
+            "FKTABLE_CAT", "FKTABLE_SCHEM", "FKTABLE_NAME", "FKCOLUMN_NAME", "KEY_SEQ", "UPDATE_RULE",
+            "DELETE_RULE", "FK_NAME", "PK_NAME", "DEFERRABILITY"};
+    private static final String[] INDEXES = {"TABLE_CAT", "TABLE_SCHEM", "TABLE_NAME", "NON_UNIQUE",
+            "INDEX_QUALIFIER", "INDEX_NAME", "TYPE", "ORDINAL_POSITION", "COLUMN_NAME", "ASC_OR_DESC",
+            "CARDINALITY", "PAGES", "FILTER_CONDITION"};
+    private static final String[] SCHEMAS = {"TABLE_SCHEM", "TABLE_CATALOG"};
+    private static final String[] TABLE_TYPES = {"TABLE_TYPE"};
+
+    private final Map<String, SchemaSpec> schemas = new LinkedHashMap<>();
+    // schema -> table -> foreign keys, both directions
+    private final Map<String, Map<String, List<Object[]>>> importedKeys = new HashMap<>();
+    private final Map<String, Map<String, List<Object[]>>> exportedKeys = new HashMap<>();
+    private final Map<String, LongAdder> calls = new ConcurrentHashMap<>();
+    private String productName = "PostgreSQL";
+    private Duration latency = Duration.ZERO;
+
+    public SyntheticDatabase(SchemaSpec... schemaSpecs) {
+        for (SchemaSpec schema : schemaSpecs) {
+            schemas.put(schema.getName(), schema);
+            indexKeys(schema);
+        }
+    }
+
+    public SyntheticDatabase productName(String productName) {
+        this.productName = productName;
+        return this;
+    }
+
+    /** Delay added to every catalog call and statement execution. */
+    public SyntheticDatabase latency(Duration latency) {
+        this.latency = latency;
+        return this;
+    }
+
+    public Connection connect() {
+        return new SyntheticConnection(this, schemas.isEmpty() ? null : schemas.keySet().iterator().next()).proxy();
+    }
+
+    public SchemaSpec getSchema(String name) {
+        return schemas.get(name);
+    }
+
+    /** Catalog calls and statement executions so far, by method name. */
+    public Map<String, Long> callCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        calls.forEach((name, count) -> counts.put(name, count.sum()));
+        return counts;
+    }
+
+    public long totalCalls() {
+        long total = 0;
+        for (LongAdder count : calls.values()) {
+            total += count.sum();
+        }
+        return total;
+    }
+
+    public void resetCounters() {
+        calls.clear();
+    }
+
+    void countCall(String method) throws SQLException {
+        calls.computeIfAbsent(method, k -> new LongAdder()).increment();
+        if (!latency.isZero()) {
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted during simulated latency", e);
+            }
+        }
+    }
+
+    private void indexKeys(SchemaSpec schema) {
+        Map<String, List<Object[]>> imported = importedKeys.computeIfAbsent(schema.getName(), k -> new HashMap<>());
+        Map<String, List<Object[]>> exported = exportedKeys.computeIfAbsent(schema.getName(), k -> new HashMap<>());
+        for (TableSpec table : schema.getTables()) {
+            for (ForeignKeySpec fk : table.getForeignKeys()) {
+                Object[] row = {null, schema.getName(), fk.pkTable(), fk.pkColumn(),
+                        null, schema.getName(), table.getName(), fk.fkColumn(),
+                        (short) 1, (short) DatabaseMetaData.importedKeyNoAction,
+                        (short) DatabaseMetaData.importedKeyNoAction, fk.name(), fk.pkTable() + "_pkey",
+                        (short) DatabaseMetaData.importedKeyNotDeferrable};
+                imported.computeIfAbsent(table.getName(), k -> new ArrayList<>()).add(row);
+                exported.computeIfAbsent(fk.pkTable(), k -> new ArrayList<>()).add(row);
+            }
+        }
+        // Drivers order imported keys by primary table and exported keys by foreign table
+        imported.values().forEach(rows -> rows.sort(Comparator.comparing(r -> (String) r[2])));
+        exported.values().forEach(rows -> rows.sort(Comparator.comparing(r -> (String) r[6])));
+    }
+
+    // ---- DatabaseMetaData catalog calls ----
+
+    ResultSet getTables(Statement owner, String schemaPattern, String tablePattern, String[] types) {
+        List<String> typeList = types == null ? null : Arrays.asList(types);
+        List<Object[]> rows = new ArrayList<>();
+        for (SchemaSpec schema : matchingSchemas(schemaPattern)) {
+            for (TableSpec table : matchingTables(schema, tablePattern)) {
+                if (typeList == null || typeList.contains(table.getTableType())) {
+                    rows.add(new Object[]{null, schema.getName(), table.getName(), table.getTableType(), null});
+                }
+            }
+        }
+        return ListResultSet.create(owner, TABLES, varchar(TABLES.length), rows);
+    }
+
+    ResultSet getColumns(Statement owner, String schemaPattern, String tablePattern, String columnPattern) {
+        Pattern columnFilter = like(columnPattern);
+        List<Object[]> rows = new ArrayList<>();
+        for (SchemaSpec schema : matchingSchemas(schemaPattern)) {
+            for (TableSpec table : matchingTables(schema, tablePattern)) {
+                int position = 0;
+                for (ColumnSpec column : table.getColumns()) {
+                    position++;
+                    if (columnFilter != null && !columnFilter.matcher(column.name()).matches()) {
+                        continue;
+                    }
+                    rows.add(new Object[]{null, schema.getName(), table.getName(), column.name(),
+                            column.dataType(), column.typeName(), column.size(), null, column.decimalDigits(), 10,
+                            column.nullable() ? DatabaseMetaData.columnNullable : DatabaseMetaData.columnNoNulls,
+                            null, column.defaultValue(), null, null, column.size(), position,
+                            column.nullable() ? "YES" : "NO", null, null, null, null,
+                            column.autoIncrement() ? "YES" : "NO", "NO"});
+                }
+            }
+        }
+        int[] types = varchar(COLUMNS.length);
+        for (String intColumn : List.of("DATA_TYPE", "COLUMN_SIZE", "DECIMAL_DIGITS", "NUM_PREC_RADIX", "NULLABLE",
+                "CHAR_OCTET_LENGTH", "ORDINAL_POSITION")) {
+            types[Arrays.asList(COLUMNS).indexOf(intColumn)] = Types.INTEGER;
+        }
+        return ListResultSet.create(owner, COLUMNS, types, rows);
+    }
+
+    ResultSet getPrimaryKeys(Statement owner, String schemaName, String tableName) {
+        List<Object[]> rows = new ArrayList<>();
+        for (SchemaSpec schema : matchingSchemas(schemaName)) {
+            TableSpec table = schema.getTable(tableName);
+            if (table == null) {
+                continue;
+            }
+            short seq = 0;
+            for (String column : table.getPrimaryKey()) {
+                rows.add(new Object[]{null, schema.getName(), table.getName(), column, ++seq, table.getName() + "_pkey"});
+            }
+        }
+        int[] types = varchar(PRIMARY_KEYS.length);
+        types[4] = Types.SMALLINT;
+        return ListResultSet.create(owner, PRIMARY_KEYS, types, rows);
+    }
+
+    ResultSet getImportedKeys(Statement owner, String schemaName, String tableName) {
+        List<Object[]> rows = new ArrayList<>();
+        for (SchemaSpec schema : matchingSchemas(schemaName)) {
+            rows.addAll(importedKeys.get(schema.getName()).getOrDefault(tableName, Collections.emptyList()));
+        }
+        return keys(owner, rows);
+    }
+
+    ResultSet getExportedKeys(Statement owner, String schemaName, String tableName) {
+        List<Object[]> rows = new ArrayList<>();
+        for (SchemaSpec schema : matchingSchemas(schemaName)) {
+            rows.addAll(exportedKeys.get(schema.getName()).getOrDefault(tableName, Collections.emptyList()));
+        }
+        return keys(owner, rows);
+    }
+
+    // A null table on either side matches every table, as pgjdbc allows
+    ResultSet getCrossReference(Statement owner, String pkSchema, String pkTable, String fkSchema, String fkTable) {
+        List<Object[]> rows = new ArrayList<>();
+        for (SchemaSpec schema : matchingSchemas(fkSchema)) {
+            Map<String, List<Object[]>> imported = importedKeys.get(schema.getName());
+            List<List<Object[]>> candidates = fkTable == null
+                    ? new ArrayList<>(sortedByTable(imported))
+                    : List.of(imported.getOrDefault(fkTable, Collections.emptyList()));
+            for (List<Object[]> tableRows : candidates) {
+                for (Object[] row : tableRows) {
+                    if ((pkSchema == null || pkSchema.equals(row[1])) && (pkTable == null || pkTable.equals(row[2]))) {
+                        rows.add(row);
+                    }
+                }
+            }
+        }
+        return keys(owner, rows);
+    }
+
+    ResultSet getIndexInfo(Statement owner, String schemaName, String tableName) {
+        List<Object[]> rows = new ArrayList<>();
+        for (SchemaSpec schema : matchingSchemas(schemaName)) {
+            TableSpec table = schema.getTable(tableName);
+            if (table == null) {
+                continue;
+            }
+            addIndex(rows, schema, table, table.getName() + "_pkey", table.getPrimaryKey());
+            for (List<String> unique : table.getUniqueKeys()) {
+                addIndex(rows, schema, table, table.getName() + "_" + String.join("_", unique) + "_key", unique);
+            }
+        }
+        int[] types = varchar(INDEXES.length);
+        types[3] = Types.BOOLEAN;
+        types[6] = Types.SMALLINT;
+        types[7] = Types.SMALLINT;
+        types[10] = Types.BIGINT;
+        types[11] = Types.BIGINT;
+        return ListResultSet.create(owner, INDEXES, types, rows);
+    }
+
+    ResultSet getSchemas(Statement owner, String schemaPattern) {
+        List<Object[]> rows = new ArrayList<>();
+        for (SchemaSpec schema : matchingSchemas(schemaPattern)) {
+            rows.add(new Object[]{schema.getName(), null});
+        }
+        return ListResultSet.create(owner, SCHEMAS, varchar(SCHEMAS.length), rows);
+    }
+
+    ResultSet getTableTypes(Statement owner) {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{"TABLE"});
+        rows.add(new Object[]{"VIEW"});
+        return ListResultSet.create(owner, TABLE_TYPES, varchar(1), rows);
+    }
+
+    ResultSet empty(Statement owner) {
+        return ListResultSet.create(owner, new String[0], new int[0], Collections.emptyList());
+    }
+
+    String getProductName() {
+        return productName;
+    }
+
+    private static List<List<Object[]>> sortedByTable(Map<String, List<Object[]>> byTable) {
+        List<String> names = new ArrayList<>(byTable.keySet());
+        Collections.sort(names);
+        List<List<Object[]>> result = new ArrayList<>(names.size());
+        for (String name : names) {
+            result.add(byTable.get(name));
+        }
+        return result;
+    }
+
+    private static void addIndex(List<Object[]> rows, SchemaSpec schema, TableSpec table, String indexName,
+                                 List<String> columns) {
+        short position = 0;
+        for (String column : columns) {
+            rows.add(new Object[]{null, schema.getName(), table.getName(), false, null, indexName,
+                    (short) DatabaseMetaData.tableIndexOther, ++position, column, "A", 0L, 0L, null});
+        }
+    }
+
+    private ResultSet keys(Statement owner, List<Object[]> rows) {
+        int[] types = varchar(KEYS.length);
+        for (int i : new int[]{8, 9, 10, 13}) {
+            types[i] = Types.SMALLINT;
+        }
+        return ListResultSet.create(owner, KEYS, types, rows);
+    }
+
+    private List<SchemaSpec> matchingSchemas(String schemaPattern) {
+        if (schemaPattern == null) {
+            return new ArrayList<>(schemas.values());
+        }
+        if (schemaPattern.indexOf('%') < 0) {
+            SchemaSpec schema = schemas.get(schemaPattern);
+            return schema == null ? Collections.emptyList() : List.of(schema);
+        }
+        Pattern filter = like(schemaPattern);
+        List<SchemaSpec> result = new ArrayList<>();
+        for (SchemaSpec schema : schemas.values()) {
+            if (filter.matcher(schema.getName()).matches()) {
+                result.add(schema);
+            }
+        }
+        return result;
+    }
+
+    private static List<TableSpec> matchingTables(SchemaSpec schema, String tablePattern) {
+        if (tablePattern != null && tablePattern.indexOf('%') < 0) {
+            TableSpec table = schema.getTable(tablePattern);
+            return table == null ? Collections.emptyList() : List.of(table);
+        }
+        Pattern filter = like(tablePattern);
+        List<TableSpec> result = new ArrayList<>();
+        for (TableSpec table : schema.getTables()) {
+            if (filter == null || filter.matcher(table.getName()).matches()) {
+                result.add(table);
+            }
+        }
+        return result;
+    }
+
+    // null or "%" matches everything and returns null
+    private static Pattern like(String pattern) {
+        if (pattern == null || pattern.equals("%")) {
+            return null;
+        }
+        StringBuilder regex = new StringBuilder();
+        for (String part : pattern.split("%", -1)) {
+            if (!regex.isEmpty()) {
+                regex.append(".*");
+            }
+            regex.append(Pattern.quote(part));
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    private static int[] varchar(int count) {
+        int[] types = new int[count];
+        Arrays.fill(types, Types.VARCHAR);
+        return types;
+    }
+
+    static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) return false;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == short.class) return (short) 0;
+        if (type == double.class) return 0.0d;
+        if (type == float.class) return 0.0f;
+        if (type == byte.class) return (byte) 0;
+        return null;
+    }
+
+    static Object identity(Object proxy, Method method, Object[] args, String description) {
+        return switch (method.getName()) {
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            default -> description;
+        };
+    }
+
+    static boolean isIdentityMethod(Method method) {
+        return method.getDeclaringClass() == Object.class;
+    }
+
+    static PreparedStatement statementProxy(SyntheticDatabase database, Connection connection, String sql) {
+        return (PreparedStatement) Proxy.newProxyInstance(SyntheticDatabase.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                    if (isIdentityMethod(method)) {
+                        return identity(proxy, method, args, "SyntheticStatement[" + sql + "]");
+                    }
+                    return switch (method.getName()) {
+                        case "executeQuery", "getResultSet" -> {
+                            database.countCall("executeQuery");
+                            yield database.empty((Statement) proxy);
+                        }
+                        case "execute" -> {
+                            database.countCall("execute");
+                            yield false;
+                        }
+                        case "executeUpdate" -> {
+                            database.countCall("executeUpdate");
+                            yield 0;
+                        }
+                        case "executeLargeUpdate" -> {
+                            database.countCall("executeUpdate");
+                            yield 0L;
+                        }
+                        case "executeBatch" -> {
+                            database.countCall("executeBatch");
+                            yield new int[0];
+                        }
+                        case "getConnection" -> connection;
+                        case "getUpdateCount" -> -1;
+                        case "getGeneratedKeys" -> database.empty((Statement) proxy);
+                        default -> defaultValue(method.getReturnType());
+                    };
+                });
+    }
+}
@@ -0,0 +1,85 @@
+package com.bsit.codegeneration.fixture;
+
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * JDBC driver for {@code jdbc:synthetic:<name>} URLs, so code that opens its own connection through
+ * {@link DriverManager} (like {@code DbReader}) can run against a registered {@link SyntheticDatabase}.
+ * Configure {@code driver: com.bsit.codegeneration.fixture.SyntheticDriver} and the returned URL.
+ */
+public class SyntheticDriver implements Driver {
+
+    public static final String URL_PREFIX = "jdbc:synthetic:";
+
+    private static final Map<String, SyntheticDatabase> DATABASES = new ConcurrentHashMap<>();
+
+    static {
+        try {
+            DriverManager.registerDriver(new SyntheticDriver());
+        } catch (SQLException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /** Makes {@code database} reachable as {@code jdbc:synthetic:<name>} and returns that URL. */
+    public static String register(String name, SyntheticDatabase database) {
+        DATABASES.put(name, database);
+        return URL_PREFIX + name;
+    }
+
+    public static void unregister(String name) {
+        DATABASES.remove(name);
+    }
+
+    @Override
+    public Connection connect(String url, Properties info) throws SQLException {
+        if (!acceptsURL(url)) {
+            return null;
+        }
+        String name = url.substring(URL_PREFIX.length());
+        SyntheticDatabase database = DATABASES.get(name);
+        if (database == null) {
+            throw new SQLException("No synthetic database registered as " + name);
+        }
+        return database.connect();
+    }
+
+    @Override
+    public boolean acceptsURL(String url) {
+        return url != null && url.startsWith(URL_PREFIX);
+    }
+
+    @Override
+    public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+        return new DriverPropertyInfo[0];
+    }
+
+    @Override
+    public int getMajorVersion() {
+        return 1;
+    }
+
+    @Override
+    public int getMinorVersion() {
+        return 0;
+    }
+
+    @Override
+    public boolean jdbcCompliant() {
+        return false;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+}
@@ -0,0 +1,97 @@
+package com.bsit.codegeneration.fixture;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Columns, keys and indexes of one synthetic table. Methods return {@code this} for chaining.
+ */
+public class TableSpec {
+
+    private final String name;
+    private String tableType = "TABLE";
+    private final List<ColumnSpec> columns = new ArrayList<>();
+    private final List<String> primaryKey = new ArrayList<>();
+    private final List<ForeignKeySpec> foreignKeys = new ArrayList<>();
+    private final List<List<String>> uniqueKeys = new ArrayList<>();
+
+    public TableSpec(String name) {
+        this.name = name;
+    }
+
+    public TableSpec column(String columnName, ColumnType type) {
+        return column(ColumnSpec.of(columnName, type));
+    }
+
+    public TableSpec column(ColumnSpec column) {
+        columns.add(column);
+        return this;
+    }
+
+    /** Auto-increment integer primary key, the shape of a PostgreSQL serial id. */
+    public TableSpec id(String columnName) {
+        columns.add(ColumnSpec.autoIncrement(columnName, name));
+        primaryKey.clear();
+        primaryKey.add(columnName);
+        return this;
+    }
+
+    public TableSpec primaryKey(String... columnNames) {
+        primaryKey.clear();
+        Collections.addAll(primaryKey, columnNames);
+        return this;
+    }
+
+    /** Adds an int4 column referencing {@code pkTable.pkColumn}, unless the column already exists. */
+    public TableSpec foreignKey(String fkColumn, String pkTable, String pkColumn) {
+        if (findColumn(fkColumn) == null) {
+            columns.add(ColumnSpec.of(fkColumn, ColumnType.INT4).notNull());
+        }
+        foreignKeys.add(new ForeignKeySpec(name + "_" + fkColumn + "_fkey", fkColumn, pkTable, pkColumn));
+        return this;
+    }
+
+    public TableSpec unique(String... columnNames) {
+        uniqueKeys.add(List.of(columnNames));
+        return this;
+    }
+
+    public TableSpec tableType(String type) {
+        this.tableType = type;
+        return this;
+    }
+
+    public ColumnSpec findColumn(String columnName) {
+        for (ColumnSpec column : columns) {
+            if (column.name().equals(columnName)) {
+                return column;
+            }
+        }
+        return null;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getTableType() {
+        return tableType;
+    }
+
+    public List<ColumnSpec> getColumns() {
+        return columns;
+    }
+
+    public List<String> getPrimaryKey() {
+        return primaryKey;
+    }
+
+    public List<ForeignKeySpec> getForeignKeys() {
+        return foreignKeys;
+    }
+
+    public List<List<String>> getUniqueKeys() {
+        return uniqueKeys;
+    }
+}